@@ -32,11 +32,15 @@ import org.eclipse.ui.ide.IDE;
 import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBeaverPreferences;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.DBeaverActivator;
 import org.jkiss.dbeaver.core.application.update.DBeaverVersionChecker;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.registry.DataSourceDescriptor;
 import org.jkiss.dbeaver.registry.DataSourceRegistry;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.jobs.DataSourceBootstrapJob;
 import org.jkiss.dbeaver.ui.actions.datasource.DataSourceHandler;
 import org.jkiss.dbeaver.ui.dialogs.ConfirmationDialog;
 import org.jkiss.dbeaver.ui.editors.content.ContentEditorInput;
@@ -44,6 +48,8 @@ import org.jkiss.dbeaver.ui.perspective.DBeaverPerspective;
 import org.osgi.framework.Bundle;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This workbench advisor creates the window advisor, and specifies
@@ -143,6 +149,8 @@ public class ApplicationWorkbenchAdvisor extends WorkbenchAdvisor {
 
         startVersionChecker();
 
+        connectStartupDataSources();
+
 /*
         settingsChangeListener = event -> {
             if (isPropertyChangeRequiresRestart(event.getProperty())) {
@@ -185,6 +193,19 @@ public class ApplicationWorkbenchAdvisor extends WorkbenchAdvisor {
         checker.schedule(3000);
     }
 
+    private void connectStartupDataSources() {
+        List<DBPDataSourceContainer> startupDataSources = new ArrayList<>();
+        for (DBPDataSourceContainer dataSourceDescriptor : DataSourceRegistry.getAllDataSources()) {
+            if (dataSourceDescriptor instanceof DataSourceDescriptor && ((DataSourceDescriptor) dataSourceDescriptor).isConnectOnStartup()) {
+                startupDataSources.add(dataSourceDescriptor);
+            }
+        }
+        if (!startupDataSources.isEmpty()) {
+            int maxParallel = DBWorkbench.getPlatform().getPreferenceStore().getInt(ModelPreferences.CONNECT_STARTUP_PARALLELISM);
+            new DataSourceBootstrapJob(startupDataSources, maxParallel).schedule();
+        }
+    }
+
     @Override
     public boolean preShutdown() {
         //DBWorkbench.getPlatform().getPreferenceStore().removePropertyChangeListener(settingsChangeListener);
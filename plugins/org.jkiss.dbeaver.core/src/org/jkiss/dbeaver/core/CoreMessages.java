@@ -132,6 +132,7 @@ public class CoreMessages extends NLS {
 	public static String dialog_connection_wizard_final_checkbox_show_system_objects;
 	public static String dialog_connection_wizard_final_checkbox_show_util_objects;
     public static String dialog_connection_wizard_final_checkbox_connection_readonly;
+    public static String dialog_connection_wizard_final_checkbox_connect_on_startup;
 	public static String dialog_connection_wizard_final_default_new_connection_name;
 	public static String dialog_connection_wizard_final_description;
 	public static String dialog_connection_wizard_final_group_filters;
@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.app.DBPPlatform;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.connection.DBPConnectionEventType;
+import org.jkiss.dbeaver.model.connection.DBPConnectionHealth;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
 import org.jkiss.dbeaver.model.connection.DBPNativeClientLocation;
 import org.jkiss.dbeaver.model.data.DBDDataFormatterProfile;
@@ -132,6 +133,7 @@ public class DataSourceDescriptor
     private boolean showSystemObjects;
     private boolean showUtilityObjects;
     private boolean connectionReadOnly;
+    private boolean connectOnStartup;
     private final Map<String, FilterMapping> filterMap = new HashMap<>();
     private DBDDataFormatterProfile formatterProfile;
     @Nullable
@@ -150,6 +152,7 @@ public class DataSourceDescriptor
 
     private volatile boolean connectFailed = false;
     private volatile Date connectTime = null;
+    private final DBPConnectionHealth connectionHealth = new DBPConnectionHealth();
     private volatile boolean disposed = false;
     private volatile boolean connecting = false;
     private boolean temporary;
@@ -196,6 +199,7 @@ public class DataSourceDescriptor
         this.showSystemObjects = source.showSystemObjects;
         this.showUtilityObjects = source.showUtilityObjects;
         this.connectionReadOnly = source.connectionReadOnly;
+        this.connectOnStartup = source.connectOnStartup;
         this.driver = source.driver;
         this.connectionInfo = source.connectionInfo;
         this.formatterProfile = source.formatterProfile;
@@ -342,6 +346,14 @@ public class DataSourceDescriptor
         this.connectionReadOnly = connectionReadOnly;
     }
 
+    public boolean isConnectOnStartup() {
+        return connectOnStartup;
+    }
+
+    public void setConnectOnStartup(boolean connectOnStartup) {
+        this.connectOnStartup = connectOnStartup;
+    }
+
     @Override
     public boolean isDefaultAutoCommit()
     {
@@ -604,6 +616,12 @@ public class DataSourceDescriptor
         return connectTime;
     }
 
+    @NotNull
+    @Override
+    public DBPConnectionHealth getConnectionHealth() {
+        return connectionHealth;
+    }
+
     public boolean isLocked() {
         return !CommonUtils.isEmpty(lockPasswordHash);
     }
@@ -651,7 +669,14 @@ public class DataSourceDescriptor
     @Override
     public void persistConfiguration()
     {
-        registry.flushConfig();
+        if (temporary) {
+            return;
+        }
+        if (registry instanceof DataSourceRegistry) {
+            ((DataSourceRegistry) registry).scheduleSave(origin);
+        } else {
+            registry.flushConfig();
+        }
     }
 
     @Override
@@ -769,6 +794,7 @@ public class DataSourceDescriptor
 
             this.dataSource = getDriver().getDataSourceProvider().openDataSource(monitor, this);
             this.connectTime = new Date();
+            this.connectionHealth.reset();
             monitor.worked(1);
 
             if (initialize) {
@@ -1273,6 +1299,7 @@ public class DataSourceDescriptor
         setShowSystemObjects(descriptor.isShowSystemObjects());
         setShowUtilityObjects(descriptor.isShowUtilityObjects());
         setConnectionReadOnly(descriptor.isConnectionReadOnly());
+        setConnectOnStartup(descriptor.isConnectOnStartup());
     }
 
     @Override
@@ -1298,6 +1325,7 @@ public class DataSourceDescriptor
             CommonUtils.equalObjects(this.showSystemObjects, source.showSystemObjects) &&
             CommonUtils.equalObjects(this.showUtilityObjects, source.showUtilityObjects) &&
             CommonUtils.equalObjects(this.connectionReadOnly, source.connectionReadOnly) &&
+            CommonUtils.equalObjects(this.connectOnStartup, source.connectOnStartup) &&
             CommonUtils.equalObjects(this.driver, source.driver) &&
             CommonUtils.equalObjects(this.connectionInfo, source.connectionInfo) &&
             CommonUtils.equalObjects(this.filterMap, source.filterMap) &&
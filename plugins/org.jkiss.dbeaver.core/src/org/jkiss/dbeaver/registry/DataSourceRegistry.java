@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.app.DBPPlatform;
 import org.jkiss.dbeaver.model.connection.*;
 import org.jkiss.dbeaver.model.impl.preferences.SimplePreferenceStore;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableWithProgress;
 import org.jkiss.dbeaver.model.runtime.DBRShellCommand;
@@ -60,9 +61,13 @@ import org.xml.sax.Attributes;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 public class DataSourceRegistry implements DBPDataSourceRegistry
@@ -75,6 +80,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
     public static final String DEFAULT_ACTIVE_OBJECT = "default.activeObject"; //$NON-NLS-1$
 
     private static final long DISCONNECT_ALL_TIMEOUT = 5000;
+    // Config changes are written after this quiet period (but not later than MAX_SAVE_DELAY after first change)
+    private static final long SAVE_DELAY = 500;
+    private static final long MAX_SAVE_DELAY = 5000;
 
     private static final Log log = Log.getLog(DataSourceRegistry.class);
 
@@ -87,10 +95,18 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
 
     private final Map<IFile, DataSourceOrigin> origins = new LinkedHashMap<>();
     private final List<DataSourceDescriptor> dataSources = new ArrayList<>();
+    // Id index. Guarded by dataSources lock.
+    private final Map<String, DataSourceDescriptor> dataSourceIdMap = new HashMap<>();
     private final List<DBPEventListener> dataSourceListeners = new ArrayList<>();
     private final List<DataSourceFolder> dataSourceFolders = new ArrayList<>();
     private final List<DBSObjectFilter> savedFilters = new ArrayList<>();
     private volatile boolean saveInProgress = false;
+    private final Object saveLock = new Object();
+    // Origins which were changed but not saved yet. Guarded by itself.
+    private final Set<DataSourceOrigin> changedOrigins = new LinkedHashSet<>();
+    private long firstChangeTime;
+    private long lastChangeTime;
+    private ConfigSaveJob configSaveJob;
 
     public DataSourceRegistry(DBPPlatform platform, IProject project)
     {
@@ -109,6 +125,8 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
             }
             this.dataSourceListeners.clear();
         }
+        // Write changes which are still waiting for the save job
+        saveChangedOrigins();
         // Disconnect in 5 seconds or die
         closeConnections(DISCONNECT_ALL_TIMEOUT);
         // Do not save config on shutdown.
@@ -123,6 +141,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
                 dataSourceDescriptor.dispose();
             }
             this.dataSources.clear();
+            this.dataSourceIdMap.clear();
         }
     }
 
@@ -173,19 +192,19 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
     public DataSourceDescriptor getDataSource(String id)
     {
         synchronized (dataSources) {
-            for (DataSourceDescriptor dsd : dataSources) {
-                if (dsd.getId().equals(id)) {
-                    return dsd;
-                }
-            }
+            return dataSourceIdMap.get(id);
         }
-        return null;
     }
 
     @Nullable
     @Override
     public DataSourceDescriptor getDataSource(DBPDataSource dataSource)
     {
+        // Data source instance refers to its container, so there is no need to scan the list
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (container instanceof DataSourceDescriptor && container.getRegistry() == this && container.getDataSource() == dataSource) {
+            return (DataSourceDescriptor) container;
+        }
         synchronized (dataSources) {
             for (DataSourceDescriptor dsd : dataSources) {
                 if (dsd.getDataSource() == dataSource) {
@@ -261,7 +280,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
         if (parent != null) {
             folderImpl.setParent(null);
         }
-        for (DataSourceDescriptor ds : dataSources) {
+        for (DataSourceDescriptor ds : getDataSources()) {
             if (ds.getFolder() == folder) {
                 if (dropContents) {
                     removeDataSource(ds);
@@ -353,11 +372,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
     public void addDataSource(DBPDataSourceContainer dataSource)
     {
         final DataSourceDescriptor descriptor = (DataSourceDescriptor) dataSource;
-        synchronized (dataSources) {
-            this.dataSources.add(descriptor);
-        }
+        addDataSourceToList(descriptor);
         if (!dataSource.isTemporary()) {
-            this.saveDataSources();
+            this.scheduleSave(descriptor.getOrigin());
         }
         notifyDataSourceListeners(new DBPEvent(DBPEvent.Action.OBJECT_ADD, descriptor, true));
     }
@@ -365,11 +382,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
     public void removeDataSource(DBPDataSourceContainer dataSource)
     {
         final DataSourceDescriptor descriptor = (DataSourceDescriptor) dataSource;
-        synchronized (dataSources) {
-            this.dataSources.remove(descriptor);
-        }
+        removeDataSourceFromList(descriptor);
         if (!dataSource.isTemporary()) {
-            this.saveDataSources();
+            this.scheduleSave(descriptor.getOrigin());
         }
         try {
             this.fireDataSourceEvent(DBPEvent.Action.OBJECT_REMOVE, dataSource);
@@ -381,7 +396,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
     public void updateDataSource(DBPDataSourceContainer dataSource)
     {
         if (!dataSource.isTemporary()) {
-            this.saveDataSources();
+            this.scheduleSave(((DataSourceDescriptor) dataSource).getOrigin());
         }
         this.fireDataSourceEvent(DBPEvent.Action.OBJECT_UPDATE, dataSource);
     }
@@ -389,16 +404,75 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
     @Override
     public void flushConfig()
     {
-        this.saveDataSources();
+        synchronized (changedOrigins) {
+            changedOrigins.clear();
+        }
+        List<DataSourceOrigin> allOrigins;
+        synchronized (origins) {
+            allOrigins = new ArrayList<>(origins.values());
+        }
+        this.saveDataSources(allOrigins);
     }
 
     @Override
     public void refreshConfig() {
-        if (!saveInProgress) {
+        if (!saveInProgress && !hasChangedOrigins()) {
             this.loadDataSources(true);
         }
     }
 
+    private void addDataSourceToList(@NotNull DataSourceDescriptor descriptor) {
+        synchronized (dataSources) {
+            this.dataSources.add(descriptor);
+            this.dataSourceIdMap.put(descriptor.getId(), descriptor);
+        }
+    }
+
+    private void removeDataSourceFromList(@NotNull DataSourceDescriptor descriptor) {
+        synchronized (dataSources) {
+            this.dataSources.remove(descriptor);
+            if (this.dataSourceIdMap.get(descriptor.getId()) == descriptor) {
+                this.dataSourceIdMap.remove(descriptor.getId());
+            }
+        }
+    }
+
+    /**
+     * Marks origin config as changed. Changed origins are saved by background job after a short delay,
+     * so series of changes (e.g. folder moves of many connections) produce a single write.
+     */
+    void scheduleSave(@NotNull DataSourceOrigin origin) {
+        synchronized (changedOrigins) {
+            long curTime = System.currentTimeMillis();
+            if (changedOrigins.isEmpty()) {
+                firstChangeTime = curTime;
+            }
+            lastChangeTime = curTime;
+            changedOrigins.add(origin);
+            if (configSaveJob == null) {
+                configSaveJob = new ConfigSaveJob();
+                configSaveJob.schedule(SAVE_DELAY);
+            }
+        }
+    }
+
+    private boolean hasChangedOrigins() {
+        synchronized (changedOrigins) {
+            return !changedOrigins.isEmpty();
+        }
+    }
+
+    private void saveChangedOrigins() {
+        List<DataSourceOrigin> originsToSave;
+        synchronized (changedOrigins) {
+            originsToSave = new ArrayList<>(changedOrigins);
+            changedOrigins.clear();
+        }
+        if (!originsToSave.isEmpty()) {
+            saveDataSources(originsToSave);
+        }
+    }
+
     @Override
     public void addDataSourceListener(DBPEventListener listener)
     {
@@ -500,13 +574,13 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
             }
 
             List<DataSourceDescriptor> removedDataSource = new ArrayList<>();
-            for (DataSourceDescriptor ds : dataSources) {
+            for (DataSourceDescriptor ds : getDataSources()) {
                 if (!parseResults.addedDataSources.contains(ds) && !parseResults.updatedDataSources.contains(ds)) {
                     removedDataSource.add(ds);
                 }
             }
             for (DataSourceDescriptor ds : removedDataSource) {
-                this.dataSources.remove(ds);
+                removeDataSourceFromList(ds);
                 this.fireDataSourceEvent(DBPEvent.Action.OBJECT_REMOVE, ds);
                 ds.dispose();
             }
@@ -552,75 +626,115 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
         updateProjectNature();
     }
 
-    private void saveDataSources()
+    private void saveDataSources(Collection<DataSourceOrigin> originsToSave)
+    {
+        synchronized (saveLock) {
+            saveInProgress = true;
+            try {
+                updateProjectNature();
+                for (DataSourceOrigin origin : originsToSave) {
+                    saveDataSources(origin);
+                }
+            } finally {
+                saveInProgress = false;
+            }
+        }
+    }
+
+    private void saveDataSources(DataSourceOrigin origin)
     {
-        updateProjectNature();
         final IProgressMonitor progressMonitor = new NullProgressMonitor();
-        saveInProgress = true;
+        List<DataSourceDescriptor> localDataSources = getDataSources(origin);
+        IFile configFile = origin.getSourceFile();
         try {
-            for (DataSourceOrigin origin : origins.values()) {
-                List<DataSourceDescriptor> localDataSources = getDataSources(origin);
-                IFile configFile = origin.getSourceFile();
+            if (localDataSources.isEmpty()) {
+                configFile.delete(true, false, progressMonitor);
+            } else {
+                // Save in temp memory to be safe (any error during direct write will corrupt configuration)
+                ByteArrayOutputStream tempStream = new ByteArrayOutputStream(10000);
                 try {
-                    if (localDataSources.isEmpty()) {
-                        configFile.delete(true, false, progressMonitor);
-                    } else {
-                        // Save in temp memory to be safe (any error during direct write will corrupt configuration)
-                        ByteArrayOutputStream tempStream = new ByteArrayOutputStream(10000);
-                        try {
-                            XMLBuilder xml = new XMLBuilder(tempStream, GeneralUtils.UTF8_ENCODING);
-                            xml.setButify(true);
-                            try (XMLBuilder.Element el1 = xml.startElement("data-sources")) {
-                                if (origin.isDefault()) {
-                                    // Folders (only for default origin)
-                                    for (DataSourceFolder folder : dataSourceFolders) {
-                                        saveFolder(xml, folder);
-                                    }
-                                }
+                    XMLBuilder xml = new XMLBuilder(tempStream, GeneralUtils.UTF8_ENCODING);
+                    xml.setButify(true);
+                    try (XMLBuilder.Element el1 = xml.startElement("data-sources")) {
+                        if (origin.isDefault()) {
+                            // Folders (only for default origin)
+                            for (DataSourceFolder folder : new ArrayList<>(dataSourceFolders)) {
+                                saveFolder(xml, folder);
+                            }
+                        }
 
-                                // Datasources
-                                for (DataSourceDescriptor dataSource : localDataSources) {
-                                    // Skip temporary
-                                    if (!dataSource.isTemporary()) {
-                                        saveDataSource(xml, dataSource);
-                                    }
-                                }
+                        // Datasources
+                        for (DataSourceDescriptor dataSource : localDataSources) {
+                            // Skip temporary
+                            if (!dataSource.isTemporary()) {
+                                saveDataSource(xml, dataSource);
+                            }
+                        }
 
-                                // Filters
-                                if (origin.isDefault()) {
-                                    try (XMLBuilder.Element ignored = xml.startElement(RegistryConstants.TAG_FILTERS)) {
-                                        for (DBSObjectFilter cf : savedFilters) {
-                                            if (!cf.isEmpty()) {
-                                                saveObjectFiler(xml, null, null, cf);
-                                            }
-                                        }
+                        // Filters
+                        if (origin.isDefault()) {
+                            try (XMLBuilder.Element ignored = xml.startElement(RegistryConstants.TAG_FILTERS)) {
+                                for (DBSObjectFilter cf : new ArrayList<>(savedFilters)) {
+                                    if (!cf.isEmpty()) {
+                                        saveObjectFiler(xml, null, null, cf);
                                     }
                                 }
-
                             }
-                            xml.flush();
-                        } catch (IOException ex) {
-                            log.warn("IO error while saving datasources", ex);
                         }
-                        InputStream ifs = new ByteArrayInputStream(tempStream.toByteArray());
-                        if (!configFile.exists()) {
-                            configFile.create(ifs, true, progressMonitor);
-                            configFile.setHidden(true);
-                        } else {
-                            configFile.setContents(ifs, true, false, progressMonitor);
-                        }
-                    }
-                    try {
-                        getSecurePreferences().flush();
-                    } catch (Throwable e) {
-                        log.error("Error saving secured preferences", e);
+
                     }
-                } catch (CoreException ex) {
-                    log.error("Error saving datasources configuration", ex);
+                    xml.flush();
+                } catch (IOException ex) {
+                    log.warn("IO error while saving datasources", ex);
+                    return;
                 }
+                writeConfigFile(configFile, tempStream.toByteArray(), progressMonitor);
             }
-        } finally {
-            saveInProgress = false;
+            try {
+                getSecurePreferences().flush();
+            } catch (Throwable e) {
+                log.error("Error saving secured preferences", e);
+            }
+        } catch (CoreException ex) {
+            log.error("Error saving datasources configuration", ex);
+        }
+    }
+
+    /**
+     * Replaces config file contents atomically: new contents are written in temp file which is then moved over the config.
+     * Thus config can't be left half-written if save fails.
+     */
+    private static void writeConfigFile(IFile configFile, byte[] contents, IProgressMonitor progressMonitor) throws CoreException {
+        final IPath location = configFile.getLocation();
+        final File localFile = location == null ? null : location.toFile();
+        if (localFile == null || !localFile.getParentFile().exists()) {
+            InputStream ifs = new ByteArrayInputStream(contents);
+            if (!configFile.exists()) {
+                configFile.create(ifs, true, progressMonitor);
+                configFile.setHidden(true);
+            } else {
+                configFile.setContents(ifs, true, false, progressMonitor);
+            }
+            return;
+        }
+        final boolean newFile = !configFile.exists();
+        final File tempFile = new File(localFile.getParentFile(), localFile.getName() + ".tmp");
+        try {
+            Files.write(tempFile.toPath(), contents);
+            try {
+                Files.move(tempFile.toPath(), localFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), localFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            if (!tempFile.delete()) {
+                log.debug("Can't delete temp config file " + tempFile.getAbsolutePath());
+            }
+            throw new CoreException(GeneralUtils.makeExceptionStatus(e));
+        }
+        configFile.refreshLocal(IResource.DEPTH_ZERO, progressMonitor);
+        if (newFile) {
+            configFile.setHidden(true);
         }
     }
 
@@ -696,6 +810,9 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
             xml.addAttribute(RegistryConstants.ATTR_SHOW_UTIL_OBJECTS, dataSource.isShowUtilityObjects());
         }
         xml.addAttribute(RegistryConstants.ATTR_READ_ONLY, dataSource.isConnectionReadOnly());
+        if (dataSource.isConnectOnStartup()) {
+            xml.addAttribute(RegistryConstants.ATTR_CONNECT_ON_STARTUP, true);
+        }
         if (dataSource.getFolder() != null) {
             xml.addAttribute(RegistryConstants.ATTR_FOLDER, dataSource.getFolder().getFolderPath());
         }
@@ -1072,6 +1189,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
                     curDataSource.setShowSystemObjects(CommonUtils.getBoolean(atts.getValue(RegistryConstants.ATTR_SHOW_SYSTEM_OBJECTS)));
                     curDataSource.setShowUtilityObjects(CommonUtils.getBoolean(atts.getValue(RegistryConstants.ATTR_SHOW_UTIL_OBJECTS)));
                     curDataSource.setConnectionReadOnly(CommonUtils.getBoolean(atts.getValue(RegistryConstants.ATTR_READ_ONLY)));
+                    curDataSource.setConnectOnStartup(CommonUtils.getBoolean(atts.getValue(RegistryConstants.ATTR_CONNECT_ON_STARTUP)));
                     final String folderPath = atts.getValue(RegistryConstants.ATTR_FOLDER);
                     if (folderPath != null) {
                         curDataSource.setFolder(findFolderByPath(folderPath, true));
@@ -1089,7 +1207,7 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
                         }
                     }
                     if (newDataSource) {
-                        dataSources.add(curDataSource);
+                        addDataSourceToList(curDataSource);
                         parseResults.addedDataSources.add(curDataSource);
                     } else {
                         parseResults.updatedDataSources.add(curDataSource);
@@ -1359,6 +1477,34 @@ public class DataSourceRegistry implements DBPDataSourceRegistry
 
     }
 
+    private class ConfigSaveJob extends AbstractJob {
+        ConfigSaveJob() {
+            super("Save data sources configuration");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            synchronized (changedOrigins) {
+                long curTime = System.currentTimeMillis();
+                long quietTime = curTime - lastChangeTime;
+                if (quietTime < SAVE_DELAY && curTime - firstChangeTime < MAX_SAVE_DELAY) {
+                    // Changes are still coming - wait a bit more
+                    schedule(SAVE_DELAY - quietTime);
+                    return Status.OK_STATUS;
+                }
+                configSaveJob = null;
+            }
+            saveChangedOrigins();
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return family == DataSourceRegistry.this;
+        }
+    }
+
     private class DisconnectTask implements DBRRunnableWithProgress {
         boolean disconnected;
         @Override
@@ -160,6 +160,7 @@ public class RegistryConstants {
     public static final String ATTR_SHOW_SYSTEM_OBJECTS = "show-system-objects"; //$NON-NLS-1$
     public static final String ATTR_SHOW_UTIL_OBJECTS = "show-util-objects"; //$NON-NLS-1$
     public static final String ATTR_READ_ONLY = "read-only"; //$NON-NLS-1$
+    public static final String ATTR_CONNECT_ON_STARTUP = "connect-on-startup"; //$NON-NLS-1$
     public static final String ATTR_FILTER_CATALOG = "filter-catalog"; //$NON-NLS-1$
     public static final String ATTR_FILTER_SCHEMA = "filter-schema"; //$NON-NLS-1$
     public static final String ATTR_HOST = "host"; //$NON-NLS-1$
@@ -149,9 +149,14 @@ public class DriverDescriptor extends AbstractDescriptor implements DBPDriver {
     private Map<DBPDriverLibrary, List<DriverFileInfo>> resolvedFiles = new HashMap<>();
 
     private Class driverClass;
-    private boolean isLoaded;
-    private Object driverInstance;
+    private volatile boolean isLoaded;
+    private volatile Object driverInstance;
+    // Guards class loader and driver instance creation. Never held during UI interaction.
+    private final Object loadLock = new Object();
     private DriverClassLoader classLoader;
+    // Files (with sizes and timestamps) the class loader was built from
+    private List<File> classLoaderFiles = Collections.emptyList();
+    private String classLoaderFilesKey;
 
     private transient boolean isFailed = false;
 
@@ -850,48 +855,91 @@ public class DriverDescriptor extends AbstractDescriptor implements DBPDriver {
         this.loadDriver(monitor, false);
     }
 
+    /**
+     * Several datasources of the same driver may connect concurrently (e.g. at startup).
+     * Only the first one creates class loader and driver instance, others reuse them.
+     * Libraries download and licenses acceptance may show dialogs, so they are done out of the load lock.
+     */
     private void loadDriver(DBRProgressMonitor monitor, boolean forceReload)
             throws DBException {
         if (isLoaded && !forceReload) {
             return;
         }
-        isLoaded = false;
 
-        loadLibraries();
+        List<File> allLibraryFiles = validateFilesPresence(false);
 
         if (!acceptDriverLicenses()) {
             throw new DBException("You have to accept driver '" + getFullName() + "' license to be able to connect");
         }
 
-        try {
-            if (!isCustomDriverLoader()) {
-                try {
-                    // Load driver classes into core module using plugin class loader
-                    driverClass = Class.forName(driverClassName, true, classLoader);
-                } catch (Throwable ex) {
-                    throw new DBException("Error creating driver '" + getFullName() + "' instance.\nMost likely required jar files are missing.\nYou should configure jars in driver settings.\n\nReason: can't load driver class '" + driverClassName + "'", ex);
-                }
+        synchronized (loadLock) {
+            if (isLoaded && !forceReload) {
+                return;
+            }
+            isLoaded = false;
 
-                // Create driver instance
-                /*if (!this.isInternalDriver())*/
-                {
-                    driverInstance = createDriverInstance();
+            loadLibraries(allLibraryFiles, forceReload);
+
+            try {
+                if (!isCustomDriverLoader()) {
+                    try {
+                        // Load driver classes into core module using plugin class loader
+                        driverClass = Class.forName(driverClassName, true, classLoader);
+                    } catch (Throwable ex) {
+                        String message = "Error creating driver '" + getFullName() + "' instance.\nMost likely required jar files are missing.\nYou should configure jars in driver settings.\n\nReason: can't load driver class '" + driverClassName + "'";
+                        List<String> declaredDrivers = getDeclaredDriverClasses();
+                        if (!declaredDrivers.isEmpty() && !declaredDrivers.contains(driverClassName)) {
+                            message += "\nDriver libraries declare driver class(es): " + String.join(", ", declaredDrivers);
+                        }
+                        throw new DBException(message, ex);
+                    }
+
+                    // Create driver instance
+                    /*if (!this.isInternalDriver())*/
+                    {
+                        driverInstance = createDriverInstance();
+                    }
+
+                    isLoaded = true;
+                    isFailed = false;
                 }
+            } catch (DBException e) {
+                isFailed = true;
+                throw e;
+            }
+        }
+    }
 
-                isLoaded = true;
-                isFailed = false;
+    /**
+     * Returns JDBC driver classes declared by driver libraries (META-INF/services).
+     * Uses library index, so jars are read only once.
+     */
+    @NotNull
+    private List<String> getDeclaredDriverClasses() {
+        final List<String> result = new ArrayList<>();
+        final DriverLibraryIndex libraryIndex = DriverLibraryIndex.getInstance();
+        for (File file : classLoaderFiles) {
+            if (file.isFile()) {
+                for (String className : libraryIndex.getDeclaredDrivers(file)) {
+                    if (!result.contains(className)) {
+                        result.add(className);
+                    }
+                }
             }
-        } catch (DBException e) {
-            isFailed = true;
-            throw e;
         }
+        libraryIndex.flush();
+        return result;
     }
 
-    private void loadLibraries()
+    private void loadLibraries(List<File> allLibraryFiles, boolean forceReload)
             throws DBException {
+        final String filesKey = DriverLibraryIndex.makeFilesKey(allLibraryFiles);
+        if (!forceReload && this.classLoader != null && filesKey.equals(this.classLoaderFilesKey)) {
+            // Libraries weren't changed - reuse class loader and all classes it already loaded
+            return;
+        }
         this.classLoader = null;
-
-        List<File> allLibraryFiles = validateFilesPresence(false);
+        this.classLoaderFilesKey = null;
 
         List<URL> libraryURLs = new ArrayList<>();
         // Load libraries
@@ -910,6 +958,8 @@ public class DriverDescriptor extends AbstractDescriptor implements DBPDriver {
                 this,
                 libraryURLs.toArray(new URL[libraryURLs.size()]),
                 getDataSourceProvider().getClass().getClassLoader());
+        this.classLoaderFiles = allLibraryFiles;
+        this.classLoaderFilesKey = filesKey;
     }
 
     public void updateFiles() {
@@ -0,0 +1,376 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.driver;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverActivator;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.xml.XMLBuilder;
+import org.jkiss.utils.xml.XMLUtils;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Persistent index of driver library jars.
+ * For each jar (identified by path, size and modification time) keeps JDBC drivers declared in META-INF/services
+ * and results of class hierarchy scans. Jar is rescanned only when it changes.
+ */
+public class DriverLibraryIndex {
+
+    private static final Log log = Log.getLog(DriverLibraryIndex.class);
+
+    private static final String INDEX_FILE_NAME = "driver-library-index.xml"; //$NON-NLS-1$
+    private static final String DRIVER_SERVICE_ENTRY = "META-INF/services/java.sql.Driver"; //$NON-NLS-1$
+    static final String OBJECT_CLASS_NAME = "java/lang/Object"; //$NON-NLS-1$
+    static final String CLASS_FILE_EXT = ".class"; //$NON-NLS-1$
+
+    private static DriverLibraryIndex instance;
+
+    private final Map<String, JarInfo> jars = new HashMap<>();
+    private boolean changed;
+
+    public static synchronized DriverLibraryIndex getInstance() {
+        if (instance == null) {
+            instance = new DriverLibraryIndex();
+            instance.loadIndex();
+        }
+        return instance;
+    }
+
+    private DriverLibraryIndex() {
+    }
+
+    /**
+     * Returns names of classes in jar which implement (or extend) specified type.
+     * @param typeName internal type name (e.g. java/sql/Driver)
+     */
+    @NotNull
+    public List<String> findImplementors(@NotNull File file, @NotNull String typeName, boolean isInterface, @NotNull IProgressMonitor monitor) {
+        final String searchKey = makeSearchKey(typeName, isInterface);
+        synchronized (jars) {
+            JarInfo jarInfo = getValidJarInfo(file);
+            if (jarInfo != null) {
+                List<String> classNames = jarInfo.implementors.get(searchKey);
+                if (classNames != null) {
+                    return classNames;
+                }
+            }
+        }
+        // Scan outside of the lock, it may take a while
+        JarInfo scanInfo = new JarInfo(file.getAbsolutePath(), file.length(), file.lastModified());
+        List<String> classNames;
+        try {
+            classNames = scanJar(file, typeName, isInterface, scanInfo, monitor);
+        } catch (IOException e) {
+            log.debug("Error scanning driver library " + file.getAbsolutePath(), e);
+            return Collections.emptyList();
+        }
+        if (monitor.isCanceled()) {
+            return classNames;
+        }
+        synchronized (jars) {
+            JarInfo jarInfo = getValidJarInfo(file);
+            if (jarInfo == null) {
+                jarInfo = scanInfo;
+                jars.put(jarInfo.path, jarInfo);
+            }
+            jarInfo.implementors.put(searchKey, classNames);
+            changed = true;
+        }
+        return classNames;
+    }
+
+    /**
+     * Returns JDBC driver class names declared in jar's META-INF/services/java.sql.Driver
+     */
+    @NotNull
+    public List<String> getDeclaredDrivers(@NotNull File file) {
+        synchronized (jars) {
+            JarInfo jarInfo = getValidJarInfo(file);
+            if (jarInfo != null) {
+                return jarInfo.declaredDrivers;
+            }
+        }
+        JarInfo jarInfo = new JarInfo(file.getAbsolutePath(), file.length(), file.lastModified());
+        try (JarFile jarFile = new JarFile(file, false)) {
+            readDeclaredDrivers(jarFile, jarInfo);
+        } catch (IOException e) {
+            log.debug("Error reading driver library " + file.getAbsolutePath(), e);
+            return Collections.emptyList();
+        }
+        synchronized (jars) {
+            jars.put(jarInfo.path, jarInfo);
+            changed = true;
+        }
+        return jarInfo.declaredDrivers;
+    }
+
+    /**
+     * Saves index if it was changed
+     */
+    public void flush() {
+        synchronized (jars) {
+            if (!changed) {
+                return;
+            }
+            // Forget jars which were removed
+            jars.values().removeIf(jarInfo -> !new File(jarInfo.path).exists());
+            saveIndex();
+            changed = false;
+        }
+    }
+
+    /**
+     * Makes key which changes whenever any of files is replaced, resized or touched.
+     */
+    @NotNull
+    public static String makeFilesKey(@NotNull Collection<File> files) {
+        StringBuilder key = new StringBuilder();
+        for (File file : files) {
+            key.append(file.getAbsolutePath()).append(':').append(file.length()).append(':').append(file.lastModified()).append(';');
+        }
+        return key.toString();
+    }
+
+    @Nullable
+    private JarInfo getValidJarInfo(File file) {
+        JarInfo jarInfo = jars.get(file.getAbsolutePath());
+        if (jarInfo == null) {
+            return null;
+        }
+        if (jarInfo.size != file.length() || jarInfo.modified != file.lastModified()) {
+            // Jar was changed
+            jars.remove(jarInfo.path);
+            changed = true;
+            return null;
+        }
+        return jarInfo;
+    }
+
+    private static String makeSearchKey(String typeName, boolean isInterface) {
+        return (isInterface ? "interface:" : "class:") + typeName;
+    }
+
+    ////////////////////////////////////////////////////////
+    // Scanner
+
+    private static List<String> scanJar(File file, String typeName, boolean isInterface, JarInfo jarInfo, IProgressMonitor monitor) throws IOException {
+        final Map<String, ClassHeader> headers = new HashMap<>();
+        try (JarFile jarFile = new JarFile(file, false)) {
+            readDeclaredDrivers(jarFile, jarInfo);
+
+            // Read each class header once. Hierarchy checks then work with headers only.
+            monitor.beginTask(file.getName(), jarFile.size());
+            for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                JarEntry entry = e.nextElement();
+                String fileName = entry.getName();
+                if (fileName.endsWith(CLASS_FILE_EXT)) {
+                    try (InputStream classStream = jarFile.getInputStream(entry)) {
+                        ClassReader cr = new ClassReader(classStream);
+                        headers.put(
+                            fileName.substring(0, fileName.length() - CLASS_FILE_EXT.length()),
+                            new ClassHeader(cr.getAccess(), cr.getSuperName(), cr.getInterfaces()));
+                    } catch (Throwable e1) {
+                        // Broken class - skip it
+                    }
+                }
+                monitor.worked(1);
+            }
+            monitor.done();
+        }
+
+        final List<String> result = new ArrayList<>();
+        final Map<String, Boolean> checkCache = new HashMap<>();
+        for (Map.Entry<String, ClassHeader> entry : headers.entrySet()) {
+            String className = entry.getKey();
+            int access = entry.getValue().access;
+            if (className.contains("$") || (access & Opcodes.ACC_PUBLIC) == 0 || (access & Opcodes.ACC_ABSTRACT) != 0) {
+                continue;
+            }
+            if (isSubtypeOf(headers, checkCache, className, typeName, isInterface)) {
+                result.add(className.replace('/', '.'));
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static boolean isSubtypeOf(Map<String, ClassHeader> headers, Map<String, Boolean> checkCache, String className, String typeName, boolean isInterface) {
+        Boolean cached = checkCache.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        ClassHeader header = headers.get(className);
+        if (header == null) {
+            // Class from another library
+            return false;
+        }
+        // Protect from cycles in broken hierarchies
+        checkCache.put(className, Boolean.FALSE);
+
+        boolean result = false;
+        final String superName = header.superName;
+        if (isInterface) {
+            if (ArrayUtils.contains(header.interfaces, typeName)) {
+                result = true;
+            } else if (!CommonUtils.isEmpty(superName) && !superName.equals(OBJECT_CLASS_NAME) && isSubtypeOf(headers, checkCache, superName, typeName, true)) {
+                result = true;
+            } else if (header.interfaces != null) {
+                for (String intName : header.interfaces) {
+                    if (isSubtypeOf(headers, checkCache, intName, typeName, true)) {
+                        result = true;
+                        break;
+                    }
+                }
+            }
+        } else if (superName != null) {
+            result = typeName.equals(superName) || isSubtypeOf(headers, checkCache, superName, typeName, false);
+        }
+        checkCache.put(className, result);
+        return result;
+    }
+
+    private static void readDeclaredDrivers(JarFile jarFile, JarInfo jarInfo) throws IOException {
+        jarInfo.declaredDrivers = new ArrayList<>();
+        JarEntry serviceEntry = jarFile.getJarEntry(DRIVER_SERVICE_ENTRY);
+        if (serviceEntry == null) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(jarFile.getInputStream(serviceEntry), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                int commentPos = line.indexOf('#');
+                if (commentPos >= 0) {
+                    line = line.substring(0, commentPos);
+                }
+                line = line.trim();
+                if (!line.isEmpty() && !jarInfo.declaredDrivers.contains(line)) {
+                    jarInfo.declaredDrivers.add(line);
+                }
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////
+    // Persistence
+
+    private void loadIndex() {
+        final File indexFile = DBeaverActivator.getConfigurationFile(INDEX_FILE_NAME);
+        if (!indexFile.exists()) {
+            return;
+        }
+        try {
+            final Document document = XMLUtils.parseDocument(indexFile);
+            for (Element jarElement : XMLUtils.getChildElementList(document.getDocumentElement(), "jar")) {
+                JarInfo jarInfo = new JarInfo(
+                    jarElement.getAttribute("path"),
+                    CommonUtils.toLong(jarElement.getAttribute("size")),
+                    CommonUtils.toLong(jarElement.getAttribute("modified")));
+                jarInfo.declaredDrivers = new ArrayList<>();
+                for (Element serviceElement : XMLUtils.getChildElementList(jarElement, "driver")) {
+                    jarInfo.declaredDrivers.add(serviceElement.getAttribute("class"));
+                }
+                for (Element searchElement : XMLUtils.getChildElementList(jarElement, "search")) {
+                    List<String> classNames = new ArrayList<>();
+                    for (Element classElement : XMLUtils.getChildElementList(searchElement, "class")) {
+                        classNames.add(classElement.getAttribute("name"));
+                    }
+                    jarInfo.implementors.put(searchElement.getAttribute("key"), classNames);
+                }
+                jars.put(jarInfo.path, jarInfo);
+            }
+        } catch (Exception e) {
+            log.warn("Error loading driver library index", e);
+        }
+    }
+
+    private void saveIndex() {
+        try (OutputStream os = new FileOutputStream(DBeaverActivator.getConfigurationFile(INDEX_FILE_NAME))) {
+            XMLBuilder xml = new XMLBuilder(os, GeneralUtils.UTF8_ENCODING);
+            xml.setButify(true);
+            try (final XMLBuilder.Element e1 = xml.startElement("driver-library-index")) {
+                for (JarInfo jarInfo : jars.values()) {
+                    try (final XMLBuilder.Element e2 = xml.startElement("jar")) {
+                        xml.addAttribute("path", jarInfo.path);
+                        xml.addAttribute("size", jarInfo.size);
+                        xml.addAttribute("modified", jarInfo.modified);
+                        for (String driverClass : jarInfo.declaredDrivers) {
+                            try (final XMLBuilder.Element e3 = xml.startElement("driver")) {
+                                xml.addAttribute("class", driverClass);
+                            }
+                        }
+                        for (Map.Entry<String, List<String>> search : jarInfo.implementors.entrySet()) {
+                            try (final XMLBuilder.Element e3 = xml.startElement("search")) {
+                                xml.addAttribute("key", search.getKey());
+                                for (String className : search.getValue()) {
+                                    try (final XMLBuilder.Element e4 = xml.startElement("class")) {
+                                        xml.addAttribute("name", className);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            xml.flush();
+        } catch (Exception e) {
+            log.error("Error saving driver library index", e);
+        }
+    }
+
+    private static class JarInfo {
+        final String path;
+        final long size;
+        final long modified;
+        List<String> declaredDrivers = Collections.emptyList();
+        final Map<String, List<String>> implementors = new LinkedHashMap<>();
+
+        JarInfo(String path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    private static class ClassHeader {
+        final int access;
+        final String superName;
+        final String[] interfaces;
+
+        ClassHeader(int access, String superName, String[] interfaces) {
+            this.access = access;
+            this.superName = superName;
+            this.interfaces = interfaces;
+        }
+    }
+
+}
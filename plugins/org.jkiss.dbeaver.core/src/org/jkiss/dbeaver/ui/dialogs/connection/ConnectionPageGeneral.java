@@ -86,6 +86,7 @@ class ConnectionPageGeneral extends ConnectionWizardPage {
     private Button showSystemObjects;
     private Button showUtilityObjects;
     private Button readOnlyConnection;
+    private Button connectOnStartup;
 
     private List<FilterInfo> filters = new ArrayList<>();
     private Group filtersGroup;
@@ -158,6 +159,7 @@ class ConnectionPageGeneral extends ConnectionWizardPage {
                 showSystemObjects.setSelection(dataSourceDescriptor.isShowSystemObjects());
                 showUtilityObjects.setSelection(dataSourceDescriptor.isShowUtilityObjects());
                 readOnlyConnection.setSelection(dataSourceDescriptor.isConnectionReadOnly());
+                connectOnStartup.setSelection(dataSourceDescriptor.isConnectOnStartup());
 
                 activated = true;
             }
@@ -173,6 +175,7 @@ class ConnectionPageGeneral extends ConnectionWizardPage {
             showSystemObjects.setSelection(false);
             showUtilityObjects.setSelection(false);
             readOnlyConnection.setSelection(false);
+            connectOnStartup.setSelection(false);
         }
 
         long features = getWizard().getSelectedDriver().getDataSourceProvider().getFeatures();
@@ -361,6 +364,12 @@ class ConnectionPageGeneral extends ConnectionWizardPage {
                 dataSourceDescriptor != null && dataSourceDescriptor.isConnectionReadOnly());
             gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING);
             readOnlyConnection.setLayoutData(gd);
+
+            connectOnStartup = UIUtils.createCheckbox(
+                miscGroup,
+                CoreMessages.dialog_connection_wizard_final_checkbox_connect_on_startup,
+                dataSourceDescriptor != null && dataSourceDescriptor.isConnectOnStartup());
+            connectOnStartup.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
         }
 
         {
@@ -505,6 +514,7 @@ class ConnectionPageGeneral extends ConnectionWizardPage {
         dataSource.setShowSystemObjects(showSystemObjects.getSelection());
         dataSource.setShowUtilityObjects(showUtilityObjects.getSelection());
         dataSource.setConnectionReadOnly(readOnlyConnection.getSelection());
+        dataSource.setConnectOnStartup(connectOnStartup.getSelection());
 
         for (FilterInfo filterInfo : filters) {
             if (filterInfo.filter != null) {
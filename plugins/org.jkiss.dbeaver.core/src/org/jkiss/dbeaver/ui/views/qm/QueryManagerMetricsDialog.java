@@ -0,0 +1,122 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.views.qm;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.model.DBIcon;
+import org.jkiss.dbeaver.model.qm.metrics.QMLatencyHistogram;
+import org.jkiss.dbeaver.model.qm.metrics.QMMetricsRegistry;
+import org.jkiss.dbeaver.model.qm.metrics.QMQueryMetrics;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.List;
+
+/**
+ * Query latency metrics dialog
+ */
+class QueryManagerMetricsDialog extends BaseDialog {
+
+    private static final int REFRESH_ID = IDialogConstants.CLIENT_ID + 1;
+    private static final int RESET_ID = IDialogConstants.CLIENT_ID + 2;
+
+    private final QMMetricsRegistry registry;
+    private Table metricsTable;
+
+    QueryManagerMetricsDialog(Shell parentShell, QMMetricsRegistry registry) {
+        super(parentShell, "Query metrics", DBIcon.TREE_TABLE);
+        this.registry = registry;
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        metricsTable = new Table(composite, SWT.BORDER | SWT.FULL_SELECTION);
+        metricsTable.setHeaderVisible(true);
+        metricsTable.setLinesVisible(true);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 900;
+        gd.heightHint = 400;
+        metricsTable.setLayoutData(gd);
+
+        UIUtils.createTableColumn(metricsTable, SWT.LEFT, "Datasource");
+        UIUtils.createTableColumn(metricsTable, SWT.LEFT, "Query");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "Count");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "Errors");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "p50 ms");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "p95 ms");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "p99 ms");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "Max ms");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "First row p50 ms");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "Rows p50");
+        UIUtils.createTableColumn(metricsTable, SWT.RIGHT, "Fetch rows/s p50");
+
+        loadMetrics();
+
+        return composite;
+    }
+
+    private void loadMetrics() {
+        metricsTable.removeAll();
+        List<QMQueryMetrics> allMetrics = registry.getMetrics();
+        for (QMQueryMetrics metrics : allMetrics) {
+            QMLatencyHistogram executeTime = metrics.getExecuteTime();
+            TableItem item = new TableItem(metricsTable, SWT.NONE);
+            item.setText(0, CommonUtils.notEmpty(metrics.getContainerName()));
+            item.setText(1, metrics.isDataSourceTotal() ? "<all queries>" : metrics.getFingerprint());
+            item.setText(2, String.valueOf(metrics.getExecuteCount()));
+            item.setText(3, String.valueOf(metrics.getErrorCount()));
+            item.setText(4, formatMillis(executeTime.getPercentile(50)));
+            item.setText(5, formatMillis(executeTime.getPercentile(95)));
+            item.setText(6, formatMillis(executeTime.getPercentile(99)));
+            item.setText(7, formatMillis(executeTime.getMax()));
+            item.setText(8, metrics.getFirstRowTime().getCount() == 0 ? "" : formatMillis(metrics.getFirstRowTime().getPercentile(50)));
+            item.setText(9, metrics.getRowCount().getCount() == 0 ? "" : String.valueOf(metrics.getRowCount().getPercentile(50)));
+            item.setText(10, metrics.getFetchRate().getCount() == 0 ? "" : String.valueOf(metrics.getFetchRate().getPercentile(50)));
+        }
+        UIUtils.packColumns(metricsTable);
+    }
+
+    private static String formatMillis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, REFRESH_ID, "Refresh", false);
+        createButton(parent, RESET_ID, "Reset", false);
+        createButton(parent, IDialogConstants.OK_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        if (buttonId == REFRESH_ID) {
+            loadMetrics();
+        } else if (buttonId == RESET_ID) {
+            registry.reset();
+            loadMetrics();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+}
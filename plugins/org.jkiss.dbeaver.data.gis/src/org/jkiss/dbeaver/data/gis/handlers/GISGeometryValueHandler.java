@@ -17,6 +17,9 @@
 package org.jkiss.dbeaver.data.gis.handlers;
 
 import com.vividsolutions.jts.geom.Geometry;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
@@ -28,10 +31,13 @@ import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import java.sql.SQLException;
 
 /**
- * GIS geometry handler
+ * GIS geometry handler.
+ * Fetched values are kept as raw SRID + WKB bytes (see {@link LazyGeometry}) and decoded on demand.
  */
 public class GISGeometryValueHandler extends JDBCAbstractValueHandler {
 
+    private static final Log log = Log.getLog(GISGeometryValueHandler.class);
+
     public static final GISGeometryValueHandler INSTANCE = new GISGeometryValueHandler();
 
     @Override
@@ -47,6 +53,8 @@ public class GISGeometryValueHandler extends JDBCAbstractValueHandler {
             statement.setNull(paramIndex, paramType.getTypeID());
         } else if (value instanceof byte[]) {
             bindBytes(statement, paramIndex, (byte[]) value);
+        } else if (value instanceof LazyGeometry) {
+            bindBytes(statement, paramIndex, ((LazyGeometry) value).getBytes());
         } else if (value instanceof Geometry) {
             bindBytes(statement, paramIndex, GeometryConverter.getInstance().to((Geometry)value));
         }
@@ -61,10 +69,10 @@ public class GISGeometryValueHandler extends JDBCAbstractValueHandler {
     public Object getValueFromObject(DBCSession session, DBSTypedObject type, Object object, boolean copy) throws DBCException {
         if (object == null) {
             return null;
-        } else if (object instanceof Geometry) {
+        } else if (object instanceof Geometry || object instanceof LazyGeometry) {
             return object;
         } else if (object instanceof byte[]) {
-            return GeometryConverter.getInstance().from((byte[]) object);
+            return new LazyGeometry((byte[]) object);
         } else if (object instanceof String) {
             return GeometryConverter.getInstance().from((String)object);
         } else {
@@ -72,6 +80,25 @@ public class GISGeometryValueHandler extends JDBCAbstractValueHandler {
         }
     }
 
+    @NotNull
+    @Override
+    public String getValueDisplayString(@NotNull DBSTypedObject column, Object value, @NotNull DBDDisplayFormat format) {
+        if (value instanceof LazyGeometry) {
+            LazyGeometry lazyGeometry = (LazyGeometry) value;
+            if (format == DBDDisplayFormat.UI) {
+                // Do not decode geometry just to show it in the grid
+                return lazyGeometry.getSummary();
+            }
+            try {
+                value = lazyGeometry.getGeometry();
+            } catch (DBCException e) {
+                log.debug(e);
+                return lazyGeometry.getSummary();
+            }
+        }
+        return super.getValueDisplayString(column, value, format);
+    }
+
     protected byte[] fetchBytes(JDBCResultSet resultSet, int index) throws SQLException {
         return resultSet.getBytes(index);
     }
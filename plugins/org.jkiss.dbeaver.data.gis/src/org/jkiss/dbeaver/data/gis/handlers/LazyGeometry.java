@@ -0,0 +1,238 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.gis.handlers;
+
+import com.vividsolutions.jts.geom.Geometry;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDValue;
+import org.jkiss.dbeaver.model.exec.DBCException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Geometry value which keeps raw SRID + WKB bytes and decodes them on first use.
+ * Display summary (type, SRID, point count) is read from WKB headers without building coordinates.
+ */
+public class LazyGeometry implements DBDValue {
+
+    private static final int WKB_POINT = 1;
+    private static final int WKB_LINESTRING = 2;
+    private static final int WKB_POLYGON = 3;
+    private static final int WKB_MULTIPOINT = 4;
+    private static final int WKB_MULTILINESTRING = 5;
+    private static final int WKB_MULTIPOLYGON = 6;
+    private static final int WKB_GEOMETRYCOLLECTION = 7;
+
+    private static final int EWKB_Z_FLAG = 0x80000000;
+    private static final int EWKB_M_FLAG = 0x40000000;
+    private static final int EWKB_SRID_FLAG = 0x20000000;
+
+    private static final String[] TYPE_NAMES = {
+        "GEOMETRY", "POINT", "LINESTRING", "POLYGON", "MULTIPOINT", "MULTILINESTRING", "MULTIPOLYGON", "GEOMETRYCOLLECTION"
+    };
+
+    @NotNull
+    private final byte[] bytes;
+    private Geometry geometry;
+
+    private boolean headerRead;
+    private int srid;
+    private int geometryType;
+    private int pointCount = -1;
+
+    public LazyGeometry(@NotNull byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Raw SRID + WKB bytes
+     */
+    @NotNull
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public synchronized boolean isDecoded() {
+        return geometry != null;
+    }
+
+    @NotNull
+    public synchronized Geometry getGeometry() throws DBCException {
+        if (geometry == null) {
+            try {
+                geometry = GeometryConverter.getInstance().from(bytes);
+            } catch (IllegalArgumentException e) {
+                throw new DBCException("Can't decode geometry value", e.getCause() == null ? e : e.getCause());
+            }
+        }
+        return geometry;
+    }
+
+    public synchronized int getSRID() {
+        readHeader();
+        return srid;
+    }
+
+    @NotNull
+    public synchronized String getGeometryType() {
+        readHeader();
+        return geometryType > 0 && geometryType < TYPE_NAMES.length ? TYPE_NAMES[geometryType] : TYPE_NAMES[0];
+    }
+
+    /**
+     * Total number of coordinates or -1 if WKB is malformed
+     */
+    public synchronized int getPointCount() {
+        readHeader();
+        return pointCount;
+    }
+
+    @NotNull
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder(getGeometryType());
+        summary.append(" (");
+        int points = getPointCount();
+        if (points >= 0) {
+            summary.append(points).append(points == 1 ? " point" : " points").append(", ");
+        }
+        summary.append("SRID ").append(getSRID()).append(")");
+        return summary.toString();
+    }
+
+    @Override
+    public byte[] getRawValue() {
+        return bytes;
+    }
+
+    @Override
+    public boolean isNull() {
+        return false;
+    }
+
+    @Override
+    public boolean isModified() {
+        return false;
+    }
+
+    @Override
+    public synchronized void release() {
+        geometry = null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof LazyGeometry && Arrays.equals(bytes, ((LazyGeometry) obj).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+
+    private void readHeader() {
+        if (headerRead) {
+            return;
+        }
+        headerRead = true;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            srid = buffer.getInt();
+            pointCount = readGeometry(buffer, true);
+        } catch (RuntimeException e) {
+            // Malformed or truncated WKB. Leave what we've got, decoder will report the error.
+            pointCount = -1;
+        }
+    }
+
+    /**
+     * Skips geometry in the buffer and returns number of its points
+     */
+    private int readGeometry(ByteBuffer buffer, boolean root) {
+        buffer.order(buffer.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        int typeInt = buffer.getInt();
+        boolean hasZ = (typeInt & EWKB_Z_FLAG) != 0;
+        boolean hasM = (typeInt & EWKB_M_FLAG) != 0;
+        if ((typeInt & EWKB_SRID_FLAG) != 0) {
+            int ewkbSRID = buffer.getInt();
+            if (root && srid == 0) {
+                srid = ewkbSRID;
+            }
+        }
+        // ISO WKB encodes dimensions as thousands: 1000 - Z, 2000 - M, 3000 - ZM
+        int typeCode = typeInt & 0x0FFFFFFF;
+        int isoDimension = typeCode / 1000;
+        typeCode %= 1000;
+        hasZ |= isoDimension == 1 || isoDimension == 3;
+        hasM |= isoDimension == 2 || isoDimension == 3;
+        if (root) {
+            geometryType = typeCode;
+        }
+        int coordSize = (2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0)) * 8;
+
+        switch (typeCode) {
+            case WKB_POINT:
+                skip(buffer, coordSize);
+                return 1;
+            case WKB_LINESTRING:
+                return skipPoints(buffer, coordSize);
+            case WKB_POLYGON: {
+                int ringCount = buffer.getInt();
+                int count = 0;
+                for (int i = 0; i < ringCount; i++) {
+                    count += skipPoints(buffer, coordSize);
+                }
+                return count;
+            }
+            case WKB_MULTIPOINT:
+            case WKB_MULTILINESTRING:
+            case WKB_MULTIPOLYGON:
+            case WKB_GEOMETRYCOLLECTION: {
+                int partCount = buffer.getInt();
+                int count = 0;
+                for (int i = 0; i < partCount; i++) {
+                    ByteOrder order = buffer.order();
+                    count += readGeometry(buffer, false);
+                    buffer.order(order);
+                }
+                return count;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported WKB geometry type: " + typeCode);
+        }
+    }
+
+    private static int skipPoints(ByteBuffer buffer, int coordSize) {
+        int count = buffer.getInt();
+        skip(buffer, (long) count * coordSize);
+        return count;
+    }
+
+    private static void skip(ByteBuffer buffer, long length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("WKB is truncated");
+        }
+        buffer.position(buffer.position() + (int) length);
+    }
+
+}
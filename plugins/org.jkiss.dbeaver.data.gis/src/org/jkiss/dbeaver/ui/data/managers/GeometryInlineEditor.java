@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.ui.data.managers;
 
 import com.vividsolutions.jts.geom.Geometry;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.data.gis.handlers.LazyGeometry;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.gis.GisAttribute;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
@@ -42,6 +43,8 @@ public class GeometryInlineEditor extends StringInlineEditor {
         super.primeEditorValue(value);
         if (value instanceof Geometry) {
             this.valueSRID = ((Geometry) value).getSRID();
+        } else if (value instanceof LazyGeometry) {
+            this.valueSRID = ((LazyGeometry) value).getSRID();
         }
         if (valueSRID == 0) {
             DBSTypedObject column = valueController.getValueType();
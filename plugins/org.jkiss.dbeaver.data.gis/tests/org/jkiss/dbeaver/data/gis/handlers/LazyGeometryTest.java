@@ -0,0 +1,205 @@
+package org.jkiss.dbeaver.data.gis.handlers;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+public class LazyGeometryTest {
+
+    private static final int POINT = 1;
+    private static final int LINESTRING = 2;
+    private static final int POLYGON = 3;
+    private static final int MULTIPOINT = 4;
+    private static final int GEOMETRYCOLLECTION = 7;
+
+    private static final int EWKB_Z = 0x80000000;
+    private static final int EWKB_M = 0x40000000;
+    private static final int EWKB_SRID = 0x20000000;
+
+    @Test
+    public void testPoint() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(4326)
+            .header(ByteOrder.LITTLE_ENDIAN, POINT).coords(1, 2)
+            .bytes());
+        assertEquals("POINT", geometry.getGeometryType());
+        assertEquals(1, geometry.getPointCount());
+        assertEquals(4326, geometry.getSRID());
+        assertEquals("POINT (1 point, SRID 4326)", geometry.getSummary());
+        assertFalse(geometry.isDecoded());
+    }
+
+    @Test
+    public void testBigEndianLineString() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.BIG_ENDIAN, LINESTRING).count(3).coords(0, 0, 1, 1, 2, 2)
+            .bytes());
+        assertEquals("LINESTRING", geometry.getGeometryType());
+        assertEquals(3, geometry.getPointCount());
+        assertEquals("LINESTRING (3 points, SRID 0)", geometry.getSummary());
+    }
+
+    @Test
+    public void testPolygonRings() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, POLYGON).count(2)
+            .count(4).coords(0, 0, 10, 0, 10, 10, 0, 0)
+            .count(4).coords(1, 1, 2, 1, 2, 2, 1, 1)
+            .bytes());
+        assertEquals("POLYGON", geometry.getGeometryType());
+        assertEquals(8, geometry.getPointCount());
+    }
+
+    @Test
+    public void testEWKBSridAndZ() {
+        // Z coordinates take 3 doubles. Wrong coordinate size would break the trailing point.
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, GEOMETRYCOLLECTION | EWKB_SRID).value(3857).count(2)
+            .header(ByteOrder.LITTLE_ENDIAN, LINESTRING | EWKB_Z).count(2).coords(0, 0, 0, 1, 1, 1)
+            .header(ByteOrder.LITTLE_ENDIAN, POINT).coords(5, 5)
+            .bytes());
+        assertEquals("GEOMETRYCOLLECTION", geometry.getGeometryType());
+        assertEquals(3857, geometry.getSRID());
+        assertEquals(3, geometry.getPointCount());
+    }
+
+    @Test
+    public void testEWKBZM() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.BIG_ENDIAN, LINESTRING | EWKB_Z | EWKB_M).count(2).coords(0, 0, 0, 0, 1, 1, 1, 1)
+            .bytes());
+        assertEquals("LINESTRING", geometry.getGeometryType());
+        assertEquals(2, geometry.getPointCount());
+    }
+
+    @Test
+    public void testPrefixSridHasPriority() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(4326)
+            .header(ByteOrder.LITTLE_ENDIAN, POINT | EWKB_SRID).value(3857).coords(1, 1)
+            .bytes());
+        assertEquals(4326, geometry.getSRID());
+        assertEquals(1, geometry.getPointCount());
+    }
+
+    @Test
+    public void testISODimensions() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, GEOMETRYCOLLECTION).count(3)
+            .header(ByteOrder.LITTLE_ENDIAN, 1000 + POINT).coords(1, 2, 3)
+            .header(ByteOrder.BIG_ENDIAN, 2000 + LINESTRING).count(2).coords(1, 2, 3, 4, 5, 6)
+            .header(ByteOrder.LITTLE_ENDIAN, 3000 + MULTIPOINT).count(2)
+            .header(ByteOrder.LITTLE_ENDIAN, 3000 + POINT).coords(1, 2, 3, 4)
+            .header(ByteOrder.BIG_ENDIAN, 3000 + POINT).coords(5, 6, 7, 8)
+            .bytes());
+        assertEquals("GEOMETRYCOLLECTION", geometry.getGeometryType());
+        assertEquals(5, geometry.getPointCount());
+    }
+
+    @Test
+    public void testISOZMRootType() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, 3000 + POLYGON).count(1).count(1).coords(1, 2, 3, 4)
+            .bytes());
+        assertEquals("POLYGON", geometry.getGeometryType());
+        assertEquals(1, geometry.getPointCount());
+    }
+
+    @Test
+    public void testTruncated() {
+        byte[] bytes = new WKB(4326)
+            .header(ByteOrder.LITTLE_ENDIAN, LINESTRING).count(3).coords(0, 0, 1, 1, 2, 2)
+            .bytes();
+        LazyGeometry geometry = new LazyGeometry(Arrays.copyOf(bytes, bytes.length - 4));
+        assertEquals("LINESTRING", geometry.getGeometryType());
+        assertEquals(-1, geometry.getPointCount());
+        assertEquals(4326, geometry.getSRID());
+        assertEquals("LINESTRING (SRID 4326)", geometry.getSummary());
+    }
+
+    @Test
+    public void testCoordinateSizeMismatch() {
+        // Z flag without Z values - points don't fit in the buffer
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, LINESTRING | EWKB_Z).count(3).coords(0, 0, 1, 1, 2, 2)
+            .bytes());
+        assertEquals(-1, geometry.getPointCount());
+    }
+
+    @Test
+    public void testNegativeCount() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, LINESTRING).count(-1).coords(0, 0)
+            .bytes());
+        assertEquals(-1, geometry.getPointCount());
+    }
+
+    @Test
+    public void testUnknownType() {
+        LazyGeometry geometry = new LazyGeometry(new WKB(0)
+            .header(ByteOrder.LITTLE_ENDIAN, 17).coords(0, 0)
+            .bytes());
+        assertEquals("GEOMETRY", geometry.getGeometryType());
+        assertEquals(-1, geometry.getPointCount());
+    }
+
+    @Test
+    public void testEmpty() {
+        LazyGeometry geometry = new LazyGeometry(new byte[0]);
+        assertEquals("GEOMETRY", geometry.getGeometryType());
+        assertEquals(-1, geometry.getPointCount());
+        assertEquals(0, geometry.getSRID());
+    }
+
+    @Test
+    public void testEquals() {
+        byte[] bytes = new WKB(4326).header(ByteOrder.LITTLE_ENDIAN, POINT).coords(1, 2).bytes();
+        LazyGeometry geometry = new LazyGeometry(bytes);
+        assertEquals(geometry, new LazyGeometry(bytes.clone()));
+        assertEquals(geometry.hashCode(), new LazyGeometry(bytes.clone()).hashCode());
+        assertNotEquals(geometry, new LazyGeometry(new WKB(4326).header(ByteOrder.LITTLE_ENDIAN, POINT).coords(2, 1).bytes()));
+    }
+
+    /**
+     * SRID prefix (little endian, as MySQL stores geometries) followed by WKB
+     */
+    private static class WKB {
+        private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        WKB(int srid) {
+            buffer.order(ByteOrder.LITTLE_ENDIAN).putInt(srid);
+        }
+
+        WKB header(ByteOrder order, int type) {
+            buffer.put((byte) (order == ByteOrder.BIG_ENDIAN ? 0 : 1));
+            buffer.order(order).putInt(type);
+            return this;
+        }
+
+        WKB value(int value) {
+            buffer.putInt(value);
+            return this;
+        }
+
+        WKB count(int count) {
+            buffer.putInt(count);
+            return this;
+        }
+
+        WKB coords(double... values) {
+            for (double value : values) {
+                buffer.putDouble(value);
+            }
+            return this;
+        }
+
+        byte[] bytes() {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
+}
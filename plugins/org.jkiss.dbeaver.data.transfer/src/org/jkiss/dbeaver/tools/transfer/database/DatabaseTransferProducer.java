@@ -175,7 +175,7 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                     // Perform export
                     if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
                         // Just do it in single query
-                        dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags);
+                        dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags | DBSDataContainer.FLAG_STREAM_DATA);
                     } else {
                         // Read all data by segments
                         long offset = 0;
@@ -50,6 +50,7 @@ public class DataExporterJSON extends StreamExporterAbstract {
 
     public static final String PROP_FORMAT_DATE_ISO = "formatDateISO";
     public static final String PROP_PRINT_TABLE_NAME = "printTableName";
+    public static final String PROP_NESTED_JSON = "nestedJson";
 
     private PrintWriter out;
     private List<DBDAttributeBinding> columns;
@@ -58,6 +59,7 @@ public class DataExporterJSON extends StreamExporterAbstract {
 
     private boolean printTableName = true;
     private boolean formatDateISO = true;
+    private boolean nestedJson = false;
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -66,6 +68,7 @@ public class DataExporterJSON extends StreamExporterAbstract {
         out = site.getWriter();
         formatDateISO = CommonUtils.getBoolean(site.getProperties().get(PROP_FORMAT_DATE_ISO), true);
         printTableName = CommonUtils.getBoolean(site.getProperties().get(PROP_PRINT_TABLE_NAME), true);
+        nestedJson = CommonUtils.getBoolean(site.getProperties().get(PROP_NESTED_JSON), false);
     }
 
     @Override
@@ -124,7 +127,12 @@ public class DataExporterJSON extends StreamExporterAbstract {
                     try {
                         DBDContentStorage cs = content.getContents(session.getProgressMonitor());
                         if (cs != null) {
-                            if (ContentUtils.isTextContent(content)) {
+                            if (nestedJson && MimeTypes.TEXT_JSON.equalsIgnoreCase(content.getContentType())) {
+                                // JSON value. Stream it as is, it is already a valid JSON
+                                try (Reader in = cs.getContentReader()) {
+                                    writeRawValue(in);
+                                }
+                            } else if (ContentUtils.isTextContent(content)) {
                                 try (Reader in = cs.getContentReader()) {
                                     out.write("\"");
                                     writeCellValue(in);
@@ -186,6 +194,18 @@ public class DataExporterJSON extends StreamExporterAbstract {
         }
     }
 
+    private void writeRawValue(Reader reader) throws IOException
+    {
+        char buffer[] = new char[2000];
+        for (;;) {
+            int count = reader.read(buffer);
+            if (count <= 0) {
+                break;
+            }
+            out.write(buffer, 0, count);
+        }
+    }
+
     private void writeCellValue(Reader reader) throws IOException
     {
         // Copy reader
@@ -16,23 +16,32 @@
  */
 package org.jkiss.dbeaver.ext.erd.editor;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.gef.GraphicalViewer;
 import org.eclipse.swt.widgets.Composite;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.erd.ERDActivator;
 import org.jkiss.dbeaver.ext.erd.ERDConstants;
+import org.jkiss.dbeaver.ext.erd.model.DiagramObjectCollector;
+import org.jkiss.dbeaver.ext.erd.model.ERDEntity;
+import org.jkiss.dbeaver.ext.erd.model.ERDUtils;
 import org.jkiss.dbeaver.ext.erd.model.EntityDiagram;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.IActiveWorkbenchPart;
 import org.jkiss.dbeaver.ui.LoadingJob;
+import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.editors.IDatabaseEditor;
 import org.jkiss.dbeaver.ui.editors.IDatabaseEditorInput;
 
@@ -46,7 +55,12 @@ public class ERDEditorEmbedded extends ERDEditorPart implements IDatabaseEditor,
 
     private static final Log log = Log.getLog(ERDEditorEmbedded.class);
 
+    // Bigger diagrams are rendered progressively: the first batch of entities is shown right away
+    // and the rest is added batch by batch by EntitiesLoadJob
+    private static final int PROGRESSIVE_LOAD_BATCH = 100;
+
     private Composite parent;
+    private volatile EntitiesLoadJob entitiesLoadJob;
 
     /**
      * No-arg constructor
@@ -129,6 +143,7 @@ public class ERDEditorEmbedded extends ERDEditorPart implements IDatabaseEditor,
             // Do not start new one while old is running
             return;
         }
+        cancelEntitiesLoad();
         diagramLoadingJob = LoadingJob.createService(
             new DatabaseLoadService<EntityDiagram>("Load diagram '" + object.getName() + "'", object.getDataSource()) {
                 @Override
@@ -160,11 +175,31 @@ public class ERDEditorEmbedded extends ERDEditorPart implements IDatabaseEditor,
             public void done(IJobChangeEvent event)
             {
                 diagramLoadingJob = null;
+                EntitiesLoadJob loadJob = entitiesLoadJob;
+                if (loadJob != null) {
+                    loadJob.schedule();
+                }
             }
         });
         diagramLoadingJob.schedule();
     }
 
+    @Override
+    public void dispose()
+    {
+        cancelEntitiesLoad();
+        super.dispose();
+    }
+
+    private void cancelEntitiesLoad()
+    {
+        EntitiesLoadJob loadJob = entitiesLoadJob;
+        if (loadJob != null) {
+            loadJob.cancel();
+            entitiesLoadJob = null;
+        }
+    }
+
     @Override
     public DBCExecutionContext getExecutionContext()
     {
@@ -185,10 +220,20 @@ public class ERDEditorEmbedded extends ERDEditorPart implements IDatabaseEditor,
         } else {
             diagram = new EntityDiagram(getDecorator(), dbObject, dbObject.getName());
 
-            diagram.fillEntities(
-                monitor,
-                collectDatabaseTables(monitor, dbObject),
-                dbObject);
+            List<DBSEntity> tables = new ArrayList<>(collectDatabaseTables(monitor, dbObject));
+            if (tables.size() <= PROGRESSIVE_LOAD_BATCH) {
+                diagram.fillEntities(monitor, tables, dbObject);
+            } else {
+                // Read structure of all tables at once and render the first batch.
+                DiagramObjectCollector.prefetchStructure(monitor, tables);
+                diagram.fillEntities(monitor, tables.subList(0, PROGRESSIVE_LOAD_BATCH), dbObject, false);
+                if (!monitor.isCanceled()) {
+                    entitiesLoadJob = new EntitiesLoadJob(
+                        diagram,
+                        new ArrayList<>(tables.subList(PROGRESSIVE_LOAD_BATCH, tables.size())),
+                        dbObject);
+                }
+            }
         }
 
         return diagram;
@@ -305,4 +350,81 @@ public class ERDEditorEmbedded extends ERDEditorPart implements IDatabaseEditor,
         return result;
     }
 
+    /**
+     * Adds the rest of entities to the rendered diagram.
+     * Entities metadata is read in the job thread while the diagram model is changed in the UI thread only.
+     */
+    private class EntitiesLoadJob extends AbstractJob {
+
+        private final EntityDiagram diagram;
+        private final List<DBSEntity> tables;
+        private final DBSObject rootObject;
+
+        EntitiesLoadJob(EntityDiagram diagram, List<DBSEntity> tables, DBSObject rootObject)
+        {
+            super("Load diagram '" + diagram.getName() + "' entities");
+            this.diagram = diagram;
+            this.tables = tables;
+            this.rootObject = rootObject;
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            monitor.beginTask("Load entities metadata", tables.size());
+            try {
+                for (int i = 0; i < tables.size() && !monitor.isCanceled(); i += PROGRESSIVE_LOAD_BATCH) {
+                    List<DBSEntity> batch = tables.subList(i, Math.min(tables.size(), i + PROGRESSIVE_LOAD_BATCH));
+                    List<ERDEntity> erdEntities = new ArrayList<>(batch.size());
+                    for (DBSEntity table : batch) {
+                        if (monitor.isCanceled()) {
+                            break;
+                        }
+                        monitor.subTask("Load " + table.getName());
+                        ERDEntity erdEntity = ERDUtils.makeEntityFromObject(monitor, diagram, erdEntities, table, null);
+                        erdEntity.setPrimary(table == rootObject);
+                        try {
+                            // Read foreign keys here so relations are created in the UI thread from cache
+                            table.getAssociations(monitor);
+                        } catch (DBException e) {
+                            log.debug("Can't read table '" + table.getName() + "' foreign keys", e);
+                        }
+                        erdEntities.add(erdEntity);
+                        monitor.worked(1);
+                    }
+                    if (!monitor.isCanceled()) {
+                        UIUtils.syncExec(() -> addEntities(erdEntities));
+                    }
+                }
+            } finally {
+                monitor.done();
+                if (entitiesLoadJob == this) {
+                    entitiesLoadJob = null;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void addEntities(List<ERDEntity> erdEntities)
+        {
+            GraphicalViewer viewer = getGraphicalViewer();
+            if (viewer == null || viewer.getControl() == null || viewer.getControl().isDisposed() ||
+                viewer.getContents() == null || viewer.getContents().getModel() != diagram)
+            {
+                // Diagram was closed or reloaded
+                cancel();
+                return;
+            }
+            for (ERDEntity erdEntity : erdEntities) {
+                diagram.addEntity(erdEntity, true);
+            }
+            VoidProgressMonitor monitor = new VoidProgressMonitor();
+            for (ERDEntity erdEntity : erdEntities) {
+                erdEntity.addModelRelations(monitor, diagram, true, true);
+            }
+            progressControl.setInfo(diagram.getEntityCount() + " objects");
+        }
+    }
+
 }
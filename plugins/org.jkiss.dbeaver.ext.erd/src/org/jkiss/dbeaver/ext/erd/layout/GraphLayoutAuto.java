@@ -25,6 +25,7 @@ import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.jkiss.dbeaver.ext.erd.layout.algorithm.direct.DirectedGraphLayoutVisitor;
+import org.jkiss.dbeaver.ext.erd.layout.algorithm.direct.IncrementalGraphLayoutVisitor;
 import org.jkiss.dbeaver.ext.erd.part.DiagramPart;
 
 import java.util.List;
@@ -36,6 +37,8 @@ import java.util.List;
  */
 public class GraphLayoutAuto extends AbstractLayout
 {
+	// Diagrams with more nodes are laid out by connected components
+	private static final int INCREMENTAL_LAYOUT_THRESHOLD = 200;
 
 	private DiagramPart diagram;
 
@@ -69,7 +72,11 @@ public class GraphLayoutAuto extends AbstractLayout
 */
 
         // TODO: REPLACE WITH ZEST!
-		new DirectedGraphLayoutVisitor(diagram.getDiagram().getDecorator()).layoutDiagram(diagram);
+		if (diagram.getChildren().size() > INCREMENTAL_LAYOUT_THRESHOLD) {
+			new IncrementalGraphLayoutVisitor(diagram.getDiagram().getDecorator()).layoutDiagram(diagram);
+		} else {
+			new DirectedGraphLayoutVisitor(diagram.getDiagram().getDecorator()).layoutDiagram(diagram);
+		}
         diagram.setTableModelBounds();
         //new ZestGraphLayout().layoutDiagram(diagram);
 
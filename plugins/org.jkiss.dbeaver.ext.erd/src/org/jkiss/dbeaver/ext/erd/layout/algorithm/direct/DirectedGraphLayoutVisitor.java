@@ -23,6 +23,7 @@ package org.jkiss.dbeaver.ext.erd.layout.algorithm.direct;
 import org.jkiss.dbeaver.Log;
 import org.eclipse.draw2d.*;
 import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw2d.graph.*;
 import org.eclipse.gef.EditPart;
@@ -51,6 +52,7 @@ public class DirectedGraphLayoutVisitor {
     private final ERDDecorator decorator;
     private Map<EditPart, Object> partToNodesMap;
     private DirectedGraph graph;
+    private Point offset = new Point(0, 0);
 
     public DirectedGraphLayoutVisitor(ERDDecorator decorator) {
         this.decorator = decorator;
@@ -60,33 +62,44 @@ public class DirectedGraphLayoutVisitor {
      * Public method for reading graph nodes
      */
     public void layoutDiagram(AbstractGraphicalEditPart diagram)
+    {
+        layoutNodes(diagram, diagram.getChildren(), new Point(0, 0));
+    }
+
+    /**
+     * Lays out a subset of diagram nodes. Connections with nodes outside of this subset are ignored.
+     * @param offset location of the top left corner of the laid out nodes
+     * @return size of the area occupied by laid out nodes
+     */
+    public Dimension layoutNodes(AbstractGraphicalEditPart diagram, List<?> nodes, Point offset)
     {
         partToNodesMap = new IdentityHashMap<>();
+        this.offset = offset;
 
         graph = new DirectedGraph();
         graph.setDirection(PositionConstants.EAST);
 
-        addDiagramNodes(diagram);
+        addDiagramNodes(diagram, nodes);
         if (graph.nodes.size() > 0) {
-            addDiagramEdges(diagram);
+            addDiagramEdges(nodes);
             try {
                 //new CompoundDirectedGraphLayout().visit(graph);
                 new NodeJoiningDirectedGraphLayout(diagram).visit(graph);
             } catch (Exception e) {
                 log.error("Diagram layout error", e);
             }
-            applyDiagramResults(diagram);
+            applyDiagramResults(nodes);
         }
-
+        return new Dimension(graph.size);
     }
 
     //******************* DiagramPart contribution methods **********/
 
-    protected void addDiagramNodes(AbstractGraphicalEditPart diagram)
+    protected void addDiagramNodes(AbstractGraphicalEditPart diagram, List<?> nodes)
     {
         GraphAnimation.recordInitialState(diagram.getFigure());
         //IFigure fig = diagram.getFigure();
-        for (Object child : diagram.getChildren()) {
+        for (Object child : nodes) {
             addEntityNode((NodeEditPart) child);
         }
     }
@@ -123,9 +136,9 @@ public class DirectedGraphLayoutVisitor {
 */
     }
 
-    protected void addDiagramEdges(AbstractGraphicalEditPart diagram)
+    protected void addDiagramEdges(List<?> nodes)
     {
-        for (Object child : diagram.getChildren()) {
+        for (Object child : nodes) {
             addEntityEdges((GraphicalEditPart) child);
         }
     }
@@ -167,9 +180,9 @@ public class DirectedGraphLayoutVisitor {
 
     //******************* DiagramPart apply methods **********/
 
-    protected void applyDiagramResults(AbstractGraphicalEditPart diagram)
+    protected void applyDiagramResults(List<?> nodes)
     {
-        for (Object child : diagram.getChildren()) {
+        for (Object child : nodes) {
             applyEntityResults((GraphicalEditPart) child);
         }
     }
@@ -183,7 +196,7 @@ public class DirectedGraphLayoutVisitor {
         IFigure tableFigure = entityPart.getFigure();
 
         Dimension preferredSize = tableFigure.getPreferredSize();
-        Rectangle bounds = new Rectangle(n.x, n.y, preferredSize.width, preferredSize.height);
+        Rectangle bounds = new Rectangle(n.x + offset.x, n.y + offset.y, preferredSize.width, preferredSize.height);
 
         tableFigure.setBounds(bounds);
 
@@ -209,8 +222,8 @@ public class DirectedGraphLayoutVisitor {
             List<AbsoluteBendpoint> bends = new ArrayList<>();
             for (int i = 0; i < edgeNodes.size(); i++) {
                 Node vn = edgeNodes.getNode(i);
-                int x = vn.x;
-                int y = vn.y;
+                int x = vn.x + offset.x;
+                int y = vn.y + offset.y;
                 bends.add(new AbsoluteBendpoint(x, y));
 /*
 				if (connEdge.isFeedback()) {
@@ -0,0 +1,118 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.erd.layout.algorithm.direct;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.jkiss.dbeaver.ext.erd.model.ERDDecorator;
+
+import java.util.*;
+
+/**
+ * Layout for large diagrams.
+ * Splits diagram on connected components and lays out each component separately.
+ * Directed graph layout is superlinear so it is much faster to lay out a lot of small graphs
+ * than a single huge one. Components are placed in rows, the largest ones first.
+ */
+public class IncrementalGraphLayoutVisitor {
+
+    private static final int COMPONENT_SPACING = 40;
+    private static final int MIN_ROW_WIDTH = 2000;
+
+    private final ERDDecorator decorator;
+
+    public IncrementalGraphLayoutVisitor(ERDDecorator decorator) {
+        this.decorator = decorator;
+    }
+
+    public void layoutDiagram(AbstractGraphicalEditPart diagram)
+    {
+        List<List<EditPart>> components = findComponents(diagram.getChildren());
+        // Largest components go first
+        components.sort((o1, o2) -> o2.size() - o1.size());
+
+        DirectedGraphLayoutVisitor visitor = new DirectedGraphLayoutVisitor(decorator);
+        int rowWidth = Math.max(MIN_ROW_WIDTH, (int) Math.sqrt(diagram.getChildren().size()) * 300);
+        int x = 0, y = 0, rowHeight = 0;
+        for (List<EditPart> component : components) {
+            Dimension size = visitor.layoutNodes(diagram, component, new Point(x, y));
+            x += size.width + COMPONENT_SPACING;
+            rowHeight = Math.max(rowHeight, size.height);
+            if (x > rowWidth) {
+                x = 0;
+                y += rowHeight + COMPONENT_SPACING;
+                rowHeight = 0;
+            }
+        }
+    }
+
+    /**
+     * Finds connected components of the diagram graph (union-find over node connections)
+     */
+    private static List<List<EditPart>> findComponents(List<?> nodes)
+    {
+        Map<EditPart, EditPart> parents = new IdentityHashMap<>();
+        for (Object node : nodes) {
+            parents.put((EditPart) node, (EditPart) node);
+        }
+        for (Object node : nodes) {
+            for (Object conn : ((GraphicalEditPart) node).getSourceConnections()) {
+                EditPart target = ((ConnectionEditPart) conn).getTarget();
+                if (target != null && parents.containsKey(target)) {
+                    EditPart root1 = findRoot(parents, (EditPart) node);
+                    EditPart root2 = findRoot(parents, target);
+                    if (root1 != root2) {
+                        parents.put(root1, root2);
+                    }
+                }
+            }
+        }
+        Map<EditPart, List<EditPart>> components = new IdentityHashMap<>();
+        List<List<EditPart>> result = new ArrayList<>();
+        for (Object node : nodes) {
+            EditPart root = findRoot(parents, (EditPart) node);
+            List<EditPart> component = components.get(root);
+            if (component == null) {
+                component = new ArrayList<>();
+                components.put(root, component);
+                result.add(component);
+            }
+            component.add((EditPart) node);
+        }
+        return result;
+    }
+
+    private static EditPart findRoot(Map<EditPart, EditPart> parents, EditPart node)
+    {
+        EditPart root = node;
+        while (parents.get(root) != root) {
+            root = parents.get(root);
+        }
+        // Path compression
+        while (node != root) {
+            EditPart next = parents.get(node);
+            parents.put(node, root);
+            node = next;
+        }
+        return root;
+    }
+
+}
@@ -20,6 +20,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.erd.ERDActivator;
 import org.jkiss.dbeaver.ext.erd.ERDConstants;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -38,6 +39,9 @@ public class DiagramObjectCollector {
 
     private static final Log log = Log.getLog(DiagramObjectCollector.class);
 
+    // Minimal number of tables from the same container which makes bulk structure read worth it
+    private static final int PREFETCH_MIN_TABLES = 10;
+
     private final EntityDiagram diagram;
     private final List<ERDEntity> erdEntities = new ArrayList<>();
 
@@ -117,6 +121,7 @@ public class DiagramObjectCollector {
     {
         boolean showViews = ERDActivator.getDefault().getPreferenceStore().getBoolean(ERDConstants.PREF_DIAGRAM_SHOW_VIEWS);
         Collection<DBSEntity> tables = collectTables(monitor, roots);
+        List<DBSEntity> diagramTables = new ArrayList<>(tables.size());
         for (DBSEntity table : tables) {
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
@@ -126,8 +131,26 @@ public class DiagramObjectCollector {
                 // Skip views
                 continue;
             }
+            if (diagram.containsTable(table) && !diagram.getDecorator().allowEntityDuplicates()) {
+                // Avoid duplicates
+                continue;
+            }
+            diagramTables.add(table);
+        }
+
+        // Read attributes, constraints and foreign keys of all tables in a few catalog queries
+        prefetchStructure(monitor, diagramTables);
+
+        monitor.beginTask("Load entities metadata", diagramTables.size());
+        for (DBSEntity table : diagramTables) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            monitor.subTask("Load " + table.getName());
             addDiagramEntity(monitor, table);
+            monitor.worked(1);
         }
+        monitor.done();
 
         // Add new relations
         for (ERDEntity erdEntity : erdEntities) {
@@ -135,12 +158,47 @@ public class DiagramObjectCollector {
         }
     }
 
-    private void addDiagramEntity(DBRProgressMonitor monitor, DBSEntity table)
+    /**
+     * Warms up attributes, constraints and associations caches of specified entities.
+     * Entities are grouped by their containers and each container reads the structure of all its
+     * entities at once (see {@link DBSObjectContainer#cacheStructure}).
+     * Containers with just a few requested entities are skipped - lazy per-table reads are cheaper for them.
+     */
+    public static void prefetchStructure(DBRProgressMonitor monitor, Collection<? extends DBSEntity> entities)
     {
-        if (diagram.containsTable(table) && !diagram.getDecorator().allowEntityDuplicates()) {
-            // Avoid duplicates
+        Map<DBSObjectContainer, Integer> containers = new LinkedHashMap<>();
+        for (DBSEntity entity : entities) {
+            DBSObject parent = entity.getParentObject();
+            if (parent instanceof DBSObjectContainer) {
+                containers.merge((DBSObjectContainer) parent, 1, Integer::sum);
+            }
+        }
+        containers.values().removeIf(count -> count < PREFETCH_MIN_TABLES);
+        if (containers.isEmpty()) {
             return;
         }
+        monitor.beginTask("Read tables structure", containers.size());
+        try {
+            for (DBSObjectContainer container : containers.keySet()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                monitor.subTask("Read structure of " + DBUtils.getObjectFullName(container, DBPEvaluationContext.UI));
+                try {
+                    container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS);
+                } catch (DBException e) {
+                    // Not fatal - entities will read their structure lazily
+                    log.debug("Error reading structure of " + container.getName(), e);
+                }
+                monitor.worked(1);
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private void addDiagramEntity(DBRProgressMonitor monitor, DBSEntity table)
+    {
         ERDEntity erdEntity = ERDUtils.makeEntityFromObject(monitor, diagram, erdEntities, table, null);
         if (erdEntity != null) {
             erdEntities.add(erdEntity);
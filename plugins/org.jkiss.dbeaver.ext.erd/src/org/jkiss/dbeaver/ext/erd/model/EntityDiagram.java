@@ -255,6 +255,15 @@ public class EntityDiagram extends ERDObject<DBSObject> implements ERDContainer
     }
 
     public void fillEntities(DBRProgressMonitor monitor, Collection<DBSEntity> entities, DBSObject dbObject) {
+        fillEntities(monitor, entities, dbObject, true);
+    }
+
+    public void fillEntities(DBRProgressMonitor monitor, Collection<DBSEntity> entities, DBSObject dbObject, boolean prefetchStructure) {
+        if (prefetchStructure) {
+            // Read structure of all tables at once
+            DiagramObjectCollector.prefetchStructure(monitor, entities);
+        }
+
         // Load entities
         monitor.beginTask("Load entities metadata", entities.size());
         List<ERDEntity> entityCache = new ArrayList<>();
@@ -292,12 +301,9 @@ public class EntityDiagram extends ERDObject<DBSObject> implements ERDContainer
     }
 
     public boolean containsTable(DBSEntity table) {
-        for (ERDEntity erdEntity : entities) {
-            if (erdEntity.getObject() == table) {
-                return true;
-            }
+        synchronized (entities) {
+            return entityMap.containsKey(table);
         }
-        return false;
     }
 
     public Map<DBSEntity, ERDEntity> getEntityMap() {
@@ -0,0 +1,237 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mockdata;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts generated rows with several writers.
+ * Each writer uses its own isolated execution context and inserts rows in batches.
+ */
+class MockDataBulkWriter {
+
+    private static final Log log = Log.getLog(MockDataBulkWriter.class);
+
+    private static final int MAX_WRITERS = 4;
+    private static final int QUEUE_BATCHES_PER_WRITER = 2;
+    private static final long QUEUE_WAIT_TIMEOUT = 500;
+
+    // Marks end of data for a writer
+    private static final List<Object[]> END_OF_DATA = new ArrayList<>();
+
+    private final DBSDataManipulator dataManipulator;
+    private final DBSAttributeBase[] attributes;
+    private final BlockingQueue<List<Object[]>> queue;
+    private final List<WriterJob> writers = new ArrayList<>();
+    private final DBCStatistics statistics = new DBCStatistics();
+    private volatile Throwable error;
+    private volatile boolean canceled;
+
+    MockDataBulkWriter(DBSDataManipulator dataManipulator, DBSAttributeBase[] attributes) {
+        this.dataManipulator = dataManipulator;
+        this.attributes = attributes;
+        int writerCount = getWriterCount(dataManipulator);
+        this.queue = new ArrayBlockingQueue<>(writerCount * QUEUE_BATCHES_PER_WRITER);
+        for (int i = 0; i < writerCount; i++) {
+            writers.add(new WriterJob(i + 1));
+        }
+    }
+
+    /**
+     * Embedded databases usually do not support concurrent writes
+     */
+    private static int getWriterCount(DBSDataManipulator dataManipulator) {
+        if (dataManipulator.getDataSource().getContainer().getDriver().isEmbedded()) {
+            return 1;
+        }
+        return Math.max(1, Math.min(MAX_WRITERS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    void start() {
+        for (WriterJob writer : writers) {
+            writer.schedule();
+        }
+    }
+
+    /**
+     * Passes rows to writers. Blocks if all writers are busy.
+     */
+    void write(List<Object[]> rows) throws DBException {
+        offer(rows);
+    }
+
+    /**
+     * Sends end of data to writers and waits for them to finish.
+     * Must be called only after all data was successfully written, otherwise use {@link #cancel()}.
+     */
+    void finish() throws DBException {
+        try {
+            if (error == null && !canceled) {
+                for (int i = 0; i < writers.size(); i++) {
+                    offer(END_OF_DATA);
+                }
+            }
+        } finally {
+            if (error != null || canceled) {
+                // Writers skip remaining data
+                canceled = true;
+                queue.clear();
+            }
+            joinWriters();
+        }
+        checkError();
+    }
+
+    /**
+     * Stops writers and waits for them. Remaining data is skipped.
+     */
+    void cancel() {
+        canceled = true;
+        queue.clear();
+        joinWriters();
+    }
+
+    /**
+     * First error which happened in writers
+     */
+    @Nullable
+    Throwable getError() {
+        return error;
+    }
+
+    DBCStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void offer(List<Object[]> rows) throws DBException {
+        try {
+            while (!queue.offer(rows, QUEUE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                checkError();
+                if (canceled || allWritersFinished()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new DBException("Mock data insert interrupted", e);
+        }
+        checkError();
+    }
+
+    private void joinWriters() {
+        for (WriterJob writer : writers) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                log.debug(e);
+            }
+        }
+    }
+
+    private boolean allWritersFinished() {
+        for (WriterJob writer : writers) {
+            if (!writer.isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkError() throws DBException {
+        Throwable writeError = this.error;
+        if (writeError instanceof DBException) {
+            throw (DBException) writeError;
+        } else if (writeError != null) {
+            throw new DBException("Error inserting mock data", writeError);
+        }
+    }
+
+    private class WriterJob extends AbstractJob {
+
+        WriterJob(int index) {
+            super("Mock data writer " + index);
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                DBSInstance instance = DBUtils.getObjectOwnerInstance(dataManipulator);
+                DBCExecutionContext context = instance.openIsolatedContext(monitor, getName());
+                try {
+                    writeRows(monitor, context);
+                } finally {
+                    context.close();
+                }
+            } catch (Throwable e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void writeRows(DBRProgressMonitor monitor, DBCExecutionContext context) throws DBException, InterruptedException {
+            try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.USER, MockDataMessages.tools_mockdata_wizard_task_insert_data)) {
+                session.enableLogging(false);
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+                boolean autoCommit = txnManager == null || txnManager.isAutoCommit();
+                AbstractExecutionSource executionSource = new AbstractExecutionSource(dataManipulator, context, MockDataBulkWriter.this);
+                for (;;) {
+                    List<Object[]> rows = queue.poll(QUEUE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+                    if (rows == END_OF_DATA || canceled || error != null) {
+                        break;
+                    }
+                    if (rows == null) {
+                        continue;
+                    }
+                    try (DBSDataManipulator.ExecuteBatch batch = dataManipulator.insertData(session, attributes, null, executionSource)) {
+                        for (Object[] row : rows) {
+                            batch.add(row);
+                        }
+                        DBCStatistics batchStatistics = batch.execute(session);
+                        synchronized (statistics) {
+                            statistics.accumulate(batchStatistics);
+                        }
+                    }
+                    if (!autoCommit) {
+                        txnManager.commit(session);
+                    }
+                }
+            }
+        }
+    }
+
+}
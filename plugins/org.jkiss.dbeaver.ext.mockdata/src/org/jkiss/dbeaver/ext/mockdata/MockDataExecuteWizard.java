@@ -25,11 +25,11 @@ import org.eclipse.ui.IImportWizard;
 import org.eclipse.ui.IWorkbench;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.mockdata.generator.AbstractMockValueGenerator;
 import org.jkiss.dbeaver.ext.mockdata.internal.MDActivator;
 import org.jkiss.dbeaver.ext.mockdata.model.MockGeneratorDescriptor;
 import org.jkiss.dbeaver.ext.mockdata.model.MockValueGenerator;
 import org.jkiss.dbeaver.model.DBUtils;
-import org.jkiss.dbeaver.model.data.DBDAttributeValue;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
@@ -52,6 +52,7 @@ public class MockDataExecuteWizard  extends AbstractToolWizard<DBSDataManipulato
 
     private static final String WIZARD_DIALOG_SETTINGS = "MockData"; //$NON-NLS-1$
 
+
     private MockDataWizardPageSettings settingsPage;
     private MockDataSettings mockDataSettings;
 
@@ -224,21 +225,23 @@ public class MockDataExecuteWizard  extends AbstractToolWizard<DBSDataManipulato
                 if (batchSize <= 0) {
                     batchSize = 1;
                 }
-                long quotient = rowsNumber / batchSize;
-                long modulo = rowsNumber % batchSize;
-                if (modulo > 0) {
-                    quotient++;
-                }
-                int counter = 0;
 
                 monitor.beginTask(MockDataMessages.tools_mockdata_wizard_task_insert_data, (int) rowsNumber);
 
-                boolean hasMiltiUniqs = false;
-                Set<String> miltiUniqColumns = new HashSet<>();
+                // Only attributes with generators are inserted
+                List<DBSAttributeBase> insertAttributes = new ArrayList<>();
+                List<MockValueGenerator> insertGenerators = new ArrayList<>();
                 for (DBSAttributeBase attribute : attributes) {
-                    if (MockDataUtils.checkUnique(monitor, dbsEntity, attribute) == MockDataUtils.UNIQ_TYPE.MULTI) {
-                        hasMiltiUniqs = true;
+                    MockValueGenerator generator = generators.get(attribute.getName());
+                    if (generator != null) {
+                        insertAttributes.add(attribute);
+                        insertGenerators.add(generator);
+                    }
+                }
 
+                Set<String> miltiUniqColumns = new HashSet<>();
+                for (DBSAttributeBase attribute : insertAttributes) {
+                    if (MockDataUtils.checkUnique(monitor, dbsEntity, attribute) == MockDataUtils.UNIQ_TYPE.MULTI) {
                         // collect the columns from multi-uniqs
                         DBSEntityReferrer constraint = (DBSEntityReferrer) DBUtils.getConstraint(monitor, dbsEntity, attribute);
                         for (DBSEntityAttributeRef attributeRef : constraint.getAttributeReferences(monitor)) {
@@ -246,99 +249,107 @@ public class MockDataExecuteWizard  extends AbstractToolWizard<DBSDataManipulato
                         }
                     }
                 }
-                List<List<DBDAttributeValue>> valuesCacheForUniqs = new ArrayList<>();
-
-                // generate and insert the data
-                session.enableLogging(false);
-                DBSDataManipulator.ExecuteBatch batch = null;
-                for (int q = 0; q < quotient; q++) {
-                    if (monitor.isCanceled()) {
-                        break;
-                    }
-                    if (counter > 0) {
-                        if (txnManager != null && !autoCommit) {
-                            txnManager.commit(session);
+                // Values of multi-uniq columns of generated rows
+                int[] uniqIndexes = null;
+                MockDataUniqueFilter uniqValues = null;
+                if (!miltiUniqColumns.isEmpty()) {
+                    List<Integer> indexes = new ArrayList<>();
+                    for (int i = 0; i < insertAttributes.size(); i++) {
+                        if (miltiUniqColumns.contains(insertAttributes.get(i).getName())) {
+                            indexes.add(i);
                         }
-
-                        monitor.subTask(NLS.bind(MockDataMessages.tools_mockdata_wizard_log_inserted_rows, String.valueOf(counter)));
-                        //monitor.worked(batchSize);
                     }
+                    uniqIndexes = new int[indexes.size()];
+                    for (int i = 0; i < uniqIndexes.length; i++) {
+                        uniqIndexes[i] = indexes.get(i);
+                    }
+                    uniqValues = new MockDataUniqueFilter(rowsNumber);
+                }
 
-                    try {
-                        for (int i = 0; (i < batchSize && counter < rowsNumber); i++) {
-                            if (monitor.isCanceled()) {
-                                break;
-                            }
-                            List<DBDAttributeValue> attributeValues = new ArrayList<>();
-                            try {
-                                for (DBSAttributeBase attribute : attributes) {
-                                    MockValueGenerator generator = generators.get(attribute.getName());
-                                    if (generator != null) {
-                                        //((AbstractMockValueGenerator) generator).checkUnique(monitor);
-                                        Object value = generator.generateValue(monitor);
-                                        attributeValues.add(new DBDAttributeValue(attribute, value));
-                                    }
-                                }
-                            } catch (DBException e) {
-                                processGeneratorException(e);
-                                return true;
+                // generate the data and pass it to writers
+                MockDataBulkWriter writer = JUST_GENERATE_SCRIPT ? null :
+                    new MockDataBulkWriter(dataManipulator, insertAttributes.toArray(new DBSAttributeBase[0]));
+                if (writer != null) {
+                    writer.start();
+                }
+                boolean completed = false;
+                Throwable insertError = null;
+                try {
+                    long counter = 0;
+                    int collisions = 0;
+                    List<Object[]> rows = new ArrayList<>(batchSize);
+                    while (counter < rowsNumber && !monitor.isCanceled()) {
+                        Object[] rowValues = new Object[insertGenerators.size()];
+                        try {
+                            for (int i = 0; i < rowValues.length; i++) {
+                                rowValues[i] = insertGenerators.get(i).generateValue(monitor);
                             }
+                        } catch (DBException e) {
+                            processGeneratorException(e);
+                            return true;
+                        }
 
-                            // skip duplicate records for uniqs
-                            if (hasMiltiUniqs) {
-                                boolean collision = false;
-                                for (List<DBDAttributeValue> valueList : valuesCacheForUniqs) {
-                                    boolean theSame = true;
-                                    for (int j = 0; j < valueList.size(); j++) {
-                                        if (miltiUniqColumns.contains(valueList.get(j).getAttribute().getName())) {
-                                            if (!CommonUtils.equalObjects(valueList.get(j), attributeValues.get(j))) {
-                                                theSame = false;
-                                                break;
-                                            }
-                                        }
-                                    }
-                                    if (theSame) {
-                                        collision = true;
-                                        break;
-                                    }
-                                }
-                                if (collision) {
-                                    continue;
-                                } else {
-                                    valuesCacheForUniqs.add(attributeValues);
+                        // skip duplicate records for uniqs
+                        if (uniqValues != null) {
+                            List<Object> uniqKey = new ArrayList<>(uniqIndexes.length);
+                            for (int index : uniqIndexes) {
+                                uniqKey.add(rowValues[index]);
+                            }
+                            if (!uniqValues.add(uniqKey)) {
+                                // Duplicate (or a rare false positive of the filter) - generate another row
+                                if (++collisions > AbstractMockValueGenerator.UNIQUE_VALUE_GEN_ATTEMPTS) {
+                                    throw new DBException("Can't generate unique values for columns " + miltiUniqColumns + ". Try to change the generators or their parameters.");
                                 }
+                                continue;
                             }
+                            collisions = 0;
+                        }
 
-                            if (batch == null) {
-                                batch = dataManipulator.insertData(
+                        rows.add(rowValues);
+                        counter++;
+                        monitor.worked(1);
+                        if (rows.size() >= batchSize || counter >= rowsNumber) {
+                            if (writer != null) {
+                                writer.write(rows);
+                            } else {
+                                try (DBSDataManipulator.ExecuteBatch batch = dataManipulator.insertData(
                                         session,
-                                        DBDAttributeValue.getAttributes(attributeValues),
+                                        insertAttributes.toArray(new DBSAttributeBase[0]),
                                         null,
-                                        executionSource);
-                            }
-                            if (counter++ < rowsNumber) {
-                                batch.add(DBDAttributeValue.getValues(attributeValues));
+                                        executionSource)) {
+                                    for (Object[] row : rows) {
+                                        batch.add(row);
+                                    }
+                                    batch.generatePersistActions(session, persistActions);
+                                }
                             }
-                            monitor.worked(1);
+                            rows = new ArrayList<>(batchSize);
+                            monitor.subTask(NLS.bind(MockDataMessages.tools_mockdata_wizard_log_inserted_rows, String.valueOf(counter)));
                         }
-                        if (batch != null) {
-                            if (JUST_GENERATE_SCRIPT) {
-                                batch.generatePersistActions(session, persistActions);
+                    }
+                    completed = !monitor.isCanceled();
+                } catch (Throwable e) {
+                    insertError = e;
+                    throw e;
+                } finally {
+                    try {
+                        if (writer != null) {
+                            if (completed) {
+                                writer.finish();
                             } else {
-                                insertStats.accumulate(batch.execute(session));
+                                // Do not let writers insert the rest of the data
+                                writer.cancel();
+                                Throwable writerError = writer.getError();
+                                if (insertError != null && writerError != null &&
+                                    writerError != insertError && writerError != insertError.getCause()) {
+                                    insertError.addSuppressed(writerError);
+                                }
                             }
+                            insertStats.accumulate(writer.getStatistics());
                         }
-                    }
-                    catch (Exception e) {
-                        processGeneratorException(e);
-                        if (e instanceof DBException) {
-                            throw e;
-                        }
-                    }
-                    finally {
-                        if (batch != null) {
-                            batch.close();
-                            batch = null;
+                    } finally {
+                        for (MockValueGenerator generator : insertGenerators) {
+                            generator.dispose();
                         }
                     }
                 }
@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mockdata;
+
+import java.util.List;
+
+/**
+ * Bloom filter of generated values of multi-column unique keys.
+ *
+ * Memory is proportional to the expected number of keys (about 10 bits per key, at most 64MB),
+ * so uniqueness is checked for all generated rows. There are no false negatives: a duplicate key
+ * is always detected. False positives are possible - such rows are just generated again.
+ */
+public class MockDataUniqueFilter {
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int MIN_BITS = 1 << 16;
+    private static final int MAX_BITS = 1 << 29;
+
+    private final long[] words;
+    private final long mask;
+    private final int hashCount;
+
+    public MockDataUniqueFilter(long expectedKeys) {
+        long bitCount = Math.max(MIN_BITS, Math.min(MAX_BITS, expectedKeys * BITS_PER_KEY));
+        // Round up to a power of two to use mask instead of modulo
+        bitCount = Long.highestOneBit(bitCount - 1) << 1;
+        this.words = new long[(int) (bitCount >>> 6)];
+        this.mask = bitCount - 1;
+        this.hashCount = (int) Math.max(1, Math.min(8, Math.round((double) bitCount / Math.max(1, expectedKeys) * Math.log(2))));
+    }
+
+    /**
+     * Adds key to the filter.
+     * @return false if the key may be already added (i.e. it is a possible duplicate)
+     */
+    public boolean add(List<?> key) {
+        long hash1 = keyHash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean added = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (hash1 + i * hash2) & mask;
+            int word = (int) (bit >>> 6);
+            long bitMask = 1L << bit;
+            if ((words[word] & bitMask) == 0) {
+                words[word] |= bitMask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    long getBitCount() {
+        return mask + 1;
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    private static long keyHash(List<?> key) {
+        long hash = 1;
+        for (Object value : key) {
+            hash = hash * 0x100000001B3L + (value == null ? 0 : value.hashCode());
+        }
+        return mix(hash);
+    }
+
+    // Murmur3 64-bit finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
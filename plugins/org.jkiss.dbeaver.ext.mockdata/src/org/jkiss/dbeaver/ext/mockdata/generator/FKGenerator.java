@@ -17,14 +17,22 @@
  */
 package org.jkiss.dbeaver.ext.mockdata.generator;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.mockdata.MockDataUtils;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTableColumn;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTableForeignKeyColumn;
 
 import java.io.IOException;
@@ -32,15 +40,27 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class FKGenerator extends AbstractMockValueGenerator
 {
     private static final Log log = Log.getLog(FKGenerator.class);
 
-    private static final int UNIQ_REF_RECORDS_LIMIT = 100000000;
     private static final int REF_RECORDS_LIMIT = 100000;
+    private static final int REF_VALUES_QUEUE_SIZE = 10000;
+    private static final long REF_VALUES_WAIT_TIMEOUT = 500;
+
+    // Marks end of referenced values stream
+    private static final Object END_OF_VALUES = new Object();
 
     private List<Object> refValues = null;
+    // Unique references are read by the separate job
+    private BlockingQueue<Object> refValuesQueue = null;
+    private RefValuesReadJob refValuesReader = null;
+    private boolean refValuesEnded;
+    private volatile Throwable refValuesError;
 
     @Override
     public void init(DBSDataManipulator container, DBSAttributeBase attribute, Map<Object, Object> properties) throws DBException {
@@ -55,10 +75,21 @@ public class FKGenerator extends AbstractMockValueGenerator
 */
     }
 
+    @Override
+    public void dispose() {
+        if (refValuesReader != null) {
+            refValuesReader.cancel();
+            refValuesReader = null;
+        }
+        if (refValuesQueue != null) {
+            refValuesQueue.clear();
+        }
+        super.dispose();
+    }
+
     @Override
     public Object generateOneValue(DBRProgressMonitor monitor) throws DBException, IOException {
-        if (refValues == null) {
-            refValues = new ArrayList<>();
+        if (refValues == null && refValuesQueue == null) {
             List<DBSEntityReferrer> attributeReferrers = DBUtils.getAttributeReferrers(monitor, (DBSEntityAttribute) attribute);
             DBSEntityReferrer fk = attributeReferrers.get(0); // TODO only the first
             List<? extends DBSEntityAttributeRef> references = ((DBSEntityReferrer) fk).getAttributeReferences(monitor);
@@ -73,15 +104,134 @@ public class FKGenerator extends AbstractMockValueGenerator
                 throw new DBException("Can't find reference column for '" + attribute.getName() + "'");
             }
 
-            int numberRefRecords = (MockDataUtils.checkUnique(monitor, dbsEntity, attribute) == MockDataUtils.UNIQ_TYPE.SINGLE) ? UNIQ_REF_RECORDS_LIMIT : REF_RECORDS_LIMIT;
-            Collection<DBDLabelValuePair> values = readColumnValues(monitor, (DBSAttributeEnumerable) column.getReferencedColumn(), numberRefRecords);
-            for (DBDLabelValuePair value : values) {
-                refValues.add(value.getValue());
+            DBSTableColumn refColumn = column.getReferencedColumn();
+            if (MockDataUtils.checkUnique(monitor, dbsEntity, attribute) == MockDataUtils.UNIQ_TYPE.SINGLE &&
+                refColumn.getParentObject() instanceof DBSDataContainer)
+            {
+                // Each referenced value is used once. Stream them instead of loading all.
+                refValuesQueue = new ArrayBlockingQueue<>(REF_VALUES_QUEUE_SIZE);
+                refValuesReader = new RefValuesReadJob(refColumn);
+                refValuesReader.schedule();
+            } else {
+                refValues = new ArrayList<>();
+                Collection<DBDLabelValuePair> values = readColumnValues(monitor, (DBSAttributeEnumerable) refColumn, REF_RECORDS_LIMIT);
+                for (DBDLabelValuePair value : values) {
+                    refValues.add(value.getValue());
+                }
             }
         }
+        if (refValuesQueue != null) {
+            return nextStreamedValue(monitor);
+        }
         if (refValues.isEmpty()) {
             return null;
         }
         return refValues.get(random.nextInt(refValues.size()));
     }
+
+    private Object nextStreamedValue(DBRProgressMonitor monitor) throws DBException {
+        if (refValuesEnded) {
+            return null;
+        }
+        try {
+            for (;;) {
+                Object value = refValuesQueue.poll(REF_VALUES_WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (value == END_OF_VALUES) {
+                    refValuesEnded = true;
+                    if (refValuesError != null) {
+                        throw new DBException("Error reading referenced values of '" + attribute.getName() + "'", refValuesError);
+                    }
+                    return null;
+                }
+                if (value != null) {
+                    return value;
+                }
+                if (monitor.isCanceled()) {
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new DBException("Reading of referenced values interrupted", e);
+        }
+    }
+
+    private class RefValuesReadJob extends AbstractJob {
+        private final DBSTableColumn refColumn;
+
+        RefValuesReadJob(DBSTableColumn refColumn) {
+            super("Read referenced values of '" + attribute.getName() + "'");
+            this.refColumn = refColumn;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                // Use separate connection - values are read while data is generated and inserted
+                DBCExecutionContext context = DBUtils.getObjectOwnerInstance(refColumn).openIsolatedContext(monitor, getName());
+                try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Read referenced values")) {
+                    readValues(session);
+                } finally {
+                    context.close();
+                }
+            } catch (Throwable e) {
+                log.debug("Error reading referenced values of '" + attribute.getName() + "'", e);
+                refValuesError = e;
+            } finally {
+                putValue(monitor, END_OF_VALUES);
+            }
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Reads the referenced column only
+         */
+        private void readValues(DBCSession session) throws DBCException {
+            DBSEntity refTable = refColumn.getParentObject();
+            String query = "SELECT " + DBUtils.getQuotedIdentifier(refColumn) +
+                " FROM " + DBUtils.getObjectFullName(refTable, DBPEvaluationContext.DML);
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+            if (txnManager != null && txnManager.isAutoCommit()) {
+                // Context is private. Some drivers (e.g. PostgreSQL) use fetch size in manual commit mode only.
+                txnManager.setAutoCommit(session.getProgressMonitor(), false);
+            }
+            try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query, false, false, false)) {
+                dbStat.setStatementSource(new AbstractExecutionSource(refColumn, session.getExecutionContext(), FKGenerator.this));
+                if (dbStat instanceof JDBCStatement) {
+                    try {
+                        ((JDBCStatement) dbStat).setFetchSize(REF_VALUES_QUEUE_SIZE);
+                    } catch (Exception e) {
+                        log.debug("Can't set fetch size", e);
+                    }
+                }
+                if (!dbStat.executeStatement()) {
+                    return;
+                }
+                try (DBCResultSet resultSet = dbStat.openResultSet()) {
+                    while (resultSet.nextRow()) {
+                        Object value = resultSet.getAttributeValue(0);
+                        if (value != null && !putValue(session.getProgressMonitor(), value)) {
+                            // Canceled
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean putValue(DBRProgressMonitor monitor, Object value) {
+            BlockingQueue<Object> queue = refValuesQueue;
+            try {
+                while (!queue.offer(value, REF_VALUES_WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    if (monitor.isCanceled()) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+    }
 }
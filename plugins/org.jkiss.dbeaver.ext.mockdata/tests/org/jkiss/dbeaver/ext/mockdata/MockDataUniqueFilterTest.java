@@ -0,0 +1,51 @@
+package org.jkiss.dbeaver.ext.mockdata;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MockDataUniqueFilterTest {
+
+    @Test
+    public void testDuplicatesAreDetected() {
+        MockDataUniqueFilter filter = new MockDataUniqueFilter(1000);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(Arrays.asList(i, "name" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.add(Arrays.asList(i, "name" + i)));
+        }
+        assertFalse(filter.add(Arrays.asList(1, "name1")));
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        int keyCount = 100000;
+        MockDataUniqueFilter filter = new MockDataUniqueFilter(keyCount);
+        int falsePositives = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (!filter.add(Arrays.asList(i, i % 7, null))) {
+                falsePositives++;
+            }
+        }
+        // About 1% is expected for 10 bits per key
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < keyCount / 50);
+    }
+
+    @Test
+    public void testSize() {
+        MockDataUniqueFilter small = new MockDataUniqueFilter(10);
+        assertEquals(1 << 16, small.getBitCount());
+        MockDataUniqueFilter huge = new MockDataUniqueFilter(100000000L);
+        assertEquals(1 << 29, huge.getBitCount());
+        assertTrue(huge.getHashCount() >= 1);
+        MockDataUniqueFilter medium = new MockDataUniqueFilter(100000);
+        assertEquals(1 << 20, medium.getBitCount());
+        assertEquals(7, medium.getHashCount());
+    }
+
+}
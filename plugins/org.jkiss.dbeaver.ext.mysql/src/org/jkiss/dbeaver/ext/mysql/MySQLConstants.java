@@ -47,6 +47,10 @@ public class MySQLConstants {
     public static final String PROP_SSL_CA_CERT = "ssl.ca.cert";
     public static final String PROP_SSL_DEBUG = "ssl.debug";
 
+    // Driver property. Enables server-side cursors for statements with positive fetch size
+    public static final String PROP_USE_CURSOR_FETCH = "useCursorFetch";
+    public static final int CURSOR_FETCH_SIZE = 1000;
+
     public static final String[] TABLE_TYPES = new String[]{"TABLE", "VIEW", "LOCAL TEMPORARY"};
 
     public static final String INFO_SCHEMA_NAME = "information_schema";
@@ -82,6 +82,14 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         dataTypeCache = new JDBCBasicDataTypeCache<>(this);
     }
 
+    /**
+     * Server-side cursor fetch is enabled by the useCursorFetch driver property.
+     * Cursor result sets don't lock the connection like streaming result sets do.
+     */
+    public boolean isCursorFetchEnabled() {
+        return CommonUtils.toBoolean(getContainer().getActualConnectionConfiguration().getProperty(MySQLConstants.PROP_USE_CURSOR_FETCH));
+    }
+
     @Override
     public Object getDataSourceFeature(String featureId) {
         switch (featureId) {
@@ -603,7 +611,7 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         if (type == DBCQueryTransformType.RESULT_SET_LIMIT) {
             return new QueryTransformerLimit();
         } else if (type == DBCQueryTransformType.FETCH_ALL_TABLE) {
-            return new QueryTransformerFetchAll();
+            return new QueryTransformerFetchAll(this);
         }
         return super.createQueryTransformer(type);
     }
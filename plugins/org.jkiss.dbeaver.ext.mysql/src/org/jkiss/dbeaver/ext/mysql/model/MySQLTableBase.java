@@ -17,12 +17,16 @@
 package org.jkiss.dbeaver.ext.mysql.model;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject2;
 import org.jkiss.dbeaver.model.DBPRefreshableObject;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.DBSObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
@@ -30,6 +34,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTable;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTableColumn;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -151,4 +156,50 @@ public abstract class MySQLTableBase extends JDBCTable<MySQLDataSource, MySQLCat
         }
     }
 
+    /**
+     * Full table reads are streamed row by row (see QueryTransformerFetchAll).
+     * MySQL driver doesn't allow other statements on the connection while streaming result set is open,
+     * so long streaming reads (data export, explicit fetch all - FLAG_STREAM_DATA) in the shared auto-commit
+     * context are moved to an isolated connection. Isolated connection is borrowed from the context pool
+     * if pooling is enabled. Other full reads are short and stay on the shared connection.
+     */
+    @Override
+    public DBCStatistics readData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @NotNull DBDDataReceiver dataReceiver, @Nullable DBDDataFilter dataFilter, long firstRow, long maxRows, long flags)
+        throws DBCException
+    {
+        MySQLDataSource dataSource = getDataSource();
+        if ((flags & DBSDataContainer.FLAG_STREAM_DATA) == 0 || maxRows > 0 ||
+            dataSource.isCursorFetchEnabled() || !isSharedAutoCommitContext(session.getExecutionContext()))
+        {
+            return super.readData(source, session, dataReceiver, dataFilter, firstRow, maxRows, flags);
+        }
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        DBCExecutionContext isolatedContext;
+        try {
+            isolatedContext = dataSource.getDefaultInstance().openIsolatedContext(monitor, "Streaming read");
+        } catch (DBException e) {
+            log.debug("Can't open isolated context for streaming read", e);
+            return super.readData(source, session, dataReceiver, dataFilter, firstRow, maxRows, flags);
+        }
+        try (DBCSession isolatedSession = isolatedContext.openSession(monitor, session.getPurpose(), session.getTaskTitle())) {
+            return super.readData(source, isolatedSession, dataReceiver, dataFilter, firstRow, maxRows, flags);
+        } finally {
+            isolatedContext.close();
+        }
+    }
+
+    private boolean isSharedAutoCommitContext(DBCExecutionContext context) {
+        if (context != getDataSource().getDefaultInstance().getDefaultContext(false)) {
+            return false;
+        }
+        try {
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+            // Isolated connection won't see uncommitted changes of manual commit mode
+            return txnManager == null || txnManager.isAutoCommit();
+        } catch (DBCException e) {
+            log.debug(e);
+            return false;
+        }
+    }
+
 }
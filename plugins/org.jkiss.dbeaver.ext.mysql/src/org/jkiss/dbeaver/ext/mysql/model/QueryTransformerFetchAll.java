@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.ext.mysql.model;
 
+import org.jkiss.dbeaver.ext.mysql.MySQLConstants;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCQueryTransformer;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
@@ -29,6 +30,12 @@ import java.sql.Statement;
 */
 class QueryTransformerFetchAll implements DBCQueryTransformer {
 
+    private final MySQLDataSource dataSource;
+
+    QueryTransformerFetchAll(MySQLDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
     @Override
     public void setParameters(Object... parameters)
     {
@@ -41,9 +48,11 @@ class QueryTransformerFetchAll implements DBCQueryTransformer {
 
     @Override
     public void transformStatement(DBCStatement statement, int parameterIndex) throws DBCException {
-        // Set fetch size to Integer.MIN_VALUE to enable result set streaming
+        // Use server-side cursor if it is enabled in driver properties.
+        // Otherwise set fetch size to Integer.MIN_VALUE to enable result set streaming
         try {
-            ((Statement)statement).setFetchSize(Integer.MIN_VALUE);
+            ((Statement)statement).setFetchSize(
+                dataSource.isCursorFetchEnabled() ? MySQLConstants.CURSOR_FETCH_SIZE : Integer.MIN_VALUE);
         } catch (SQLException e) {
             throw new DBCException(e, statement.getSession().getDataSource());
         }
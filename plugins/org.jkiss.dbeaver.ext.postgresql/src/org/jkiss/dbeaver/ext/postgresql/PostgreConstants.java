@@ -38,8 +38,12 @@ public class PostgreConstants {
     public static final String DEFAULT_DATA_TYPE = "varchar";
     public static final String DEFAULT_USER = "postgres";
 
+    // Fetch size for full table reads. Driver reads rows through the server-side portal by such chunks.
+    public static final int STREAMING_FETCH_SIZE = 1000;
+
     public static final String PROP_SHOW_NON_DEFAULT_DB = DBConstants.INTERNAL_PROP_PREFIX + "show-non-default-db@";
     public static final String PROP_SHOW_TEMPLATES_DB = DBConstants.INTERNAL_PROP_PREFIX + "show-template-db@";
+    public static final String PROP_STREAM_READS = DBConstants.INTERNAL_PROP_PREFIX + "stream-reads@";
 
     public static final String PROP_SSL = "ssl";
 
@@ -0,0 +1,320 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.edit;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.Separator;
+import org.eclipse.jface.action.ToolBarManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.eclipse.ui.ISharedImages;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSampler;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSnapshot;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.CustomSashForm;
+import org.jkiss.dbeaver.ui.controls.autorefresh.AutoRefreshControl;
+import org.jkiss.dbeaver.ui.editors.IDatabaseEditorInput;
+import org.jkiss.dbeaver.ui.editors.SinglePageDatabaseEditor;
+import org.jkiss.utils.CommonUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * PostgreWorkloadEditor.
+ * Samples pg_stat_statements and pg_stat_user_tables and shows top queries/tables of the last intervals.
+ */
+public class PostgreWorkloadEditor extends SinglePageDatabaseEditor<IDatabaseEditorInput>
+{
+    private static final Log log = Log.getLog(PostgreWorkloadEditor.class);
+
+    private static final int TOP_STATEMENTS = 100;
+    private static final int TOP_TABLES = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int TREND_COLUMN = 7;
+    private static final int TREND_WIDTH = 120;
+
+    private final PostgreWorkloadSampler sampler = new PostgreWorkloadSampler();
+    private PostgreDataSource dataSource;
+    private volatile Boolean statementsAvailable;
+    private PostgreWorkloadSampler.Ranking ranking = PostgreWorkloadSampler.Ranking.TOTAL_TIME;
+
+    private AutoRefreshControl refreshControl;
+    private Label statusLabel;
+    private Table statementTable;
+    private Table tableTable;
+
+    @Override
+    public void createEditorControl(Composite parent) {
+        final DBCExecutionContext executionContext = getExecutionContext();
+        if (executionContext == null) {
+            return;
+        }
+        dataSource = (PostgreDataSource) executionContext.getDataSource();
+        setPartName("Workload - " + dataSource.getContainer().getName());
+
+        Composite composite = UIUtils.createPlaceholder(parent, 1);
+        composite.setLayoutData(new GridData(GridData.FILL_BOTH));
+
+        refreshControl = new AutoRefreshControl(composite, PostgreWorkloadEditor.class.getSimpleName(), this::sampleWorkload);
+
+        {
+            Composite toolbarPanel = UIUtils.createPlaceholder(composite, 4, 5);
+            toolbarPanel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+            UIUtils.createControlLabel(toolbarPanel, "Rank by");
+            Combo rankingCombo = new Combo(toolbarPanel, SWT.DROP_DOWN | SWT.READ_ONLY);
+            for (PostgreWorkloadSampler.Ranking r : PostgreWorkloadSampler.Ranking.values()) {
+                rankingCombo.add(r.getTitle());
+            }
+            rankingCombo.select(ranking.ordinal());
+            rankingCombo.addListener(SWT.Selection, event -> {
+                ranking = PostgreWorkloadSampler.Ranking.values()[rankingCombo.getSelectionIndex()];
+                refreshStatistics();
+            });
+
+            statusLabel = new Label(toolbarPanel, SWT.NONE);
+            statusLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+            ToolBarManager toolBarManager = new ToolBarManager(SWT.FLAT | SWT.HORIZONTAL | SWT.RIGHT);
+            toolBarManager.add(new SampleAction());
+            toolBarManager.add(new ResetAction());
+            toolBarManager.add(new Separator());
+            refreshControl.populateRefreshButton(toolBarManager);
+            toolBarManager.createControl(toolbarPanel);
+        }
+
+        CustomSashForm sash = UIUtils.createPartDivider(this, composite, SWT.VERTICAL);
+        sash.setLayoutData(new GridData(GridData.FILL_BOTH));
+
+        statementTable = new Table(sash, SWT.FULL_SELECTION | SWT.BORDER);
+        statementTable.setHeaderVisible(true);
+        statementTable.setLinesVisible(true);
+        statementTable.setToolTipText("Double-click a query to see its captured plans");
+        UIUtils.createTableColumn(statementTable, SWT.LEFT, "Query");
+        UIUtils.createTableColumn(statementTable, SWT.RIGHT, "Calls");
+        UIUtils.createTableColumn(statementTable, SWT.RIGHT, "Total ms");
+        UIUtils.createTableColumn(statementTable, SWT.RIGHT, "Mean ms");
+        UIUtils.createTableColumn(statementTable, SWT.RIGHT, "Rows");
+        UIUtils.createTableColumn(statementTable, SWT.RIGHT, "Buffer hits");
+        UIUtils.createTableColumn(statementTable, SWT.RIGHT, "Hit %");
+        UIUtils.createTableColumn(statementTable, SWT.LEFT, "Trend");
+        statementTable.addListener(SWT.PaintItem, this::paintTrend);
+        statementTable.addListener(SWT.DefaultSelection, event -> {
+            TableItem[] selection = statementTable.getSelection();
+            if (selection.length > 0) {
+                PostgreWorkloadSampler.StatementSummary summary = (PostgreWorkloadSampler.StatementSummary) selection[0].getData();
+                new PostgreWorkloadQueryDialog(getSite().getShell(), dataSource, summary.getTotal()).open();
+            }
+        });
+
+        tableTable = new Table(sash, SWT.FULL_SELECTION | SWT.BORDER);
+        tableTable.setHeaderVisible(true);
+        tableTable.setLinesVisible(true);
+        UIUtils.createTableColumn(tableTable, SWT.LEFT, "Table");
+        UIUtils.createTableColumn(tableTable, SWT.RIGHT, "Seq scans");
+        UIUtils.createTableColumn(tableTable, SWT.RIGHT, "Seq tuples read");
+        UIUtils.createTableColumn(tableTable, SWT.RIGHT, "Index scans");
+        UIUtils.createTableColumn(tableTable, SWT.RIGHT, "Tuples modified");
+
+        sash.setWeights(new int[] {70, 30});
+
+        refreshStatistics();
+        refreshControl.enableAutoRefresh(true);
+        refreshPart(this, true);
+    }
+
+    @Override
+    public void refreshPart(Object source, boolean force) {
+        if (dataSource == null) {
+            return;
+        }
+        new AbstractJob("Sample PostgreSQL workload") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                sampleWorkload(monitor);
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    @Override
+    public void setFocus() {
+        if (statementTable != null) {
+            statementTable.setFocus();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (refreshControl != null) {
+            refreshControl.cancelRefresh();
+        }
+        super.dispose();
+    }
+
+    private void sampleWorkload(DBRProgressMonitor monitor) {
+        try (JDBCSession session = DBUtils.openUtilSession(monitor, dataSource, "Read workload statistics")) {
+            if (statementsAvailable == null) {
+                statementsAvailable = PostgreWorkloadSnapshot.isStatementsAvailable(session);
+            }
+            sampler.addSnapshot(PostgreWorkloadSnapshot.read(session, statementsAvailable));
+        } catch (DBException e) {
+            log.debug("Error reading workload statistics", e);
+            UIUtils.asyncExec(() -> {
+                if (!statusLabel.isDisposed()) {
+                    statusLabel.setText("Error: " + e.getMessage());
+                }
+            });
+            refreshControl.scheduleAutoRefresh(true);
+            return;
+        }
+        UIUtils.asyncExec(this::refreshStatistics);
+        refreshControl.scheduleAutoRefresh(false);
+    }
+
+    private void refreshStatistics() {
+        if (statementTable == null || statementTable.isDisposed()) {
+            return;
+        }
+        List<PostgreWorkloadSampler.Interval> intervals = sampler.getIntervals();
+        PostgreWorkloadSnapshot lastSnapshot = sampler.getLastSnapshot();
+        StringBuilder status = new StringBuilder();
+        if (Boolean.FALSE.equals(statementsAvailable)) {
+            status.append("pg_stat_statements extension is not installed, only table statistics are available. ");
+        }
+        if (lastSnapshot == null) {
+            status.append("Waiting for the first sample");
+        } else if (intervals.isEmpty()) {
+            status.append("Waiting for the second sample to compute deltas");
+        } else {
+            status.append(intervals.size()).append(" interval(s) since ")
+                .append(new SimpleDateFormat("HH:mm:ss").format(new Date(intervals.get(0).getStartTime())))
+                .append(", last sample at ")
+                .append(new SimpleDateFormat("HH:mm:ss").format(new Date(lastSnapshot.getTimestamp())));
+        }
+        statusLabel.setText(status.toString());
+
+        statementTable.setRedraw(false);
+        try {
+            statementTable.removeAll();
+            for (PostgreWorkloadSampler.StatementSummary summary : sampler.getTopStatements(ranking, TOP_STATEMENTS)) {
+                PostgreWorkloadSnapshot.StatementStats stats = summary.getTotal();
+                TableItem item = new TableItem(statementTable, SWT.NONE);
+                item.setData(summary);
+                item.setText(0, CommonUtils.truncateString(stats.getQuery().replaceAll("\\s+", " "), MAX_QUERY_LENGTH));
+                item.setText(1, String.valueOf(stats.getCalls()));
+                item.setText(2, String.format("%.2f", stats.getTotalTime()));
+                item.setText(3, String.format("%.3f", stats.getMeanTime()));
+                item.setText(4, String.valueOf(stats.getRows()));
+                item.setText(5, String.valueOf(stats.getSharedBlksHit()));
+                double hitRatio = stats.getHitRatio();
+                item.setText(6, hitRatio < 0 ? "" : String.format("%.1f", hitRatio));
+            }
+            UIUtils.packColumns(statementTable);
+            statementTable.getColumn(TREND_COLUMN).setWidth(TREND_WIDTH);
+        } finally {
+            statementTable.setRedraw(true);
+        }
+
+        tableTable.setRedraw(false);
+        try {
+            tableTable.removeAll();
+            for (PostgreWorkloadSnapshot.TableStats stats : sampler.getTopTables(TOP_TABLES)) {
+                TableItem item = new TableItem(tableTable, SWT.NONE);
+                item.setText(0, stats.getName());
+                item.setText(1, String.valueOf(stats.getSeqScan()));
+                item.setText(2, String.valueOf(stats.getSeqTupRead()));
+                item.setText(3, String.valueOf(stats.getIdxScan()));
+                item.setText(4, String.valueOf(stats.getTupModified()));
+            }
+            UIUtils.packColumns(tableTable);
+        } finally {
+            tableTable.setRedraw(true);
+        }
+    }
+
+    /**
+     * Draws ranking value of each interval as a sparkline
+     */
+    private void paintTrend(Event event) {
+        if (event.index != TREND_COLUMN || !(event.item.getData() instanceof PostgreWorkloadSampler.StatementSummary)) {
+            return;
+        }
+        double[] series = ((PostgreWorkloadSampler.StatementSummary) event.item.getData()).getSeries();
+        if (series.length < 2) {
+            return;
+        }
+        double max = 0;
+        for (double value : series) {
+            max = Math.max(max, value);
+        }
+        if (max <= 0) {
+            return;
+        }
+        Rectangle bounds = ((TableItem) event.item).getBounds(TREND_COLUMN);
+        int width = bounds.width - 4, height = bounds.height - 4;
+        int[] points = new int[series.length * 2];
+        for (int i = 0; i < series.length; i++) {
+            points[i * 2] = bounds.x + 2 + i * width / (series.length - 1);
+            points[i * 2 + 1] = bounds.y + 2 + height - (int) (series[i] * height / max);
+        }
+        GC gc = event.gc;
+        gc.setForeground(statementTable.getDisplay().getSystemColor(SWT.COLOR_DARK_BLUE));
+        gc.drawPolyline(points);
+    }
+
+    private class SampleAction extends Action {
+        SampleAction() {
+            super("Sample now", DBeaverIcons.getImageDescriptor(UIIcon.REFRESH));
+        }
+
+        @Override
+        public void run() {
+            refreshPart(this, true);
+        }
+    }
+
+    private class ResetAction extends Action {
+        ResetAction() {
+            super("Reset", UIUtils.getShardImageDescriptor(ISharedImages.IMG_ETOOL_CLEAR));
+        }
+
+        @Override
+        public void run() {
+            sampler.reset();
+            refreshStatistics();
+        }
+    }
+
+}
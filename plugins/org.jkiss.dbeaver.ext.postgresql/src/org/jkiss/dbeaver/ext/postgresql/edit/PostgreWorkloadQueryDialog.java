@@ -0,0 +1,149 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.edit;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanAnalyser;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanHistory;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanNode;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSnapshot;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.dbeaver.ui.editors.sql.handlers.OpenHandler;
+import org.jkiss.utils.CommonUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Workload query details: statistics and the latest captured plan
+ */
+class PostgreWorkloadQueryDialog extends BaseDialog {
+
+    private static final Log log = Log.getLog(PostgreWorkloadQueryDialog.class);
+
+    private static final int OPEN_CONSOLE_ID = IDialogConstants.CLIENT_ID + 1;
+
+    private final PostgreDataSource dataSource;
+    private final PostgreWorkloadSnapshot.StatementStats stats;
+
+    PostgreWorkloadQueryDialog(Shell parentShell, PostgreDataSource dataSource, PostgreWorkloadSnapshot.StatementStats stats) {
+        super(parentShell, "Query details", null);
+        this.dataSource = dataSource;
+        this.stats = stats;
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        Text queryText = new Text(composite, SWT.BORDER | SWT.MULTI | SWT.WRAP | SWT.V_SCROLL | SWT.READ_ONLY);
+        queryText.setText(stats.getQuery());
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 700;
+        gd.heightHint = 120;
+        queryText.setLayoutData(gd);
+
+        new Label(composite, SWT.NONE).setText(String.format(
+            "Calls: %d, total: %.2f ms, mean: %.3f ms, rows: %d, buffer hits/reads: %d/%d",
+            stats.getCalls(), stats.getTotalTime(), stats.getMeanTime(), stats.getRows(), stats.getSharedBlksHit(), stats.getSharedBlksRead()));
+
+        Label planLabel = new Label(composite, SWT.NONE);
+        planLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        Tree planTree = new Tree(composite, SWT.BORDER | SWT.FULL_SELECTION);
+        planTree.setHeaderVisible(true);
+        planTree.setLinesVisible(true);
+        gd = new GridData(GridData.FILL_BOTH);
+        gd.heightHint = 200;
+        planTree.setLayoutData(gd);
+        UIUtils.createTreeColumn(planTree, SWT.LEFT, "Node");
+        UIUtils.createTreeColumn(planTree, SWT.RIGHT, "Rows est/actual");
+        UIUtils.createTreeColumn(planTree, SWT.RIGHT, "Time ms");
+        UIUtils.createTreeColumn(planTree, SWT.LEFT, "Buffers");
+
+        PostgrePlanAnalyser plan = null;
+        long captureTime = 0;
+        List<PostgrePlanHistory.PlanEntry> plans = PostgrePlanHistory.getInstance().getPlans(dataSource.getContainer(), stats.getQuery());
+        if (!plans.isEmpty()) {
+            PostgrePlanHistory.PlanEntry entry = plans.get(plans.size() - 1);
+            try {
+                plan = entry.loadPlan(dataSource, stats.getQuery());
+                captureTime = entry.getCaptureTime();
+            } catch (DBCException e) {
+                log.debug(e);
+            }
+        }
+        if (plan == null) {
+            planLabel.setText("No plans captured for this query. Open it in SQL console and explain it to capture a plan.");
+        } else {
+            planLabel.setText("Latest of " + plans.size() + " captured plan(s), captured at " +
+                new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(captureTime)));
+            for (DBCPlanNode node : plan.getPlanNodes()) {
+                addPlanNode(planTree, null, (PostgrePlanNode) node);
+            }
+            UIUtils.packColumns(planTree);
+        }
+
+        return composite;
+    }
+
+    private static void addPlanNode(Tree tree, TreeItem parentItem, PostgrePlanNode node) {
+        TreeItem item = parentItem == null ? new TreeItem(tree, SWT.NONE) : new TreeItem(parentItem, SWT.NONE);
+        String nodeName = node.getNodeType();
+        if (!CommonUtils.isEmpty(node.getEntity())) {
+            nodeName += " on " + node.getEntity();
+        }
+        item.setText(0, nodeName);
+        item.setText(1, CommonUtils.notEmpty(node.getPlanRows()) + " / " + CommonUtils.notEmpty(node.getAttribute(PostgrePlanNode.ATTR_ACTUAL_ROWS)));
+        item.setText(2, String.format("%.3f", node.getInclusiveTime()));
+        item.setText(3, CommonUtils.notEmpty(node.getBuffers()));
+        if (node.getNested() != null) {
+            for (PostgrePlanNode child : node.getNested()) {
+                addPlanNode(tree, item, child);
+            }
+        }
+        item.setExpanded(true);
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, OPEN_CONSOLE_ID, "Open in SQL console", false);
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        if (buttonId == OPEN_CONSOLE_ID) {
+            OpenHandler.openSQLConsole(UIUtils.getActiveWorkbenchWindow(), dataSource.getContainer(), "Workload query", stats.getQuery());
+            close();
+        } else if (buttonId == IDialogConstants.CLOSE_ID) {
+            close();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+}
@@ -489,6 +489,14 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
         return serverExtension;
     }
 
+    /**
+     * Streaming read mode. Exports and "fetch all" read tables through server-side portal by chunks
+     * of STREAMING_FETCH_SIZE rows (see PostgreTableBase.readData). Enabled by default.
+     */
+    public boolean isStreamingReadsEnabled() {
+        return CommonUtils.getBoolean(getContainer().getActualConnectionConfiguration().getProviderProperty(PostgreConstants.PROP_STREAM_READS), true);
+    }
+
     class DatabaseCache extends JDBCObjectLookupCache<PostgreDataSource, PostgreDatabase>
     {
         @Override
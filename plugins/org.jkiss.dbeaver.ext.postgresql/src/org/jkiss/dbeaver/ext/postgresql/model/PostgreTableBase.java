@@ -20,10 +20,19 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject2;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.DBSObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
@@ -33,6 +42,7 @@ import org.jkiss.dbeaver.model.meta.IPropertyValueListProvider;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAssociation;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -239,6 +249,57 @@ public abstract class PostgreTableBase extends JDBCTable<PostgreDataSource, Post
 		return isPartition;
 	}
 
+    /**
+     * Exports and explicit fetch all (FLAG_STREAM_DATA) are streamed through the server-side portal,
+     * if streaming reads are enabled for the connection.
+     * PostgreSQL driver uses portals only in transaction mode with non-zero fetch size, otherwise it buffers
+     * the whole result in memory. Auto-commit is disabled for the read duration and restored afterwards.
+     * Auto-commit is switched through the context transaction manager, so the context state stays in sync
+     * with the connection. Other reads don't change the context state.
+     */
+    @Override
+    public DBCStatistics readData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @NotNull DBDDataReceiver dataReceiver, @Nullable DBDDataFilter dataFilter, long firstRow, long maxRows, long flags)
+        throws DBCException
+    {
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (!isStreamingRead(maxRows, flags) || !(session instanceof JDBCSession) || txnManager == null) {
+            return super.readData(source, session, dataReceiver, dataFilter, firstRow, maxRows, flags);
+        }
+        boolean restoreAutoCommit = false;
+        if (txnManager.isAutoCommit()) {
+            txnManager.setAutoCommit(session.getProgressMonitor(), false);
+            restoreAutoCommit = true;
+        }
+        try {
+            return super.readData(source, session, dataReceiver, dataFilter, firstRow, maxRows, flags);
+        } finally {
+            if (restoreAutoCommit) {
+                try {
+                    txnManager.commit(session);
+                } catch (DBCException e) {
+                    log.debug("Error finishing streaming read transaction", e);
+                }
+                try {
+                    txnManager.setAutoCommit(session.getProgressMonitor(), true);
+                } catch (DBCException e) {
+                    log.warn("Can't restore auto-commit after streaming read", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int getReadFetchSize(@NotNull DBCSession session, long firstRow, long maxRows, long flags) {
+        if (isStreamingRead(maxRows, flags)) {
+            return PostgreConstants.STREAMING_FETCH_SIZE;
+        }
+        return super.getReadFetchSize(session, firstRow, maxRows, flags);
+    }
+
+    private boolean isStreamingRead(long maxRows, long flags) {
+        return maxRows <= 0 && (flags & DBSDataContainer.FLAG_STREAM_DATA) != 0 && getDataSource().isStreamingReadsEnabled();
+    }
+
     /**
      * Extra table DDL modifiers
      */
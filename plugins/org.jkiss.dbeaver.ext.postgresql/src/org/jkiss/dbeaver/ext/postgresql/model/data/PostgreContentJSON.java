@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.ext.postgresql.model.data;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -28,14 +29,23 @@ import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 import org.jkiss.dbeaver.ui.TextUtils;
 import org.jkiss.dbeaver.utils.MimeTypes;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.sql.SQLException;
 import java.sql.Types;
 
 /**
- * JSON content
+ * JSON content.
+ * Keeps JSON text as is. Display string is extracted with streaming tokenizer
+ * so the document is never parsed completely.
  */
 public class PostgreContentJSON extends JDBCContentChars {
 
+    private static final int MAX_DISPLAY_LENGTH = 1000;
+
+    private String displaySource;
+    private String displayString;
+
     public PostgreContentJSON(DBPDataSource dataSource, String json)
     {
         super(dataSource, json);
@@ -74,7 +84,22 @@ public class PostgreContentJSON extends JDBCContentChars {
 
     @Override
     public String getDisplayString(DBDDisplayFormat format) {
-        return data == null ? null : TextUtils.compactWhiteSpaces(data);
+        if (data == null) {
+            return null;
+        }
+        if (format != DBDDisplayFormat.UI) {
+            return TextUtils.compactWhiteSpaces(data);
+        }
+        if (displayString == null || displaySource != data) {
+            try {
+                displayString = JSONUtils.getDisplayPrefix(new StringReader(data), MAX_DISPLAY_LENGTH);
+            } catch (IOException e) {
+                // Can't happen with string reader
+                displayString = data;
+            }
+            displaySource = data;
+        }
+        return displayString;
     }
 
     @Override
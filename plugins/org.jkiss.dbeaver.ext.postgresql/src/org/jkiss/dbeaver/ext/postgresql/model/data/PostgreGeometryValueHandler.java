@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.ext.postgresql.model.data;
 import com.vividsolutions.jts.geom.Geometry;
 import org.jkiss.dbeaver.data.gis.handlers.GISGeometryValueHandler;
 import org.jkiss.dbeaver.data.gis.handlers.GeometryConverter;
+import org.jkiss.dbeaver.data.gis.handlers.LazyGeometry;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -54,6 +55,9 @@ public class PostgreGeometryValueHandler extends JDBCAbstractValueHandler {
             statement.setNull(paramIndex, paramType.getTypeID());
         } else if (value instanceof Geometry) {
             statement.setObject(paramIndex, getStringFromGeometry(session, (Geometry)value), Types.OTHER);
+        } else if (value instanceof LazyGeometry) {
+            // Geometry fetched by GIS handler (e.g. in data transfer from MySQL)
+            statement.setObject(paramIndex, getStringFromGeometry(session, ((LazyGeometry) value).getGeometry()), Types.OTHER);
         } else {
             throw new DBCException("Invalid geometry object: " + value);
         }
@@ -70,6 +74,8 @@ public class PostgreGeometryValueHandler extends JDBCAbstractValueHandler {
             return null;
         } else if (object instanceof Geometry) {
             return object;
+        } else if (object instanceof LazyGeometry) {
+            return ((LazyGeometry) object).getGeometry();
         } else if (object instanceof String) {
             return makeGeometryFromString(session, (String) object);
         } else {
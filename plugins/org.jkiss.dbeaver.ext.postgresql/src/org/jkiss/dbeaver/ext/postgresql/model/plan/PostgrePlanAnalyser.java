@@ -16,8 +16,11 @@
  */
 package org.jkiss.dbeaver.ext.postgresql.model.plan;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
@@ -25,16 +28,13 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
-import org.jkiss.utils.xml.XMLException;
-import org.jkiss.utils.xml.XMLUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.utils.CommonUtils;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.sql.SQLException;
-import java.sql.SQLXML;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 /**
  * Postgre execution plan analyser
@@ -45,14 +45,31 @@ public class PostgrePlanAnalyser implements DBCPlan {
 
     private boolean oldQuery;
     private String query;
+    private static final String DEFAULT_PLAN_OPTIONS = "FORMAT JSON, ANALYZE, BUFFERS";
+
+    private String planOptions = DEFAULT_PLAN_OPTIONS;
     private List<DBCPlanNode> rootNodes;
 
+    private String planJSON;
+    private Double planningTime;
+    private Double executionTime;
+    private Map<String, String> settings = new LinkedHashMap<>();
+
     public PostgrePlanAnalyser(boolean oldQuery, String query)
     {
         this.oldQuery = oldQuery;
         this.query = query;
     }
 
+    /**
+     * Restores previously captured plan (e.g. from the plan history)
+     */
+    public PostgrePlanAnalyser(PostgreDataSource dataSource, String query, String planJSON) throws DBCException {
+        this.oldQuery = false;
+        this.query = query;
+        parsePlan(dataSource, planJSON);
+    }
+
     @Override
     public String getQueryString()
     {
@@ -64,7 +81,7 @@ public class PostgrePlanAnalyser implements DBCPlan {
         if (oldQuery) {
             return "EXPLAIN VERBOSE " + query;
         } else {
-            return "EXPLAIN (FORMAT XML, ANALYSE) " + query;
+            return "EXPLAIN (" + planOptions + ") " + query;
         }
     }
 
@@ -74,9 +91,43 @@ public class PostgrePlanAnalyser implements DBCPlan {
         return rootNodes;
     }
 
+    /**
+     * Raw EXPLAIN output (JSON)
+     */
+    public String getPlanJSON() {
+        return planJSON;
+    }
+
+    @Nullable
+    public Double getPlanningTime() {
+        return planningTime;
+    }
+
+    @Nullable
+    public Double getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Non-default planner settings (PostgreSQL 12+)
+     */
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+
     public void explain(DBCSession session)
         throws DBCException
     {
+        DBPDataSource dataSource = session.getDataSource();
+        planOptions = DEFAULT_PLAN_OPTIONS;
+        if (dataSource instanceof JDBCDataSource) {
+            if (((JDBCDataSource) dataSource).isServerVersionAtLeast(9, 2)) {
+                planOptions += ", TIMING";
+            }
+            if (((JDBCDataSource) dataSource).isServerVersionAtLeast(12, 0)) {
+                planOptions += ", SETTINGS";
+            }
+        }
         JDBCSession connection = (JDBCSession) session;
         boolean oldAutoCommit = false;
         try {
@@ -87,11 +138,8 @@ public class PostgrePlanAnalyser implements DBCPlan {
             try (JDBCPreparedStatement dbStat = connection.prepareStatement(getPlanQueryString())) {
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     if (dbResult.next()) {
-                        SQLXML planXML = dbResult.getSQLXML(1);
-                        parsePlan(session, planXML);
+                        parsePlan((PostgreDataSource) dataSource, dbResult.getString(1));
                     }
-                } catch (XMLException e) {
-                    throw new DBCException("Can't parse plan XML", e);
                 }
             }
         } catch (SQLException e) {
@@ -107,15 +155,49 @@ public class PostgrePlanAnalyser implements DBCPlan {
                 log.error("Error closing plan analyser", e);
             }
         }
+        if (planJSON != null) {
+            PostgrePlanHistory.getInstance().schedulePlanSave(dataSource.getContainer(), this);
+        }
     }
 
-    private void parsePlan(DBCSession session, SQLXML planXML) throws SQLException, XMLException {
-        rootNodes = new ArrayList<>();
-        Document planDocument = XMLUtils.parseDocument(planXML.getBinaryStream());
-        Element queryElement = XMLUtils.getChildElement(planDocument.getDocumentElement(), "Query");
-        for (Element planElement : XMLUtils.getChildElementList(queryElement, "Plan")) {
-            rootNodes.add(new PostgrePlanNode((PostgreDataSource) session.getDataSource(), null, planElement));
+    private void parsePlan(PostgreDataSource dataSource, String planText) throws DBCException {
+        Object planValue;
+        try {
+            planValue = JSONUtils.parseValue(new StringReader(CommonUtils.notEmpty(planText)));
+        } catch (IOException e) {
+            throw new DBCException("Can't parse plan JSON", e);
+        }
+        // Plan is an array with a single query object
+        if (planValue instanceof List && !((List<?>) planValue).isEmpty()) {
+            planValue = ((List<?>) planValue).get(0);
+        }
+        Map<String, Object> queryObject = JSONUtils.getObject(planValue);
+        if (queryObject == null) {
+            throw new DBCException("Unexpected plan format");
         }
+        this.planJSON = planText;
+        this.rootNodes = new ArrayList<>();
+        Map<String, Object> plan = JSONUtils.getObject(queryObject.get("Plan"));
+        if (plan != null) {
+            rootNodes.add(new PostgrePlanNode(dataSource, null, plan));
+        }
+        this.planningTime = getTimeValue(queryObject, "Planning Time");
+        this.executionTime = getTimeValue(queryObject, "Execution Time");
+        if (executionTime == null) {
+            // Before 9.4
+            executionTime = getTimeValue(queryObject, "Total Runtime");
+        }
+        Object settingsValue = queryObject.get("Settings");
+        if (settingsValue instanceof Map) {
+            for (Map.Entry<?, ?> setting : ((Map<?, ?>) settingsValue).entrySet()) {
+                settings.put(String.valueOf(setting.getKey()), String.valueOf(setting.getValue()));
+            }
+        }
+    }
+
+    private static Double getTimeValue(Map<String, Object> queryObject, String name) {
+        Object value = queryObject.get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
     }
 
 }
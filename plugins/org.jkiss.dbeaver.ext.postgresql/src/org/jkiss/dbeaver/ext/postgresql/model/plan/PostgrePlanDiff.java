@@ -0,0 +1,159 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Side-by-side comparison of two execution plans.
+ * Nodes are matched by their position in the plan tree.
+ */
+public class PostgrePlanDiff {
+
+    // Node (or query) is considered slower if its time grew by this factor
+    public static final double TIME_REGRESSION_FACTOR = 1.5;
+    // Row estimate error considered significant (actual rows differ from estimated by this factor)
+    public static final double ESTIMATE_ERROR_THRESHOLD = 10;
+    // Ignore time changes less than 1ms
+    private static final double MIN_TIME_DIFF = 1;
+
+    public static class NodePair {
+        private final int depth;
+        private final PostgrePlanNode oldNode;
+        private final PostgrePlanNode newNode;
+
+        NodePair(int depth, PostgrePlanNode oldNode, PostgrePlanNode newNode) {
+            this.depth = depth;
+            this.oldNode = oldNode;
+            this.newNode = newNode;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        @Nullable
+        public PostgrePlanNode getOldNode() {
+            return oldNode;
+        }
+
+        @Nullable
+        public PostgrePlanNode getNewNode() {
+            return newNode;
+        }
+
+        /**
+         * Node was added, removed or replaced with a different operation
+         */
+        public boolean isChanged() {
+            return oldNode == null || newNode == null || !getNodeSignature(oldNode).equals(getNodeSignature(newNode));
+        }
+
+        /**
+         * New node time divided by old node time, or 0 if not available
+         */
+        public double getTimeRatio() {
+            if (oldNode == null || newNode == null || oldNode.getInclusiveTime() <= 0) {
+                return 0;
+            }
+            return newNode.getInclusiveTime() / oldNode.getInclusiveTime();
+        }
+
+        public boolean isSlower() {
+            return oldNode != null && newNode != null &&
+                PostgrePlanDiff.isSlower(oldNode.getInclusiveTime(), newNode.getInclusiveTime());
+        }
+    }
+
+    private final List<NodePair> nodes = new ArrayList<>();
+
+    public PostgrePlanDiff(@NotNull PostgrePlanAnalyser oldPlan, @NotNull PostgrePlanAnalyser newPlan) {
+        matchNodes(0, oldPlan.getPlanNodes(), newPlan.getPlanNodes());
+    }
+
+    /**
+     * Matched nodes in the depth-first order
+     */
+    public List<NodePair> getNodes() {
+        return nodes;
+    }
+
+    private void matchNodes(int depth, Collection<? extends DBCPlanNode> oldNodes, Collection<? extends DBCPlanNode> newNodes) {
+        List<DBCPlanNode> oldList = oldNodes == null ? Collections.emptyList() : new ArrayList<>(oldNodes);
+        List<DBCPlanNode> newList = newNodes == null ? Collections.emptyList() : new ArrayList<>(newNodes);
+        for (int i = 0; i < Math.max(oldList.size(), newList.size()); i++) {
+            PostgrePlanNode oldNode = i < oldList.size() ? (PostgrePlanNode) oldList.get(i) : null;
+            PostgrePlanNode newNode = i < newList.size() ? (PostgrePlanNode) newList.get(i) : null;
+            nodes.add(new NodePair(depth, oldNode, newNode));
+            matchNodes(
+                depth + 1,
+                oldNode == null ? null : oldNode.getNested(),
+                newNode == null ? null : newNode.getNested());
+        }
+    }
+
+    /**
+     * Plan shape: node types and relations, without costs and timings
+     */
+    @NotNull
+    public static String getPlanSignature(@NotNull PostgrePlanAnalyser plan) {
+        StringBuilder signature = new StringBuilder();
+        appendSignature(signature, plan.getPlanNodes());
+        return signature.toString();
+    }
+
+    /**
+     * Checks whether plan shape has changed and query became slower
+     */
+    public static boolean isRegression(@NotNull PostgrePlanAnalyser oldPlan, @NotNull PostgrePlanAnalyser newPlan) {
+        Double oldTime = oldPlan.getExecutionTime();
+        Double newTime = newPlan.getExecutionTime();
+        if (oldTime == null || newTime == null || !isSlower(oldTime, newTime)) {
+            return false;
+        }
+        return !getPlanSignature(oldPlan).equals(getPlanSignature(newPlan));
+    }
+
+    private static boolean isSlower(double oldTime, double newTime) {
+        return newTime >= oldTime * TIME_REGRESSION_FACTOR && newTime - oldTime >= MIN_TIME_DIFF;
+    }
+
+    private static void appendSignature(StringBuilder signature, Collection<? extends DBCPlanNode> nodes) {
+        if (CommonUtils.isEmpty(nodes)) {
+            return;
+        }
+        signature.append('[');
+        for (DBCPlanNode node : nodes) {
+            signature.append(getNodeSignature((PostgrePlanNode) node));
+            appendSignature(signature, node.getNested());
+        }
+        signature.append(']');
+    }
+
+    private static String getNodeSignature(PostgrePlanNode node) {
+        return node.getNodeType() + "(" + CommonUtils.notEmpty(node.getEntity()) + ")";
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model.plan;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.qm.metrics.QMMetricsRegistry;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Local store of captured execution plans.
+ * Plans are grouped by connection and query fingerprint (query text with literals replaced by placeholders),
+ * so plans of the same query with different parameters may be compared.
+ */
+public class PostgrePlanHistory {
+
+    private static final Log log = Log.getLog(PostgrePlanHistory.class);
+
+    private static final String HISTORY_FOLDER = "postgresql-plans";
+    private static final String QUERY_FILE = "query.sql";
+    private static final String PLAN_FILE_EXT = ".json";
+    private static final int MAX_PLANS_PER_QUERY = 20;
+
+    private static PostgrePlanHistory instance;
+
+    public static class PlanEntry {
+        private final File file;
+        private final long captureTime;
+
+        PlanEntry(File file, long captureTime) {
+            this.file = file;
+            this.captureTime = captureTime;
+        }
+
+        public long getCaptureTime() {
+            return captureTime;
+        }
+
+        public PostgrePlanAnalyser loadPlan(PostgreDataSource dataSource, String query) throws DBCException {
+            try {
+                String planJSON = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+                return new PostgrePlanAnalyser(dataSource, query, planJSON);
+            } catch (IOException e) {
+                throw new DBCException("Can't read plan file " + file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    public synchronized static PostgrePlanHistory getInstance() {
+        if (instance == null) {
+            instance = new PostgrePlanHistory();
+        }
+        return instance;
+    }
+
+    private PostgrePlanHistory() {
+    }
+
+    /**
+     * Saves plan in history in a background job, so plan files are not read and written by the plan execution job.
+     */
+    public void schedulePlanSave(@NotNull DBPDataSourceContainer container, @NotNull PostgrePlanAnalyser plan) {
+        AbstractJob saveJob = new AbstractJob("Save execution plan") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                addPlan(container, plan);
+                return Status.OK_STATUS;
+            }
+        };
+        saveJob.setSystem(true);
+        saveJob.schedule();
+    }
+
+    /**
+     * Saves plan in history. Reports plan regression (plan shape change which made query slower) in log.
+     */
+    public synchronized void addPlan(@NotNull DBPDataSourceContainer container, @NotNull PostgrePlanAnalyser plan) {
+        File queryFolder = getQueryFolder(container, plan.getQueryString());
+        if (!queryFolder.exists() && !queryFolder.mkdirs()) {
+            log.debug("Can't create plan history folder " + queryFolder.getAbsolutePath());
+            return;
+        }
+        try {
+            List<PlanEntry> prevEntries = getEntries(queryFolder);
+            if (!prevEntries.isEmpty() && container.getDataSource() instanceof PostgreDataSource) {
+                PostgrePlanAnalyser prevPlan = prevEntries.get(prevEntries.size() - 1).loadPlan(
+                    (PostgreDataSource) container.getDataSource(), plan.getQueryString());
+                if (PostgrePlanDiff.isRegression(prevPlan, plan)) {
+                    log.warn("Execution plan changed and query became slower: " + plan.getQueryString());
+                }
+            }
+
+            Files.write(new File(queryFolder, QUERY_FILE).toPath(), plan.getQueryString().getBytes(StandardCharsets.UTF_8));
+            long captureTime = System.currentTimeMillis();
+            if (!prevEntries.isEmpty()) {
+                // Keep file names unique and ordered
+                captureTime = Math.max(captureTime, prevEntries.get(prevEntries.size() - 1).getCaptureTime() + 1);
+            }
+            Files.write(new File(queryFolder, captureTime + PLAN_FILE_EXT).toPath(), plan.getPlanJSON().getBytes(StandardCharsets.UTF_8));
+
+            for (int i = 0; i < prevEntries.size() + 1 - MAX_PLANS_PER_QUERY; i++) {
+                if (!prevEntries.get(i).file.delete()) {
+                    log.debug("Can't delete old plan file " + prevEntries.get(i).file.getAbsolutePath());
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Error saving plan in history", e);
+        }
+    }
+
+    /**
+     * Returns plans captured for this query (or any query with the same fingerprint), oldest first
+     */
+    @NotNull
+    public synchronized List<PlanEntry> getPlans(@NotNull DBPDataSourceContainer container, @NotNull String query) {
+        return getEntries(getQueryFolder(container, query));
+    }
+
+    public synchronized void clearPlans(@NotNull DBPDataSourceContainer container, @NotNull String query) {
+        File queryFolder = getQueryFolder(container, query);
+        File[] files = queryFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    log.debug("Can't delete plan file " + file.getAbsolutePath());
+                }
+            }
+        }
+        if (queryFolder.exists() && !queryFolder.delete()) {
+            log.debug("Can't delete plan history folder " + queryFolder.getAbsolutePath());
+        }
+    }
+
+    private static List<PlanEntry> getEntries(File queryFolder) {
+        List<PlanEntry> entries = new ArrayList<>();
+        File[] planFiles = queryFolder.listFiles((dir, name) -> name.endsWith(PLAN_FILE_EXT));
+        if (planFiles != null) {
+            for (File planFile : planFiles) {
+                String name = planFile.getName();
+                long captureTime = CommonUtils.toLong(name.substring(0, name.length() - PLAN_FILE_EXT.length()), -1);
+                if (captureTime > 0) {
+                    entries.add(new PlanEntry(planFile, captureTime));
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(PlanEntry::getCaptureTime));
+        return entries;
+    }
+
+    private static File getQueryFolder(DBPDataSourceContainer container, String query) {
+        String fingerprint = QMMetricsRegistry.makeFingerprint(query);
+        File historyFolder = new File(GeneralUtils.getMetadataFolder(), HISTORY_FOLDER);
+        return new File(historyFolder, makeDigest(container.getId() + "\n" + fingerprint));
+    }
+
+    private static String makeDigest(String text) {
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            return CommonUtils.toHexString(md5.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(text.hashCode());
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.ext.postgresql.model.plan;
 
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
 import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.preferences.DBPPropertySource;
@@ -27,9 +28,6 @@ import org.jkiss.dbeaver.model.impl.PropertyDescriptor;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.xml.XMLUtils;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -50,7 +48,14 @@ public class PostgrePlanNode implements DBCPlanNode, DBCPlanCostNode, DBPPropert
     public static final String ATTR_ACTUAL_TOTAL_TIME = "Actual-Total-Time";
     public static final String ATTR_ACTUAL_ROWS = "Actual-Rows";
     public static final String ATTR_PLAN_ROWS = "Plan-Rows";
+    public static final String ATTR_ACTUAL_LOOPS = "Actual-Loops";
     public static final String ATTR_FILTER = "Filter";
+    public static final String ATTR_SHARED_HIT_BLOCKS = "Shared-Hit-Blocks";
+    public static final String ATTR_SHARED_READ_BLOCKS = "Shared-Read-Blocks";
+    public static final String ATTR_TEMP_READ_BLOCKS = "Temp-Read-Blocks";
+    public static final String ATTR_TEMP_WRITTEN_BLOCKS = "Temp-Written-Blocks";
+
+    private static final String ATTR_PLANS = "Plans";
 
     private PostgreDataSource dataSource;
     private PostgrePlanNode parent;
@@ -61,13 +66,17 @@ public class PostgrePlanNode implements DBCPlanNode, DBCPlanCostNode, DBPPropert
     private String cost;
     private Map<String, String> attributes = new LinkedHashMap<>();
 
-    public PostgrePlanNode(PostgreDataSource dataSource, PostgrePlanNode parent, Element element) {
+    /**
+     * Creates node from EXPLAIN (FORMAT JSON) plan object.
+     * Attribute names are converted to the XML format notation (Node Type -> Node-Type).
+     */
+    public PostgrePlanNode(PostgreDataSource dataSource, PostgrePlanNode parent, Map<String, Object> planObject) {
         this.parent = parent;
         this.dataSource = dataSource;
 
-        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
-            if (child instanceof Element && !"Plans".equals(child.getNodeName())) {
-                attributes.put(child.getNodeName(), child.getTextContent());
+        for (Map.Entry<String, Object> attr : planObject.entrySet()) {
+            if (!ATTR_PLANS.equals(attr.getKey())) {
+                attributes.put(attr.getKey().replace(' ', '-'), attributeToString(attr.getValue()));
             }
         }
         nodeType = attributes.remove(ATTR_NODE_TYPE);
@@ -84,15 +93,32 @@ public class PostgrePlanNode implements DBCPlanNode, DBCPlanCostNode, DBPPropert
         String totalCost = attributes.get(ATTR_TOTAL_COST);
         cost = startCost + " - " + totalCost;
 
-        Element nestedPlansElement = XMLUtils.getChildElement(element, "Plans");
-        if (nestedPlansElement != null) {
-            for (Element planElement : XMLUtils.getChildElementList(nestedPlansElement, "Plan")) {
-                if (nested == null) {
-                    nested = new ArrayList<>();
+        Object nestedPlans = planObject.get(ATTR_PLANS);
+        if (nestedPlans instanceof List) {
+            for (Object nestedPlan : (List<?>) nestedPlans) {
+                Map<String, Object> nestedObject = JSONUtils.getObject(nestedPlan);
+                if (nestedObject != null) {
+                    if (nested == null) {
+                        nested = new ArrayList<>();
+                    }
+                    nested.add(new PostgrePlanNode(dataSource, this, nestedObject));
+                }
+            }
+        }
+    }
+
+    private static String attributeToString(Object value) {
+        if (value instanceof List) {
+            StringBuilder str = new StringBuilder();
+            for (Object item : (List<?>) value) {
+                if (str.length() > 0) {
+                    str.append(", ");
                 }
-                nested.add(new PostgrePlanNode(dataSource, null, planElement));
+                str.append(item);
             }
+            return str.toString();
         }
+        return value == null ? null : value.toString();
     }
 
     @Override
@@ -121,12 +147,10 @@ public class PostgrePlanNode implements DBCPlanNode, DBCPlanCostNode, DBPPropert
         return cost;
     }
 
-/*
     @Property(order = 20, viewable = true)
     public String getPlanRows() {
-        return attributes.get("Plan-Rows");
+        return attributes.get(ATTR_PLAN_ROWS);
     }
-*/
 
     @Property(order = 21, viewable = true)
     public String getActualRows() {
@@ -154,6 +178,53 @@ public class PostgrePlanNode implements DBCPlanNode, DBCPlanCostNode, DBPPropert
         return cond;
     }
 
+    @Property(order = 24, viewable = true)
+    public String getBuffers() {
+        String hitBlocks = attributes.get(ATTR_SHARED_HIT_BLOCKS);
+        String readBlocks = attributes.get(ATTR_SHARED_READ_BLOCKS);
+        if (hitBlocks == null && readBlocks == null) {
+            return null;
+        }
+        StringBuilder buffers = new StringBuilder();
+        buffers.append("hit=").append(CommonUtils.notEmpty(hitBlocks)).append(" read=").append(CommonUtils.notEmpty(readBlocks));
+        String tempRead = attributes.get(ATTR_TEMP_READ_BLOCKS);
+        String tempWritten = attributes.get(ATTR_TEMP_WRITTEN_BLOCKS);
+        if (CommonUtils.toLong(tempRead) > 0 || CommonUtils.toLong(tempWritten) > 0) {
+            buffers.append(" temp read=").append(tempRead).append(" written=").append(tempWritten);
+        }
+        return buffers.toString();
+    }
+
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * Node time including all loops (ms). Actual-Total-Time is reported per loop.
+     */
+    public double getInclusiveTime() {
+        String time = attributes.get(ATTR_ACTUAL_TOTAL_TIME);
+        if (time == null) {
+            return 0;
+        }
+        long loops = CommonUtils.toLong(attributes.get(ATTR_ACTUAL_LOOPS));
+        return CommonUtils.toDouble(time) * Math.max(loops, 1);
+    }
+
+    /**
+     * Ratio between actual and estimated row count (always >= 1), or 0 if plan wasn't analyzed.
+     */
+    public double getRowsEstimateError() {
+        String actualRows = attributes.get(ATTR_ACTUAL_ROWS);
+        String planRows = attributes.get(ATTR_PLAN_ROWS);
+        if (actualRows == null || planRows == null) {
+            return 0;
+        }
+        double actual = Math.max(CommonUtils.toDouble(actualRows), 1);
+        double estimated = Math.max(CommonUtils.toDouble(planRows), 1);
+        return actual > estimated ? actual / estimated : estimated / actual;
+    }
+
     @Override
     public DBCPlanNode getParent()
     {
@@ -0,0 +1,248 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model.workload;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSnapshot.StatementStats;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSnapshot.TableStats;
+
+import java.util.*;
+
+/**
+ * Turns consecutive workload snapshots into per-interval deltas.
+ * Keeps last N intervals in a ring buffer and ranks statements over them.
+ * Sampler doesn't access the database, snapshots are fed by the caller.
+ */
+public class PostgreWorkloadSampler {
+
+    public static final int DEFAULT_CAPACITY = 60;
+
+    public enum Ranking {
+        TOTAL_TIME("Total time"),
+        MEAN_TIME("Mean time"),
+        CALLS("Calls"),
+        ROWS("Rows"),
+        BUFFER_HITS("Buffer hits");
+
+        private final String title;
+
+        Ranking(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public double getValue(@NotNull StatementStats stats) {
+            switch (this) {
+                case TOTAL_TIME: return stats.getTotalTime();
+                case MEAN_TIME: return stats.getMeanTime();
+                case CALLS: return stats.getCalls();
+                case ROWS: return stats.getRows();
+                case BUFFER_HITS: return stats.getSharedBlksHit();
+                default: return 0;
+            }
+        }
+    }
+
+    /**
+     * Deltas between two snapshots
+     */
+    public static class Interval {
+        private final long startTime;
+        private final long endTime;
+        private final Map<String, StatementStats> statements;
+        private final Map<String, TableStats> tables;
+
+        Interval(long startTime, long endTime, Map<String, StatementStats> statements, Map<String, TableStats> tables) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.statements = statements;
+            this.tables = tables;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getEndTime() {
+            return endTime;
+        }
+
+        @NotNull
+        public Map<String, StatementStats> getStatements() {
+            return statements;
+        }
+
+        @NotNull
+        public Map<String, TableStats> getTables() {
+            return tables;
+        }
+    }
+
+    /**
+     * Statement counters summed over all buffered intervals.
+     * Series contains ranking value for each interval (oldest first).
+     */
+    public static class StatementSummary {
+        private final StatementStats total;
+        private final double[] series;
+
+        StatementSummary(StatementStats total, double[] series) {
+            this.total = total;
+            this.series = series;
+        }
+
+        @NotNull
+        public StatementStats getTotal() {
+            return total;
+        }
+
+        @NotNull
+        public double[] getSeries() {
+            return series;
+        }
+    }
+
+    private final Interval[] intervals;
+    private int head;
+    private int count;
+    private PostgreWorkloadSnapshot lastSnapshot;
+
+    public PostgreWorkloadSampler() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PostgreWorkloadSampler(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Bad sampler capacity: " + capacity);
+        }
+        this.intervals = new Interval[capacity];
+    }
+
+    public int getCapacity() {
+        return intervals.length;
+    }
+
+    @Nullable
+    public synchronized PostgreWorkloadSnapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /**
+     * Adds new snapshot. The first snapshot is just a baseline, each next one produces an interval.
+     * Returns new interval or null.
+     */
+    @Nullable
+    public synchronized Interval addSnapshot(@NotNull PostgreWorkloadSnapshot snapshot) {
+        PostgreWorkloadSnapshot prev = lastSnapshot;
+        lastSnapshot = snapshot;
+        if (prev == null) {
+            return null;
+        }
+        Map<String, StatementStats> statements = new HashMap<>();
+        for (StatementStats stats : snapshot.getStatements().values()) {
+            StatementStats delta = stats.minus(prev.getStatements().get(stats.getKey()));
+            if (delta.getCalls() > 0) {
+                statements.put(delta.getKey(), delta);
+            }
+        }
+        Map<String, TableStats> tables = new HashMap<>();
+        for (TableStats stats : snapshot.getTables().values()) {
+            TableStats delta = stats.minus(prev.getTables().get(stats.getName()));
+            if (delta.getSeqScan() > 0 || delta.getIdxScan() > 0 || delta.getTupModified() > 0) {
+                tables.put(delta.getName(), delta);
+            }
+        }
+        Interval interval = new Interval(prev.getTimestamp(), snapshot.getTimestamp(), statements, tables);
+        intervals[(head + count) % intervals.length] = interval;
+        if (count < intervals.length) {
+            count++;
+        } else {
+            head = (head + 1) % intervals.length;
+        }
+        return interval;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(intervals, null);
+        head = 0;
+        count = 0;
+        lastSnapshot = null;
+    }
+
+    /**
+     * Returns buffered intervals, oldest first
+     */
+    @NotNull
+    public synchronized List<Interval> getIntervals() {
+        List<Interval> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(intervals[(head + i) % intervals.length]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns top statements over all buffered intervals
+     */
+    @NotNull
+    public List<StatementSummary> getTopStatements(@NotNull Ranking ranking, int limit) {
+        List<Interval> history = getIntervals();
+        Map<String, StatementSummary> summaries = new HashMap<>();
+        for (int i = 0; i < history.size(); i++) {
+            for (StatementStats stats : history.get(i).getStatements().values()) {
+                StatementSummary summary = summaries.get(stats.getKey());
+                if (summary == null) {
+                    summary = new StatementSummary(
+                        new StatementStats(stats.getKey(), stats.getQuery(), 0, 0, 0, 0, 0),
+                        new double[history.size()]);
+                    summaries.put(stats.getKey(), summary);
+                }
+                summary.total.add(stats);
+                summary.series[i] = ranking.getValue(stats);
+            }
+        }
+        List<StatementSummary> result = new ArrayList<>(summaries.values());
+        result.sort((o1, o2) -> Double.compare(ranking.getValue(o2.total), ranking.getValue(o1.total)));
+        return limit > 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Returns tables summed over all buffered intervals ordered by number of tuples read by sequential scans
+     */
+    @NotNull
+    public List<TableStats> getTopTables(int limit) {
+        Map<String, TableStats> totals = new HashMap<>();
+        for (Interval interval : getIntervals()) {
+            for (TableStats stats : interval.getTables().values()) {
+                TableStats total = totals.get(stats.getName());
+                if (total == null) {
+                    total = new TableStats(stats.getName(), 0, 0, 0, 0);
+                    totals.put(stats.getName(), total);
+                }
+                total.add(stats);
+            }
+        }
+        List<TableStats> result = new ArrayList<>(totals.values());
+        result.sort((o1, o2) -> Long.compare(o2.getSeqTupRead(), o1.getSeqTupRead()));
+        return limit > 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+}
@@ -0,0 +1,316 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model.workload;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Cumulative counters of pg_stat_statements and pg_stat_user_tables captured at some moment.
+ * Snapshots may be read from the server or constructed manually (e.g. from recorded values).
+ */
+public class PostgreWorkloadSnapshot {
+
+    /**
+     * Statement counters. Holds cumulative values in snapshots and per-interval deltas in the sampler.
+     */
+    public static class StatementStats {
+        private final String key;
+        private final String query;
+        private long calls;
+        private double totalTime;
+        private long rows;
+        private long sharedBlksHit;
+        private long sharedBlksRead;
+
+        public StatementStats(@NotNull String key, @NotNull String query, long calls, double totalTime, long rows, long sharedBlksHit, long sharedBlksRead) {
+            this.key = key;
+            this.query = query;
+            this.calls = calls;
+            this.totalTime = totalTime;
+            this.rows = rows;
+            this.sharedBlksHit = sharedBlksHit;
+            this.sharedBlksRead = sharedBlksRead;
+        }
+
+        @NotNull
+        public String getKey() {
+            return key;
+        }
+
+        @NotNull
+        public String getQuery() {
+            return query;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Total execution time in milliseconds
+         */
+        public double getTotalTime() {
+            return totalTime;
+        }
+
+        public double getMeanTime() {
+            return calls == 0 ? 0 : totalTime / calls;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getSharedBlksHit() {
+            return sharedBlksHit;
+        }
+
+        public long getSharedBlksRead() {
+            return sharedBlksRead;
+        }
+
+        /**
+         * Shared buffers hit ratio (percents) or -1 if no blocks were accessed
+         */
+        public double getHitRatio() {
+            long total = sharedBlksHit + sharedBlksRead;
+            return total == 0 ? -1 : sharedBlksHit * 100.0 / total;
+        }
+
+        void add(StatementStats stats) {
+            calls += stats.calls;
+            totalTime += stats.totalTime;
+            rows += stats.rows;
+            sharedBlksHit += stats.sharedBlksHit;
+            sharedBlksRead += stats.sharedBlksRead;
+        }
+
+        /**
+         * Returns delta between this and previous counters.
+         * If any counter decreased then statistics were reset (or entry was evicted and re-added)
+         * and the current values are the best estimate of the delta.
+         */
+        StatementStats minus(StatementStats prev) {
+            if (prev == null ||
+                calls < prev.calls || totalTime < prev.totalTime || rows < prev.rows ||
+                sharedBlksHit < prev.sharedBlksHit || sharedBlksRead < prev.sharedBlksRead)
+            {
+                return new StatementStats(key, query, calls, totalTime, rows, sharedBlksHit, sharedBlksRead);
+            }
+            return new StatementStats(
+                key, query,
+                calls - prev.calls,
+                totalTime - prev.totalTime,
+                rows - prev.rows,
+                sharedBlksHit - prev.sharedBlksHit,
+                sharedBlksRead - prev.sharedBlksRead);
+        }
+    }
+
+    /**
+     * Table access counters
+     */
+    public static class TableStats {
+        private final String name;
+        private long seqScan;
+        private long seqTupRead;
+        private long idxScan;
+        private long tupModified;
+
+        public TableStats(@NotNull String name, long seqScan, long seqTupRead, long idxScan, long tupModified) {
+            this.name = name;
+            this.seqScan = seqScan;
+            this.seqTupRead = seqTupRead;
+            this.idxScan = idxScan;
+            this.tupModified = tupModified;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        public long getSeqScan() {
+            return seqScan;
+        }
+
+        public long getSeqTupRead() {
+            return seqTupRead;
+        }
+
+        public long getIdxScan() {
+            return idxScan;
+        }
+
+        /**
+         * Inserted + updated + deleted tuples
+         */
+        public long getTupModified() {
+            return tupModified;
+        }
+
+        void add(TableStats stats) {
+            seqScan += stats.seqScan;
+            seqTupRead += stats.seqTupRead;
+            idxScan += stats.idxScan;
+            tupModified += stats.tupModified;
+        }
+
+        TableStats minus(TableStats prev) {
+            if (prev == null ||
+                seqScan < prev.seqScan || seqTupRead < prev.seqTupRead ||
+                idxScan < prev.idxScan || tupModified < prev.tupModified)
+            {
+                return new TableStats(name, seqScan, seqTupRead, idxScan, tupModified);
+            }
+            return new TableStats(
+                name,
+                seqScan - prev.seqScan,
+                seqTupRead - prev.seqTupRead,
+                idxScan - prev.idxScan,
+                tupModified - prev.tupModified);
+        }
+    }
+
+    private final long timestamp;
+    private final Map<String, StatementStats> statements = new LinkedHashMap<>();
+    private final Map<String, TableStats> tables = new LinkedHashMap<>();
+
+    public PostgreWorkloadSnapshot(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void addStatement(@NotNull StatementStats stats) {
+        statements.put(stats.getKey(), stats);
+    }
+
+    public void addTable(@NotNull TableStats stats) {
+        tables.put(stats.getName(), stats);
+    }
+
+    @NotNull
+    public Map<String, StatementStats> getStatements() {
+        return statements;
+    }
+
+    @NotNull
+    public Map<String, TableStats> getTables() {
+        return tables;
+    }
+
+    /**
+     * Checks whether pg_stat_statements extension is installed in the current database
+     */
+    public static boolean isStatementsAvailable(@NotNull JDBCSession session) throws DBException {
+        try {
+            return JDBCUtils.queryString(session, "SELECT extname FROM pg_catalog.pg_extension WHERE extname='pg_stat_statements'") != null;
+        } catch (SQLException e) {
+            throw new DBException(e, session.getDataSource());
+        }
+    }
+
+    /**
+     * Reads current counters. Statements are limited to the current database.
+     */
+    @NotNull
+    public static PostgreWorkloadSnapshot read(@NotNull JDBCSession session, boolean readStatements) throws DBException {
+        PostgreWorkloadSnapshot snapshot = new PostgreWorkloadSnapshot(System.currentTimeMillis());
+        try {
+            if (readStatements) {
+                readStatements(session, snapshot);
+            }
+            readTables(session, snapshot);
+        } catch (SQLException e) {
+            throw new DBException(e, session.getDataSource());
+        }
+        return snapshot;
+    }
+
+    private static void readStatements(JDBCSession session, PostgreWorkloadSnapshot snapshot) throws SQLException {
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT s.* FROM pg_stat_statements s WHERE s.dbid=(SELECT oid FROM pg_catalog.pg_database WHERE datname=pg_catalog.current_database())"))
+        {
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                Set<String> columns = getColumnNames(dbResult);
+                // PostgreSQL 13 split total_time into planning and execution time
+                String timeColumn = columns.contains("total_exec_time") ? "total_exec_time" : "total_time";
+                boolean hasQueryId = columns.contains("queryid");
+                while (dbResult.next()) {
+                    String query = CommonUtils.notEmpty(JDBCUtils.safeGetString(dbResult, "query"));
+                    String key = JDBCUtils.safeGetString(dbResult, "userid") + ":" +
+                        (hasQueryId ? JDBCUtils.safeGetString(dbResult, "queryid") : query);
+                    StatementStats stats = new StatementStats(
+                        key,
+                        query,
+                        JDBCUtils.safeGetLong(dbResult, "calls"),
+                        JDBCUtils.safeGetDouble(dbResult, timeColumn),
+                        JDBCUtils.safeGetLong(dbResult, "rows"),
+                        JDBCUtils.safeGetLong(dbResult, "shared_blks_hit"),
+                        JDBCUtils.safeGetLong(dbResult, "shared_blks_read"));
+                    StatementStats prev = snapshot.statements.get(key);
+                    if (prev != null) {
+                        // The same statement may be reported for different top-level flags
+                        prev.add(stats);
+                    } else {
+                        snapshot.addStatement(stats);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void readTables(JDBCSession session, PostgreWorkloadSnapshot snapshot) throws SQLException {
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT schemaname,relname,seq_scan,seq_tup_read,idx_scan,n_tup_ins+n_tup_upd+n_tup_del as n_tup_mod FROM pg_catalog.pg_stat_user_tables"))
+        {
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                while (dbResult.next()) {
+                    snapshot.addTable(new TableStats(
+                        JDBCUtils.safeGetString(dbResult, "schemaname") + "." + JDBCUtils.safeGetString(dbResult, "relname"),
+                        JDBCUtils.safeGetLong(dbResult, "seq_scan"),
+                        JDBCUtils.safeGetLong(dbResult, "seq_tup_read"),
+                        JDBCUtils.safeGetLong(dbResult, "idx_scan"),
+                        JDBCUtils.safeGetLong(dbResult, "n_tup_mod")));
+                }
+            }
+        }
+    }
+
+    private static Set<String> getColumnNames(JDBCResultSet dbResult) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        ResultSetMetaData metaData = dbResult.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnName(i).toLowerCase(Locale.ENGLISH));
+        }
+        return columns;
+    }
+
+}
@@ -56,6 +56,7 @@ public class PostgreConnectionPage extends ConnectionPageAbstract implements ICo
     private ClientHomesSelector homesSelector;
     private Button showNonDefault;
     private Button showTemplates;
+    private Button streamReads;
     private boolean activated = false;
 
     @Override
@@ -157,9 +158,11 @@ public class PostgreConnectionPage extends ConnectionPageAbstract implements ICo
                 @Override
                 public void widgetSelected(SelectionEvent e) {
                     showTemplates.setEnabled(showNonDefault.getSelection());
+        streamReads.setSelection(CommonUtils.getBoolean(connectionInfo.getProviderProperty(PostgreConstants.PROP_STREAM_READS), true));
                 }
             });
             showTemplates = UIUtils.createCheckbox(secureGroup, PostgreMessages.dialog_setting_connection_show_templates, PostgreMessages.dialog_setting_connection_show_templates_tip, false, 2);
+            streamReads = UIUtils.createCheckbox(secureGroup, PostgreMessages.dialog_setting_connection_stream_reads, PostgreMessages.dialog_setting_connection_stream_reads_tip, true, 2);
         }
 
         createDriverPanel(addrGroup);
@@ -270,6 +273,7 @@ public class PostgreConnectionPage extends ConnectionPageAbstract implements ICo
 
         connectionInfo.setProviderProperty(PostgreConstants.PROP_SHOW_NON_DEFAULT_DB, String.valueOf(showNonDefault.getSelection()));
         connectionInfo.setProviderProperty(PostgreConstants.PROP_SHOW_TEMPLATES_DB, String.valueOf(showTemplates.getSelection()));
+        connectionInfo.setProviderProperty(PostgreConstants.PROP_STREAM_READS, String.valueOf(streamReads.getSelection()));
         super.saveSettings(dataSource);
     }
 
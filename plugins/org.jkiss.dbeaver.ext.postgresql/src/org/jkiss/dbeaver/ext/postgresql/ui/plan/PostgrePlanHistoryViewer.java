@@ -0,0 +1,297 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.ui.plan;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IContributionManager;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.eclipse.ui.IWorkbenchPart;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanAnalyser;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanDiff;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanHistory;
+import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanNode;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.controls.CustomSashForm;
+import org.jkiss.utils.CommonUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Plan history viewer. Shows plans captured for the same query and compares two of them.
+ */
+class PostgrePlanHistoryViewer extends Viewer {
+
+    private static final Log log = Log.getLog(PostgrePlanHistoryViewer.class);
+
+    private static final String COLOR_SLOWER = "255,210,210";
+    private static final String COLOR_CHANGED = "255,240,200";
+    private static final String COLOR_ESTIMATE_ERROR = "192,0,0";
+
+    private final Composite composite;
+    private final Table historyTable;
+    private final Label summaryLabel;
+    private final Table diffTable;
+    private final ClearHistoryAction clearHistoryAction = new ClearHistoryAction();
+
+    private SQLQuery query;
+    private PostgreDataSource dataSource;
+    private final List<PostgrePlanAnalyser> historyPlans = new ArrayList<>();
+
+    PostgrePlanHistoryViewer(IWorkbenchPart workbenchPart, Composite parent) {
+        composite = UIUtils.createPlaceholder(parent, 1);
+        composite.setLayoutData(new GridData(GridData.FILL_BOTH));
+
+        CustomSashForm sash = UIUtils.createPartDivider(workbenchPart, composite, SWT.VERTICAL);
+        sash.setLayoutData(new GridData(GridData.FILL_BOTH));
+
+        historyTable = new Table(sash, SWT.MULTI | SWT.FULL_SELECTION | SWT.BORDER);
+        historyTable.setHeaderVisible(true);
+        historyTable.setLinesVisible(true);
+        historyTable.setToolTipText("Select one plan to compare it with the latest plan or two plans to compare them");
+        UIUtils.createTableColumn(historyTable, SWT.LEFT, "Captured");
+        UIUtils.createTableColumn(historyTable, SWT.RIGHT, "Execution ms");
+        UIUtils.createTableColumn(historyTable, SWT.RIGHT, "Planning ms");
+        UIUtils.createTableColumn(historyTable, SWT.RIGHT, "Total cost");
+        UIUtils.createTableColumn(historyTable, SWT.LEFT, "Plan");
+        historyTable.addListener(SWT.Selection, event -> compareSelectedPlans());
+
+        Composite diffPanel = UIUtils.createPlaceholder(sash, 1);
+        summaryLabel = new Label(diffPanel, SWT.NONE);
+        summaryLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        diffTable = new Table(diffPanel, SWT.FULL_SELECTION | SWT.BORDER);
+        diffTable.setLayoutData(new GridData(GridData.FILL_BOTH));
+        diffTable.setHeaderVisible(true);
+        diffTable.setLinesVisible(true);
+        UIUtils.createTableColumn(diffTable, SWT.LEFT, "Old node");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Rows est/actual");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Error");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Time ms");
+        UIUtils.createTableColumn(diffTable, SWT.LEFT, "New node");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Rows est/actual");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Error");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Time ms");
+        UIUtils.createTableColumn(diffTable, SWT.RIGHT, "Time ratio");
+
+        sash.setWeights(new int[] {30, 70});
+    }
+
+    void showPlan(SQLQuery query, DBCPlan plan) {
+        this.query = query;
+        this.dataSource = query != null && query.getDataSource() instanceof PostgreDataSource ?
+            (PostgreDataSource) query.getDataSource() : null;
+        loadHistory(plan instanceof PostgrePlanAnalyser);
+    }
+
+    void contributeActions(IContributionManager contributionManager) {
+        clearHistoryAction.setEnabled(dataSource != null);
+        contributionManager.add(clearHistoryAction);
+    }
+
+    private void loadHistory(boolean supported) {
+        historyPlans.clear();
+        historyTable.removeAll();
+        diffTable.removeAll();
+        if (!supported || dataSource == null) {
+            summaryLabel.setText("Plan history is available for PostgreSQL connections only");
+            return;
+        }
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        String prevSignature = null;
+        PostgrePlanAnalyser prevPlan = null;
+        for (PostgrePlanHistory.PlanEntry entry : PostgrePlanHistory.getInstance().getPlans(dataSource.getContainer(), query.getText())) {
+            PostgrePlanAnalyser plan;
+            try {
+                plan = entry.loadPlan(dataSource, query.getText());
+            } catch (DBCException e) {
+                log.debug(e);
+                continue;
+            }
+            historyPlans.add(plan);
+            String signature = PostgrePlanDiff.getPlanSignature(plan);
+            String change = "";
+            if (prevPlan != null && !signature.equals(prevSignature)) {
+                change = PostgrePlanDiff.isRegression(prevPlan, plan) ? "Changed, slower" : "Changed";
+            }
+            TableItem item = new TableItem(historyTable, SWT.NONE);
+            item.setText(0, dateFormat.format(new Date(entry.getCaptureTime())));
+            item.setText(1, formatTime(plan.getExecutionTime()));
+            item.setText(2, formatTime(plan.getPlanningTime()));
+            item.setText(3, getRootCost(plan));
+            item.setText(4, change);
+            if (!change.isEmpty()) {
+                item.setBackground(UIUtils.getSharedColor(PostgrePlanDiff.isRegression(prevPlan, plan) ? COLOR_SLOWER : COLOR_CHANGED));
+            }
+            prevPlan = plan;
+            prevSignature = signature;
+        }
+        UIUtils.packColumns(historyTable);
+
+        int planCount = historyPlans.size();
+        if (planCount == 0) {
+            summaryLabel.setText("No plans captured for this query");
+            return;
+        }
+        // Compare the latest plan with the previous one
+        historyTable.setSelection(Math.max(planCount - 2, 0), planCount - 1);
+        compareSelectedPlans();
+    }
+
+    private void compareSelectedPlans() {
+        int[] selection = historyTable.getSelectionIndices();
+        if (selection.length == 0 || historyPlans.isEmpty()) {
+            return;
+        }
+        int oldIndex = selection[0], newIndex = selection[0];
+        for (int index : selection) {
+            oldIndex = Math.min(oldIndex, index);
+            newIndex = Math.max(newIndex, index);
+        }
+        if (selection.length == 1) {
+            newIndex = historyPlans.size() - 1;
+        }
+        showDiff(historyPlans.get(oldIndex), historyPlans.get(newIndex));
+    }
+
+    private void showDiff(PostgrePlanAnalyser oldPlan, PostgrePlanAnalyser newPlan) {
+        diffTable.setRedraw(false);
+        try {
+            diffTable.removeAll();
+            PostgrePlanDiff diff = new PostgrePlanDiff(oldPlan, newPlan);
+            for (PostgrePlanDiff.NodePair pair : diff.getNodes()) {
+                TableItem item = new TableItem(diffTable, SWT.NONE);
+                fillNodeCells(item, 0, pair.getDepth(), pair.getOldNode());
+                fillNodeCells(item, 4, pair.getDepth(), pair.getNewNode());
+                double timeRatio = pair.getTimeRatio();
+                item.setText(8, timeRatio > 0 ? String.format("%.2f", timeRatio) : "");
+                if (pair.isSlower()) {
+                    item.setBackground(UIUtils.getSharedColor(COLOR_SLOWER));
+                } else if (pair.isChanged()) {
+                    item.setBackground(UIUtils.getSharedColor(COLOR_CHANGED));
+                }
+            }
+            UIUtils.packColumns(diffTable);
+        } finally {
+            diffTable.setRedraw(true);
+        }
+        String summary = "Execution time: " + formatTime(oldPlan.getExecutionTime()) + " ms -> " + formatTime(newPlan.getExecutionTime()) + " ms";
+        if (PostgrePlanDiff.isRegression(oldPlan, newPlan)) {
+            summary += " (plan changed and query became slower)";
+        } else if (!PostgrePlanDiff.getPlanSignature(oldPlan).equals(PostgrePlanDiff.getPlanSignature(newPlan))) {
+            summary += " (plan changed)";
+        }
+        summaryLabel.setText(summary);
+    }
+
+    private static void fillNodeCells(TableItem item, int firstColumn, int depth, PostgrePlanNode node) {
+        if (node == null) {
+            return;
+        }
+        StringBuilder nodeName = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            nodeName.append("  ");
+        }
+        nodeName.append(node.getNodeType());
+        if (!CommonUtils.isEmpty(node.getEntity())) {
+            nodeName.append(" on ").append(node.getEntity());
+        }
+        item.setText(firstColumn, nodeName.toString());
+        item.setText(firstColumn + 1,
+            CommonUtils.notEmpty(node.getPlanRows()) + " / " + CommonUtils.notEmpty(node.getAttribute(PostgrePlanNode.ATTR_ACTUAL_ROWS)));
+        double estimateError = node.getRowsEstimateError();
+        if (estimateError > 0) {
+            item.setText(firstColumn + 2, String.format("%.1fx", estimateError));
+            if (estimateError >= PostgrePlanDiff.ESTIMATE_ERROR_THRESHOLD) {
+                Color errorColor = UIUtils.getSharedColor(COLOR_ESTIMATE_ERROR);
+                item.setForeground(firstColumn + 1, errorColor);
+                item.setForeground(firstColumn + 2, errorColor);
+            }
+        }
+        item.setText(firstColumn + 3, String.format("%.3f", node.getInclusiveTime()));
+    }
+
+    private static String getRootCost(PostgrePlanAnalyser plan) {
+        if (CommonUtils.isEmpty(plan.getPlanNodes())) {
+            return "";
+        }
+        Number cost = ((PostgrePlanNode) plan.getPlanNodes().iterator().next()).getNodeCost();
+        return cost == null ? "" : String.valueOf(cost);
+    }
+
+    private static String formatTime(Double time) {
+        return time == null ? "" : String.format("%.3f", time);
+    }
+
+    @Override
+    public Control getControl() {
+        return composite;
+    }
+
+    @Override
+    public Object getInput() {
+        return query;
+    }
+
+    @Override
+    public ISelection getSelection() {
+        return StructuredSelection.EMPTY;
+    }
+
+    @Override
+    public void refresh() {
+        loadHistory(dataSource != null);
+    }
+
+    @Override
+    public void setInput(Object input) {
+    }
+
+    @Override
+    public void setSelection(ISelection selection, boolean reveal) {
+    }
+
+    private class ClearHistoryAction extends Action {
+        ClearHistoryAction() {
+            super("Clear plan history", DBeaverIcons.getImageDescriptor(UIIcon.OBJ_REMOVE));
+        }
+
+        @Override
+        public void run() {
+            if (dataSource != null && query != null) {
+                PostgrePlanHistory.getInstance().clearPlans(dataSource.getContainer(), query.getText());
+                loadHistory(true);
+            }
+        }
+    }
+
+}
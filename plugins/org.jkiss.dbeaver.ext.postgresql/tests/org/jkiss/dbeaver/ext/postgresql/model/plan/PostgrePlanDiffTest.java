@@ -0,0 +1,129 @@
+package org.jkiss.dbeaver.ext.postgresql.model.plan;
+
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PostgrePlanDiffTest {
+
+    @Test
+    public void testSamePlan() throws DBCException {
+        PostgrePlanAnalyser oldPlan = plan(10, join(2, scan("Seq Scan", "a", 1), scan("Seq Scan", "b", 1)));
+        PostgrePlanAnalyser newPlan = plan(11, join(3, scan("Seq Scan", "a", 1.5), scan("Seq Scan", "b", 1)));
+        PostgrePlanDiff diff = new PostgrePlanDiff(oldPlan, newPlan);
+        List<PostgrePlanDiff.NodePair> nodes = diff.getNodes();
+        assertEquals(3, nodes.size());
+        for (PostgrePlanDiff.NodePair pair : nodes) {
+            assertFalse(pair.isChanged());
+        }
+        // Depth-first order
+        assertEquals(0, nodes.get(0).getDepth());
+        assertEquals(1, nodes.get(1).getDepth());
+        assertEquals(1, nodes.get(2).getDepth());
+        assertEquals("Hash Join", nodes.get(0).getNewNode().getNodeType());
+        assertEquals("a", nodes.get(1).getNewNode().getNodeName());
+        assertEquals("b", nodes.get(2).getNewNode().getNodeName());
+
+        assertEquals(PostgrePlanDiff.getPlanSignature(oldPlan), PostgrePlanDiff.getPlanSignature(newPlan));
+        assertEquals("[Hash Join()[Seq Scan(a)Seq Scan(b)]]", PostgrePlanDiff.getPlanSignature(oldPlan));
+        assertFalse(PostgrePlanDiff.isRegression(oldPlan, newPlan));
+    }
+
+    @Test
+    public void testChangedNode() throws DBCException {
+        PostgrePlanAnalyser oldPlan = plan(1, join(1, scan("Index Scan", "a", 0.5), scan("Seq Scan", "b", 0.1)));
+        PostgrePlanAnalyser newPlan = plan(20, join(19, scan("Seq Scan", "a", 18), scan("Seq Scan", "b", 0.1)));
+        PostgrePlanDiff diff = new PostgrePlanDiff(oldPlan, newPlan);
+        List<PostgrePlanDiff.NodePair> nodes = diff.getNodes();
+        assertEquals(3, nodes.size());
+        assertFalse(nodes.get(0).isChanged());
+        assertTrue(nodes.get(0).isSlower());
+        assertEquals(19, nodes.get(0).getTimeRatio(), 0.0001);
+        assertTrue(nodes.get(1).isChanged());
+        assertTrue(nodes.get(1).isSlower());
+        assertFalse(nodes.get(2).isChanged());
+        assertFalse(nodes.get(2).isSlower());
+        assertEquals(1, nodes.get(2).getTimeRatio(), 0.0001);
+
+        assertNotEquals(PostgrePlanDiff.getPlanSignature(oldPlan), PostgrePlanDiff.getPlanSignature(newPlan));
+        assertTrue(PostgrePlanDiff.isRegression(oldPlan, newPlan));
+        // Faster with a different plan is not a regression
+        assertFalse(PostgrePlanDiff.isRegression(newPlan, oldPlan));
+    }
+
+    @Test
+    public void testAddedAndRemovedNodes() throws DBCException {
+        PostgrePlanAnalyser oldPlan = plan(5, scan("Seq Scan", "a", 5));
+        PostgrePlanAnalyser newPlan = plan(5, join(5, scan("Seq Scan", "a", 1), join(3, scan("Seq Scan", "b", 1), scan("Seq Scan", "c", 1))));
+        List<PostgrePlanDiff.NodePair> nodes = new PostgrePlanDiff(oldPlan, newPlan).getNodes();
+        assertEquals(5, nodes.size());
+        // Root node changed from scan to join
+        assertTrue(nodes.get(0).isChanged());
+        for (int i = 1; i < nodes.size(); i++) {
+            assertTrue(nodes.get(i).isChanged());
+            assertNull(nodes.get(i).getOldNode());
+            assertFalse(nodes.get(i).isSlower());
+            assertEquals(0, nodes.get(i).getTimeRatio(), 0);
+        }
+        assertEquals(1, nodes.get(1).getDepth());
+        assertEquals(1, nodes.get(2).getDepth());
+        assertEquals(2, nodes.get(3).getDepth());
+        assertEquals(2, nodes.get(4).getDepth());
+
+        List<PostgrePlanDiff.NodePair> reverse = new PostgrePlanDiff(newPlan, oldPlan).getNodes();
+        assertEquals(5, reverse.size());
+        assertNull(reverse.get(4).getNewNode());
+        assertEquals("c", reverse.get(4).getOldNode().getNodeName());
+    }
+
+    @Test
+    public void testRegressionThresholds() throws DBCException {
+        // Plan changed, but time difference is below 1ms
+        assertFalse(PostgrePlanDiff.isRegression(
+            plan(0.1, scan("Index Scan", "a", 0.1)),
+            plan(0.5, scan("Seq Scan", "a", 0.5))));
+        // Slower, but less than 1.5 times
+        assertFalse(PostgrePlanDiff.isRegression(
+            plan(10, scan("Index Scan", "a", 10)),
+            plan(14, scan("Seq Scan", "a", 14))));
+        assertTrue(PostgrePlanDiff.isRegression(
+            plan(10, scan("Index Scan", "a", 10)),
+            plan(15, scan("Seq Scan", "a", 15))));
+        // Different relation
+        assertTrue(PostgrePlanDiff.isRegression(
+            plan(10, scan("Seq Scan", "a", 10)),
+            plan(15, scan("Seq Scan", "b", 15))));
+    }
+
+    @Test
+    public void testNotAnalyzedPlans() throws DBCException {
+        PostgrePlanAnalyser oldPlan = new PostgrePlanAnalyser(null, "select 1", "[{\"Plan\": " + scan("Index Scan", "a", -1) + "}]");
+        PostgrePlanAnalyser newPlan = new PostgrePlanAnalyser(null, "select 1", "[{\"Plan\": " + scan("Seq Scan", "a", -1) + "}]");
+        assertFalse(PostgrePlanDiff.isRegression(oldPlan, newPlan));
+        PostgrePlanDiff.NodePair pair = new PostgrePlanDiff(oldPlan, newPlan).getNodes().get(0);
+        assertTrue(pair.isChanged());
+        assertFalse(pair.isSlower());
+        assertEquals(0, pair.getTimeRatio(), 0);
+    }
+
+    private static PostgrePlanAnalyser plan(double executionTime, String rootNode) throws DBCException {
+        return new PostgrePlanAnalyser(null, "select 1", "[{\"Plan\": " + rootNode + ", \"Execution Time\": " + executionTime + "}]");
+    }
+
+    private static String join(double time, String... nested) {
+        return "{\"Node Type\": \"Hash Join\", \"Actual Total Time\": " + time + ", \"Actual Loops\": 1, \"Plans\": [" + String.join(", ", nested) + "]}";
+    }
+
+    private static String scan(String type, String relation, double time) {
+        return "{\"Node Type\": \"" + type + "\", \"Relation Name\": \"" + relation + "\"" +
+            (time < 0 ? "" : ", \"Actual Total Time\": " + time + ", \"Actual Loops\": 1") + "}";
+    }
+
+}
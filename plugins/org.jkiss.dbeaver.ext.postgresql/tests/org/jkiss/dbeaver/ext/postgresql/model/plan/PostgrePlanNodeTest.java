@@ -0,0 +1,181 @@
+package org.jkiss.dbeaver.ext.postgresql.model.plan;
+
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class PostgrePlanNodeTest {
+
+    private static final String PLAN_JSON =
+        "[\n" +
+        "  {\n" +
+        "    \"Plan\": {\n" +
+        "      \"Node Type\": \"Hash Join\",\n" +
+        "      \"Join Type\": \"Inner\",\n" +
+        "      \"Startup Cost\": 1.5,\n" +
+        "      \"Total Cost\": 10.25,\n" +
+        "      \"Plan Rows\": 100,\n" +
+        "      \"Actual Total Time\": 2.5,\n" +
+        "      \"Actual Rows\": 5000,\n" +
+        "      \"Actual Loops\": 1,\n" +
+        "      \"Hash Cond\": \"(a.id = b.a_id)\",\n" +
+        "      \"Plans\": [\n" +
+        "        {\n" +
+        "          \"Node Type\": \"Seq Scan\",\n" +
+        "          \"Relation Name\": \"orders\",\n" +
+        "          \"Alias\": \"o\",\n" +
+        "          \"Startup Cost\": 0.00,\n" +
+        "          \"Total Cost\": 5.0,\n" +
+        "          \"Plan Rows\": 1000,\n" +
+        "          \"Actual Total Time\": 0.5,\n" +
+        "          \"Actual Rows\": 10,\n" +
+        "          \"Actual Loops\": 3,\n" +
+        "          \"Output\": [\"o.id\", \"o.name\"],\n" +
+        "          \"Filter\": \"(o.state = 'A')\"\n" +
+        "        },\n" +
+        "        {\n" +
+        "          \"Node Type\": \"Index Scan\",\n" +
+        "          \"Index Name\": \"items_pk\",\n" +
+        "          \"Startup Cost\": 0.29,\n" +
+        "          \"Total Cost\": 4.1,\n" +
+        "          \"Plan Rows\": 1,\n" +
+        "          \"Shared Hit Blocks\": 12,\n" +
+        "          \"Shared Read Blocks\": 3,\n" +
+        "          \"Temp Read Blocks\": 0,\n" +
+        "          \"Temp Written Blocks\": 0\n" +
+        "        }\n" +
+        "      ]\n" +
+        "    },\n" +
+        "    \"Planning Time\": 0.125,\n" +
+        "    \"Execution Time\": 3.5,\n" +
+        "    \"Settings\": {\"work_mem\": \"64MB\", \"random_page_cost\": \"1.1\"}\n" +
+        "  }\n" +
+        "]";
+
+    @Test
+    public void testPlanProperties() throws DBCException {
+        PostgrePlanAnalyser plan = new PostgrePlanAnalyser(null, "select 1", PLAN_JSON);
+        assertEquals("select 1", plan.getQueryString());
+        assertEquals(PLAN_JSON, plan.getPlanJSON());
+        assertEquals(0.125, plan.getPlanningTime(), 0);
+        assertEquals(3.5, plan.getExecutionTime(), 0);
+        assertEquals("64MB", plan.getSettings().get("work_mem"));
+        assertEquals("1.1", plan.getSettings().get("random_page_cost"));
+        assertEquals(1, plan.getPlanNodes().size());
+    }
+
+    @Test
+    public void testNodeTree() throws DBCException {
+        PostgrePlanNode root = getRoot(PLAN_JSON);
+        assertEquals("Hash Join", root.getNodeType());
+        assertNull(root.getParent());
+        assertNull(root.getEntity());
+        assertEquals("1.5 - 10.25", root.getCost());
+        assertEquals("(a.id = b.a_id)", root.getAttribute("Hash-Cond"));
+        assertEquals("Inner", root.getAttribute("Join-Type"));
+        // Node type is not a property, nested plans are children
+        assertNull(root.getAttribute(PostgrePlanNode.ATTR_NODE_TYPE));
+        assertNull(root.getAttribute("Plans"));
+
+        List<PostgrePlanNode> nested = root.getNested();
+        assertEquals(2, nested.size());
+        PostgrePlanNode seqScan = nested.get(0);
+        assertSame(root, seqScan.getParent());
+        assertEquals("Seq Scan", seqScan.getNodeType());
+        assertEquals("orders", seqScan.getNodeName());
+        assertEquals("orders as o", seqScan.getEntity());
+        assertEquals("0.0 - 5.0", seqScan.getCost());
+        assertEquals("o.id, o.name", seqScan.getAttribute("Output"));
+        assertEquals("(o.state = 'A')", seqScan.getNodeDescription());
+        assertNull(seqScan.getNested());
+
+        PostgrePlanNode indexScan = nested.get(1);
+        assertEquals("items_pk", indexScan.getEntity());
+        assertNull(indexScan.getNodeName());
+        assertEquals("hit=12 read=3", indexScan.getBuffers());
+        assertNull(seqScan.getBuffers());
+    }
+
+    @Test
+    public void testNodeMetrics() throws DBCException {
+        PostgrePlanNode root = getRoot(PLAN_JSON);
+        assertEquals(10.25, root.getNodeCost().doubleValue(), 0);
+        assertEquals(2.5, root.getNodeDuration().doubleValue(), 0);
+        assertEquals(5000L, root.getNodeRowCount().longValue());
+        assertEquals(2.5, root.getInclusiveTime(), 0.0001);
+        assertEquals(50, root.getRowsEstimateError(), 0.0001);
+
+        PostgrePlanNode seqScan = root.getNested().get(0);
+        // Actual time is reported per loop
+        assertEquals(1.5, seqScan.getInclusiveTime(), 0.0001);
+        assertEquals(100, seqScan.getRowsEstimateError(), 0.0001);
+        assertEquals("10", seqScan.getActualRows());
+        assertEquals("1000", seqScan.getPlanRows());
+
+        // Not analyzed
+        PostgrePlanNode indexScan = root.getNested().get(1);
+        assertEquals(0, indexScan.getInclusiveTime(), 0);
+        assertEquals(0, indexScan.getRowsEstimateError(), 0);
+        assertEquals("1", indexScan.getActualRows());
+        assertNull(indexScan.getNodeDuration());
+    }
+
+    @Test
+    public void testOldTotalRuntime() throws DBCException {
+        PostgrePlanAnalyser plan = new PostgrePlanAnalyser(null, "select 1",
+            "[{\"Plan\": {\"Node Type\": \"Result\", \"Startup Cost\": 0, \"Total Cost\": 0.01}, \"Total Runtime\": 0.05}]");
+        assertNull(plan.getPlanningTime());
+        assertEquals(0.05, plan.getExecutionTime(), 0);
+        assertEquals("Result", getRoot(plan).getNodeType());
+        assertEquals("0 - 0.01", getRoot(plan).getCost());
+    }
+
+    @Test
+    public void testPlanWithoutArray() throws DBCException {
+        PostgrePlanAnalyser plan = new PostgrePlanAnalyser(null, "select 1", "{\"Plan\": {\"Node Type\": \"Result\"}}");
+        assertEquals("Result", getRoot(plan).getNodeType());
+        assertNull(plan.getExecutionTime());
+    }
+
+    @Test
+    public void testMalformedNestedPlans() throws DBCException {
+        PostgrePlanNode root = getRoot(
+            "[{\"Plan\": {\"Node Type\": \"Append\", \"Plans\": [1, \"x\", null, {\"Node Type\": \"Result\"}]}}]");
+        assertEquals(1, root.getNested().size());
+        assertEquals("Result", root.getNested().get(0).getNodeType());
+    }
+
+    @Test
+    public void testNoPlan() throws DBCException {
+        PostgrePlanAnalyser plan = new PostgrePlanAnalyser(null, "select 1", "[{\"Execution Time\": 1}]");
+        assertEquals(0, plan.getPlanNodes().size());
+    }
+
+    @Test(expected = DBCException.class)
+    public void testBadFormat() throws DBCException {
+        new PostgrePlanAnalyser(null, "select 1", "[1, 2]");
+    }
+
+    @Test(expected = DBCException.class)
+    public void testEmptyPlan() throws DBCException {
+        new PostgrePlanAnalyser(null, "select 1", "");
+    }
+
+    private static PostgrePlanNode getRoot(String planJSON) throws DBCException {
+        return getRoot(new PostgrePlanAnalyser(null, "select 1", planJSON));
+    }
+
+    private static PostgrePlanNode getRoot(PostgrePlanAnalyser plan) {
+        List<DBCPlanNode> nodes = new ArrayList<>(plan.getPlanNodes());
+        assertEquals(1, nodes.size());
+        return (PostgrePlanNode) nodes.get(0);
+    }
+
+}
@@ -0,0 +1,217 @@
+package org.jkiss.dbeaver.ext.postgresql.model.workload;
+
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSampler.Interval;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSampler.Ranking;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSampler.StatementSummary;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSnapshot.StatementStats;
+import org.jkiss.dbeaver.ext.postgresql.model.workload.PostgreWorkloadSnapshot.TableStats;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PostgreWorkloadSamplerTest {
+
+    @Test
+    public void testStatementDeltas() {
+        PostgreWorkloadSampler sampler = new PostgreWorkloadSampler();
+        PostgreWorkloadSnapshot first = snapshot(1000,
+            statement("a", 10, 100, 50, 900, 100),
+            statement("b", 5, 10, 5, 10, 0));
+        assertNull(sampler.addSnapshot(first));
+        assertSame(first, sampler.getLastSnapshot());
+        assertTrue(sampler.getIntervals().isEmpty());
+
+        Interval interval = sampler.addSnapshot(snapshot(2000,
+            statement("a", 15, 160, 70, 1300, 150),
+            statement("b", 5, 10, 5, 10, 0),
+            statement("c", 2, 4, 1, 1, 1)));
+        assertNotNull(interval);
+        assertEquals(1000, interval.getStartTime());
+        assertEquals(2000, interval.getEndTime());
+        // Statement without new calls is not included
+        assertEquals(2, interval.getStatements().size());
+        assertFalse(interval.getStatements().containsKey("b"));
+
+        StatementStats a = interval.getStatements().get("a");
+        assertEquals(5, a.getCalls());
+        assertEquals(60, a.getTotalTime(), 0.0001);
+        assertEquals(12, a.getMeanTime(), 0.0001);
+        assertEquals(20, a.getRows());
+        assertEquals(400, a.getSharedBlksHit());
+        assertEquals(50, a.getSharedBlksRead());
+        assertEquals(400 * 100.0 / 450, a.getHitRatio(), 0.0001);
+        assertEquals("select a", a.getQuery());
+
+        // New statement - all its counters belong to the interval
+        StatementStats c = interval.getStatements().get("c");
+        assertEquals(2, c.getCalls());
+        assertEquals(4, c.getTotalTime(), 0.0001);
+
+        assertEquals(1, sampler.getIntervals().size());
+    }
+
+    @Test
+    public void testCounterReset() {
+        PostgreWorkloadSampler sampler = new PostgreWorkloadSampler();
+        sampler.addSnapshot(snapshot(1000, statement("a", 100, 1000, 100, 100, 100)));
+        // pg_stat_statements_reset() was called
+        Interval interval = sampler.addSnapshot(snapshot(2000, statement("a", 3, 30, 3, 3, 3)));
+        StatementStats a = interval.getStatements().get("a");
+        assertEquals(3, a.getCalls());
+        assertEquals(30, a.getTotalTime(), 0.0001);
+        assertEquals(3, a.getRows());
+
+        // Only one counter went down (e.g. entry was evicted and re-added)
+        interval = sampler.addSnapshot(snapshot(3000, statement("a", 10, 20, 10, 10, 10)));
+        a = interval.getStatements().get("a");
+        assertEquals(10, a.getCalls());
+        assertEquals(20, a.getTotalTime(), 0.0001);
+
+        interval = sampler.addSnapshot(snapshot(4000, statement("a", 12, 25, 12, 12, 12)));
+        a = interval.getStatements().get("a");
+        assertEquals(2, a.getCalls());
+        assertEquals(5, a.getTotalTime(), 0.0001);
+    }
+
+    @Test
+    public void testTableDeltas() {
+        PostgreWorkloadSampler sampler = new PostgreWorkloadSampler();
+        PostgreWorkloadSnapshot first = snapshot(1000);
+        first.addTable(new TableStats("public.t1", 10, 1000, 5, 7));
+        first.addTable(new TableStats("public.t2", 1, 10, 1, 1));
+        first.addTable(new TableStats("public.t3", 50, 5000, 0, 0));
+        sampler.addSnapshot(first);
+
+        PostgreWorkloadSnapshot second = snapshot(2000);
+        second.addTable(new TableStats("public.t1", 12, 1500, 8, 10));
+        second.addTable(new TableStats("public.t2", 1, 10, 1, 1));
+        // Reset
+        second.addTable(new TableStats("public.t3", 2, 200, 0, 0));
+        second.addTable(new TableStats("public.t4", 0, 0, 3, 0));
+        Interval interval = sampler.addSnapshot(second);
+
+        assertEquals(3, interval.getTables().size());
+        assertFalse(interval.getTables().containsKey("public.t2"));
+        TableStats t1 = interval.getTables().get("public.t1");
+        assertEquals(2, t1.getSeqScan());
+        assertEquals(500, t1.getSeqTupRead());
+        assertEquals(3, t1.getIdxScan());
+        assertEquals(3, t1.getTupModified());
+        assertEquals(200, interval.getTables().get("public.t3").getSeqTupRead());
+        assertEquals(3, interval.getTables().get("public.t4").getIdxScan());
+
+        List<TableStats> topTables = sampler.getTopTables(0);
+        assertEquals(3, topTables.size());
+        assertEquals("public.t1", topTables.get(0).getName());
+        assertEquals("public.t3", topTables.get(1).getName());
+        assertEquals("public.t4", topTables.get(2).getName());
+        assertEquals(1, sampler.getTopTables(1).size());
+    }
+
+    @Test
+    public void testRingBufferWraparound() {
+        PostgreWorkloadSampler sampler = new PostgreWorkloadSampler(3);
+        assertEquals(3, sampler.getCapacity());
+        for (int i = 0; i <= 7; i++) {
+            sampler.addSnapshot(snapshot(i * 1000L, statement("a", i * 10, i * 10, 0, 0, 0)));
+            List<Interval> intervals = sampler.getIntervals();
+            assertEquals(Math.min(i, 3), intervals.size());
+            for (int k = 0; k < intervals.size(); k++) {
+                // Oldest first
+                assertEquals((i - intervals.size() + k) * 1000L, intervals.get(k).getStartTime());
+                assertEquals((i - intervals.size() + k + 1) * 1000L, intervals.get(k).getEndTime());
+            }
+        }
+        // Only the last 3 intervals are summed
+        List<StatementSummary> top = sampler.getTopStatements(Ranking.CALLS, 10);
+        assertEquals(1, top.size());
+        assertEquals(30, top.get(0).getTotal().getCalls());
+        assertArrayEquals(new double[] {10, 10, 10}, top.get(0).getSeries(), 0);
+    }
+
+    @Test
+    public void testRanking() {
+        PostgreWorkloadSampler sampler = new PostgreWorkloadSampler();
+        sampler.addSnapshot(snapshot(0));
+        // slow: few calls, long time. fast: many calls, short time.
+        sampler.addSnapshot(snapshot(1000,
+            statement("slow", 2, 1000, 2, 10, 10),
+            statement("fast", 1000, 50, 5000, 50000, 0),
+            statement("mid", 10, 200, 10, 100, 0)));
+        sampler.addSnapshot(snapshot(2000,
+            statement("slow", 4, 2000, 4, 20, 20),
+            statement("fast", 2000, 100, 10000, 100000, 0),
+            statement("mid", 10, 200, 10, 100, 0)));
+
+        assertOrder(sampler.getTopStatements(Ranking.TOTAL_TIME, 0), "slow", "mid", "fast");
+        assertOrder(sampler.getTopStatements(Ranking.MEAN_TIME, 0), "slow", "mid", "fast");
+        assertOrder(sampler.getTopStatements(Ranking.CALLS, 0), "fast", "mid", "slow");
+        assertOrder(sampler.getTopStatements(Ranking.ROWS, 0), "fast", "mid", "slow");
+        assertOrder(sampler.getTopStatements(Ranking.BUFFER_HITS, 0), "fast", "mid", "slow");
+        assertOrder(sampler.getTopStatements(Ranking.TOTAL_TIME, 2), "slow", "mid");
+
+        StatementSummary slow = sampler.getTopStatements(Ranking.TOTAL_TIME, 1).get(0);
+        assertEquals(4, slow.getTotal().getCalls());
+        assertEquals(2000, slow.getTotal().getTotalTime(), 0.0001);
+        assertEquals(500, slow.getTotal().getMeanTime(), 0.0001);
+        assertArrayEquals(new double[] {1000, 1000}, slow.getSeries(), 0);
+
+        // No calls of "mid" in the second interval
+        StatementSummary mid = sampler.getTopStatements(Ranking.CALLS, 0).get(1);
+        assertEquals("mid", mid.getTotal().getKey());
+        assertArrayEquals(new double[] {10, 0}, mid.getSeries(), 0);
+    }
+
+    @Test
+    public void testReset() {
+        PostgreWorkloadSampler sampler = new PostgreWorkloadSampler();
+        sampler.addSnapshot(snapshot(0, statement("a", 1, 1, 1, 1, 1)));
+        sampler.addSnapshot(snapshot(1000, statement("a", 2, 2, 2, 2, 2)));
+        sampler.reset();
+        assertNull(sampler.getLastSnapshot());
+        assertTrue(sampler.getIntervals().isEmpty());
+        assertTrue(sampler.getTopStatements(Ranking.TOTAL_TIME, 10).isEmpty());
+        // Next snapshot is a new baseline
+        assertNull(sampler.addSnapshot(snapshot(2000, statement("a", 3, 3, 3, 3, 3))));
+    }
+
+    @Test
+    public void testEmptyStats() {
+        StatementStats stats = new StatementStats("k", "q", 0, 0, 0, 0, 0);
+        assertEquals(0, stats.getMeanTime(), 0);
+        assertEquals(-1, stats.getHitRatio(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCapacity() {
+        new PostgreWorkloadSampler(0);
+    }
+
+    private static PostgreWorkloadSnapshot snapshot(long timestamp, StatementStats... statements) {
+        PostgreWorkloadSnapshot snapshot = new PostgreWorkloadSnapshot(timestamp);
+        for (StatementStats stats : statements) {
+            snapshot.addStatement(stats);
+        }
+        return snapshot;
+    }
+
+    private static StatementStats statement(String key, long calls, double totalTime, long rows, long blksHit, long blksRead) {
+        return new StatementStats(key, "select " + key, calls, totalTime, rows, blksHit, blksRead);
+    }
+
+    private static void assertOrder(List<StatementSummary> statements, String... keys) {
+        assertEquals(keys.length, statements.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], statements.get(i).getTotal().getKey());
+        }
+    }
+
+}
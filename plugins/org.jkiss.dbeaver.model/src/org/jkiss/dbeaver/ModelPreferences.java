@@ -21,6 +21,7 @@ import org.jkiss.dbeaver.bundle.ModelActivator;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCFetchSampler;
 import org.jkiss.dbeaver.model.impl.preferences.BundlePreferenceStore;
 import org.jkiss.dbeaver.model.qm.QMConstants;
 import org.jkiss.dbeaver.model.qm.QMObjectType;
@@ -51,6 +52,10 @@ public final class ModelPreferences
     public static final String CONNECTION_OPEN_TIMEOUT = "connection.open.timeout"; //$NON-NLS-1$
     public static final String CONNECTION_VALIDATION_TIMEOUT = "connection.validation.timeout"; //$NON-NLS-1$
     public static final String CONNECTION_CLOSE_TIMEOUT = "connection.close.timeout"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_ENABLED = "connection.pool.enabled"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_MIN_IDLE = "connection.pool.min.idle"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_MAX_IDLE = "connection.pool.max.idle"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT = "connection.pool.idle.timeout"; //$NON-NLS-1$
 
     public static final String SCRIPT_STATEMENT_DELIMITER = "script.sql.delimiter"; //$NON-NLS-1$
     public static final String SCRIPT_IGNORE_NATIVE_DELIMITER = "script.sql.ignoreNativeDelimiter"; //$NON-NLS-1$
@@ -71,6 +76,7 @@ public final class ModelPreferences
     public static final String META_CLIENT_NAME_VALUE = "database.meta.client.name.value"; //$NON-NLS-1$
 
     public static final String CONNECT_USE_ENV_VARS = "database.connect.processEnvVars"; //$NON-NLS-1$
+    public static final String CONNECT_STARTUP_PARALLELISM = "database.connect.startup.parallelism"; //$NON-NLS-1$
 
     public static final String RESULT_NATIVE_DATETIME_FORMAT = "resultset.format.datetime.native"; //$NON-NLS-1$
     public static final String RESULT_TRANSFORM_COMPLEX_TYPES = "resultset.transform.complex.type"; //$NON-NLS-1$
@@ -86,6 +92,10 @@ public final class ModelPreferences
     public static final String RESULT_SET_BINARY_STRING_MAX_LEN = "resultset.binary.stringMaxLength"; //$NON-NLS-1$
     // This will ignore label in result set metadata and will use names always (some buggy drivers return description or other crap in labels - #1952)
     public static final String RESULT_SET_IGNORE_COLUMN_LABEL = "resultset.column.label.ignore"; //$NON-NLS-1$
+    // Dictionary enumerations and key descriptions cache time-to-live (in seconds). Zero disables cache.
+    public static final String RESULT_SET_DICTIONARY_CACHE_TTL = "resultset.dictionary.cache.ttl"; //$NON-NLS-1$
+    // Fetch phases timing: every N-th row is measured. Zero disables per-row timing.
+    public static final String RESULT_SET_FETCH_SAMPLE_INTERVAL = "resultset.fetch.sample.interval"; //$NON-NLS-1$
 
     public static final String SQL_PARAMETERS_ENABLED = "sql.parameter.enabled"; //$NON-NLS-1$
     public static final String SQL_PARAMETERS_IN_DDL_ENABLED = "sql.parameter.ddl.enabled"; //$NON-NLS-1$
@@ -151,6 +161,10 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_OPEN_TIMEOUT, 0);
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_VALIDATION_TIMEOUT, 5000);
         PrefUtils.setDefaultPreferenceValue(store, CONNECTION_CLOSE_TIMEOUT, 5000);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_MIN_IDLE, 0);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_MAX_IDLE, 4);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_IDLE_TIMEOUT, 60000);
 
         // SQL execution
         PrefUtils.setDefaultPreferenceValue(store, SCRIPT_STATEMENT_DELIMITER, SQLConstants.DEFAULT_STATEMENT_DELIMITER);
@@ -168,6 +182,7 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, META_CLIENT_NAME_VALUE, "");
 
         PrefUtils.setDefaultPreferenceValue(store, CONNECT_USE_ENV_VARS, false);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECT_STARTUP_PARALLELISM, 4);
 
         PrefUtils.setDefaultPreferenceValue(store, RESULT_NATIVE_DATETIME_FORMAT, false);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_TRANSFORM_COMPLEX_TYPES, true);
@@ -187,6 +202,8 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_BINARY_STRING_MAX_LEN, 32);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_USE_FETCH_SIZE, false);
         PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_IGNORE_COLUMN_LABEL, false);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_DICTIONARY_CACHE_TTL, 60);
+        PrefUtils.setDefaultPreferenceValue(store, RESULT_SET_FETCH_SAMPLE_INTERVAL, DBCFetchSampler.DEFAULT_SAMPLE_INTERVAL);
 
         // QM
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_HISTORY_DAYS, 90);
@@ -196,6 +213,8 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_QUERY_TYPES, DBCExecutionPurpose.USER + "," + DBCExecutionPurpose.USER_FILTERED + "," + DBCExecutionPurpose.USER_SCRIPT);
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_STORE_LOG_FILE, false);
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_LOG_DIRECTORY, GeneralUtils.getMetadataFolder().getAbsolutePath());
+        PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_METRICS_ENABLED, true);
+        PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_METRICS_HTTP_PORT, 0);
 
         // SQL
         PrefUtils.setDefaultPreferenceValue(store, SQL_PARAMETERS_ENABLED, true);
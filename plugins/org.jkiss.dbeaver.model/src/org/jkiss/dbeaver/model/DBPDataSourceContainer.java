@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.app.DBPPlatform;
 import org.jkiss.dbeaver.model.connection.DBPNativeClientLocation;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPConnectionHealth;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
 import org.jkiss.dbeaver.model.data.DBDPreferences;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
@@ -200,6 +201,12 @@ public interface DBPDataSourceContainer extends DBSObject, DBDPreferences, DBPNa
 
     Date getConnectTime();
 
+    /**
+     * Connection health statistics collected by keep-alive pings
+     */
+    @NotNull
+    DBPConnectionHealth getConnectionHealth();
+
     GeneralUtils.IVariableResolver getVariablesResolver();
 
 }
@@ -44,6 +44,8 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 /**
@@ -547,6 +549,37 @@ public final class DBUtils {
         return (value == null || (value instanceof DBDValue && ((DBDValue) value).isNull()));
     }
 
+    /**
+     * Converts key value to the form which can be compared with values of other Java types.
+     * E.g. Integer, Long and BigDecimal keys with the same numeric value become equal.
+     */
+    @Nullable
+    public static Object normalizeKeyValue(@Nullable Object value)
+    {
+        if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            BigDecimal number = ((BigDecimal) value).stripTrailingZeros();
+            // stripTrailingZeros makes negative scale for integers (e.g. 1E+1)
+            return number.scale() < 0 ? number.setScale(0) : number;
+        } else if (value instanceof Float || value instanceof Double) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                return value;
+            }
+            return normalizeKeyValue(BigDecimal.valueOf(number));
+        } else if (value instanceof java.sql.Timestamp) {
+            java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+            return Math.floorDiv(timestamp.getTime(), 1000) + "." + timestamp.getNanos();
+        } else if (value instanceof java.util.Date) {
+            long time = ((java.util.Date) value).getTime();
+            return Math.floorDiv(time, 1000) + "." + Math.floorMod(time, 1000) * 1000000;
+        }
+        return value;
+    }
+
     public static boolean isErrorValue(@Nullable Object value)
     {
         return value instanceof DBDValueError;
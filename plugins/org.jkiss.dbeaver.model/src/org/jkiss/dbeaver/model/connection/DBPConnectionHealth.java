@@ -0,0 +1,96 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.connection;
+
+import org.jkiss.code.Nullable;
+
+/**
+ * Connection health statistics.
+ * Filled by keep-alive pings. Thread-safe.
+ */
+public class DBPConnectionHealth {
+
+    private long lastPingTime;
+    private long lastLatency = -1;
+    private long totalPings;
+    private long totalFailures;
+    private int consecutiveFailures;
+    private String lastError;
+
+    /**
+     * Time of the last finished ping (ms) or 0 if connection wasn't pinged yet
+     */
+    public synchronized long getLastPingTime() {
+        return lastPingTime;
+    }
+
+    /**
+     * Last successful ping latency (ms) or -1 if unknown
+     */
+    public synchronized long getLastLatency() {
+        return lastLatency;
+    }
+
+    public synchronized long getTotalPings() {
+        return totalPings;
+    }
+
+    public synchronized long getTotalFailures() {
+        return totalFailures;
+    }
+
+    /**
+     * Number of failed pings since the last successful one
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Nullable
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    public synchronized void pingSucceeded(long latency) {
+        lastPingTime = System.currentTimeMillis();
+        lastLatency = latency;
+        totalPings++;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void pingFailed(String error) {
+        lastPingTime = System.currentTimeMillis();
+        totalPings++;
+        totalFailures++;
+        consecutiveFailures++;
+        lastError = error;
+    }
+
+    public synchronized void reset() {
+        lastPingTime = 0;
+        lastLatency = -1;
+        totalPings = 0;
+        totalFailures = 0;
+        consecutiveFailures = 0;
+        lastError = null;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "latency=" + lastLatency + "ms; pings=" + totalPings + "; failures=" + totalFailures;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.IOException;
+
+/**
+ * Random access content storage.
+ * Content editors may read arbitrary ranges of such storage without copying the whole content locally.
+ * Ranges which were not loaded yet are read from the database, so UI must load them with
+ * {@link #loadContent} in a background job and read them only when {@link #isContentLoaded} is true.
+ */
+public interface DBDContentStorageRandomAccess extends DBDContentStorage {
+
+    /**
+     * Checks that range was already loaded and can be read without database access.
+     */
+    boolean isContentLoaded(long position, int length);
+
+    /**
+     * Loads range from the database. Must not be called in UI thread.
+     */
+    void loadContent(DBRProgressMonitor monitor, long position, int length) throws DBException;
+
+    /**
+     * Reads up to {@code length} bytes starting at {@code position}.
+     * Reads missing data from the database.
+     * @return number of bytes read or -1 if position is beyond the end of content
+     */
+    int readContent(long position, byte[] buffer, int offset, int length) throws IOException;
+
+}
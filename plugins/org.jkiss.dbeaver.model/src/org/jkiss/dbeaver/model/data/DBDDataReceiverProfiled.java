@@ -0,0 +1,30 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCFetchSampler;
+
+/**
+ * Data receiver which reports its own fetch phases (value conversion, attributes binding, presentation refresh).
+ * Sampler is set by the fetch loop before {@link DBDDataReceiver#fetchStart} and reset after {@link DBDDataReceiver#close()}.
+ */
+public interface DBDDataReceiverProfiled extends DBDDataReceiver {
+
+    void setFetchSampler(@Nullable DBCFetchSampler sampler);
+
+}
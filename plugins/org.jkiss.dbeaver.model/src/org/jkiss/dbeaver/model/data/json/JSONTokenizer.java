@@ -0,0 +1,274 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.json;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON tokenizer.
+ * Reads tokens one by one from the reader without building document tree.
+ * It is tolerant and doesn't validate separators, it is intended for quick value inspection.
+ */
+public class JSONTokenizer {
+
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        TRUE,
+        FALSE,
+        NULL,
+        END
+    }
+
+    private static final int NO_CHAR = -2;
+
+    private final Reader reader;
+    private int pushBack = NO_CHAR;
+    private final StringBuilder text = new StringBuilder();
+    private StringBuilder capture;
+
+    // true for object, false for array
+    private boolean[] stack = new boolean[16];
+    private int depth;
+    private boolean expectName;
+
+    public JSONTokenizer(@NotNull Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Current nesting level
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Text of the last NAME, STRING or NUMBER token. Strings are unescaped.
+     */
+    @NotNull
+    public String getText() {
+        return text.toString();
+    }
+
+    @NotNull
+    public Token next() throws IOException {
+        for (;;) {
+            int c = readSignificant();
+            switch (c) {
+                case -1:
+                    return Token.END;
+                case ',':
+                    expectName = depth > 0 && stack[depth - 1];
+                    break;
+                case ':':
+                    break;
+                case '{':
+                    push(true);
+                    expectName = true;
+                    return Token.BEGIN_OBJECT;
+                case '}':
+                    pop();
+                    expectName = false;
+                    return Token.END_OBJECT;
+                case '[':
+                    push(false);
+                    expectName = false;
+                    return Token.BEGIN_ARRAY;
+                case ']':
+                    pop();
+                    expectName = false;
+                    return Token.END_ARRAY;
+                case '"':
+                    readString();
+                    if (expectName && depth > 0 && stack[depth - 1]) {
+                        expectName = false;
+                        return Token.NAME;
+                    }
+                    return Token.STRING;
+                default:
+                    return readLiteral(c);
+            }
+        }
+    }
+
+    /**
+     * Skips next value (including all nested elements).
+     * @return false if there is no more values on the current level
+     */
+    public boolean skipValue() throws IOException {
+        int startDepth = depth;
+        Token token = next();
+        switch (token) {
+            case END:
+            case END_ARRAY:
+            case END_OBJECT:
+                return false;
+            case NAME:
+                // Skip name and its value
+                return skipValue();
+            case BEGIN_ARRAY:
+            case BEGIN_OBJECT:
+                while (depth > startDepth) {
+                    if (next() == Token.END) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Reads next value as a raw JSON text (as is, without re-serialization).
+     * @return value text or null if there is no more values on the current level
+     */
+    @Nullable
+    public String readRawValue() throws IOException {
+        capture = new StringBuilder();
+        try {
+            if (!skipValue()) {
+                return null;
+            }
+            // Leading separators and whitespaces can't be a part of value
+            int start = 0;
+            while (start < capture.length() && isSeparator(capture.charAt(start))) {
+                start++;
+            }
+            return capture.substring(start);
+        } finally {
+            capture = null;
+        }
+    }
+
+    private void push(boolean object) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = object;
+    }
+
+    private void pop() {
+        if (depth > 0) {
+            depth--;
+        }
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushBack != NO_CHAR) {
+            c = pushBack;
+            pushBack = NO_CHAR;
+        } else {
+            c = reader.read();
+        }
+        if (capture != null && c >= 0) {
+            capture.append((char) c);
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushBack = c;
+        if (capture != null && c >= 0) {
+            capture.setLength(capture.length() - 1);
+        }
+    }
+
+    private int readSignificant() throws IOException {
+        for (;;) {
+            int c = read();
+            if (c < 0 || !Character.isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private void readString() throws IOException {
+        text.setLength(0);
+        for (;;) {
+            int c = read();
+            if (c < 0 || c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'b': text.append('\b'); break;
+                    case 'u': {
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = (code << 4) | Character.digit(read(), 16);
+                        }
+                        text.append((char) code);
+                        break;
+                    }
+                    case -1:
+                        return;
+                    default:
+                        text.append((char) c);
+                        break;
+                }
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private Token readLiteral(int first) throws IOException {
+        text.setLength(0);
+        text.append((char) first);
+        for (;;) {
+            int c = read();
+            if (c < 0) {
+                break;
+            }
+            if (isSeparator((char) c) || c == ']' || c == '}') {
+                unread(c);
+                break;
+            }
+            text.append((char) c);
+        }
+        expectName = false;
+        switch (text.toString()) {
+            case "true": return Token.TRUE;
+            case "false": return Token.FALSE;
+            case "null": return Token.NULL;
+            default: return Token.NUMBER;
+        }
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == ':' || Character.isWhitespace(c);
+    }
+
+}
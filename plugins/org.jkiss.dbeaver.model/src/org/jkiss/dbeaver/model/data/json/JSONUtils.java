@@ -16,15 +16,18 @@
  */
 package org.jkiss.dbeaver.model.data.json;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.TimeZone;
+import java.util.*;
 
 /**
  * JSON utils
@@ -96,4 +99,221 @@ public class JSONUtils {
         }
         return result.toString();
     }
+
+    /**
+     * Reads first maxLength characters of JSON text with compacted whitespaces (outside of string literals).
+     * The rest of the text is not read.
+     */
+    @NotNull
+    public static String getDisplayPrefix(@NotNull Reader reader, int maxLength) throws IOException {
+        StringBuilder result = new StringBuilder(Math.min(maxLength, 256));
+        boolean inString = false, escape = false, space = false;
+        for (;;) {
+            int c = reader.read();
+            if (c < 0) {
+                break;
+            }
+            if (result.length() >= maxLength) {
+                result.append("...");
+                break;
+            }
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (Character.isWhitespace(c)) {
+                space = result.length() > 0;
+                continue;
+            } else if (c == '"') {
+                inString = true;
+            }
+            if (space) {
+                result.append(' ');
+                space = false;
+            }
+            result.append((char) c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns names of top-level object attributes. Attribute values are skipped.
+     */
+    @NotNull
+    public static List<String> getTopLevelKeys(@NotNull Reader reader) throws IOException {
+        List<String> keys = new ArrayList<>();
+        JSONTokenizer tokenizer = new JSONTokenizer(reader);
+        if (tokenizer.next() != JSONTokenizer.Token.BEGIN_OBJECT) {
+            return keys;
+        }
+        for (;;) {
+            JSONTokenizer.Token token = tokenizer.next();
+            if (token != JSONTokenizer.Token.NAME) {
+                break;
+            }
+            keys.add(tokenizer.getText());
+            if (!tokenizer.skipValue()) {
+                break;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Extracts element by path like <code>items[2].name</code>.
+     * Only elements on the path are tokenized, the rest is skipped.
+     * @return raw JSON text of the element or null if element not found
+     */
+    @Nullable
+    public static String extractPath(@NotNull Reader reader, @NotNull String path) throws IOException {
+        JSONTokenizer tokenizer = new JSONTokenizer(reader);
+        for (Object segment : parsePath(path)) {
+            if (segment instanceof Integer) {
+                if (tokenizer.next() != JSONTokenizer.Token.BEGIN_ARRAY) {
+                    return null;
+                }
+                for (int i = (Integer) segment; i > 0; i--) {
+                    if (!tokenizer.skipValue()) {
+                        return null;
+                    }
+                }
+            } else {
+                if (tokenizer.next() != JSONTokenizer.Token.BEGIN_OBJECT) {
+                    return null;
+                }
+                for (;;) {
+                    if (tokenizer.next() != JSONTokenizer.Token.NAME) {
+                        return null;
+                    }
+                    if (segment.equals(tokenizer.getText())) {
+                        break;
+                    }
+                    if (!tokenizer.skipValue()) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return tokenizer.readRawValue();
+    }
+
+    /**
+     * Parses JSON text. Objects are returned as maps (with original attributes order), arrays as lists,
+     * numbers as Long or Double.
+     */
+    @Nullable
+    public static Object parseValue(@NotNull Reader reader) throws IOException {
+        JSONTokenizer tokenizer = new JSONTokenizer(reader);
+        return readValue(tokenizer, tokenizer.next());
+    }
+
+    /**
+     * Returns parsed value as JSON object, or null if it is not an object (or has non-string keys)
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static Map<String, Object> getObject(@Nullable Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        for (Object key : ((Map<?, ?>) value).keySet()) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+        }
+        return (Map<String, Object>) value;
+    }
+
+    @Nullable
+    private static Object readValue(JSONTokenizer tokenizer, JSONTokenizer.Token token) throws IOException {
+        switch (token) {
+            case BEGIN_OBJECT: {
+                Map<String, Object> object = new LinkedHashMap<>();
+                while (tokenizer.next() == JSONTokenizer.Token.NAME) {
+                    String name = tokenizer.getText();
+                    object.put(name, readValue(tokenizer, tokenizer.next()));
+                }
+                return object;
+            }
+            case BEGIN_ARRAY: {
+                List<Object> array = new ArrayList<>();
+                for (;;) {
+                    JSONTokenizer.Token itemToken = tokenizer.next();
+                    if (itemToken == JSONTokenizer.Token.END_ARRAY || itemToken == JSONTokenizer.Token.END) {
+                        break;
+                    }
+                    array.add(readValue(tokenizer, itemToken));
+                }
+                return array;
+            }
+            case STRING:
+                return tokenizer.getText();
+            case NUMBER: {
+                String text = tokenizer.getText();
+                if (text.indexOf('.') == -1 && text.indexOf('e') == -1 && text.indexOf('E') == -1) {
+                    try {
+                        return Long.parseLong(text);
+                    } catch (NumberFormatException e) {
+                        // Too big for long
+                    }
+                }
+                try {
+                    return Double.parseDouble(text);
+                } catch (NumberFormatException e) {
+                    // Malformed literal
+                    return text;
+                }
+            }
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    private static int parsePathIndex(String path, String index) {
+        if (index.isEmpty() || index.charAt(0) == '+' || index.charAt(0) == '-') {
+            throw new IllegalArgumentException("Bad JSON path index '" + index + "': " + path);
+        }
+        try {
+            return Integer.parseInt(index);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad JSON path index '" + index + "': " + path, e);
+        }
+    }
+
+    private static List<Object> parsePath(String path) {
+        List<Object> segments = new ArrayList<>();
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '.' || c == '[') {
+                if (name.length() > 0) {
+                    segments.add(name.toString());
+                    name.setLength(0);
+                }
+                if (c == '[') {
+                    int end = path.indexOf(']', i);
+                    if (end == -1) {
+                        throw new IllegalArgumentException("Bad JSON path: " + path);
+                    }
+                    segments.add(parsePathIndex(path, path.substring(i + 1, end).trim()));
+                    i = end;
+                }
+            } else if (c != '$' || i > 0) {
+                name.append(c);
+            }
+        }
+        if (name.length() > 0) {
+            segments.add(name.toString());
+        }
+        return segments;
+    }
+
 }
@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.exec;
+
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDDataReceiverProfiled;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fetch pipeline timing probe.
+ * Driver fetch is measured for every row. Other per-row phases (value conversion) are measured for
+ * one random row of every N rows and extrapolated to the fetched rows count on {@link #flush(DBCStatistics)}.
+ * One-shot phases (attributes binding, UI refresh) are measured completely.
+ */
+public class DBCFetchSampler {
+
+    public static final String PHASE_DRIVER_FETCH = "Driver fetch";
+    public static final String PHASE_VALUE_CONVERSION = "Value conversion";
+    public static final String PHASE_ATTRIBUTE_BINDING = "Attribute binding";
+    public static final String PHASE_UI_REFRESH = "UI refresh";
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private final int sampleInterval;
+    private final Random random;
+    private long rowIndex;
+    private long nextSampledRow;
+    private long driverFetchTime;
+    private long sampledRows;
+    private boolean sampled;
+    private boolean sampleCounted;
+    private final Map<String, Long> rowPhases = new LinkedHashMap<>();
+    private final Map<String, Long> fixedPhases = new LinkedHashMap<>();
+
+    /**
+     * @param sampleInterval measure one of N rows. Zero or negative value disables per-row phases timing.
+     */
+    public DBCFetchSampler(int sampleInterval) {
+        this(sampleInterval, new Random());
+    }
+
+    DBCFetchSampler(int sampleInterval, Random random) {
+        this.sampleInterval = sampleInterval;
+        this.random = random;
+        this.nextSampledRow = sampleInterval > 0 ? random.nextInt(sampleInterval) : -1;
+    }
+
+    public static DBCFetchSampler create(DBPDataSource dataSource) {
+        return new DBCFetchSampler(
+            dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.RESULT_SET_FETCH_SAMPLE_INTERVAL));
+    }
+
+    /**
+     * Passes sampler to the data receiver if it reports its own fetch phases
+     */
+    public static void attach(DBDDataReceiver dataReceiver, DBCFetchSampler sampler) {
+        if (dataReceiver instanceof DBDDataReceiverProfiled) {
+            ((DBDDataReceiverProfiled) dataReceiver).setFetchSampler(sampler);
+        }
+    }
+
+    /**
+     * Moves result set to the next row and measures driver fetch time.
+     * Random row of each N rows is sampled for other per-row phases.
+     */
+    public boolean nextRow(DBCResultSet resultSet) throws DBCException {
+        long startTime = System.nanoTime();
+        boolean hasRow = resultSet.nextRow();
+        driverFetchTime += System.nanoTime() - startTime;
+        sampled = false;
+        sampleCounted = false;
+        if (hasRow) {
+            if (rowIndex == nextSampledRow) {
+                sampled = true;
+                nextSampledRow = (rowIndex / sampleInterval + 1) * sampleInterval + random.nextInt(sampleInterval);
+            }
+            rowIndex++;
+        }
+        return hasRow;
+    }
+
+    public boolean isRowSampled() {
+        return sampled;
+    }
+
+    /**
+     * Starts measure of per-row phase. Returns zero if current row is not sampled.
+     */
+    public long beginRowPhase() {
+        return sampled ? System.nanoTime() : 0;
+    }
+
+    public void endRowPhase(String phase, long startTime) {
+        if (sampled) {
+            addRowPhaseTime(phase, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Adds phase time of the current (sampled) row.
+     * Only rows with reported phases are counted, so row fetched after the rows limit doesn't affect the result.
+     */
+    void addRowPhaseTime(String phase, long nanos) {
+        if (!sampleCounted) {
+            sampledRows++;
+            sampleCounted = true;
+        }
+        addTime(rowPhases, phase, nanos);
+    }
+
+    public void addPhaseTime(String phase, long nanos) {
+        addTime(fixedPhases, phase, nanos);
+    }
+
+    /**
+     * Writes collected phase times into statistics and resets the sampler.
+     * Per-row phases are extrapolated to {@link DBCStatistics#getRowsFetched()} rows.
+     */
+    public void flush(DBCStatistics statistics) {
+        if (driverFetchTime > 0) {
+            statistics.addPhaseTime(PHASE_DRIVER_FETCH, driverFetchTime);
+        }
+        long rowCount = statistics.getRowsFetched();
+        if (sampledRows > 0 && rowCount > 0) {
+            for (Map.Entry<String, Long> phase : rowPhases.entrySet()) {
+                statistics.addPhaseTime(phase.getKey(), phase.getValue() * rowCount / sampledRows);
+            }
+        }
+        for (Map.Entry<String, Long> phase : fixedPhases.entrySet()) {
+            statistics.addPhaseTime(phase.getKey(), phase.getValue());
+        }
+        rowIndex = 0;
+        nextSampledRow = sampleInterval > 0 ? random.nextInt(sampleInterval) : -1;
+        driverFetchTime = 0;
+        sampledRows = 0;
+        sampled = false;
+        sampleCounted = false;
+        rowPhases.clear();
+        fixedPhases.clear();
+    }
+
+    private static void addTime(Map<String, Long> phases, String phase, long nanos) {
+        Long prevTime = phases.get(phase);
+        phases.put(phase, prevTime == null ? nanos : prevTime + nanos);
+    }
+
+}
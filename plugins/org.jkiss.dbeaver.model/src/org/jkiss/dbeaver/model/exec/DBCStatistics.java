@@ -33,6 +33,7 @@ public class DBCStatistics {
     private int statementsCount;
     private String queryText;
     private Map<String, Object> infoMap;
+    private Map<String, Long> phaseTimes;
     private List<String> messages;
 
     public DBCStatistics() {
@@ -153,6 +154,24 @@ public class DBCStatistics {
         infoMap.put(name, value);
     }
 
+    /**
+     * Fetch phase times in nanoseconds (see {@link DBCFetchSampler} phase names)
+     */
+    public Map<String, Long> getPhaseTimes() {
+        if (phaseTimes == null) {
+            return Collections.emptyMap();
+        }
+        return phaseTimes;
+    }
+
+    public void addPhaseTime(String phase, long nanos) {
+        if (phaseTimes == null) {
+            phaseTimes = new LinkedHashMap<>();
+        }
+        Long prevTime = phaseTimes.get(phase);
+        phaseTimes.put(phase, prevTime == null ? nanos : prevTime + nanos);
+    }
+
     public boolean isEmpty()
     {
         return executeTime <= 0 && fetchTime <= 0 && statementsCount == 0;
@@ -175,6 +194,11 @@ public class DBCStatistics {
                 addInfo(info.getKey(), info.getValue());
             }
         }
+        if (!CommonUtils.isEmpty(stat.phaseTimes)) {
+            for (Map.Entry<String,Long> phase : stat.phaseTimes.entrySet()) {
+                addPhaseTime(phase.getKey(), phase.getValue());
+            }
+        }
     }
 
     public void reset()
@@ -186,6 +210,7 @@ public class DBCStatistics {
         statementsCount = 0;
         messages = null;
         infoMap = null;
+        phaseTimes = null;
     }
 
 }
\ No newline at end of file
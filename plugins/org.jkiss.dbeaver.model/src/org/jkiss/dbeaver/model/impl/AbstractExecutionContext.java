@@ -42,7 +42,7 @@ public abstract class AbstractExecutionContext<DATASOURCE extends DBPDataSource>
 
     @NotNull
     protected final DATASOURCE dataSource;
-    protected final String purpose;
+    protected volatile String purpose;
     protected final long id;
 
     public AbstractExecutionContext(@NotNull DATASOURCE dataSource, String purpose) {
@@ -66,6 +66,10 @@ public abstract class AbstractExecutionContext<DATASOURCE extends DBPDataSource>
         return purpose;
     }
 
+    protected void setContextName(String purpose) {
+        this.purpose = purpose;
+    }
+
     @NotNull
     @Override
     public DATASOURCE getDataSource() {
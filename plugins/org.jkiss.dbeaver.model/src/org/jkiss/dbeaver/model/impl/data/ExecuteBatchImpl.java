@@ -95,14 +95,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     private DBCStatistics processBatch(@NotNull DBCSession session, @Nullable List<DBEPersistAction> actions) throws DBCException
     {
         //session.getProgressMonitor().subTask("Save batch (" + values.size() + ")");
-        DBDValueHandler[] handlers = new DBDValueHandler[attributes.length];
-        for (int i = 0; i < attributes.length; i++) {
-            if (attributes[i] instanceof DBDAttributeBinding) {
-                handlers[i] = ((DBDAttributeBinding)attributes[i]).getValueHandler();
-            } else {
-                handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
-            }
-        }
+        DBDValueHandler[] handlers = getValueHandlers(session);
 
         boolean useBatch = session.getDataSource().getInfo().supportsBatchUpdates() && reuseStatement;
         if (values.size() <= 1) {
@@ -209,6 +202,19 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
+    @NotNull
+    protected DBDValueHandler[] getValueHandlers(@NotNull DBCSession session) {
+        DBDValueHandler[] handlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i] instanceof DBDAttributeBinding) {
+                handlers[i] = ((DBDAttributeBinding)attributes[i]).getValueHandler();
+            } else {
+                handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+            }
+        }
+        return handlers;
+    }
+
     protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
         return paramIndex + 1;
     }
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data.transformers;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeTransformer;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.data.ProxyValueHandler;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows foreign key value descriptions from the referenced dictionary table.
+ * Descriptions for all fetched rows are read with one query.
+ */
+public class DictionaryAttributeTransformer implements DBDAttributeTransformer {
+
+    private static final String PROP_SHOW_KEY = "showKey";
+
+    @Override
+    public void transformAttribute(@NotNull DBCSession session, @NotNull DBDAttributeBinding attribute, @NotNull List<Object[]> rows, @NotNull Map<String, String> options) throws DBException {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        DBSEntityAttribute entityAttribute = attribute.getEntityAttribute();
+        if (entityAttribute == null) {
+            return;
+        }
+        DBSEntityAssociation association = null;
+        for (DBSEntityReferrer referrer : DBUtils.getAttributeReferrers(monitor, entityAttribute)) {
+            if (referrer instanceof DBSEntityAssociation &&
+                ((DBSEntityAssociation) referrer).getReferencedConstraint() instanceof DBSConstraintEnumerable &&
+                ((DBSConstraintEnumerable) ((DBSEntityAssociation) referrer).getReferencedConstraint()).supportsEnumeration())
+            {
+                association = (DBSEntityAssociation) referrer;
+                break;
+            }
+        }
+        if (association == null) {
+            return;
+        }
+        DBSEntityAttribute refColumn = DBUtils.getReferenceAttribute(monitor, association, entityAttribute, false);
+        if (refColumn == null) {
+            return;
+        }
+        List<Object> keyValues = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            keyValues.add(row[attribute.getOrdinalPosition()]);
+        }
+        DBVDictionaryCache dictionaryCache = DBVDictionaryCache.getInstance(session.getDataSource());
+        // Read descriptions of all fetched values. Other values are resolved from the shared cache only
+        Map<Object, String> descriptions = dictionaryCache.getKeyDescriptions(
+            session,
+            (DBSConstraintEnumerable) association.getReferencedConstraint(),
+            refColumn,
+            keyValues);
+
+        DBDValueHandler valueHandler = attribute.getValueHandler();
+        if (valueHandler instanceof DictionaryValueHandler && ((DictionaryValueHandler) valueHandler).refColumn == refColumn) {
+            // Next rows of the same result set
+            ((DictionaryValueHandler) valueHandler).addDescriptions(descriptions);
+            return;
+        }
+        boolean showKey = CommonUtils.getBoolean(options.get(PROP_SHOW_KEY), true);
+        DictionaryValueHandler dictionaryHandler = new DictionaryValueHandler(valueHandler, dictionaryCache, refColumn, showKey);
+        dictionaryHandler.addDescriptions(descriptions);
+        attribute.setTransformHandler(dictionaryHandler);
+    }
+
+    private static class DictionaryValueHandler extends ProxyValueHandler {
+        private final DBVDictionaryCache dictionaryCache;
+        private final DBSEntityAttribute refColumn;
+        private final boolean showKey;
+        // Descriptions of fetched values. They do not expire while result set is shown
+        private final Map<Object, String> descriptions = new ConcurrentHashMap<>();
+
+        DictionaryValueHandler(DBDValueHandler target, DBVDictionaryCache dictionaryCache, DBSEntityAttribute refColumn, boolean showKey) {
+            super(target);
+            this.dictionaryCache = dictionaryCache;
+            this.refColumn = refColumn;
+            this.showKey = showKey;
+        }
+
+        void addDescriptions(Map<Object, String> values) {
+            for (Map.Entry<Object, String> entry : values.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    descriptions.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        @NotNull
+        @Override
+        public String getValueDisplayString(@NotNull DBSTypedObject column, @Nullable Object value, @NotNull DBDDisplayFormat format) {
+            String keyString = super.getValueDisplayString(column, value, format);
+            if (format != DBDDisplayFormat.UI || DBUtils.isNullValue(value)) {
+                return keyString;
+            }
+            String description = descriptions.get(value);
+            if (description == null) {
+                description = dictionaryCache.getCachedDescription(refColumn, value);
+            }
+            if (description == null) {
+                return keyString;
+            }
+            return showKey ? keyString + " [" + description + "]" : description;
+        }
+    }
+}
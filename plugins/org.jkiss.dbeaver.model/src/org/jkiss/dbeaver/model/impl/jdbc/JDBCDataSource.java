@@ -45,6 +45,7 @@ import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLState;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
@@ -334,6 +335,7 @@ public abstract class JDBCDataSource
             monitor.worked(1);
         }
         defaultRemoteInstance = null;
+        DBVDictionaryCache.dispose(this);
     }
 
     @Override
@@ -20,6 +20,7 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -55,6 +56,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Connection connection;
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
+    // Owner pool (for isolated contexts only)
+    @Nullable
+    private volatile JDBCExecutionContextPool contextPool;
+    private volatile boolean leased;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose)
     {
@@ -81,7 +86,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     {
         if (connection != null && addContext) {
             log.error("Reopening not-closed connection");
-            close();
+            closeConnection();
         }
         boolean connectionReadOnly = dataSource.getContainer().isConnectionReadOnly();
         DBExecUtils.startContextInitiation(dataSource.getContainer());
@@ -214,7 +219,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
             Integer txnLevel = transactionIsolationLevel;
             boolean addNewContext = false;
             if (closeOnFailure) {
-                close();
+                closeConnection();
                 addNewContext = true;
             }
             connect(monitor, prevAutocommit, txnLevel, true, addNewContext);
@@ -224,8 +229,29 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return InvalidateResult.ALIVE;
     }
 
+    /**
+     * Closes context. Leased pooled contexts are returned to their pool and keep physical connection open.
+     * Closing a pooled context which is not leased (i.e. it was already returned to the pool) does nothing.
+     */
     @Override
     public void close()
+    {
+        final JDBCExecutionContextPool pool = this.contextPool;
+        if (pool != null) {
+            synchronized (this) {
+                if (!leased) {
+                    return;
+                }
+                if (pool.releaseContext(this)) {
+                    return;
+                }
+                this.contextPool = null;
+            }
+        }
+        closeConnection();
+    }
+
+    private void closeConnection()
     {
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
@@ -417,10 +443,73 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     }
 
     public void reconnect(DBRProgressMonitor monitor) throws DBCException {
-        close();
+        closeConnection();
         connect(monitor, null, null, false, true);
     }
 
+    //////////////////////////////////////////////////////////////
+    // Pooling
+    //////////////////////////////////////////////////////////////
+
+    @Nullable
+    JDBCExecutionContextPool getContextPool() {
+        return contextPool;
+    }
+
+    void setContextPool(@Nullable JDBCExecutionContextPool contextPool) {
+        this.contextPool = contextPool;
+    }
+
+    boolean isLeased() {
+        return leased;
+    }
+
+    void setLeased(boolean leased) {
+        this.leased = leased;
+    }
+
+    void setPurpose(String purpose) {
+        setContextName(purpose);
+    }
+
+    /**
+     * Checks that physical connection is still usable.
+     */
+    boolean isConnectionValid() {
+        return connection != null && JDBCUtils.isConnectionAlive(dataSource, connection);
+    }
+
+    /**
+     * Rollbacks all uncommitted changes. Used when context is returned to the pool.
+     */
+    void rollbackPendingChanges() throws SQLException {
+        if (connection != null && autoCommit != null && !autoCommit) {
+            connection.rollback();
+        }
+    }
+
+    /**
+     * Restores default auto-commit, isolation level and default catalog/schema.
+     * Used when pooled context is leased again.
+     */
+    void resetContextState(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        final DBPDataSourceContainer container = dataSource.getContainer();
+        boolean defaultAutoCommit = container.isDefaultAutoCommit();
+        if (autoCommit == null || autoCommit != defaultAutoCommit) {
+            setAutoCommit(monitor, defaultAutoCommit);
+        }
+        Integer txnLevel = container.getDefaultTransactionsIsolation();
+        if (!defaultAutoCommit && txnLevel != null && !txnLevel.equals(transactionIsolationLevel)) {
+            try {
+                connection.setTransactionIsolation(txnLevel);
+                transactionIsolationLevel = txnLevel;
+            } catch (Throwable e) {
+                log.debug("Can't set transaction isolation level", e); //$NON-NLS-1$
+            }
+        }
+        dataSource.initializeContextState(monitor, this, !container.isConnectionReadOnly());
+    }
+
     @Override
     public String toString() {
         if (CommonUtils.equalObjects(instance.getName(), dataSource.getName())) {
@@ -0,0 +1,266 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pool of warm isolated execution contexts of a remote instance.
+ *
+ * Contexts are leased with {@link #borrowContext} and returned back by {@link JDBCExecutionContext#close()}.
+ * Borrowing never blocks: if there are no idle contexts then new one is opened.
+ * Max idle size limits the number of contexts kept open after release, min idle size
+ * limits eviction of contexts which stay idle longer than idle timeout.
+ *
+ * Only auto-commit, isolation level and the datasource's initial context state are restored on borrow.
+ * Other session state (temporary tables, session variables, roles, etc.) is shared between lessees,
+ * which is why pooling is disabled by default.
+ */
+public class JDBCExecutionContextPool {
+
+    private static final Log log = Log.getLog(JDBCExecutionContextPool.class);
+
+    @NotNull
+    private final JDBCRemoteInstance instance;
+    // Most recently released contexts go first
+    private final Deque<JDBCExecutionContext> idleContexts = new ArrayDeque<>();
+    private final List<Long> idleSince = new ArrayList<>();
+    private final IdleEvictionJob evictionJob = new IdleEvictionJob();
+    private volatile boolean disposed;
+
+    // Metrics
+    private int leasedCount;
+    private long createdCount;
+    private long reusedCount;
+    private long evictedCount;
+    private long validationFailures;
+
+    JDBCExecutionContextPool(@NotNull JDBCRemoteInstance instance) {
+        this.instance = instance;
+    }
+
+    @NotNull
+    JDBCExecutionContext borrowContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBException {
+        for (;;) {
+            JDBCExecutionContext context;
+            synchronized (this) {
+                if (disposed) {
+                    throw new DBException("Context pool of '" + instance.getName() + "' is disposed");
+                }
+                context = idleContexts.pollFirst();
+                if (context != null) {
+                    idleSince.remove(0);
+                }
+            }
+            if (context == null) {
+                break;
+            }
+            if (!context.isConnectionValid()) {
+                synchronized (this) {
+                    validationFailures++;
+                }
+                log.debug("Pooled context '" + context.getContextName() + "' is not valid. Close it.");
+                closeContext(context);
+                continue;
+            }
+            try {
+                context.setPurpose(purpose);
+                context.resetContextState(monitor);
+            } catch (Exception e) {
+                log.debug("Can't reset state of pooled context '" + purpose + "'", e);
+                closeContext(context);
+                continue;
+            }
+            synchronized (this) {
+                reusedCount++;
+                leasedCount++;
+            }
+            context.setLeased(true);
+            return context;
+        }
+
+        JDBCExecutionContext context = new JDBCExecutionContext(instance, purpose);
+        context.connect(monitor, null, null, true, true);
+        context.setContextPool(this);
+        context.setLeased(true);
+        synchronized (this) {
+            createdCount++;
+            leasedCount++;
+        }
+        return context;
+    }
+
+    /**
+     * Returns context back to the pool.
+     * @return false if context wasn't pooled and has to be closed physically
+     */
+    boolean releaseContext(@NotNull JDBCExecutionContext context) {
+        synchronized (this) {
+            if (!context.isLeased()) {
+                return false;
+            }
+            context.setLeased(false);
+            leasedCount--;
+        }
+        if (disposed || !context.isConnected()) {
+            return false;
+        }
+        try {
+            context.rollbackPendingChanges();
+        } catch (Throwable e) {
+            log.debug("Error rolling back pooled context '" + context.getContextName() + "'", e);
+            return false;
+        }
+        synchronized (this) {
+            if (disposed || idleContexts.size() >= getMaxIdle()) {
+                return false;
+            }
+            idleContexts.addFirst(context);
+            idleSince.add(0, System.currentTimeMillis());
+        }
+        evictionJob.schedule(getIdleTimeout());
+        return true;
+    }
+
+    /**
+     * Closes contexts which are idle longer than idle timeout.
+     * @return true if there are still idle contexts which may be evicted later
+     */
+    boolean evictIdleContexts() {
+        final List<JDBCExecutionContext> evicted = new ArrayList<>();
+        final boolean hasMore;
+        synchronized (this) {
+            final long expireTime = System.currentTimeMillis() - getIdleTimeout();
+            final int minIdle = getMinIdle();
+            // Oldest contexts are at the end
+            while (idleContexts.size() > minIdle && idleSince.get(idleSince.size() - 1) <= expireTime) {
+                evicted.add(idleContexts.pollLast());
+                idleSince.remove(idleSince.size() - 1);
+            }
+            evictedCount += evicted.size();
+            hasMore = idleContexts.size() > minIdle;
+        }
+        for (JDBCExecutionContext context : evicted) {
+            closeContext(context);
+        }
+        return hasMore && !disposed;
+    }
+
+    void dispose() {
+        final List<JDBCExecutionContext> toClose;
+        synchronized (this) {
+            disposed = true;
+            toClose = new ArrayList<>(idleContexts);
+            idleContexts.clear();
+            idleSince.clear();
+        }
+        evictionJob.cancel();
+        for (JDBCExecutionContext context : toClose) {
+            closeContext(context);
+        }
+    }
+
+    private void closeContext(JDBCExecutionContext context) {
+        context.setContextPool(null);
+        context.close();
+    }
+
+    //////////////////////////////////////////////////////////////
+    // Settings
+
+    private DBPPreferenceStore getPreferenceStore() {
+        return instance.getDataSource().getContainer().getPreferenceStore();
+    }
+
+    public int getMinIdle() {
+        return Math.max(0, getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_MIN_IDLE));
+    }
+
+    public int getMaxIdle() {
+        return Math.max(0, getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE));
+    }
+
+    public long getIdleTimeout() {
+        return Math.max(1000, getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT));
+    }
+
+    //////////////////////////////////////////////////////////////
+    // Metrics
+
+    public synchronized int getIdleCount() {
+        return idleContexts.size();
+    }
+
+    public synchronized int getLeasedCount() {
+        return leasedCount;
+    }
+
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    public synchronized long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public synchronized long getValidationFailures() {
+        return validationFailures;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Context pool [" + instance.getName() + "]: idle=" + idleContexts.size() + ", leased=" + leasedCount +
+            ", created=" + createdCount + ", reused=" + reusedCount + ", evicted=" + evictedCount +
+            ", invalid=" + validationFailures;
+    }
+
+    private class IdleEvictionJob extends AbstractJob {
+
+        IdleEvictionJob() {
+            super("Evict idle contexts");
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (evictIdleContexts()) {
+                schedule(getIdleTimeout());
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
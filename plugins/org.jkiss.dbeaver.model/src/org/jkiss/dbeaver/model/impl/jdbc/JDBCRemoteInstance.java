@@ -45,6 +45,8 @@ public class JDBCRemoteInstance<DATASOURCE extends JDBCDataSource> implements DB
     protected JDBCExecutionContext metaContext;
     @NotNull
     private final List<JDBCExecutionContext> allContexts = new ArrayList<>();
+    @Nullable
+    private volatile JDBCExecutionContextPool contextPool;
 
     protected JDBCRemoteInstance(@NotNull DBRProgressMonitor monitor, @NotNull DATASOURCE dataSource, boolean initContext)
         throws DBException
@@ -108,11 +110,54 @@ public class JDBCRemoteInstance<DATASOURCE extends JDBCDataSource> implements DB
     @Override
     public DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBException
     {
+        final JDBCExecutionContextPool pool = getContextPool();
+        if (pool != null) {
+            return pool.borrowContext(monitor, purpose);
+        }
         JDBCExecutionContext context = new JDBCExecutionContext(this, purpose);
         context.connect(monitor, null, null, true, true);
         return context;
     }
 
+    /**
+     * Returns pool of isolated contexts or null if pooling is disabled (default).
+     * Embedded databases do not use pooling because extra connections may keep database files locked.
+     * Preference is checked on each call: if pooling was turned off then existing pool is disposed.
+     */
+    @Nullable
+    public JDBCExecutionContextPool getContextPool() {
+        if (dataSource.getContainer().getDriver().isEmbedded() ||
+            !dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_POOL_ENABLED))
+        {
+            final JDBCExecutionContextPool pool;
+            synchronized (allContexts) {
+                pool = contextPool;
+                contextPool = null;
+            }
+            if (pool != null) {
+                // Idle contexts are closed now, leased ones will be closed on release
+                pool.dispose();
+            }
+            return null;
+        }
+        if (contextPool == null) {
+            synchronized (allContexts) {
+                if (contextPool == null) {
+                    contextPool = new JDBCExecutionContextPool(this);
+                }
+            }
+        }
+        return contextPool;
+    }
+
+    /**
+     * Returns existing pool of isolated contexts (if any). Doesn't create a new pool.
+     */
+    @Nullable
+    public JDBCExecutionContextPool getActiveContextPool() {
+        return contextPool;
+    }
+
     @NotNull
     @Override
     public JDBCExecutionContext[] getAllContexts() {
@@ -132,6 +177,11 @@ public class JDBCRemoteInstance<DATASOURCE extends JDBCDataSource> implements DB
     @Override
     public void shutdown(DBRProgressMonitor monitor)
     {
+        final JDBCExecutionContextPool pool = this.contextPool;
+        if (pool != null) {
+            // Pooled contexts must be closed physically
+            pool.dispose();
+        }
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (allContexts) {
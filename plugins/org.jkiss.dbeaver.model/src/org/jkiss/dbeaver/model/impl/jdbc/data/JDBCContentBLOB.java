@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.impl.jdbc.data;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataSource;
@@ -26,6 +27,7 @@ import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.BytesContentStorage;
@@ -51,12 +53,20 @@ public class JDBCContentBLOB extends JDBCContentLOB {
 
     private Blob blob;
     private InputStream tmpStream;
+    // Context which owns LOB locator. Used to read large content by pages
+    @Nullable
+    private DBCExecutionContext executionContext;
 
     public JDBCContentBLOB(DBPDataSource dataSource, Blob blob) {
         super(dataSource);
         this.blob = blob;
     }
 
+    public JDBCContentBLOB(@NotNull DBCExecutionContext executionContext, Blob blob) {
+        this(executionContext.getDataSource(), blob);
+        this.executionContext = executionContext;
+    }
+
     @Override
     public long getLOBLength() throws DBCException {
         if (blob != null) {
@@ -97,6 +107,15 @@ public class JDBCContentBLOB extends JDBCContentLOB {
                     throw new DBCException(e, dataSource);
                 }
             } else {
+                // Read large content by pages on demand. Blob must stay alive while storage is in use.
+                JDBCContentBLOBStorage pagedStorage = new JDBCContentBLOBStorage(dataSource, executionContext, blob, contentLength, getDefaultEncoding());
+                try {
+                    pagedStorage.getPage(0);
+                    storage = pagedStorage;
+                    return storage;
+                } catch (IOException e) {
+                    log.debug("Can't read BLOB by pages, copy it to local storage: " + e.getMessage());
+                }
                 // Create new local storage
                 File tempFile;
                 try {
@@ -157,7 +176,7 @@ public class JDBCContentBLOB extends JDBCContentLOB {
         throws DBCException
     {
         try {
-            if (storage != null) {
+            if (storage != null && !(storage instanceof JDBCContentBLOBStorage)) {
                 // Write new blob value
                 releaseTempStream();
                 tmpStream = storage.getContentStream();
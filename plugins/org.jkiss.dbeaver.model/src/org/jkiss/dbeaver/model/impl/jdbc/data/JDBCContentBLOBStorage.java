@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDContentStorageRandomAccess;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.SQLException;
+
+/**
+ * Paged BLOB content storage.
+ * Reads BLOB ranges with {@link Blob#getBytes(long, int)} on demand.
+ */
+public class JDBCContentBLOBStorage extends JDBCContentLOBStorage<byte[]> implements DBDContentStorageRandomAccess {
+
+    private final Blob blob;
+
+    public JDBCContentBLOBStorage(DBPDataSource dataSource, @Nullable DBCExecutionContext executionContext, Blob blob, long length, String charset) {
+        super(dataSource, executionContext, length, charset);
+        this.blob = blob;
+    }
+
+    @Override
+    public InputStream getContentStream() {
+        return new PagedInputStream();
+    }
+
+    @Override
+    public Reader getContentReader() throws IOException {
+        return new InputStreamReader(getContentStream(), getCharset());
+    }
+
+    @Override
+    public int readContent(long position, byte[] buffer, int offset, int count) throws IOException {
+        if (position >= length) {
+            return -1;
+        }
+        int total = 0;
+        while (total < count && position < length) {
+            byte[] page = getPage(position / PAGE_SIZE);
+            int pageOffset = (int) (position % PAGE_SIZE);
+            int chunk = Math.min(count - total, page.length - pageOffset);
+            if (chunk <= 0) {
+                break;
+            }
+            System.arraycopy(page, pageOffset, buffer, offset + total, chunk);
+            total += chunk;
+            position += chunk;
+        }
+        return total;
+    }
+
+    @Override
+    protected byte[] readPage(long offset, int pageLength) throws SQLException {
+        return blob.getBytes(offset + 1, pageLength);
+    }
+
+    @Override
+    protected int getPageLength(byte[] page) {
+        return page.length;
+    }
+
+    private class PagedInputStream extends InputStream {
+
+        private long position;
+
+        @Override
+        public int read() throws IOException {
+            byte[] singleByte = new byte[1];
+            return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int count = readContent(position, b, off, len);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, length - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, length - position);
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.impl.jdbc.data;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataSource;
@@ -26,6 +27,7 @@ import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.ExternalContentStorage;
@@ -53,12 +55,20 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
 
     private Clob clob;
     private Reader tmpReader;
+    // Context which owns LOB locator. Used to read large content by pages
+    @Nullable
+    private DBCExecutionContext executionContext;
 
     public JDBCContentCLOB(DBPDataSource dataSource, Clob clob) {
         super(dataSource);
         this.clob = clob;
     }
 
+    public JDBCContentCLOB(@NotNull DBCExecutionContext executionContext, Clob clob) {
+        this(executionContext.getDataSource(), clob);
+        this.executionContext = executionContext;
+    }
+
     @Override
     public long getLOBLength() throws DBCException {
         if (clob == null) {
@@ -100,6 +110,15 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
                     }
                 }
             } else {
+                // Read large content by pages on demand. Clob must stay alive while storage is in use.
+                JDBCContentCLOBStorage pagedStorage = new JDBCContentCLOBStorage(dataSource, executionContext, clob, contentLength, getDefaultEncoding());
+                try {
+                    pagedStorage.getPage(0);
+                    storage = pagedStorage;
+                    return storage;
+                } catch (IOException e) {
+                    log.debug("Can't read CLOB by pages, copy it to local storage: " + e.getMessage());
+                }
                 // Create new local storage
                 File tempFile;
                 try {
@@ -158,7 +177,7 @@ public class JDBCContentCLOB extends JDBCContentLOB implements DBDContent {
         throws DBCException
     {
         try {
-            if (storage != null) {
+            if (storage != null && !(storage instanceof JDBCContentCLOBStorage)) {
 //                String stringValue = ContentUtils.getContentStringValue(session.getProgressMonitor(), this);
 //                preparedStatement.setString(paramIndex, stringValue);
                 // Try 3 jdbc methods to set character stream
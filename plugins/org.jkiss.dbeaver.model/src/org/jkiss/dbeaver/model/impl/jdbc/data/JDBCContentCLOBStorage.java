@@ -0,0 +1,167 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.sql.Clob;
+import java.sql.SQLException;
+
+/**
+ * Paged CLOB content storage.
+ * Reads CLOB ranges with {@link Clob#getSubString(long, int)} on demand.
+ * Content length is measured in characters.
+ */
+public class JDBCContentCLOBStorage extends JDBCContentLOBStorage<String> {
+
+    private final Clob clob;
+
+    public JDBCContentCLOBStorage(DBPDataSource dataSource, @Nullable DBCExecutionContext executionContext, Clob clob, long length, String charset) {
+        super(dataSource, executionContext, length, charset);
+        this.clob = clob;
+    }
+
+    @Override
+    public InputStream getContentStream() {
+        return new EncodingInputStream(Charset.forName(getCharset()));
+    }
+
+    @Override
+    public Reader getContentReader() {
+        return new PagedReader();
+    }
+
+    @Override
+    protected String readPage(long offset, int pageLength) throws SQLException {
+        return clob.getSubString(offset + 1, pageLength);
+    }
+
+    @Override
+    protected int getPageLength(String page) {
+        return page.length();
+    }
+
+    private class PagedReader extends Reader {
+
+        private long position;
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int total = 0;
+            while (total < len && position < length) {
+                String page = getPage(position / PAGE_SIZE);
+                int pageOffset = (int) (position % PAGE_SIZE);
+                int chunk = Math.min(len - total, page.length() - pageOffset);
+                if (chunk <= 0) {
+                    break;
+                }
+                page.getChars(pageOffset, pageOffset + chunk, cbuf, off + total);
+                total += chunk;
+                position += chunk;
+            }
+            return total == 0 ? -1 : total;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, length - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close - pages are owned by storage
+        }
+    }
+
+    /**
+     * Encodes content chunk by chunk. Trailing high surrogate is carried to the next chunk.
+     */
+    private class EncodingInputStream extends InputStream {
+
+        private final Charset charset;
+        private final Reader reader = new PagedReader();
+        private final char[] chars = new char[PAGE_SIZE];
+        private byte[] bytes = new byte[0];
+        private int bytesPosition;
+        private boolean hasCarry;
+
+        EncodingInputStream(Charset charset) {
+            this.charset = charset;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureBytes()) {
+                return -1;
+            }
+            return bytes[bytesPosition++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureBytes()) {
+                return -1;
+            }
+            int count = Math.min(len, bytes.length - bytesPosition);
+            System.arraycopy(bytes, bytesPosition, b, off, count);
+            bytesPosition += count;
+            return count;
+        }
+
+        private boolean ensureBytes() throws IOException {
+            while (bytesPosition >= bytes.length) {
+                int start = hasCarry ? 1 : 0;
+                int count = reader.read(chars, start, chars.length - start);
+                if (count <= 0) {
+                    if (start == 0) {
+                        return false;
+                    }
+                    count = 0;
+                }
+                int end = start + count;
+                hasCarry = count > 0 && Character.isHighSurrogate(chars[end - 1]);
+                if (hasCarry) {
+                    end--;
+                }
+                bytes = new String(chars, 0, end).getBytes(charset);
+                bytesPosition = 0;
+                if (hasCarry) {
+                    chars[0] = chars[end];
+                }
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.data;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.app.DBPPlatform;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.TemporaryContentStorage;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.*;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LOB content storage which reads LOB value by pages on demand.
+ * Recently read pages are kept in a small LRU cache.
+ * Storage doesn't own LOB locator - it must be freed by the owner content.
+ * Pages are read under the lock of the execution context which owns the locator. Once a page can't be
+ * read (e.g. locator was invalidated by transaction end) all further reads of missing pages fail.
+ */
+public abstract class JDBCContentLOBStorage<PAGE> implements DBDContentStorage {
+
+    static final int PAGE_SIZE = 64 * 1024;
+    private static final int MAX_CACHED_PAGES = 16;
+
+    protected final DBPDataSource dataSource;
+    @Nullable
+    private final DBCExecutionContext executionContext;
+    protected final long length;
+    private final String charset;
+    private volatile String invalidReason;
+    private final Map<Long, PAGE> pageCache = new LinkedHashMap<Long, PAGE>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PAGE> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    protected JDBCContentLOBStorage(DBPDataSource dataSource, @Nullable DBCExecutionContext executionContext, long length, String charset) {
+        this.dataSource = dataSource;
+        this.executionContext = executionContext;
+        this.length = length;
+        this.charset = charset;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public String getCharset() {
+        return charset;
+    }
+
+    /**
+     * Copies content to a temporary file. Used when content is going to be edited.
+     */
+    @Override
+    public DBDContentStorage cloneStorage(DBRProgressMonitor monitor) throws IOException {
+        DBPPlatform platform = dataSource.getContainer().getPlatform();
+        File tempFile = ContentUtils.createTempContentFile(monitor, platform, "lob" + this.hashCode());
+        try (InputStream is = getContentStream()) {
+            try (OutputStream os = new FileOutputStream(tempFile)) {
+                ContentUtils.copyStreams(is, -1, os, monitor);
+            }
+        } catch (IOException e) {
+            ContentUtils.deleteTempFile(tempFile);
+            throw e;
+        }
+        return new TemporaryContentStorage(platform, tempFile, charset);
+    }
+
+    @Override
+    public void release() {
+        synchronized (pageCache) {
+            pageCache.clear();
+        }
+    }
+
+    public boolean isContentLoaded(long position, int count) {
+        long endPosition = Math.min(length, position + count);
+        synchronized (pageCache) {
+            for (long pageIndex = position / PAGE_SIZE; pageIndex * PAGE_SIZE < endPosition; pageIndex++) {
+                if (!pageCache.containsKey(pageIndex)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void loadContent(DBRProgressMonitor monitor, long position, int count) throws DBCException {
+        long endPosition = Math.min(length, position + count);
+        if (executionContext == null) {
+            loadPages(monitor, position, endPosition);
+            return;
+        }
+        try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Read LOB content")) {
+            loadPages(session.getProgressMonitor(), position, endPosition);
+        }
+    }
+
+    private void loadPages(DBRProgressMonitor monitor, long position, long endPosition) throws DBCException {
+        for (long pageIndex = position / PAGE_SIZE; pageIndex * PAGE_SIZE < endPosition && !monitor.isCanceled(); pageIndex++) {
+            try {
+                getPage(pageIndex);
+            } catch (IOException e) {
+                throw new DBCException("Error reading LOB content", e);
+            }
+        }
+    }
+
+    protected PAGE getPage(long pageIndex) throws IOException {
+        PAGE page;
+        synchronized (pageCache) {
+            page = pageCache.get(pageIndex);
+        }
+        if (page != null) {
+            return page;
+        }
+        long pageOffset = pageIndex * PAGE_SIZE;
+        int pageLength = (int) Math.min(PAGE_SIZE, length - pageOffset);
+        // Locator uses connection of its execution context, so don't read it concurrently with other operations
+        synchronized (executionContext != null ? executionContext : this) {
+            synchronized (pageCache) {
+                page = pageCache.get(pageIndex);
+            }
+            if (page != null) {
+                return page;
+            }
+            if (invalidReason != null) {
+                throw new IOException("LOB locator is not valid anymore: " + invalidReason);
+            }
+            try {
+                page = readPage(pageOffset, pageLength);
+            } catch (SQLException e) {
+                invalidReason = e.getMessage();
+                throw new IOException("Error reading LOB content at " + pageOffset, e);
+            }
+            int actualLength = page == null ? -1 : getPageLength(page);
+            if (actualLength != pageLength) {
+                invalidReason = "page at " + pageOffset + " has " + actualLength + " elements instead of " + pageLength;
+                throw new IOException("LOB locator is not valid anymore: " + invalidReason);
+            }
+            synchronized (pageCache) {
+                pageCache.put(pageIndex, page);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Reads LOB page. Offset is zero-based.
+     */
+    protected abstract PAGE readPage(long offset, int pageLength) throws SQLException;
+
+    protected abstract int getPageLength(PAGE page);
+
+}
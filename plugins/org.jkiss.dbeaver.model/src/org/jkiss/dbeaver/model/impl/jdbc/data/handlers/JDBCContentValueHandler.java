@@ -182,7 +182,7 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
                     return new JDBCContentChars(session.getDataSource(), (String) object);
             }
         } else if (object instanceof Blob) {
-            final JDBCContentBLOB blob = new JDBCContentBLOB(session.getDataSource(), (Blob) object);
+            final JDBCContentBLOB blob = new JDBCContentBLOB(session.getExecutionContext(), (Blob) object);
             final DBPPreferenceStore preferenceStore = session.getDataSource().getContainer().getPreferenceStore();
             if (preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_BLOB) &&
                 blob.getLOBLength() < preferenceStore.getLong(ModelPreferences.CONTENT_CACHE_MAX_SIZE))
@@ -192,7 +192,7 @@ public class JDBCContentValueHandler extends JDBCAbstractValueHandler implements
             }
             return blob;
         } else if (object instanceof Clob) {
-            JDBCContentCLOB clob = new JDBCContentCLOB(session.getDataSource(), (Clob) object);
+            JDBCContentCLOB clob = new JDBCContentCLOB(session.getExecutionContext(), (Clob) object);
             final DBPPreferenceStore preferenceStore = session.getDataSource().getContainer().getPreferenceStore();
             if (preferenceStore.getBoolean(ModelPreferences.CONTENT_CACHE_CLOB) &&
                 clob.getLOBLength() < preferenceStore.getLong(ModelPreferences.CONTENT_CACHE_MAX_SIZE))
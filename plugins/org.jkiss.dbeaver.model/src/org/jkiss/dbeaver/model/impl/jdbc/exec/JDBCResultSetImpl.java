@@ -49,6 +49,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     private final String description;
     private JDBCResultSetMetaData metaData;
     private long rowsFetched;
+    private long firstRowTime;
     private long maxRows = -1;
     private boolean fake;
     private boolean disableLogging;
@@ -105,6 +106,13 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         //this.session.getProgressMonitor().endBlock();
     }
 
+    /**
+     * System.nanoTime() of the first fetched row or 0 if nothing was fetched yet
+     */
+    public long getFirstRowTime() {
+        return firstRowTime;
+    }
+
     @Override
     public ResultSet getOriginal()
     {
@@ -283,6 +291,9 @@ public class JDBCResultSetImpl implements JDBCResultSet {
             // Fetch next row
             boolean fetched = original.next();
             if (fetched) {
+                if (rowsFetched == 0) {
+                    firstRowTime = System.nanoTime();
+                }
                 rowsFetched++;
             }
             return fetched;
@@ -27,9 +27,11 @@ import org.jkiss.dbeaver.model.DBPSaveableObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
+import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistAction;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.struct.AbstractTable;
@@ -42,6 +44,11 @@ import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.utils.ArrayUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * JDBC abstract table implementation
  */
@@ -173,12 +180,11 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (monitor.isCanceled()) {
                 return statistics;
             }
-            if (dbStat instanceof JDBCStatement && maxRows > 0) {
-                boolean useFetchSize = getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
-                if (useFetchSize) {
+            if (dbStat instanceof JDBCStatement) {
+                int fetchSize = getReadFetchSize(session, firstRow, maxRows, flags);
+                if (fetchSize > 0) {
                     try {
-                        ((JDBCStatement) dbStat).setFetchSize(
-                            firstRow < 0 || maxRows <= 0 ? DEFAULT_READ_FETCH_SIZE : (int) (firstRow + maxRows));
+                        ((JDBCStatement) dbStat).setFetchSize(fetchSize);
                     } catch (Exception e) {
                         log.warn(e);
                     }
@@ -191,17 +197,21 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (executeResult) {
                 DBCResultSet dbResult = dbStat.openResultSet();
                 if (dbResult != null && !monitor.isCanceled()) {
+                    DBCFetchSampler sampler = DBCFetchSampler.create(dataSource);
+                    DBCFetchSampler.attach(dataReceiver, sampler);
                     try {
                         dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
 
                         startTime = System.currentTimeMillis();
                         long rowCount = 0;
-                        while (dbResult.nextRow()) {
+                        while (sampler.nextRow(dbResult)) {
                             if (monitor.isCanceled() || (hasLimits && rowCount >= maxRows)) {
                                 // Fetch not more than max rows
                                 break;
                             }
+                            long convertStartTime = sampler.beginRowPhase();
                             dataReceiver.fetchRow(session, dbResult);
+                            sampler.endRowPhase(DBCFetchSampler.PHASE_VALUE_CONVERSION, convertStartTime);
                             rowCount++;
                             if (rowCount % 100 == 0) {
                                 monitor.subTask(rowCount + ModelMessages.model_jdbc__rows_fetched);
@@ -223,6 +233,8 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                         } catch (Throwable e) {
                             log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
                         }
+                        DBCFetchSampler.attach(dataReceiver, null);
+                        sampler.flush(statistics);
                     }
                 }
             }
@@ -232,6 +244,17 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         }
     }
 
+    /**
+     * Returns fetch size for data read statement.
+     * Zero means that driver's default fetch size will be used.
+     */
+    protected int getReadFetchSize(@NotNull DBCSession session, long firstRow, long maxRows, long flags) {
+        if (maxRows > 0 && getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE)) {
+            return firstRow < 0 ? DEFAULT_READ_FETCH_SIZE : (int) (firstRow + maxRows);
+        }
+        return 0;
+    }
+
     protected void appendSelectSource(DBRProgressMonitor monitor, StringBuilder query, String tableAlias, DBDPseudoAttribute rowIdAttribute) {
         if (rowIdAttribute != null) {
             // If we have pseudo attributes then query gonna be more complex
@@ -402,7 +425,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         DBSAttributeBase[] attributes = ArrayUtils.concatArrays(updateAttributes, keyAttributes);
 
-        return new ExecuteBatchImpl(attributes, keysReceiver, false) {
+        return new ExecuteBatchImpl(attributes, keysReceiver, true) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, Object[] attributeValues) throws DBCException {
@@ -471,7 +494,106 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     {
         readRequiredMeta(session.getProgressMonitor());
 
-        return new ExecuteBatchImpl(keyAttributes, null, false) {
+        return new ExecuteBatchImpl(keyAttributes, null, true) {
+            @NotNull
+            @Override
+            public DBCStatistics execute(@NotNull DBCSession session) throws DBCException {
+                int maxKeys = getMaxDeleteKeys(session);
+                if (maxKeys <= 1) {
+                    return super.execute(session);
+                }
+                return deleteByKeys(session, maxKeys, null);
+            }
+
+            @Override
+            public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions) throws DBCException {
+                int maxKeys = getMaxDeleteKeys(session);
+                if (maxKeys <= 1) {
+                    super.generatePersistActions(session, actions);
+                } else {
+                    deleteByKeys(session, maxKeys, actions);
+                }
+            }
+
+            /**
+             * Deletes rows by single key using IN (...) lists or generates script of these deletes.
+             * If some chunk fails then rows of the previous chunks are reported as executed
+             * in the update counts of BatchUpdateException.
+             */
+            @NotNull
+            private DBCStatistics deleteByKeys(@NotNull DBCSession session, int maxKeys, @Nullable List<DBEPersistAction> actions) throws DBCException {
+                DBCStatistics statistics = new DBCStatistics();
+                DBSAttributeBase keyAttribute = keyAttributes[0];
+                DBDValueHandler valueHandler = getValueHandlers(session)[0];
+                for (int offset = 0; offset < values.size(); offset += maxKeys) {
+                    if (session.getProgressMonitor().isCanceled()) {
+                        break;
+                    }
+                    int keyCount = Math.min(maxKeys, values.size() - offset);
+                    StringBuilder query = new StringBuilder();
+                    query.append("DELETE FROM ").append(getFullyQualifiedName(DBPEvaluationContext.DML));
+                    query.append("\nWHERE ").append(getAttributeName(keyAttribute)).append(" IN ("); //$NON-NLS-1$
+                    for (int i = 0; i < keyCount; i++) {
+                        if (i > 0) query.append(","); //$NON-NLS-1$
+                        if (actions == null) {
+                            query.append("?"); //$NON-NLS-1$
+                        } else {
+                            query.append(SQLUtils.convertValueToSQL(session.getDataSource(), keyAttribute, valueHandler, values.get(offset + i)[0]));
+                        }
+                    }
+                    query.append(")"); //$NON-NLS-1$
+                    if (actions != null) {
+                        actions.add(new SQLDatabasePersistAction("Delete rows", query.toString()));
+                        continue;
+                    }
+
+                    try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false)) {
+                        dbStat.setStatementSource(source);
+                        for (int i = 0; i < keyCount; i++) {
+                            valueHandler.bindValueObject(session, dbStat, keyAttribute, i, values.get(offset + i)[0]);
+                        }
+                        statistics.setQueryText(dbStat.getQueryString());
+                        statistics.addStatementsCount();
+                        long startTime = System.currentTimeMillis();
+                        dbStat.executeStatement();
+                        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                        long rowCount = dbStat.getUpdateRowCount();
+                        if (rowCount > 0) {
+                            statistics.addRowsUpdated(rowCount);
+                        }
+                    } catch (DBCException e) {
+                        if (offset == 0) {
+                            throw e;
+                        }
+                        // Rows of the previous chunks are already deleted
+                        int[] updateCounts = new int[offset];
+                        Arrays.fill(updateCounts, Statement.SUCCESS_NO_INFO);
+                        throw new DBCException(
+                            e.getMessage(),
+                            new BatchUpdateException(e.getMessage(), updateCounts, e),
+                            session.getDataSource());
+                    }
+                }
+                values.clear();
+                return statistics;
+            }
+
+            /**
+             * Multi-key delete is possible for single non-pseudo key without NULL values.
+             * @return max number of keys in a single statement or 0
+             */
+            private int getMaxDeleteKeys(@NotNull DBCSession session) {
+                if (keyAttributes.length != 1 || values.size() <= 1 || DBUtils.isPseudoAttribute(keyAttributes[0])) {
+                    return 0;
+                }
+                for (Object[] keyValues : values) {
+                    if (DBUtils.isNullValue(keyValues[0])) {
+                        return 0;
+                    }
+                }
+                return ((SQLDataSource) session.getDataSource()).getSQLDialect().getMaxInClauseValues();
+            }
+
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, Object[] attributeValues) throws DBCException {
@@ -34,6 +34,7 @@ import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTableColumn;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.utils.CommonUtils;
 
@@ -173,6 +174,15 @@ public abstract class JDBCTableColumn<TABLE_TYPE extends DBSEntity> extends JDBC
     @NotNull
     @Override
     public List<DBDLabelValuePair> getValueEnumeration(@NotNull DBCSession session, @Nullable Object valuePattern, int maxResults) throws DBException {
+        // Labels are value counts here, so they are not cached as key descriptions
+        return DBVDictionaryCache.getInstance(getDataSource()).getEnumeration(
+            getTable(),
+            null,
+            Arrays.asList(this, valuePattern, maxResults),
+            () -> readValueEnumeration(session, valuePattern, maxResults));
+    }
+
+    private List<DBDLabelValuePair> readValueEnumeration(@NotNull DBCSession session, @Nullable Object valuePattern, int maxResults) throws DBException {
         DBDValueHandler valueHandler = DBUtils.findValueHandler(session, this);
         StringBuilder query = new StringBuilder();
         query.append("SELECT ").append(DBUtils.getQuotedIdentifier(this)).append(", count(*)");
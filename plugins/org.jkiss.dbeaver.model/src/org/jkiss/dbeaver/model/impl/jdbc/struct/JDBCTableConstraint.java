@@ -37,12 +37,14 @@ import org.jkiss.dbeaver.model.struct.DBSConstraintEnumerable;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.DBSEntityConstraint;
 import org.jkiss.dbeaver.model.struct.DBSEntityConstraintType;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.model.virtual.DBVEntity;
 import org.jkiss.dbeaver.model.virtual.DBVUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -120,15 +122,28 @@ public abstract class JDBCTableConstraint<TABLE extends JDBCTable>
         if (keyColumn.getParentObject() != this.getTable()) {
             throw new IllegalArgumentException("Bad key column argument");
         }
-        // Use default one
-        return readKeyEnumeration(
-            session,
+        // Use default one. Enumerations are shared between editors through the datasource dictionary cache
+        List<Object> enumerationKey = new ArrayList<>();
+        Collections.addAll(enumerationKey, keyColumn, keyPattern, sortByValue, sortAsc, maxResults,
+            DBVUtils.getDictionaryDescriptionColumns(session.getProgressMonitor(), keyColumn));
+        if (preceedingKeys != null) {
+            for (DBDAttributeValue pk : preceedingKeys) {
+                enumerationKey.add(pk.getAttribute());
+                enumerationKey.add(pk.getValue());
+            }
+        }
+        return DBVDictionaryCache.getInstance(getDataSource()).getEnumeration(
+            getTable(),
             keyColumn,
-            keyPattern,
-            preceedingKeys,
-            sortByValue,
-            sortAsc,
-            maxResults);
+            enumerationKey,
+            () -> readKeyEnumeration(
+                session,
+                keyColumn,
+                keyPattern,
+                preceedingKeys,
+                sortByValue,
+                sortAsc,
+                maxResults));
     }
 
     @Override
@@ -401,6 +401,12 @@ public class BasicSQLDialect implements SQLDialect {
         return true;
     }
 
+    @Override
+    public int getMaxInClauseValues() {
+        // Oracle limits IN lists by 1000 values, SQLite limits statement by 999 parameters
+        return 500;
+    }
+
     @Override
     public Pair<String, String> getMultiLineComments()
     {
@@ -30,6 +30,7 @@ import org.jkiss.dbeaver.model.navigator.meta.DBXTreeNode;
 import org.jkiss.dbeaver.model.navigator.meta.DBXTreeObject;
 import org.jkiss.dbeaver.model.runtime.*;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.BeanUtils;
 import org.jkiss.utils.CommonUtils;
@@ -331,6 +332,8 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         DBSObject object = getObject();
         if (object instanceof DBPRefreshableObject) {
             if (object.isPersisted()) {
+                // Cached dictionary values of refreshed tables are read again
+                DBVDictionaryCache.invalidate(object);
                 DBSObject newObject = ((DBPRefreshableObject) object).refreshObject(monitor);
                 if (newObject == null) {
                     if (parentNode instanceof DBNDatabaseNode) {
@@ -30,5 +30,7 @@ public class QMConstants {
     public static final String PROP_HISTORY_DAYS = PROP_PREFIX + "historyDays";
     public static final String PROP_STORE_LOG_FILE = PROP_PREFIX + "storeLogs";
     public static final String PROP_LOG_DIRECTORY = PROP_PREFIX + "logDirectory";
+    public static final String PROP_METRICS_ENABLED = PROP_PREFIX + "metrics.enabled";
+    public static final String PROP_METRICS_HTTP_PORT = PROP_PREFIX + "metrics.httpPort";
 
 }
@@ -17,6 +17,8 @@
 
 package org.jkiss.dbeaver.model.qm;
 
+import org.jkiss.dbeaver.model.qm.metrics.QMMetricsRegistry;
+
 /**
  * Query manager controller
  */
@@ -26,6 +28,8 @@ public interface QMController {
 
     QMExecutionHandler getDefaultHandler();
 
+    QMMetricsRegistry getMetricsRegistry();
+
     QMEventBrowser getEventBrowser(boolean currentSessionOnly);
 
     void registerHandler(QMExecutionHandler handler);
@@ -0,0 +1,121 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm.metrics;
+
+/**
+ * Log-linear histogram of non-negative long values (HDR-like).
+ * Each power of two range is split into 8 sub-buckets, so relative error of percentiles is below 12.5%.
+ * Memory footprint is fixed (about 2Kb) and doesn't depend on the number of recorded values.
+ */
+public class QMLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    // Values above 2^36 are stored in the last bucket (~19 hours in microseconds)
+    private static final int MAX_VALUE_BITS = 36;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalSum;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    public synchronized void recordValue(long value) {
+        if (value < 0) {
+            return;
+        }
+        counts[getBucketIndex(Math.min(value, MAX_VALUE))]++;
+        totalCount++;
+        totalSum += value;
+        if (value < minValue) {
+            minValue = value;
+        }
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    public synchronized long getCount() {
+        return totalCount;
+    }
+
+    public synchronized long getSum() {
+        return totalSum;
+    }
+
+    public synchronized long getMin() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public synchronized long getMax() {
+        return maxValue;
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : (double) totalSum / totalCount;
+    }
+
+    /**
+     * Returns value at specified percentile (0..100).
+     * Result is the upper bound of the bucket, limited by the max recorded value.
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.max(minValue, Math.min(maxValue, getBucketUpperBound(i)));
+            }
+        }
+        return maxValue;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        totalSum = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return magnitude * SUB_BUCKET_HALF + (int) (value >>> magnitude);
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - magnitude * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm.metrics;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.*;
+
+/**
+ * Query execution metrics registry.
+ * Keeps latency histograms per datasource and per normalized query (fingerprint).
+ * Number of tracked query shapes is limited, least recently executed shapes are evicted.
+ */
+public class QMMetricsRegistry {
+
+    public static final String ALL_QUERIES = "*";
+
+    private static final int MAX_TRACKED_QUERIES = 500;
+    private static final int MAX_FINGERPRINT_LENGTH = 2000;
+
+    private final Map<String, QMQueryMetrics> metrics = new LinkedHashMap<String, QMQueryMetrics>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QMQueryMetrics> eldest) {
+            return size() > MAX_TRACKED_QUERIES;
+        }
+    };
+
+    /**
+     * Records a single statement execution
+     * @param executeMicros     execution time
+     * @param firstRowMicros    time to first row or -1 if no rows were fetched
+     * @param fetchMicros       time spent in fetch or -1 if statement has no result set
+     * @param rows              fetched (or updated) row count
+     */
+    public void recordExecution(
+        @NotNull String containerId,
+        @NotNull String containerName,
+        @Nullable String queryText,
+        long executeMicros,
+        long firstRowMicros,
+        long fetchMicros,
+        long rows,
+        boolean error)
+    {
+        String fingerprint = queryText == null ? null : makeFingerprint(queryText);
+        QMQueryMetrics total, query = null;
+        synchronized (metrics) {
+            total = getMetrics(containerId, containerName, ALL_QUERIES);
+            if (fingerprint != null) {
+                query = getMetrics(containerId, containerName, fingerprint);
+            }
+        }
+        total.record(executeMicros, firstRowMicros, fetchMicros, rows, error);
+        if (query != null) {
+            query.record(executeMicros, firstRowMicros, fetchMicros, rows, error);
+        }
+    }
+
+    @NotNull
+    public List<QMQueryMetrics> getMetrics() {
+        synchronized (metrics) {
+            return new ArrayList<>(metrics.values());
+        }
+    }
+
+    public void reset() {
+        synchronized (metrics) {
+            metrics.clear();
+        }
+    }
+
+    private QMQueryMetrics getMetrics(String containerId, String containerName, String fingerprint) {
+        String key = containerId + '\n' + fingerprint;
+        QMQueryMetrics queryMetrics = metrics.get(key);
+        if (queryMetrics == null) {
+            queryMetrics = new QMQueryMetrics(containerId, containerName, fingerprint);
+            metrics.put(key, queryMetrics);
+        }
+        return queryMetrics;
+    }
+
+    /**
+     * Makes normalized query text: comments are removed, literals and positional parameters are replaced with '?',
+     * lists of literals are collapsed, whitespaces are compacted and keywords/identifiers are lower-cased.
+     * Quoted identifiers are left as is.
+     */
+    @NotNull
+    public static String makeFingerprint(@NotNull String query) {
+        StringBuilder result = new StringBuilder(Math.min(query.length(), MAX_FINGERPRINT_LENGTH));
+        int length = query.length();
+        boolean space = false;
+        for (int i = 0; i < length && result.length() < MAX_FINGERPRINT_LENGTH; i++) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = result.length() > 0;
+                continue;
+            }
+            if (c == '-' && i + 1 < length && query.charAt(i + 1) == '-') {
+                // Single line comment
+                while (i < length && query.charAt(i) != '\n') i++;
+                space = result.length() > 0;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && query.charAt(i + 1) == '*') {
+                // Multi-line comment
+                int end = query.indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 1;
+                space = result.length() > 0;
+                continue;
+            }
+            if (space) {
+                result.append(' ');
+                space = false;
+            }
+            if (c == '\'') {
+                // String literal ('' is an escaped quote)
+                for (i++; i < length; i++) {
+                    if (query.charAt(i) == '\'') {
+                        if (i + 1 < length && query.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                appendParameter(result);
+            } else if (c == '"' || c == '`') {
+                // Quoted identifier
+                int end = query.indexOf(c, i + 1);
+                if (end == -1) {
+                    end = length - 1;
+                }
+                result.append(query, i, end + 1);
+                i = end;
+            } else if (c == '?') {
+                appendParameter(result);
+            } else if (c == '$' && i + 1 < length && Character.isDigit(query.charAt(i + 1)) && !isIdentifierEnd(result)) {
+                // Positional parameter ($1, $2, ...)
+                while (i + 1 < length && Character.isDigit(query.charAt(i + 1))) i++;
+                appendParameter(result);
+            } else if (Character.isDigit(c) && !isIdentifierEnd(result)) {
+                while (i + 1 < length && (Character.isLetterOrDigit(query.charAt(i + 1)) || query.charAt(i + 1) == '.')) i++;
+                appendParameter(result);
+            } else {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Appends '?' and collapses lists like "?, ?, ?" into a single "?"
+     */
+    private static void appendParameter(StringBuilder result) {
+        int pos = result.length() - 1;
+        while (pos >= 0 && result.charAt(pos) == ' ') pos--;
+        if (pos >= 0 && result.charAt(pos) == ',') {
+            int prev = pos - 1;
+            while (prev >= 0 && result.charAt(prev) == ' ') prev--;
+            if (prev >= 0 && result.charAt(prev) == '?') {
+                result.setLength(prev + 1);
+                return;
+            }
+        }
+        result.append('?');
+    }
+
+    private static boolean isIdentifierEnd(StringBuilder result) {
+        if (result.length() == 0) {
+            return false;
+        }
+        char last = result.charAt(result.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+}
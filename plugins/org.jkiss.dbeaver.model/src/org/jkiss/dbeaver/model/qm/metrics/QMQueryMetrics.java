@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm.metrics;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Execution metrics of a single query shape (fingerprint) in a datasource.
+ * Times are in microseconds.
+ */
+public class QMQueryMetrics {
+
+    @NotNull
+    private final String containerId;
+    @NotNull
+    private final String containerName;
+    @NotNull
+    private final String fingerprint;
+
+    private final QMLatencyHistogram executeTime = new QMLatencyHistogram();
+    private final QMLatencyHistogram firstRowTime = new QMLatencyHistogram();
+    private final QMLatencyHistogram fetchRate = new QMLatencyHistogram();
+    private final QMLatencyHistogram rowCount = new QMLatencyHistogram();
+    private volatile long errorCount;
+    private volatile long lastExecuteTime;
+
+    QMQueryMetrics(@NotNull String containerId, @NotNull String containerName, @NotNull String fingerprint) {
+        this.containerId = containerId;
+        this.containerName = containerName;
+        this.fingerprint = fingerprint;
+    }
+
+    @NotNull
+    public String getContainerId() {
+        return containerId;
+    }
+
+    @NotNull
+    public String getContainerName() {
+        return containerName;
+    }
+
+    /**
+     * Normalized query text or {@link QMMetricsRegistry#ALL_QUERIES} for datasource totals
+     */
+    @NotNull
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public boolean isDataSourceTotal() {
+        return QMMetricsRegistry.ALL_QUERIES.equals(fingerprint);
+    }
+
+    /**
+     * Statement execution time (until execute() returns)
+     */
+    public QMLatencyHistogram getExecuteTime() {
+        return executeTime;
+    }
+
+    /**
+     * Time from execution start until the first row is fetched
+     */
+    public QMLatencyHistogram getFirstRowTime() {
+        return firstRowTime;
+    }
+
+    /**
+     * Fetch rate in rows per second
+     */
+    public QMLatencyHistogram getFetchRate() {
+        return fetchRate;
+    }
+
+    /**
+     * Fetched or updated rows per execution
+     */
+    public QMLatencyHistogram getRowCount() {
+        return rowCount;
+    }
+
+    public long getExecuteCount() {
+        return executeTime.getCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getLastExecuteTime() {
+        return lastExecuteTime;
+    }
+
+    void record(long executeMicros, long firstRowMicros, long fetchMicros, long rows, boolean error) {
+        executeTime.recordValue(executeMicros);
+        if (firstRowMicros >= 0) {
+            firstRowTime.recordValue(firstRowMicros);
+        }
+        if (fetchMicros > 0 && rows > 0) {
+            fetchRate.recordValue(rows * 1000000L / fetchMicros);
+        }
+        if (rows >= 0) {
+            rowCount.recordValue(rows);
+        }
+        if (error) {
+            errorCount++;
+        }
+        lastExecuteTime = System.currentTimeMillis();
+    }
+
+}
@@ -231,6 +231,12 @@ public interface SQLDialect {
 
     boolean supportsNullability();
 
+    /**
+     * Maximum number of values in IN (...) list used in data modification criteria.
+     * Zero means that multi-value IN lists should not be used.
+     */
+    int getMaxInClauseValues();
+
     @NotNull
     DBPIdentifierCase storesUnquotedCase();
 
@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.format.tokenized;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Tokens list backed by a gap buffer.
+ * Formatter passes walk through tokens and insert/remove them near the current position.
+ * Gap buffer makes such local modifications amortized O(1) (ArrayList shifts the whole tail on each one),
+ * so each formatter pass is linear in the number of tokens.
+ */
+class FormatterTokenList extends AbstractList<FormatterToken> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private FormatterToken[] tokens;
+    // Gap is [gapStart, gapEnd)
+    private int gapStart;
+    private int gapEnd;
+
+    FormatterTokenList() {
+        this(MIN_CAPACITY);
+    }
+
+    FormatterTokenList(int initialCapacity) {
+        tokens = new FormatterToken[Math.max(initialCapacity, MIN_CAPACITY)];
+        gapStart = 0;
+        gapEnd = tokens.length;
+    }
+
+    @Override
+    public int size() {
+        return tokens.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public FormatterToken get(int index) {
+        checkIndex(index, size() - 1);
+        return tokens[index < gapStart ? index : index + gapEnd - gapStart];
+    }
+
+    @Override
+    public FormatterToken set(int index, FormatterToken token) {
+        checkIndex(index, size() - 1);
+        int pos = index < gapStart ? index : index + gapEnd - gapStart;
+        FormatterToken old = tokens[pos];
+        tokens[pos] = token;
+        return old;
+    }
+
+    @Override
+    public boolean add(FormatterToken token) {
+        add(size(), token);
+        return true;
+    }
+
+    @Override
+    public void add(int index, FormatterToken token) {
+        checkIndex(index, size());
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        tokens[gapStart++] = token;
+        modCount++;
+    }
+
+    @Override
+    public FormatterToken remove(int index) {
+        checkIndex(index, size() - 1);
+        moveGap(index);
+        FormatterToken token = tokens[gapEnd];
+        tokens[gapEnd++] = null;
+        modCount++;
+        return token;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tokens, null);
+        gapStart = 0;
+        gapEnd = tokens.length;
+        modCount++;
+    }
+
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(tokens, index, tokens, gapEnd - count, count);
+            Arrays.fill(tokens, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(tokens, gapEnd, tokens, gapStart, count);
+            Arrays.fill(tokens, Math.max(gapEnd, index), gapEnd + count, null);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void grow() {
+        int size = size();
+        FormatterToken[] newTokens = new FormatterToken[Math.max(MIN_CAPACITY, tokens.length * 2)];
+        int tailLength = tokens.length - gapEnd;
+        System.arraycopy(tokens, 0, newTokens, 0, gapStart);
+        System.arraycopy(tokens, gapEnd, newTokens, newTokens.length - tailLength, tailLength);
+        gapEnd = newTokens.length - tailLength;
+        tokens = newTokens;
+        assert size == size();
+    }
+
+    private void checkIndex(int index, int maxIndex) {
+        if (index < 0 || index > maxIndex) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+}
@@ -48,6 +48,7 @@ public class SQLFormatterTokenized implements SQLFormatter {
     public String format(final String argSql, SQLFormatterConfiguration configuration) {
         formatterCfg = configuration;
 
+        statementDelimiters.clear();
         for (String delim : formatterCfg.getSyntaxManager().getStatementDelimiters()) {
             statementDelimiters.add(delim.toUpperCase(Locale.ENGLISH));
         }
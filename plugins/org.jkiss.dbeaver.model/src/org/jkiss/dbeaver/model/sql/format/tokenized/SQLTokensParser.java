@@ -288,7 +288,8 @@ class SQLTokensParser {
         fPos = 0;
         fBefore = argSql;
 
-        final List<FormatterToken> list = new ArrayList<>();
+        // Formatter modifies tokens list in place, use gap buffer to keep it linear
+        final List<FormatterToken> list = new FormatterTokenList(argSql.length() / 4);
         for (;;) {
             final FormatterToken token = nextToken();
             if (token.getType() == TokenType.END) {
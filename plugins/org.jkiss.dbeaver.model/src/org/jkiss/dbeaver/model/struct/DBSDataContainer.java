@@ -44,6 +44,9 @@ public interface DBSDataContainer extends DBSObject {
     long FLAG_USE_SELECTED_ROWS     = 1 << 2;
     long FLAG_USE_SELECTED_COLUMNS  = 1 << 3;
     long FLAG_FETCH_SEGMENT         = 1 << 4;
+    // All rows are read in one pass (data export, explicit fetch all). Implementation may stream them
+    // through a server-side cursor or a dedicated connection to keep client memory bounded.
+    long FLAG_STREAM_DATA           = 1 << 5;
 
     @Nullable
     DBPDataSource getDataSource();
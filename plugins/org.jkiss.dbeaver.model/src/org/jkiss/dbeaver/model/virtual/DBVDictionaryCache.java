@@ -0,0 +1,304 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.virtual;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDLabelValuePair;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.sql.SQLDataSource;
+import org.jkiss.dbeaver.model.struct.DBSConstraintEnumerable;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.*;
+
+/**
+ * Per-datasource cache of dictionary enumerations and key descriptions.
+ * Entries expire after configured TTL. Least recently used entries are evicted when cache is full.
+ * Entries of an entity are dropped when its data is saved or when the entity is refreshed.
+ */
+public class DBVDictionaryCache {
+
+    private static final int MAX_ENUMERATIONS = 100;
+    private static final int MAX_DESCRIPTIONS = 10000;
+    // IN-list size for non-SQL datasources
+    private static final int DEFAULT_IN_LIST_SIZE = 100;
+
+    // Marks keys which have no row in dictionary table
+    private static final Object NO_DESCRIPTION = new Object();
+
+    private static final Map<DBPDataSource, DBVDictionaryCache> instances = new IdentityHashMap<>();
+
+    public interface EnumerationReader {
+        List<DBDLabelValuePair> readEnumeration() throws DBException;
+    }
+
+    private static class CacheEntry {
+        final DBSEntity entity;
+        final Object value;
+        final long createTime;
+
+        CacheEntry(DBSEntity entity, Object value) {
+            this.entity = entity;
+            this.value = value;
+            this.createTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Key values are compared in normalized form (see {@link DBUtils#normalizeKeyValue(Object)}),
+     * so values read from dictionary table match values of referencing columns of other types.
+     */
+    private static class DescriptionKey {
+        final DBSEntityAttribute keyColumn;
+        final Object keyValue;
+
+        DescriptionKey(DBSEntityAttribute keyColumn, Object keyValue) {
+            this.keyColumn = keyColumn;
+            this.keyValue = DBUtils.normalizeKeyValue(keyValue);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof DescriptionKey &&
+                keyColumn == ((DescriptionKey) obj).keyColumn &&
+                Objects.equals(keyValue, ((DescriptionKey) obj).keyValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(keyColumn) * 31 + Objects.hashCode(keyValue);
+        }
+    }
+
+    private static class LRUMap<K> extends LinkedHashMap<K, CacheEntry> {
+        private final int maxSize;
+
+        LRUMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, CacheEntry> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private final DBPDataSource dataSource;
+    private final LRUMap<Object> enumerations = new LRUMap<>(MAX_ENUMERATIONS);
+    private final LRUMap<DescriptionKey> descriptions = new LRUMap<>(MAX_DESCRIPTIONS);
+
+    private DBVDictionaryCache(DBPDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    public static DBVDictionaryCache getInstance(@NotNull DBPDataSource dataSource) {
+        synchronized (instances) {
+            return instances.computeIfAbsent(dataSource, DBVDictionaryCache::new);
+        }
+    }
+
+    /**
+     * Drops datasource cache. Called on disconnect.
+     */
+    public static void dispose(@NotNull DBPDataSource dataSource) {
+        synchronized (instances) {
+            instances.remove(dataSource);
+        }
+    }
+
+    /**
+     * Drops cached enumerations and descriptions of the specified entity.
+     * If object is a container (schema, catalog) then entries of all its entities are dropped.
+     */
+    public static void invalidate(@NotNull DBSObject object) {
+        DBPDataSource dataSource = object.getDataSource();
+        if (dataSource == null) {
+            return;
+        }
+        DBVDictionaryCache cache;
+        synchronized (instances) {
+            cache = instances.get(dataSource);
+        }
+        if (cache != null) {
+            cache.invalidateEntries(object);
+        }
+    }
+
+    /**
+     * Returns cached enumeration or reads it with the specified reader.
+     * Read values are also cached as key descriptions.
+     * @param entity entity which contains enumerated values
+     * @param keyColumn enumeration key column. If null then values are not cached as key descriptions
+     * @param enumerationKey key of enumeration request. Must implement equals and hashCode
+     */
+    @NotNull
+    public List<DBDLabelValuePair> getEnumeration(@NotNull DBSEntity entity, @Nullable DBSEntityAttribute keyColumn, @NotNull Object enumerationKey, @NotNull EnumerationReader reader)
+        throws DBException
+    {
+        long ttl = getTimeToLive();
+        if (ttl <= 0) {
+            return reader.readEnumeration();
+        }
+        synchronized (this) {
+            CacheEntry entry = enumerations.get(enumerationKey);
+            if (entry != null && !isExpired(entry, ttl)) {
+                @SuppressWarnings("unchecked")
+                List<DBDLabelValuePair> values = (List<DBDLabelValuePair>) entry.value;
+                return values;
+            }
+        }
+        List<DBDLabelValuePair> values = Collections.unmodifiableList(reader.readEnumeration());
+        synchronized (this) {
+            enumerations.put(enumerationKey, new CacheEntry(entity, values));
+            if (keyColumn != null) {
+                cacheDescriptions(keyColumn, values);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns descriptions of specified key values.
+     * Values missing in cache are read with one IN-list query per dialect IN-list limit values.
+     * @return map of requested key value to its description. Values without dictionary rows are not included
+     */
+    @NotNull
+    public Map<Object, String> getKeyDescriptions(
+        @NotNull DBCSession session,
+        @NotNull DBSConstraintEnumerable constraint,
+        @NotNull DBSEntityAttribute keyColumn,
+        @NotNull Collection<?> keyValues)
+        throws DBException
+    {
+        long ttl = getTimeToLive();
+        Map<Object, String> result = new HashMap<>();
+        Map<DescriptionKey, List<Object>> missingValues = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Object value : keyValues) {
+                if (DBUtils.isNullValue(value) || value.getClass().isArray() || result.containsKey(value)) {
+                    continue;
+                }
+                DescriptionKey key = new DescriptionKey(keyColumn, value);
+                CacheEntry entry = ttl <= 0 ? null : descriptions.get(key);
+                if (entry != null && !isExpired(entry, ttl)) {
+                    if (entry.value != NO_DESCRIPTION) {
+                        result.put(value, (String) entry.value);
+                    }
+                } else {
+                    // Requested values of different types may have the same key
+                    missingValues.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+                }
+            }
+        }
+        if (missingValues.isEmpty()) {
+            return result;
+        }
+        int maxInListSize = getMaxInListSize(session);
+        List<DescriptionKey> keyList = new ArrayList<>(missingValues.keySet());
+        for (int i = 0; i < keyList.size(); i += maxInListSize) {
+            if (session.getProgressMonitor().isCanceled()) {
+                break;
+            }
+            List<DescriptionKey> chunkKeys = keyList.subList(i, Math.min(i + maxInListSize, keyList.size()));
+            List<Object> chunk = new ArrayList<>(chunkKeys.size());
+            for (DescriptionKey key : chunkKeys) {
+                chunk.add(missingValues.get(key).get(0));
+            }
+            List<DBDLabelValuePair> pairs = constraint.getKeyEnumeration(session, keyColumn, chunk, null, true, true);
+            Set<DescriptionKey> notFound = new HashSet<>(chunkKeys);
+            for (DBDLabelValuePair pair : pairs) {
+                DescriptionKey key = new DescriptionKey(keyColumn, pair.getValue());
+                List<Object> requestedValues = missingValues.get(key);
+                if (requestedValues != null) {
+                    for (Object value : requestedValues) {
+                        result.put(value, pair.getLabel());
+                    }
+                }
+                notFound.remove(key);
+            }
+            if (ttl > 0) {
+                synchronized (this) {
+                    cacheDescriptions(keyColumn, pairs);
+                    for (DescriptionKey key : notFound) {
+                        descriptions.put(key, new CacheEntry(keyColumn.getParentObject(), NO_DESCRIPTION));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns cached description or null. Never reads database.
+     */
+    public synchronized String getCachedDescription(@NotNull DBSEntityAttribute keyColumn, Object keyValue) {
+        CacheEntry entry = descriptions.get(new DescriptionKey(keyColumn, keyValue));
+        if (entry == null || entry.value == NO_DESCRIPTION || isExpired(entry, getTimeToLive())) {
+            return null;
+        }
+        return (String) entry.value;
+    }
+
+    private void cacheDescriptions(DBSEntityAttribute keyColumn, List<DBDLabelValuePair> values) {
+        for (DBDLabelValuePair pair : values) {
+            Object value = pair.getValue();
+            if (!DBUtils.isNullValue(value) && !value.getClass().isArray()) {
+                descriptions.put(new DescriptionKey(keyColumn, value), new CacheEntry(keyColumn.getParentObject(), pair.getLabel()));
+            }
+        }
+    }
+
+    private synchronized void invalidateEntries(DBSObject object) {
+        enumerations.values().removeIf(entry -> isChildOf(entry.entity, object));
+        descriptions.values().removeIf(entry -> isChildOf(entry.entity, object));
+    }
+
+    private static boolean isChildOf(DBSObject entity, DBSObject object) {
+        for (DBSObject parent = entity; parent != null; parent = parent.getParentObject()) {
+            if (parent == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int getMaxInListSize(DBCSession session) {
+        DBPDataSource dataSource = session.getDataSource();
+        if (dataSource instanceof SQLDataSource) {
+            return Math.max(1, ((SQLDataSource) dataSource).getSQLDialect().getMaxInClauseValues());
+        }
+        return DEFAULT_IN_LIST_SIZE;
+    }
+
+    private long getTimeToLive() {
+        return dataSource.getContainer().getPreferenceStore().getLong(ModelPreferences.RESULT_SET_DICTIONARY_CACHE_TTL) * 1000;
+    }
+
+    private static boolean isExpired(CacheEntry entry, long ttl) {
+        return System.currentTimeMillis() - entry.createTime > ttl;
+    }
+
+}
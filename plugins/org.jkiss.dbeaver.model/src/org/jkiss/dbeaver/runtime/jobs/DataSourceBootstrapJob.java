@@ -0,0 +1,171 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.jobs;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.ArrayUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Connects several datasources concurrently.
+ * At most maxParallel connections are opened at the same time. Drivers are loaded once and shared
+ * by all connections which use them (see DBPDriver.loadDriver).
+ * Connect errors are shown to user when all connections are finished (one error dialog per data source,
+ * like a regular connect does). Job always returns OK status.
+ */
+public class DataSourceBootstrapJob extends AbstractJob
+{
+    private static final Log log = Log.getLog(DataSourceBootstrapJob.class);
+
+    private final List<DBPDataSourceContainer> containers;
+    private final int maxParallel;
+    private final Map<DBPDataSourceContainer, Throwable> connectErrors = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Queue<DBPDataSourceContainer> connectQueue = new ConcurrentLinkedQueue<>();
+    private final List<ConnectWorker> workers = new ArrayList<>();
+
+    public DataSourceBootstrapJob(@NotNull Collection<? extends DBPDataSourceContainer> containers, int maxParallel)
+    {
+        super("Connect to " + containers.size() + " data source(s)");
+        setUser(false);
+        this.containers = new ArrayList<>(containers);
+        this.maxParallel = Math.max(1, maxParallel);
+    }
+
+    public Map<DBPDataSourceContainer, Throwable> getConnectErrors() {
+        synchronized (connectErrors) {
+            return new LinkedHashMap<>(connectErrors);
+        }
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor)
+    {
+        for (DBPDataSourceContainer container : containers) {
+            if (container.isConnected() || !ArrayUtils.isEmpty(Job.getJobManager().find(container))) {
+                // Already connected or connecting
+                continue;
+            }
+            connectQueue.add(container);
+        }
+        if (connectQueue.isEmpty()) {
+            return Status.OK_STATUS;
+        }
+        final int totalCount = connectQueue.size();
+        final int workerCount = Math.min(maxParallel, totalCount);
+        monitor.beginTask("Connect to " + totalCount + " data source(s)", totalCount);
+        try {
+            synchronized (workers) {
+                for (int i = 0; i < workerCount; i++) {
+                    ConnectWorker worker = new ConnectWorker(i + 1, monitor);
+                    workers.add(worker);
+                    worker.schedule();
+                }
+            }
+            for (ConnectWorker worker : getWorkers()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    // Stop waiting, workers will finish by themselves
+                    break;
+                }
+            }
+        } finally {
+            monitor.done();
+        }
+
+        Map<DBPDataSourceContainer, Throwable> errors = getConnectErrors();
+        if (!errors.isEmpty()) {
+            log.debug(errors.size() + " of " + totalCount + " data source(s) failed to connect");
+            for (Map.Entry<DBPDataSourceContainer, Throwable> error : errors.entrySet()) {
+                DBWorkbench.getPlatformUI().showError(
+                    "Connect to '" + error.getKey().getName() + "'",
+                    null,
+                    GeneralUtils.makeExceptionStatus(error.getValue()));
+            }
+        }
+        return Status.OK_STATUS;
+    }
+
+    @Override
+    protected void canceling()
+    {
+        connectQueue.clear();
+        for (ConnectWorker worker : getWorkers()) {
+            worker.cancel();
+        }
+        super.canceling();
+    }
+
+    private List<ConnectWorker> getWorkers() {
+        synchronized (workers) {
+            return new ArrayList<>(workers);
+        }
+    }
+
+    private class ConnectWorker extends AbstractJob {
+        private final DBRProgressMonitor bootstrapMonitor;
+        private volatile DBPDataSourceContainer activeContainer;
+
+        ConnectWorker(int index, DBRProgressMonitor bootstrapMonitor) {
+            super("Connect worker #" + index);
+            setSystem(true);
+            this.bootstrapMonitor = bootstrapMonitor;
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            while (!monitor.isCanceled()) {
+                DBPDataSourceContainer container = connectQueue.poll();
+                if (container == null) {
+                    break;
+                }
+                activeContainer = container;
+                try {
+                    if (!container.isConnected()) {
+                        container.connect(monitor, true, true);
+                    }
+                } catch (Throwable e) {
+                    log.debug("Error connecting to '" + container.getName() + "'", e);
+                    connectErrors.put(container, e);
+                } finally {
+                    activeContainer = null;
+                    synchronized (bootstrapMonitor) {
+                        bootstrapMonitor.worked(1);
+                    }
+                }
+            }
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return family != null && family == activeContainer;
+        }
+    }
+
+}
@@ -33,17 +33,29 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import java.util.*;
 
 /**
- * KeepAliveJob
+ * KeepAliveJob.
+ * Checks connected datasources and schedules ping jobs (they run concurrently).
+ * Ping intervals are jittered to avoid pinging all connections at once. Failing servers are pinged
+ * with exponential back-off. Pings which hang longer than the timeout are counted as failures.
  */
 public class KeepAliveJob extends AbstractJob
 {
     public static final int MONITOR_INTERVAL = 3000; // once per 3 seconds
 
+    // Minimal ping timeout. Actual timeout is max(this, keep-alive interval).
+    private static final long MIN_PING_TIMEOUT = 10000;
+    // Maximal back-off interval for failing servers
+    private static final long MAX_BACKOFF_INTERVAL = 10 * 60 * 1000;
+    private static final int MAX_BACKOFF_SHIFT = 6;
+    // Interval jitter (+-10%)
+    private static final double INTERVAL_JITTER = 0.1;
+
     private static final Log log = Log.getLog(KeepAliveJob.class);
 
     private final DBPPlatform platform;
-    private Map<String, Long> checkCache = new HashMap<>();
-    private final Set<String> pingCache = new HashSet<>();
+    private final Map<String, Long> checkCache = new HashMap<>();
+    private final Map<String, PingJob> pingCache = new HashMap<>();
+    private final Random random = new Random();
 
     public KeepAliveJob(DBPPlatform platform)
     {
@@ -80,18 +92,33 @@ public class KeepAliveJob extends AbstractJob
     }
 
     private void checkDataSourceAlive(final DBPDataSourceContainer dataSourceDescriptor) {
+        final String dsId = dataSourceDescriptor.getId();
         if (!dataSourceDescriptor.isConnected()) {
+            synchronized (this) {
+                checkCache.remove(dsId);
+            }
             return;
         }
         final int keepAliveInterval = dataSourceDescriptor.getConnectionConfiguration().getKeepAliveInterval();
         if (keepAliveInterval <= 0) {
             return;
         }
-        final String dsId = dataSourceDescriptor.getId();
+        final long intervalMs = keepAliveInterval * 1000L;
+        final long curTime = System.currentTimeMillis();
         synchronized (this) {
-            if (pingCache.contains(dsId)) {
+            final PingJob activePing = pingCache.get(dsId);
+            if (activePing != null) {
                 // Ping is still in progress. Hanged?
-                // Anyway - just skip it
+                // Count it as failed and forget it, so the next ping is scheduled with back-off.
+                // Time spent in the jobs queue is not counted.
+                final long pingStartTime = activePing.getStartTime();
+                if (pingStartTime > 0 && curTime - pingStartTime > Math.max(MIN_PING_TIMEOUT, intervalMs) && activePing.markTimedOut()) {
+                    log.debug("Ping of '" + dataSourceDescriptor.getName() + "' timed out");
+                    dataSourceDescriptor.getConnectionHealth().pingFailed("Ping timed out");
+                    activePing.cancel();
+                    pingCache.remove(dsId);
+                    checkCache.put(dsId, curTime + getNextInterval(dataSourceDescriptor, intervalMs));
+                }
                 return;
             }
         }
@@ -99,39 +126,61 @@ public class KeepAliveJob extends AbstractJob
         if (dataSource == null) {
             return;
         }
-        Long lastCheckTime;
+        Long nextCheckTime;
         synchronized (this) {
-            lastCheckTime = checkCache.get(dsId);
+            nextCheckTime = checkCache.get(dsId);
         }
-        if (lastCheckTime == null) {
+        if (nextCheckTime == null) {
             final Date connectTime = dataSourceDescriptor.getConnectTime();
             if (connectTime != null) {
-                lastCheckTime = connectTime.getTime();
+                nextCheckTime = connectTime.getTime() + getNextInterval(dataSourceDescriptor, intervalMs);
+                synchronized (this) {
+                    checkCache.put(dsId, nextCheckTime);
+                }
             }
         }
-        if (lastCheckTime == null) {
+        if (nextCheckTime == null) {
             log.debug("Can't determine last check time for " + dsId);
             return;
         }
-        long curTime = System.currentTimeMillis();
-        if ((curTime - lastCheckTime) / 1000 > keepAliveInterval) {
+        if (curTime >= nextCheckTime) {
             final PingJob pingJob = new PingJob(dataSource);
             pingJob.addJobChangeListener(new JobChangeAdapter() {
                 @Override
                 public void done(IJobChangeEvent event) {
+                    long nextInterval = getNextInterval(dataSourceDescriptor, intervalMs);
                     synchronized (KeepAliveJob.this) {
-                        checkCache.put(dsId, System.currentTimeMillis());
-                        pingCache.remove(dsId);
+                        // Timed out ping was already removed and may be replaced by a newer one
+                        if (pingCache.get(dsId) == pingJob) {
+                            checkCache.put(dsId, System.currentTimeMillis() + nextInterval);
+                            pingCache.remove(dsId);
+                        }
                     }
                 }
             });
             synchronized (this) {
-                pingCache.add(dsId);
+                pingCache.put(dsId, pingJob);
             }
             pingJob.schedule();
         }
     }
 
+    /**
+     * Keep-alive interval with jitter. Grows exponentially while pings fail.
+     */
+    private long getNextInterval(DBPDataSourceContainer dataSourceDescriptor, long intervalMs) {
+        int failures = dataSourceDescriptor.getConnectionHealth().getConsecutiveFailures();
+        long interval = intervalMs;
+        if (failures > 0) {
+            interval = Math.max(intervalMs, Math.min(MAX_BACKOFF_INTERVAL, intervalMs << Math.min(failures, MAX_BACKOFF_SHIFT)));
+        }
+        double jitter;
+        synchronized (random) {
+            jitter = (random.nextDouble() * 2 - 1) * INTERVAL_JITTER;
+        }
+        return (long) (interval * (1 + jitter));
+    }
+
     public void scheduleMonitor() {
         schedule(MONITOR_INTERVAL);
     }
@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.Status;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.connection.DBPConnectionHealth;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -37,6 +38,9 @@ public class PingJob extends AbstractJob
     private static final Log log = Log.getLog(PingJob.class);
 
     private final DBPDataSource dataSource;
+    private volatile long startTime = -1;
+    private boolean timedOut;
+    private boolean completed;
 
     public PingJob(DBPDataSource dataSource)
     {
@@ -50,12 +54,21 @@ public class PingJob extends AbstractJob
     protected IStatus run(DBRProgressMonitor monitor)
     {
         //log.debug("Ping connection " + dataSource.getContainer().getId());
+        final long pingStartTime = System.currentTimeMillis();
+        startTime = pingStartTime;
+        String pingError = null;
         for (final DBSInstance instance : dataSource.getAvailableInstances()) {
             for (final DBCExecutionContext context : instance.getAllContexts()) {
                 try {
                     context.checkContextAlive(monitor);
                 } catch (Exception e) {
                     log.debug("Context [" + dataSource.getName() + "::" + context.getContextName() + "] check failed: " + e.getMessage());
+                    if (pingError == null) {
+                        pingError = e.getMessage();
+                        if (pingError == null) {
+                            pingError = e.getClass().getName();
+                        }
+                    }
                     if (e instanceof DBException) {
                         final List<InvalidateJob.ContextInvalidateResult> results = InvalidateJob.invalidateDataSource(monitor, dataSource, false,
                             () -> DBWorkbench.getPlatformUI().openConnectionEditor(dataSource.getContainer()));
@@ -64,8 +77,46 @@ public class PingJob extends AbstractJob
                 }
             }
         }
+        if (markCompleted()) {
+            // Timed out pings are already counted by keep-alive monitor
+            final DBPConnectionHealth health = dataSource.getContainer().getConnectionHealth();
+            if (pingError == null) {
+                health.pingSucceeded(System.currentTimeMillis() - pingStartTime);
+            } else {
+                health.pingFailed(pingError);
+            }
+        }
         return Status.OK_STATUS;
     }
 
+    /**
+     * Time when ping started to run or -1 if it is still waiting in the jobs queue
+     */
+    long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Marks ping as timed out. Returns false if it was already marked or if ping has completed.
+     */
+    synchronized boolean markTimedOut() {
+        if (timedOut || completed) {
+            return false;
+        }
+        timedOut = true;
+        return true;
+    }
+
+    /**
+     * Marks ping as completed. Returns false if it was already marked as timed out.
+     */
+    private synchronized boolean markCompleted() {
+        if (timedOut) {
+            return false;
+        }
+        completed = true;
+        return true;
+    }
+
 
 }
\ No newline at end of file
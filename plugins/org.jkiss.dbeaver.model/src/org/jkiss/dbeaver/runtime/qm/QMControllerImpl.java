@@ -20,8 +20,11 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.dbeaver.model.qm.metrics.QMMetricsRegistry;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.ArrayUtils;
@@ -45,6 +48,9 @@ public class QMControllerImpl implements QMController {
 
     private QMExecutionHandler defaultHandler;
     private QMMCollectorImpl metaHandler;
+    private final QMMetricsRegistry metricsRegistry = new QMMetricsRegistry();
+    private QMMetricsHandler metricsHandler;
+    private QMMetricsExporter metricsExporter;
     private final List<QMExecutionHandler> handlers = new ArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
@@ -57,6 +63,19 @@ public class QMControllerImpl implements QMController {
 
         metaHandler = new QMMCollectorImpl();
         registerHandler(metaHandler);
+
+        DBPPreferenceStore store = ModelPreferences.getPreferences();
+        if (store.getBoolean(QMConstants.PROP_METRICS_ENABLED)) {
+            metricsHandler = new QMMetricsHandler(metricsRegistry);
+            registerHandler(metricsHandler);
+
+            metricsExporter = new QMMetricsExporter(metricsRegistry);
+            metricsExporter.registerMBean();
+            int httpPort = store.getInt(QMConstants.PROP_METRICS_HTTP_PORT);
+            if (httpPort > 0) {
+                metricsExporter.startHttpEndpoint(httpPort);
+            }
+        }
     }
 
     public void dispose()
@@ -66,6 +85,14 @@ public class QMControllerImpl implements QMController {
             metaHandler.dispose();
             metaHandler = null;
         }
+        if (metricsHandler != null) {
+            unregisterHandler(metricsHandler);
+            metricsHandler = null;
+        }
+        if (metricsExporter != null) {
+            metricsExporter.dispose();
+            metricsExporter = null;
+        }
 
         synchronized (handlers) {
             if (!handlers.isEmpty()) {
@@ -87,6 +114,11 @@ public class QMControllerImpl implements QMController {
         return defaultHandler;
     }
 
+    @Override
+    public QMMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     @Override
     public synchronized QMEventBrowser getEventBrowser(boolean currentSessionOnly) {
         if (currentSessionOnly) {
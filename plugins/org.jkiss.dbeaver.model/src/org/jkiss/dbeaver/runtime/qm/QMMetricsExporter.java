@@ -0,0 +1,252 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.qm.metrics.QMLatencyHistogram;
+import org.jkiss.dbeaver.model.qm.metrics.QMMetricsRegistry;
+import org.jkiss.dbeaver.model.qm.metrics.QMQueryMetrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exposes query metrics via JMX and (optionally) via local HTTP endpoint in Prometheus text format.
+ */
+class QMMetricsExporter implements QMMetricsMBean {
+
+    private static final Log log = Log.getLog(QMMetricsExporter.class);
+
+    private static final String MBEAN_NAME = "org.jkiss.dbeaver:type=QueryMetrics";
+    private static final int MAX_LABEL_LENGTH = 200;
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final QMMetricsRegistry registry;
+    private ObjectName mbeanName;
+    private ServerSocket serverSocket;
+
+    QMMetricsExporter(QMMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    void registerMBean() {
+        try {
+            MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!mbeanServer.isRegistered(name)) {
+                mbeanServer.registerMBean(new StandardMBean(this, QMMetricsMBean.class), name);
+                mbeanName = name;
+            }
+        } catch (Throwable e) {
+            log.debug("Can't register query metrics MBean", e);
+        }
+    }
+
+    /**
+     * Starts HTTP endpoint on the loopback interface. Any GET request returns metrics text.
+     */
+    void startHttpEndpoint(int port) {
+        try {
+            serverSocket = new ServerSocket(port, 10, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            log.error("Can't start query metrics endpoint on port " + port, e);
+            return;
+        }
+        Thread thread = new Thread(this::serveRequests, "Query metrics endpoint");
+        thread.setDaemon(true);
+        thread.start();
+        log.debug("Query metrics endpoint started at http://localhost:" + port + "/metrics");
+    }
+
+    void dispose() {
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+            serverSocket = null;
+        }
+        if (mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+            } catch (Throwable e) {
+                log.debug("Can't unregister query metrics MBean", e);
+            }
+            mbeanName = null;
+        }
+    }
+
+    private void serveRequests() {
+        ServerSocket socket = serverSocket;
+        while (socket != null && !socket.isClosed()) {
+            try (Socket client = socket.accept()) {
+                client.setSoTimeout(5000);
+                BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.ISO_8859_1));
+                // Skip request headers
+                for (String line = in.readLine(); line != null && !line.isEmpty(); line = in.readLine()) {
+                }
+                byte[] body = getMetricsText().getBytes(StandardCharsets.UTF_8);
+                OutputStream out = client.getOutputStream();
+                out.write((
+                    "HTTP/1.1 200 OK\r\n" +
+                    "Content-Type: text/plain; version=0.0.4; charset=utf-8\r\n" +
+                    "Content-Length: " + body.length + "\r\n" +
+                    "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                out.write(body);
+                out.flush();
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.debug("Query metrics request failed", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getTrackedQueryCount() {
+        int count = 0;
+        for (QMQueryMetrics metrics : registry.getMetrics()) {
+            if (!metrics.isDataSourceTotal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getTotalExecuteCount() {
+        long count = 0;
+        for (QMQueryMetrics metrics : registry.getMetrics()) {
+            if (metrics.isDataSourceTotal()) {
+                count += metrics.getExecuteCount();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String[] getQuerySummaries() {
+        List<String> result = new ArrayList<>();
+        for (QMQueryMetrics metrics : registry.getMetrics()) {
+            QMLatencyHistogram executeTime = metrics.getExecuteTime();
+            result.add(String.format(Locale.ENGLISH, "%s\tcount=%d\tp50=%.3fms\tp99=%.3fms\t%s",
+                metrics.getContainerName(),
+                metrics.getExecuteCount(),
+                executeTime.getPercentile(50) / 1000.0,
+                executeTime.getPercentile(99) / 1000.0,
+                metrics.getFingerprint()));
+        }
+        return result.toArray(new String[0]);
+    }
+
+    @Override
+    public String getMetricsText() {
+        List<QMQueryMetrics> allMetrics = registry.getMetrics();
+        StringBuilder text = new StringBuilder();
+        appendSummary(text, allMetrics, "dbeaver_query_execute_seconds", "Statement execution time", 1e-6, QMQueryMetrics::getExecuteTime);
+        appendSummary(text, allMetrics, "dbeaver_query_first_row_seconds", "Time from execution start to the first fetched row", 1e-6, QMQueryMetrics::getFirstRowTime);
+        appendSummary(text, allMetrics, "dbeaver_query_fetch_rows_per_second", "Result set fetch rate", 1, QMQueryMetrics::getFetchRate);
+        appendSummary(text, allMetrics, "dbeaver_query_rows", "Rows fetched or updated per execution", 1, QMQueryMetrics::getRowCount);
+        text.append("# HELP dbeaver_query_errors_total Failed executions\n");
+        text.append("# TYPE dbeaver_query_errors_total counter\n");
+        for (QMQueryMetrics metrics : allMetrics) {
+            text.append("dbeaver_query_errors_total");
+            appendLabels(text, metrics, null);
+            text.append(' ').append(metrics.getErrorCount()).append('\n');
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void reset() {
+        registry.reset();
+    }
+
+    private interface HistogramGetter {
+        QMLatencyHistogram get(QMQueryMetrics metrics);
+    }
+
+    private static void appendSummary(StringBuilder text, List<QMQueryMetrics> allMetrics, String name, String help, double scale, HistogramGetter getter) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(" summary\n");
+        for (QMQueryMetrics metrics : allMetrics) {
+            QMLatencyHistogram histogram = getter.get(metrics);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            for (double quantile : QUANTILES) {
+                text.append(name);
+                appendLabels(text, metrics, String.valueOf(quantile));
+                text.append(' ').append(histogram.getPercentile(quantile * 100) * scale).append('\n');
+            }
+            text.append(name).append("_sum");
+            appendLabels(text, metrics, null);
+            text.append(' ').append(histogram.getSum() * scale).append('\n');
+            text.append(name).append("_count");
+            appendLabels(text, metrics, null);
+            text.append(' ').append(histogram.getCount()).append('\n');
+        }
+    }
+
+    private static void appendLabels(StringBuilder text, QMQueryMetrics metrics, String quantile) {
+        text.append("{datasource=\"");
+        escapeLabel(text, metrics.getContainerName());
+        text.append("\",query=\"");
+        escapeLabel(text, getQueryLabel(metrics.getFingerprint()));
+        text.append('"');
+        if (quantile != null) {
+            text.append(",quantile=\"").append(quantile).append('"');
+        }
+        text.append('}');
+    }
+
+    /**
+     * Long fingerprints are truncated. Hash of the full fingerprint is appended,
+     * so queries with the same prefix still get different labels.
+     */
+    private static String getQueryLabel(String fingerprint) {
+        if (fingerprint.length() <= MAX_LABEL_LENGTH) {
+            return fingerprint;
+        }
+        String hash = Integer.toHexString(fingerprint.hashCode());
+        return fingerprint.substring(0, MAX_LABEL_LENGTH) + "... #" + "00000000".substring(hash.length()) + hash;
+    }
+
+    private static void escapeLabel(StringBuilder text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': text.append("\\\\"); break;
+                case '"': text.append("\\\""); break;
+                case '\n': text.append("\\n"); break;
+                default: text.append(c); break;
+            }
+        }
+    }
+
+}
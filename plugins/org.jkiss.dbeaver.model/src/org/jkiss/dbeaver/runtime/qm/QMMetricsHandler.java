@@ -0,0 +1,174 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.qm.metrics.QMMetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds query metrics registry with statement execution timings.
+ * All work is done on the execution thread: System.nanoTime() calls and a map lookup on each event,
+ * plus query fingerprinting and histogram update when the execution is recorded (after the statement
+ * or its result set is closed). Fingerprinting is linear in the query text length.
+ */
+class QMMetricsHandler extends DefaultExecutionHandler {
+
+    // Protection from statements which were never closed
+    private static final int MAX_ACTIVE_STATEMENTS = 10000;
+    private static final long CLEANUP_PERIOD = 1000;
+
+    private final QMMetricsRegistry registry;
+    private final Map<DBCStatement, StatementTiming> statements = new ConcurrentHashMap<>();
+    private volatile long lastCleanupTime;
+
+    private static class StatementTiming {
+        final long executeBegin;
+        long executeEnd;
+        long updateCount = -1;
+        boolean error;
+        boolean recorded;
+
+        StatementTiming(long executeBegin) {
+            this.executeBegin = executeBegin;
+        }
+    }
+
+    QMMetricsHandler(QMMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @NotNull
+    @Override
+    public String getHandlerName() {
+        return "Metrics";
+    }
+
+    @Override
+    public void handleContextClose(@NotNull DBCExecutionContext context) {
+        // Statements are closed with their connection
+        statements.entrySet().removeIf(entry -> {
+            DBCStatement statement = entry.getKey();
+            if (statement.getSession().getExecutionContext() != context) {
+                return false;
+            }
+            StatementTiming timing = entry.getValue();
+            if (!timing.recorded && timing.executeEnd > 0) {
+                record(statement, timing, -1, -1, timing.updateCount);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(@NotNull DBCStatement statement) {
+        if (statements.size() >= MAX_ACTIVE_STATEMENTS && !statements.containsKey(statement)) {
+            removeClosedStatements();
+            if (statements.size() >= MAX_ACTIVE_STATEMENTS) {
+                // Too many open statements. Do not track new ones.
+                return;
+            }
+        }
+        StatementTiming prevTiming = statements.put(statement, new StatementTiming(System.nanoTime()));
+        if (prevTiming != null && !prevTiming.recorded && prevTiming.executeEnd > 0) {
+            // Statement re-execution. Record previous execution without fetch info
+            record(statement, prevTiming, -1, -1, prevTiming.updateCount);
+        }
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+        StatementTiming timing = statements.get(statement);
+        if (timing != null) {
+            timing.executeEnd = System.nanoTime();
+            timing.updateCount = rows;
+            timing.error = error != null;
+        }
+    }
+
+    @Override
+    public void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount) {
+        StatementTiming timing = statements.get(resultSet.getSourceStatement());
+        if (timing == null || timing.recorded || timing.executeEnd == 0) {
+            return;
+        }
+        long fetchTime = System.nanoTime() - timing.executeEnd;
+        long firstRowTime = -1;
+        if (resultSet instanceof JDBCResultSetImpl) {
+            long firstRow = ((JDBCResultSetImpl) resultSet).getFirstRowTime();
+            if (firstRow > 0) {
+                firstRowTime = firstRow - timing.executeBegin;
+            }
+        }
+        record(resultSet.getSourceStatement(), timing, firstRowTime, fetchTime, rowCount);
+    }
+
+    @Override
+    public void handleStatementClose(@NotNull DBCStatement statement, long rows) {
+        StatementTiming timing = statements.remove(statement);
+        if (timing != null && !timing.recorded && timing.executeEnd > 0) {
+            record(statement, timing, -1, -1, timing.updateCount);
+        }
+    }
+
+    /**
+     * Removes statements of disconnected contexts which were closed without close notification.
+     * Runs at most once per {@link #CLEANUP_PERIOD} because it checks all tracked statements.
+     * Statements of live connections are removed by close events only: other connections are busy
+     * with their own work, so their JDBC statements are not touched here.
+     */
+    private void removeClosedStatements() {
+        long curTime = System.currentTimeMillis();
+        if (curTime - lastCleanupTime < CLEANUP_PERIOD) {
+            return;
+        }
+        lastCleanupTime = curTime;
+        statements.keySet().removeIf(QMMetricsHandler::isStatementClosed);
+    }
+
+    private static boolean isStatementClosed(DBCStatement statement) {
+        // Context state check doesn't call the driver
+        return !statement.getSession().getExecutionContext().isConnected();
+    }
+
+    private void record(DBCStatement statement, StatementTiming timing, long firstRowNanos, long fetchNanos, long rows) {
+        timing.recorded = true;
+        DBPDataSource dataSource = statement.getSession().getDataSource();
+        DBPDataSourceContainer container = dataSource == null ? null : dataSource.getContainer();
+        if (container == null) {
+            return;
+        }
+        registry.recordExecution(
+            container.getId(),
+            container.getName(),
+            statement.getQueryString(),
+            (timing.executeEnd - timing.executeBegin) / 1000,
+            firstRowNanos < 0 ? -1 : firstRowNanos / 1000,
+            fetchNanos < 0 ? -1 : fetchNanos / 1000,
+            rows,
+            timing.error);
+    }
+
+}
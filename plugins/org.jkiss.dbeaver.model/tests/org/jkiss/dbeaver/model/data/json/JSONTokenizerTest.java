@@ -0,0 +1,162 @@
+package org.jkiss.dbeaver.model.data.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JSONTokenizerTest {
+
+    @Test
+    public void testTokens() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("{\"a\": 1, \"b\": [true, false, null], \"c\": {\"d\": \"x\"}}");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+        assertEquals(1, tokenizer.getDepth());
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "a");
+        assertToken(tokenizer, JSONTokenizer.Token.NUMBER, "1");
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "b");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_ARRAY, null);
+        assertEquals(2, tokenizer.getDepth());
+        assertToken(tokenizer, JSONTokenizer.Token.TRUE, null);
+        assertToken(tokenizer, JSONTokenizer.Token.FALSE, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NULL, null);
+        assertToken(tokenizer, JSONTokenizer.Token.END_ARRAY, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "c");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "d");
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "x");
+        assertToken(tokenizer, JSONTokenizer.Token.END_OBJECT, null);
+        assertToken(tokenizer, JSONTokenizer.Token.END_OBJECT, null);
+        assertEquals(0, tokenizer.getDepth());
+        assertToken(tokenizer, JSONTokenizer.Token.END, null);
+        assertToken(tokenizer, JSONTokenizer.Token.END, null);
+    }
+
+    @Test
+    public void testStringsInArrayAreNotNames() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("{\"list\":[\"a\",\"b\"],\"next\":\"c\"}");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "list");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_ARRAY, null);
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "a");
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "b");
+        assertToken(tokenizer, JSONTokenizer.Token.END_ARRAY, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "next");
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "c");
+        assertToken(tokenizer, JSONTokenizer.Token.END_OBJECT, null);
+    }
+
+    @Test
+    public void testStringEscapes() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("\"q\\\"b\\\\s\\/n\\nr\\rt\\tf\\fb\\bu\\u0041\\u00e9\\u20AC\"");
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "q\"b\\s/n\nr\rt\tf\fb\bu" + 'A' + (char) 0xE9 + (char) 0x20AC);
+    }
+
+    @Test
+    public void testEscapedNameAndEmptyString() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("{\"a\\\"b\": \"\"}");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "a\"b");
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "");
+        assertToken(tokenizer, JSONTokenizer.Token.END_OBJECT, null);
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("[-1.5e+3,0,\n12]");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_ARRAY, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NUMBER, "-1.5e+3");
+        assertToken(tokenizer, JSONTokenizer.Token.NUMBER, "0");
+        assertToken(tokenizer, JSONTokenizer.Token.NUMBER, "12");
+        assertToken(tokenizer, JSONTokenizer.Token.END_ARRAY, null);
+        assertToken(tokenizer, JSONTokenizer.Token.END, null);
+    }
+
+    @Test
+    public void testUnterminatedString() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("[\"abc");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_ARRAY, null);
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "abc");
+        assertToken(tokenizer, JSONTokenizer.Token.END, null);
+
+        tokenizer = tokenizer("\"abc\\");
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "abc");
+        assertToken(tokenizer, JSONTokenizer.Token.END, null);
+    }
+
+    @Test
+    public void testDeepNesting() throws IOException {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            json.append("[{\"a\":");
+        }
+        json.append("1");
+        for (int i = 0; i < 100; i++) {
+            json.append("}]");
+        }
+        JSONTokenizer tokenizer = tokenizer(json.toString());
+        for (int i = 0; i < 100; i++) {
+            assertToken(tokenizer, JSONTokenizer.Token.BEGIN_ARRAY, null);
+            assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+            assertToken(tokenizer, JSONTokenizer.Token.NAME, "a");
+        }
+        assertEquals(200, tokenizer.getDepth());
+        assertToken(tokenizer, JSONTokenizer.Token.NUMBER, "1");
+        for (int i = 0; i < 100; i++) {
+            assertToken(tokenizer, JSONTokenizer.Token.END_OBJECT, null);
+            assertToken(tokenizer, JSONTokenizer.Token.END_ARRAY, null);
+        }
+        assertEquals(0, tokenizer.getDepth());
+        assertToken(tokenizer, JSONTokenizer.Token.END, null);
+    }
+
+    @Test
+    public void testSkipValue() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("[{\"a\": [1, {\"b\": [2]}]}, \"x\", 3]");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_ARRAY, null);
+        assertTrue(tokenizer.skipValue());
+        assertEquals(1, tokenizer.getDepth());
+        assertToken(tokenizer, JSONTokenizer.Token.STRING, "x");
+        assertTrue(tokenizer.skipValue());
+        assertFalse(tokenizer.skipValue());
+        assertFalse(tokenizer.skipValue());
+    }
+
+    @Test
+    public void testSkipNameWithValue() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("{\"a\": {\"x\": 1}, \"b\": 2}");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+        assertTrue(tokenizer.skipValue());
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "b");
+    }
+
+    @Test
+    public void testReadRawValue() throws IOException {
+        JSONTokenizer tokenizer = tokenizer("{\"a\" :  [1, {\"b\": \"x\\\"y\"}] , \"c\":3,\"d\":\"s\\n\"}");
+        assertToken(tokenizer, JSONTokenizer.Token.BEGIN_OBJECT, null);
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "a");
+        assertEquals("[1, {\"b\": \"x\\\"y\"}]", tokenizer.readRawValue());
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "c");
+        assertEquals("3", tokenizer.readRawValue());
+        assertToken(tokenizer, JSONTokenizer.Token.NAME, "d");
+        assertEquals("\"s\\n\"", tokenizer.readRawValue());
+        assertNull(tokenizer.readRawValue());
+    }
+
+    private static JSONTokenizer tokenizer(String json) {
+        return new JSONTokenizer(new StringReader(json));
+    }
+
+    private static void assertToken(JSONTokenizer tokenizer, JSONTokenizer.Token expected, String text) throws IOException {
+        assertEquals(expected, tokenizer.next());
+        if (text != null) {
+            assertEquals(text, tokenizer.getText());
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.jkiss.dbeaver.model.data.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class JSONUtilsTest {
+
+    private static final String DOCUMENT =
+        "{\n" +
+        "  \"id\": 10,\n" +
+        "  \"items\": [\n" +
+        "    {\"name\": \"first\"},\n" +
+        "    {\"name\": \"second\", \"tags\": [\"a\", \"b\"]},\n" +
+        "    {\"name\": \"third \\\"quoted\\\"\", \"size\": {\"w\": 1, \"h\": 2}}\n" +
+        "  ],\n" +
+        "  \"empty\": {}\n" +
+        "}";
+
+    @Test
+    public void testDisplayPrefixCompactsWhitespaces() throws IOException {
+        assertEquals(
+            "{ \"a\": \"x  y\", \"b\": [1, 2] }",
+            JSONUtils.getDisplayPrefix(new StringReader("  {\n\t\"a\":   \"x  y\",\n  \"b\": [1,\n 2]\n}\n"), 100));
+    }
+
+    @Test
+    public void testDisplayPrefixEscapedQuote() throws IOException {
+        // Escaped quote doesn't end the string, so its whitespaces are kept
+        assertEquals(
+            "[\"a\\\"  b\", \"c\"]",
+            JSONUtils.getDisplayPrefix(new StringReader("[\"a\\\"  b\",   \"c\"]"), 100));
+    }
+
+    @Test
+    public void testDisplayPrefixTruncation() throws IOException {
+        assertEquals("[1, 2, 3]", JSONUtils.getDisplayPrefix(new StringReader("[1, 2, 3]"), 9));
+        assertEquals("[1, 2,...", JSONUtils.getDisplayPrefix(new StringReader("[1, 2, 3]"), 6));
+        assertEquals("", JSONUtils.getDisplayPrefix(new StringReader(""), 6));
+    }
+
+    @Test
+    public void testTopLevelKeys() throws IOException {
+        assertEquals(Arrays.asList("id", "items", "empty"), JSONUtils.getTopLevelKeys(new StringReader(DOCUMENT)));
+        assertEquals(Collections.singletonList("a\"b"), JSONUtils.getTopLevelKeys(new StringReader("{\"a\\\"b\": {\"c\": 1}}")));
+        assertEquals(Collections.emptyList(), JSONUtils.getTopLevelKeys(new StringReader("{}")));
+        assertEquals(Collections.emptyList(), JSONUtils.getTopLevelKeys(new StringReader("[{\"a\": 1}]")));
+        assertEquals(Collections.emptyList(), JSONUtils.getTopLevelKeys(new StringReader("")));
+    }
+
+    @Test
+    public void testExtractPath() throws IOException {
+        assertEquals("10", extract("id"));
+        assertEquals("\"second\"", extract("items[1].name"));
+        assertEquals("\"third \\\"quoted\\\"\"", extract("$.items[2].name"));
+        assertEquals("{\"w\": 1, \"h\": 2}", extract("items[2].size"));
+        assertEquals("2", extract("items[2].size.h"));
+        assertEquals("\"b\"", extract("items[1].tags[1]"));
+        assertEquals("{}", extract("empty"));
+        assertEquals("{\"name\": \"first\"}", extract("items[0]"));
+    }
+
+    @Test
+    public void testExtractMissingPath() throws IOException {
+        assertNull(extract("missing"));
+        assertNull(extract("items[3]"));
+        assertNull(extract("items[0].tags"));
+        assertNull(extract("items.name"));
+        assertNull(extract("id[0]"));
+        assertNull(extract("empty.x"));
+        assertNull(JSONUtils.extractPath(new StringReader("[]"), "[0]"));
+    }
+
+    @Test
+    public void testParseValue() throws IOException {
+        Object value = JSONUtils.parseValue(new StringReader("{\"b\": [1, 2.5, \"x\", true, null], \"a\": {}, \"big\": 12345678901234567890}"));
+        Map<String, Object> object = JSONUtils.getObject(value);
+        assertEquals(Arrays.asList("b", "a", "big"), new ArrayList<>(object.keySet()));
+        assertEquals(Arrays.asList(1L, 2.5, "x", true, null), object.get("b"));
+        assertEquals(Collections.emptyMap(), JSONUtils.getObject(object.get("a")));
+        assertEquals(1.2345678901234567e19, (Double) object.get("big"), 1e4);
+        assertNull(JSONUtils.getObject(object.get("b")));
+        assertNull(JSONUtils.getObject(null));
+        assertNull(JSONUtils.getObject(Collections.singletonMap(1, "x")));
+        assertNull(JSONUtils.parseValue(new StringReader("")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPath() throws IOException {
+        extract("items[1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPathIndex() throws IOException {
+        extract("items[x].name");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPathIndex() throws IOException {
+        extract("items[]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativePathIndex() throws IOException {
+        extract("items[-1]");
+    }
+
+    private static String extract(String path) throws IOException {
+        return JSONUtils.extractPath(new StringReader(DOCUMENT), path);
+    }
+
+}
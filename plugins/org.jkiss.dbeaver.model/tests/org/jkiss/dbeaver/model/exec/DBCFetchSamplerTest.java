@@ -0,0 +1,135 @@
+package org.jkiss.dbeaver.model.exec;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DBCFetchSamplerTest {
+
+    private static final String PHASE = DBCFetchSampler.PHASE_VALUE_CONVERSION;
+
+    @Test
+    public void testOneSampledRowPerInterval() throws DBCException {
+        DBCFetchSampler sampler = new DBCFetchSampler(10, new Random(1));
+        DBCResultSet resultSet = createResultSet(100);
+        int[] sampledPerInterval = new int[10];
+        for (int row = 0; sampler.nextRow(resultSet); row++) {
+            if (sampler.isRowSampled()) {
+                sampledPerInterval[row / 10]++;
+            }
+        }
+        for (int sampled : sampledPerInterval) {
+            assertEquals(1, sampled);
+        }
+    }
+
+    @Test
+    public void testSampledRowsAreRandom() throws DBCException {
+        DBCFetchSampler sampler = new DBCFetchSampler(10, new Random(1));
+        DBCResultSet resultSet = createResultSet(1000);
+        boolean[] offsets = new boolean[10];
+        for (int row = 0; sampler.nextRow(resultSet); row++) {
+            if (sampler.isRowSampled()) {
+                offsets[row % 10] = true;
+            }
+        }
+        int offsetCount = 0;
+        for (boolean offset : offsets) {
+            if (offset) offsetCount++;
+        }
+        assertTrue(offsetCount > 1);
+    }
+
+    @Test
+    public void testExtrapolation() throws DBCException {
+        DBCFetchSampler sampler = new DBCFetchSampler(10, new Random(1));
+        DBCResultSet resultSet = createResultSet(100);
+        long rowCount = fetch(sampler, resultSet, Long.MAX_VALUE);
+        assertEquals(100, rowCount);
+
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setRowsFetched(rowCount);
+        sampler.flush(statistics);
+        // 10 sampled rows of 1000ns each, extrapolated to 100 rows
+        assertEquals(Long.valueOf(100000), statistics.getPhaseTimes().get(PHASE));
+        assertTrue(statistics.getPhaseTimes().containsKey(DBCFetchSampler.PHASE_DRIVER_FETCH));
+    }
+
+    @Test
+    public void testRowAfterLimitIsNotCounted() throws DBCException {
+        for (int seed = 0; seed < 20; seed++) {
+            DBCFetchSampler sampler = new DBCFetchSampler(10, new Random(seed));
+            // Reader fetches one row more than limit to detect more rows
+            long rowCount = fetch(sampler, createResultSet(200), 100);
+            assertEquals(100, rowCount);
+
+            DBCStatistics statistics = new DBCStatistics();
+            statistics.setRowsFetched(rowCount);
+            sampler.flush(statistics);
+            assertEquals(Long.valueOf(100000), statistics.getPhaseTimes().get(PHASE));
+        }
+    }
+
+    @Test
+    public void testSamplingDisabled() throws DBCException {
+        DBCFetchSampler sampler = new DBCFetchSampler(0);
+        long rowCount = fetch(sampler, createResultSet(50), Long.MAX_VALUE);
+        assertEquals(50, rowCount);
+
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setRowsFetched(rowCount);
+        sampler.flush(statistics);
+        assertNull(statistics.getPhaseTimes().get(PHASE));
+        assertTrue(statistics.getPhaseTimes().containsKey(DBCFetchSampler.PHASE_DRIVER_FETCH));
+    }
+
+    @Test
+    public void testFlushResetsSampler() throws DBCException {
+        DBCFetchSampler sampler = new DBCFetchSampler(10, new Random(1));
+        sampler.addPhaseTime(DBCFetchSampler.PHASE_UI_REFRESH, 500);
+        long rowCount = fetch(sampler, createResultSet(30), Long.MAX_VALUE);
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setRowsFetched(rowCount);
+        sampler.flush(statistics);
+        assertEquals(Long.valueOf(30000), statistics.getPhaseTimes().get(PHASE));
+        assertEquals(Long.valueOf(500), statistics.getPhaseTimes().get(DBCFetchSampler.PHASE_UI_REFRESH));
+
+        statistics = new DBCStatistics();
+        sampler.flush(statistics);
+        assertTrue(statistics.getPhaseTimes().isEmpty());
+    }
+
+    /**
+     * Same loop as in JDBCTable.readData. Each sampled row conversion takes 1000ns.
+     */
+    private static long fetch(DBCFetchSampler sampler, DBCResultSet resultSet, long maxRows) throws DBCException {
+        long rowCount = 0;
+        while (sampler.nextRow(resultSet)) {
+            if (rowCount >= maxRows) {
+                break;
+            }
+            if (sampler.isRowSampled()) {
+                sampler.addRowPhaseTime(PHASE, 1000);
+            }
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    private static DBCResultSet createResultSet(int rowCount) {
+        int[] position = new int[1];
+        return (DBCResultSet) Proxy.newProxyInstance(
+            DBCFetchSamplerTest.class.getClassLoader(),
+            new Class[] { DBCResultSet.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("nextRow")) {
+                    return position[0]++ < rowCount;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.jkiss.dbeaver.model.impl.jdbc.data;
+
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Test;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+public class JDBCContentBLOBStorageTest {
+
+    private static final int PAGE_SIZE = JDBCContentLOBStorage.PAGE_SIZE;
+
+    @Test
+    public void testReadAcrossPageBoundary() throws Exception {
+        byte[] data = makeData(2 * PAGE_SIZE + 100);
+        JDBCContentBLOBStorage storage = makeStorage(data);
+
+        byte[] buffer = new byte[20];
+        assertEquals(20, storage.readContent(PAGE_SIZE - 10, buffer, 0, 20));
+        assertArrayEquals(copyOf(data, PAGE_SIZE - 10, 20), buffer);
+
+        // Last page is shorter than page size
+        buffer = new byte[200];
+        assertEquals(100, storage.readContent(2 * PAGE_SIZE, buffer, 0, 200));
+        assertArrayEquals(copyOf(data, 2 * PAGE_SIZE, 100), copyOf(buffer, 0, 100));
+
+        assertEquals(-1, storage.readContent(data.length, buffer, 0, 1));
+    }
+
+    @Test
+    public void testStreamReadsWholeContent() throws Exception {
+        byte[] data = makeData(3 * PAGE_SIZE + 1);
+        JDBCContentBLOBStorage storage = makeStorage(data);
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream is = storage.getContentStream()) {
+            byte[] buffer = new byte[PAGE_SIZE / 3];
+            for (int count; (count = is.read(buffer)) != -1; ) {
+                result.write(buffer, 0, count);
+            }
+        }
+        assertArrayEquals(data, result.toByteArray());
+    }
+
+    @Test
+    public void testLoadContent() throws Exception {
+        byte[] data = makeData(3 * PAGE_SIZE);
+        JDBCContentBLOBStorage storage = makeStorage(data);
+
+        assertFalse(storage.isContentLoaded(PAGE_SIZE - 1, 2));
+        storage.loadContent(new VoidProgressMonitor(), PAGE_SIZE - 1, 2);
+        assertTrue(storage.isContentLoaded(PAGE_SIZE - 1, 2));
+        assertTrue(storage.isContentLoaded(0, 2 * PAGE_SIZE));
+        assertFalse(storage.isContentLoaded(2 * PAGE_SIZE - 1, 2));
+    }
+
+    @Test
+    public void testInvalidLocatorOnLaterPage() throws Exception {
+        byte[] data = makeData(3 * PAGE_SIZE);
+        JDBCContentBLOBStorage storage = new JDBCContentBLOBStorage(null, null, new SerialBlob(data) {
+            @Override
+            public byte[] getBytes(long pos, int length) throws javax.sql.rowset.serial.SerialException {
+                if (pos > PAGE_SIZE) {
+                    throw new javax.sql.rowset.serial.SerialException("Locator is closed");
+                }
+                return super.getBytes(pos, length);
+            }
+        }, data.length, "UTF-8");
+
+        byte[] buffer = new byte[10];
+        assertEquals(10, storage.readContent(0, buffer, 0, 10));
+        try {
+            storage.readContent(PAGE_SIZE, buffer, 0, 10);
+            fail("Read of invalid locator must fail");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            storage.loadContent(new VoidProgressMonitor(), 2 * PAGE_SIZE, 10);
+            fail("Storage must stay invalid");
+        } catch (DBCException e) {
+            assertTrue(e.getCause().getMessage().contains("not valid"));
+        }
+        // Cached page is still readable
+        assertEquals(10, storage.readContent(0, buffer, 0, 10));
+    }
+
+    @Test
+    public void testShortPageIsRejected() throws Exception {
+        byte[] data = makeData(2 * PAGE_SIZE);
+        JDBCContentBLOBStorage storage = new JDBCContentBLOBStorage(null, null, new SerialBlob(data) {
+            @Override
+            public byte[] getBytes(long pos, int length) throws javax.sql.rowset.serial.SerialException {
+                return super.getBytes(pos, pos > PAGE_SIZE ? length / 2 : length);
+            }
+        }, data.length, "UTF-8");
+
+        byte[] buffer = new byte[10];
+        assertEquals(10, storage.readContent(0, buffer, 0, 10));
+        try {
+            storage.readContent(PAGE_SIZE, buffer, 0, 10);
+            fail("Short page must be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("not valid"));
+        }
+    }
+
+    private static JDBCContentBLOBStorage makeStorage(byte[] data) throws SQLException {
+        return new JDBCContentBLOBStorage(null, null, new SerialBlob(data), data.length, "UTF-8");
+    }
+
+    private static byte[] makeData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + i / 251);
+        }
+        return data;
+    }
+
+    private static byte[] copyOf(byte[] data, int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(data, offset, result, 0, length);
+        return result;
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.jkiss.dbeaver.model.impl.jdbc.data;
+
+import org.junit.Test;
+
+import javax.sql.rowset.serial.SerialClob;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class JDBCContentCLOBStorageTest {
+
+    private static final int PAGE_SIZE = JDBCContentLOBStorage.PAGE_SIZE;
+    // U+1F600, encoded as a surrogate pair
+    private static final String EMOJI = new String(Character.toChars(0x1F600));
+
+    @Test
+    public void testReaderAcrossPageBoundary() throws Exception {
+        String text = makeText(2 * PAGE_SIZE + 100);
+        JDBCContentCLOBStorage storage = makeStorage(text);
+
+        assertEquals(text, readAll(storage.getContentReader(), PAGE_SIZE / 3));
+        assertEquals(text, readAll(storage.getContentReader(), 2 * PAGE_SIZE + 7));
+
+        try (Reader reader = storage.getContentReader()) {
+            assertEquals(PAGE_SIZE - 5, reader.skip(PAGE_SIZE - 5));
+            char[] buffer = new char[10];
+            assertEquals(10, reader.read(buffer, 0, 10));
+            assertEquals(text.substring(PAGE_SIZE - 5, PAGE_SIZE + 5), new String(buffer));
+        }
+    }
+
+    @Test
+    public void testSurrogatePairOnPageBoundary() throws Exception {
+        // High surrogate is the last char of the first page, low surrogate is the first char of the second one
+        String text = makeText(PAGE_SIZE - 1) + EMOJI + makeText(PAGE_SIZE);
+        assertEquals(Character.MIN_HIGH_SURROGATE, text.charAt(PAGE_SIZE - 1) & 0xFC00);
+        checkEncoding(text);
+    }
+
+    @Test
+    public void testSurrogatePairsEverywhere() throws Exception {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 3 * PAGE_SIZE) {
+            text.append('a').append(EMOJI).append(EMOJI).append("\u00e9");
+        }
+        checkEncoding(text.toString());
+        checkEncoding("x" + text);
+    }
+
+    @Test
+    public void testTrailingHighSurrogate() throws Exception {
+        // Malformed content still must be fully encoded
+        String text = makeText(PAGE_SIZE) + '\uD83D';
+        checkEncoding(text);
+    }
+
+    private static void checkEncoding(String text) throws Exception {
+        JDBCContentCLOBStorage storage = makeStorage(text);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream is = storage.getContentStream()) {
+            byte[] buffer = new byte[1000];
+            for (int count; (count = is.read(buffer)) != -1; ) {
+                result.write(buffer, 0, count);
+            }
+        }
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), result.toByteArray());
+    }
+
+    private static String readAll(Reader reader, int bufferSize) throws Exception {
+        StringBuilder result = new StringBuilder();
+        try {
+            char[] buffer = new char[bufferSize];
+            for (int count; (count = reader.read(buffer, 0, buffer.length)) != -1; ) {
+                result.append(buffer, 0, count);
+            }
+        } finally {
+            reader.close();
+        }
+        return result.toString();
+    }
+
+    private static JDBCContentCLOBStorage makeStorage(String text) throws SQLException {
+        return new JDBCContentCLOBStorage(null, null, new SerialClob(text.toCharArray()), text.length(), "UTF-8");
+    }
+
+    private static String makeText(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        return text.toString();
+    }
+
+}
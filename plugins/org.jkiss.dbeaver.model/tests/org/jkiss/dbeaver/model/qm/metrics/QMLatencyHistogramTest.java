@@ -0,0 +1,121 @@
+package org.jkiss.dbeaver.model.qm.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QMLatencyHistogramTest {
+
+    private static final long MAX_VALUE = (1L << 36) - 1;
+
+    @Test
+    public void testSmallValuesAreExact() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, QMLatencyHistogram.getBucketIndex(value));
+            assertEquals(value, QMLatencyHistogram.getBucketUpperBound(value));
+        }
+    }
+
+    @Test
+    public void testBucketBounds() {
+        int prevIndex = 0;
+        for (long value = 1; value < 200000; value++) {
+            checkBucket(value);
+            int index = QMLatencyHistogram.getBucketIndex(value);
+            // Buckets are contiguous
+            assertTrue(index == prevIndex || index == prevIndex + 1);
+            prevIndex = index;
+        }
+        for (int bit = 17; bit <= 36; bit++) {
+            long power = 1L << bit;
+            checkBucket(power - 1);
+            checkBucket(power);
+            checkBucket(power + 1);
+            checkBucket(power + power / 3);
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoStartsBucket() {
+        for (int bit = 4; bit < 36; bit++) {
+            long power = 1L << bit;
+            int index = QMLatencyHistogram.getBucketIndex(power);
+            assertEquals(power - 1, QMLatencyHistogram.getBucketUpperBound(index - 1));
+            assertEquals(index + 1, QMLatencyHistogram.getBucketIndex(power + (power >> 3)));
+        }
+    }
+
+    @Test
+    public void testLastBucket() {
+        int lastIndex = QMLatencyHistogram.getBucketIndex(MAX_VALUE);
+        assertEquals(MAX_VALUE, QMLatencyHistogram.getBucketUpperBound(lastIndex));
+
+        QMLatencyHistogram histogram = new QMLatencyHistogram();
+        histogram.recordValue(Long.MAX_VALUE);
+        histogram.recordValue(MAX_VALUE * 2);
+        assertEquals(2, histogram.getCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(MAX_VALUE * 2, histogram.getMin());
+        // Bucket upper bound is less than min value, so percentile is limited by min
+        assertEquals(MAX_VALUE * 2, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void testStatistics() {
+        QMLatencyHistogram histogram = new QMLatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(99), 0);
+        assertEquals(0.0, histogram.getMean(), 0.0);
+
+        histogram.recordValue(-5);
+        assertEquals(0, histogram.getCount());
+
+        for (int value = 1; value <= 10; value++) {
+            histogram.recordValue(value);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(55, histogram.getSum());
+        assertEquals(1, histogram.getMin());
+        assertEquals(10, histogram.getMax());
+        assertEquals(5.5, histogram.getMean(), 0.0001);
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(9, histogram.getPercentile(90));
+        assertEquals(10, histogram.getPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void testPercentileError() {
+        QMLatencyHistogram histogram = new QMLatencyHistogram();
+        for (int value = 1; value <= 100000; value++) {
+            histogram.recordValue(value);
+        }
+        for (double percentile : new double[] {50, 90, 95, 99, 99.9}) {
+            long expected = (long) Math.ceil(percentile / 100 * 100000);
+            long actual = histogram.getPercentile(percentile);
+            assertTrue(percentile + "% = " + actual, actual >= expected);
+            assertTrue(percentile + "% = " + actual, actual - expected < expected / 8);
+        }
+        assertEquals(100000, histogram.getPercentile(100));
+    }
+
+    private static void checkBucket(long value) {
+        int index = QMLatencyHistogram.getBucketIndex(value);
+        long upperBound = QMLatencyHistogram.getBucketUpperBound(index);
+        long lowerBound = index == 0 ? 0 : QMLatencyHistogram.getBucketUpperBound(index - 1) + 1;
+        assertTrue(value + " > " + upperBound, value <= upperBound);
+        assertTrue(value + " < " + lowerBound, value >= lowerBound);
+        // Relative error is below 12.5%
+        assertTrue(value + " in [" + lowerBound + ", " + upperBound + "]", (upperBound - lowerBound) * 8 <= Math.max(lowerBound, 8));
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.jkiss.dbeaver.model.qm.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QMMetricsRegistryTest {
+
+    @Test
+    public void testLiterals() {
+        assertFingerprint("select * from t where id = ?", "SELECT * FROM t WHERE id = 10");
+        assertFingerprint("select * from t where name = ? and price > ?", "select * from t where name = 'it''s' and price > 1.5e3");
+        assertFingerprint("select ? from dual", "select '' from dual");
+        assertFingerprint("update t set a = ? where b = -?", "UPDATE t SET a = 0x1F WHERE b = -1");
+    }
+
+    @Test
+    public void testLists() {
+        assertFingerprint("select * from t where id in (?)", "select * from t where id in (1, 2, 3)");
+        assertFingerprint("select * from t where id in (?)", "select * from t where id in (1,2,3,4,5,6,7,8)");
+        assertFingerprint("select * from t where code in (?)", "select * from t where code in ('a' , 'b',\n'c')");
+        assertFingerprint("insert into t values (?)", "insert into t values (1, 'x', ?)");
+        // Not a literal list
+        assertFingerprint("select a, ? from t", "select a, 1 from t");
+    }
+
+    @Test
+    public void testParameters() {
+        assertFingerprint("select * from t where a = ? and b = ?", "select * from t where a = ? and b = ?");
+        assertFingerprint("select * from t where a = ? and b = ?", "select * from t where a = $1 and b = $12");
+        assertFingerprint("select * from t where id in (?)", "select * from t where id in ($1, $2, $3)");
+        assertFingerprint("select * from t where id in (?)", "select * from t where id in (?, $2, 3)");
+        // Dollar inside identifier is not a parameter
+        assertFingerprint("select col$1 from t", "select col$1 from t");
+    }
+
+    @Test
+    public void testIdentifiers() {
+        assertFingerprint("select t1.c2 from table1 t1", "SELECT T1.C2 FROM Table1 T1");
+        assertFingerprint("select \"MyCol 1\" from `My Table`", "SELECT \"MyCol 1\" FROM `My Table`");
+        assertFingerprint("select \"unterminated", "select \"unterminated");
+    }
+
+    @Test
+    public void testWhitespacesAndComments() {
+        assertFingerprint("select a from t", "  select\n\ta   from t  ");
+        assertFingerprint("select a from t", "select a -- comment ' 1\nfrom t");
+        assertFingerprint("select a from t", "select /* 'x', 1 */ a from t /* unterminated");
+        assertFingerprint("select ?", "select '-- not a comment'");
+        assertFingerprint("select a from t", "/* leading */select a from t-- trailing");
+    }
+
+    @Test
+    public void testSameShape() {
+        assertEquals(
+            QMMetricsRegistry.makeFingerprint("SELECT name FROM users WHERE id IN (1, 2) AND status = 'A'"),
+            QMMetricsRegistry.makeFingerprint("select  name\nfrom users where id in ($1, $2, $3) and status = 'B'"));
+    }
+
+    @Test
+    public void testMaxLength() {
+        StringBuilder query = new StringBuilder("select ");
+        for (int i = 0; i < 1000; i++) {
+            query.append("column_").append(i).append(", ");
+        }
+        query.append("x from t");
+        String fingerprint = QMMetricsRegistry.makeFingerprint(query.toString());
+        assertEquals(2000, fingerprint.length());
+        assertTrue(fingerprint.startsWith("select column_0, column_1, "));
+    }
+
+    private static void assertFingerprint(String expected, String query) {
+        assertEquals(expected, QMMetricsRegistry.makeFingerprint(query));
+    }
+
+}
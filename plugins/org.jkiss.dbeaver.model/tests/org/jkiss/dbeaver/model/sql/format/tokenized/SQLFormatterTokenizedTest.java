@@ -147,6 +147,30 @@ public class SQLFormatterTokenizedTest {
         assertEquals(expectedString, formattedString);
     }
 
+    @Test
+    public void shouldFormatLargeScript() {
+        //given
+        final int statementCount = 20000;
+        String statement = "select * from mytable;";
+        String formattedStatement = formatter.format(statement, configuration);
+        StringBuilder inputString = new StringBuilder();
+        StringBuilder expectedString = new StringBuilder();
+        for (int i = 0; i < statementCount; i++) {
+            if (i > 0) {
+                inputString.append(" ");
+                expectedString.append(lineBreak).append(lineBreak);
+            }
+            inputString.append(statement);
+            expectedString.append(formattedStatement);
+        }
+
+        //when
+        String formattedString = formatter.format(inputString.toString(), configuration);
+
+        //then
+        assertEquals(expectedString.toString(), formattedString);
+    }
+
     private String getExpectedStringWithLineBreakBeforeBraces() {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT").append(lineBreak)
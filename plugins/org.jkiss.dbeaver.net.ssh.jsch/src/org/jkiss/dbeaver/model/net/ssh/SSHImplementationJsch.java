@@ -38,45 +38,63 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
 
     private static transient JSch jsch;
     private transient volatile Session session;
+    private transient volatile JschSharedSession sharedSession;
+    private transient int forwardedPort;
 
     @Override
     protected void setupTunnel(DBRProgressMonitor monitor, DBWHandlerConfiguration configuration, String dbHost, String sshHost, String aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout, int dbPort, int localPort) throws DBException, IOException {
+        sharedSession = SSHSessionManager.getInstance().acquireSession(
+            sessionKey,
+            () -> openSession(configuration, sshHost, aliveInterval, sshPortNum, privKeyFile, connectTimeout));
+        session = sharedSession.session;
         try {
-            if (jsch == null) {
-                jsch = new JSch();
-                JSch.setLogger(new LoggerProxy());
-            }
-            if (privKeyFile != null) {
-                if (!CommonUtils.isEmpty(configuration.getPassword())) {
-                    jsch.addIdentity(privKeyFile.getAbsolutePath(), configuration.getPassword());
-                } else {
-                    jsch.addIdentity(privKeyFile.getAbsolutePath());
+            session.setPortForwardingL(localPort, dbHost, dbPort);
+            forwardedPort = localPort;
+        } catch (JSchException e) {
+            closeTunnel(monitor);
+            throw new DBException("Cannot establish tunnel", e);
+        }
+    }
+
+    private JschSharedSession openSession(DBWHandlerConfiguration configuration, String sshHost, String aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout) throws DBException {
+        try {
+            synchronized (SSHImplementationJsch.class) {
+                if (jsch == null) {
+                    jsch = new JSch();
+                    JSch.setLogger(new LoggerProxy());
+                }
+                if (privKeyFile != null) {
+                    if (!CommonUtils.isEmpty(configuration.getPassword())) {
+                        jsch.addIdentity(privKeyFile.getAbsolutePath(), configuration.getPassword());
+                    } else {
+                        jsch.addIdentity(privKeyFile.getAbsolutePath());
+                    }
                 }
             }
 
             log.debug("Instantiate SSH tunnel");
-            session = jsch.getSession(configuration.getUserName(), sshHost, sshPortNum);
-            session.setConfig("StrictHostKeyChecking", "no");
+            Session newSession = jsch.getSession(configuration.getUserName(), sshHost, sshPortNum);
+            newSession.setConfig("StrictHostKeyChecking", "no");
             //session.setConfig("PreferredAuthentications", "password,publickey,keyboard-interactive");
-            session.setConfig("PreferredAuthentications",
+            newSession.setConfig("PreferredAuthentications",
                     privKeyFile != null ? "publickey" : "password,keyboard-interactive");
-            session.setConfig("ConnectTimeout", String.valueOf(connectTimeout));
+            newSession.setConfig("ConnectTimeout", String.valueOf(connectTimeout));
+            if (sessionKey.isCompression()) {
+                newSession.setConfig("compression.s2c", "zlib@openssh.com,zlib,none");
+                newSession.setConfig("compression.c2s", "zlib@openssh.com,zlib,none");
+                newSession.setConfig("compression_level", "6");
+            }
 
             // Use Eclipse standard prompter
-            UserInfoCustom ui = new UserInfoCustom(configuration);
+            UserInfoCustom ui = new UserInfoCustom(newSession, configuration);
 
-            session.setUserInfo(ui);
+            newSession.setUserInfo(ui);
             if (!CommonUtils.isEmpty(aliveInterval)) {
-                session.setServerAliveInterval(Integer.parseInt(aliveInterval));
+                newSession.setServerAliveInterval(Integer.parseInt(aliveInterval));
             }
             log.debug("Connect to tunnel host");
-            session.connect(connectTimeout);
-            try {
-                session.setPortForwardingL(localPort, dbHost, dbPort);
-            } catch (JSchException e) {
-                closeTunnel(monitor);
-                throw e;
-            }
+            newSession.connect(connectTimeout);
+            return new JschSharedSession(newSession);
         } catch (JSchException e) {
             throw new DBException("Cannot establish tunnel", e);
         }
@@ -84,17 +102,18 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
 
     @Override
     public void closeTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
-        if (session != null) {
-            RuntimeUtils.runTask(monitor1 -> {
-                if (session != null) {
-                    try {
-                        session.disconnect();
-                    } catch (Exception e) {
-                        throw new InvocationTargetException(e);
-                    }
-                }
-            }, "Close SSH session", 1000);
-            session = null;
+        if (session != null && forwardedPort > 0) {
+            try {
+                session.delPortForwardingL(forwardedPort);
+            } catch (Exception e) {
+                log.debug("Error removing SSH port forward", e);
+            }
+        }
+        forwardedPort = 0;
+        session = null;
+        if (sharedSession != null) {
+            SSHSessionManager.getInstance().releaseSession(sharedSession);
+            sharedSession = null;
         }
     }
 
@@ -120,6 +139,9 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
             }
         }
         if (!isAlive) {
+            if (sharedSession != null) {
+                SSHSessionManager.getInstance().invalidateSession(sharedSession);
+            }
             closeTunnel(monitor);
             initTunnel(monitor, null, savedConfiguration, savedConnectionInfo);
         }
@@ -201,10 +223,34 @@ public class SSHImplementationJsch extends SSHImplementationAbstract {
         }
     }
 
+    private static class JschSharedSession extends SSHSharedSession {
+        private final Session session;
+
+        JschSharedSession(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return session.isConnected();
+        }
+
+        @Override
+        protected void disconnect() throws Exception {
+            RuntimeUtils.runTask(monitor -> {
+                try {
+                    session.disconnect();
+                } catch (Exception e) {
+                    throw new InvocationTargetException(e);
+                }
+            }, "Close SSH session", 1000);
+        }
+    }
+
     private class UserInfoCustom extends UserInfoPrompter {
         private final DBWHandlerConfiguration configuration;
-        UserInfoCustom(DBWHandlerConfiguration configuration) {
-            super(SSHImplementationJsch.this.session);
+        UserInfoCustom(Session session, DBWHandlerConfiguration configuration) {
+            super(session);
             this.configuration = configuration;
         }
 
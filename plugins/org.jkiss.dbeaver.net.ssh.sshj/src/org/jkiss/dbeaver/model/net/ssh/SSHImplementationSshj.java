@@ -44,46 +44,58 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
     private static final Log log = Log.getLog(SSHImplementationSshj.class);
 
     private transient SSHClient sshClient;
+    private transient SshjSharedSession sharedSession;
     private transient LocalPortListener portListener;
 
     @Override
     protected void setupTunnel(DBRProgressMonitor monitor, DBWHandlerConfiguration configuration, String dbHost, String sshHost, String aliveInterval, int sshPortNum, File privKeyFile, int connectTimeout, int dbPort, int localPort) throws DBException, IOException {
+        sharedSession = SSHSessionManager.getInstance().acquireSession(
+            sessionKey,
+            () -> openSession(configuration, sshHost, sshPortNum, privKeyFile));
+        sshClient = sharedSession.sshClient;
+
+        log.debug("Instantiate SSH tunnel");
+
+        final LocalPortForwarder.Parameters params
+            = new LocalPortForwarder.Parameters(SSHConstants.LOCALHOST_NAME, localPort, dbHost, dbPort);
+        portListener = new LocalPortListener(params);
+        portListener.start();
+        RuntimeUtils.pause(100);
+    }
+
+    private SshjSharedSession openSession(DBWHandlerConfiguration configuration, String sshHost, int sshPortNum, File privKeyFile) throws DBException {
         try {
             Config clientConfig = new DefaultConfig();
             clientConfig.setLoggerFactory(LoggerFactory.DEFAULT);
-            sshClient = new SSHClient(clientConfig);
+            SSHClient client = new SSHClient(clientConfig);
             // TODO: make real host verifier
-            sshClient.addHostKeyVerifier(new PromiscuousVerifier());
+            client.addHostKeyVerifier(new PromiscuousVerifier());
 
             String sshUser = configuration.getUserName();
             String sshPassword = configuration.getPassword();
 
             try {
-                sshClient.loadKnownHosts();
+                client.loadKnownHosts();
             } catch (IOException e) {
                 log.debug("Error loading known hosts: " + e.getMessage());
             }
+            if (sessionKey.isCompression()) {
+                client.useCompression();
+            }
 
-            sshClient.connect(sshHost, sshPortNum);
+            client.connect(sshHost, sshPortNum);
 
             if (privKeyFile != null) {
                 if (!CommonUtils.isEmpty(sshPassword)) {
-                    KeyProvider keyProvider = sshClient.loadKeys(privKeyFile.getAbsolutePath(), sshPassword.toCharArray());
-                    sshClient.authPublickey(sshUser, keyProvider);
+                    KeyProvider keyProvider = client.loadKeys(privKeyFile.getAbsolutePath(), sshPassword.toCharArray());
+                    client.authPublickey(sshUser, keyProvider);
                 } else {
-                    sshClient.authPublickey(sshUser, privKeyFile.getAbsolutePath());
+                    client.authPublickey(sshUser, privKeyFile.getAbsolutePath());
                 }
             } else {
-                sshClient.authPassword(sshUser, sshPassword);
+                client.authPassword(sshUser, sshPassword);
             }
-
-            log.debug("Instantiate SSH tunnel");
-
-            final LocalPortForwarder.Parameters params
-                = new LocalPortForwarder.Parameters(SSHConstants.LOCALHOST_NAME, localPort, dbHost, dbPort);
-            portListener = new LocalPortListener(params);
-            portListener.start();
-            RuntimeUtils.pause(100);
+            return new SshjSharedSession(client);
         } catch (Exception e) {
             throw new DBException("Cannot establish tunnel", e);
         }
@@ -93,16 +105,12 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
     public void closeTunnel(DBRProgressMonitor monitor) throws DBException, IOException {
         if (portListener != null) {
             portListener.stopServer();
+            portListener = null;
         }
-        if (sshClient != null) {
-            RuntimeUtils.runTask(monitor1 -> {
-                try {
-                    sshClient.disconnect();
-                } catch (Exception e) {
-                    throw new InvocationTargetException(e);
-                }
-            }, "Close SSH client", 1000);
-            sshClient = null;
+        sshClient = null;
+        if (sharedSession != null) {
+            SSHSessionManager.getInstance().releaseSession(sharedSession);
+            sharedSession = null;
         }
     }
 
@@ -128,17 +136,46 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
             }
         }
         if (!isAlive) {
+            if (sharedSession != null) {
+                SSHSessionManager.getInstance().invalidateSession(sharedSession);
+            }
             closeTunnel(monitor);
             initTunnel(monitor, null, savedConfiguration, savedConnectionInfo);
         }
     }
 
+    private static class SshjSharedSession extends SSHSharedSession {
+        private final SSHClient sshClient;
+
+        SshjSharedSession(SSHClient sshClient) {
+            this.sshClient = sshClient;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return sshClient.isConnected() && sshClient.isAuthenticated();
+        }
+
+        @Override
+        protected void disconnect() throws Exception {
+            RuntimeUtils.runTask(monitor -> {
+                try {
+                    sshClient.disconnect();
+                } catch (Exception e) {
+                    throw new InvocationTargetException(e);
+                }
+            }, "Close SSH client", 1000);
+        }
+    }
+
     private class LocalPortListener extends Thread {
         private LocalPortForwarder.Parameters params;
+        private final SSHClient client;
         private LocalPortForwarder portForwarder;
 
         LocalPortListener(LocalPortForwarder.Parameters params) {
             this.params = params;
+            this.client = sshClient;
         }
 
         public void run() {
@@ -151,7 +188,7 @@ public class SSHImplementationSshj extends SSHImplementationAbstract {
                 ServerSocket serverSocket = new ServerSocket();
                 serverSocket.setReuseAddress(true);
                 serverSocket.bind(new InetSocketAddress(params.getLocalHost(), params.getLocalPort()));
-                portForwarder = sshClient.newLocalPortForwarder(params, serverSocket);
+                portForwarder = client.newLocalPortForwarder(params, serverSocket);
                 portForwarder.listen();
             } catch (IOException e) {
                 log.error(e);
@@ -62,6 +62,7 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
     private Spinner localPortSpinner;
     private Spinner keepAliveText;
     private Spinner tunnelTimeout;
+    private Button compressionCheckbox;
 
     @Override
     public void createControl(Composite parent)
@@ -114,6 +115,7 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
             localPortSpinner.setToolTipText(SSHUIMessages.model_ssh_configurator_label_local_port_description);
             keepAliveText = UIUtils.createLabelSpinner(advancedGroup, SSHUIMessages.model_ssh_configurator_label_keep_alive, 0, 0, Integer.MAX_VALUE);
             tunnelTimeout = UIUtils.createLabelSpinner(advancedGroup, SSHUIMessages.model_ssh_configurator_label_tunnel_timeout, SSHConstants.DEFAULT_CONNECT_TIMEOUT, 0, 300000);
+            compressionCheckbox = UIUtils.createLabelCheckbox(advancedGroup, SSHUIMessages.model_ssh_configurator_checkbox_compression, false);
         }
 
         Composite controlGroup = UIUtils.createPlaceholder(composite, 1);
@@ -224,6 +226,7 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
         if (!CommonUtils.isEmpty(timeoutString)) {
             tunnelTimeout.setSelection(CommonUtils.toInt(timeoutString));
         }
+        compressionCheckbox.setSelection(CommonUtils.getBoolean(configuration.getProperties().get(SSHConstants.PROP_COMPRESSION)));
         updatePrivateKeyVisibility();
 
         savedConfiguration = new DBWHandlerConfiguration(configuration);
@@ -266,6 +269,9 @@ public class SSHTunnelConfiguratorUI implements IObjectPropertyConfigurator<DBWH
             properties.put(SSHConstants.PROP_ALIVE_INTERVAL, String.valueOf(kaInterval));
         }
         properties.put(SSHConstants.PROP_CONNECT_TIMEOUT, tunnelTimeout.getText());
+        if (compressionCheckbox.getSelection()) {
+            properties.put(SSHConstants.PROP_COMPRESSION, Boolean.TRUE.toString());
+        }
     }
 
     private void updatePrivateKeyVisibility()
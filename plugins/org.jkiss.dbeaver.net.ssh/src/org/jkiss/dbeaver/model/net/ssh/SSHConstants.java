@@ -33,6 +33,7 @@ public class SSHConstants {
     public static final String PROP_ALIVE_INTERVAL = "aliveInterval";
     public static final String PROP_ALIVE_COUNT = "aliveCount";
     public static final String PROP_CONNECT_TIMEOUT = "sshConnectTimeout";
+    public static final String PROP_COMPRESSION = "compression";
 
     public static final String PROP_LOCAL_PORT = "localPort";
     //private static final int CONNECT_TIMEOUT = 10000;
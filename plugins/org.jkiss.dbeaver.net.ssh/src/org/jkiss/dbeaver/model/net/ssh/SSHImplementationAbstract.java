@@ -39,6 +39,8 @@ public abstract class SSHImplementationAbstract implements SSHImplementation {
     private transient int savedLocalPort = 0;
     protected transient DBWHandlerConfiguration savedConfiguration;
     protected transient DBPConnectionConfiguration savedConnectionInfo;
+    // Key of the shared session
+    protected transient SSHSessionKey sessionKey;
 
     @Override
     public DBPConnectionConfiguration initTunnel(DBRProgressMonitor monitor, DBPPlatform platform, DBWHandlerConfiguration configuration, DBPConnectionConfiguration connectionInfo)
@@ -122,6 +124,18 @@ public abstract class SSHImplementationAbstract implements SSHImplementation {
             }
         }
 
+        sessionKey = new SSHSessionKey(
+            getClass().getName(),
+            sshHost,
+            sshPortNum,
+            configuration.getUserName(),
+            authType,
+            privKeyFile == null ? null : privKeyFile.getAbsolutePath(),
+            configuration.getPassword(),
+            CommonUtils.getBoolean(properties.get(SSHConstants.PROP_COMPRESSION)),
+            CommonUtils.toInt(aliveInterval),
+            connectTimeout);
+
         setupTunnel(monitor, configuration, dbHost, sshHost, aliveInterval, sshPortNum, privKeyFile, connectTimeout, dbPort, localPort);
         savedLocalPort = localPort;
         savedConfiguration = configuration;
@@ -0,0 +1,109 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.utils.CommonUtils;
+
+import java.util.Objects;
+
+/**
+ * Identifies SSH session which may be shared between tunnels.
+ * Sessions are shared only if host, port, user, credentials and session settings (compression,
+ * keep-alive interval and connect timeout) are the same.
+ */
+public class SSHSessionKey {
+
+    private final String implementation;
+    private final String host;
+    private final int port;
+    private final String userName;
+    private final SSHConstants.AuthType authType;
+    private final String keyPath;
+    private final String password;
+    private final boolean compression;
+    private final int keepAliveInterval;
+    private final int connectTimeout;
+
+    public SSHSessionKey(String implementation, String host, int port, String userName, SSHConstants.AuthType authType, String keyPath, String password, boolean compression, int keepAliveInterval, int connectTimeout) {
+        this.implementation = implementation;
+        this.host = host;
+        this.port = port;
+        this.userName = userName;
+        this.authType = authType;
+        this.keyPath = keyPath;
+        this.password = CommonUtils.notEmpty(password);
+        this.compression = compression;
+        this.keepAliveInterval = keepAliveInterval;
+        this.connectTimeout = connectTimeout;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public int getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SSHSessionKey)) {
+            return false;
+        }
+        SSHSessionKey key = (SSHSessionKey) obj;
+        return port == key.port &&
+            compression == key.compression &&
+            keepAliveInterval == key.keepAliveInterval &&
+            connectTimeout == key.connectTimeout &&
+            authType == key.authType &&
+            Objects.equals(implementation, key.implementation) &&
+            Objects.equals(host, key.host) &&
+            Objects.equals(userName, key.userName) &&
+            Objects.equals(keyPath, key.keyPath) &&
+            Objects.equals(password, key.password);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(implementation, host, port, userName, authType, keyPath);
+    }
+
+    @Override
+    public String toString() {
+        // Do not expose credentials
+        return userName + "@" + host + ":" + port;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps authenticated SSH sessions shared between tunnels.
+ * Each tunnel opens its own port forward over the shared session.
+ * Sessions are reference counted and disconnected when the last tunnel is closed.
+ */
+public class SSHSessionManager {
+
+    private static final Log log = Log.getLog(SSHSessionManager.class);
+
+    private static final SSHSessionManager instance = new SSHSessionManager();
+
+    public static SSHSessionManager getInstance() {
+        return instance;
+    }
+
+    /**
+     * Opens new authenticated session
+     */
+    public interface SessionFactory<T extends SSHSharedSession> {
+        T openSession() throws DBException, IOException;
+    }
+
+    /**
+     * Lock used to avoid parallel handshakes with the same server.
+     * Kept in the map only while somebody acquires a session for the key.
+     */
+    private static class SessionLock {
+        int users;
+    }
+
+    private final Map<SSHSessionKey, SSHSharedSession> sessions = new HashMap<>();
+    private final Map<SSHSessionKey, SessionLock> sessionLocks = new HashMap<>();
+
+    private SSHSessionManager() {
+    }
+
+    /**
+     * Returns connected session for the specified key or opens new one.
+     * Each acquired session must be released with {@link #releaseSession(SSHSharedSession)}.
+     */
+    public <T extends SSHSharedSession> T acquireSession(SSHSessionKey key, SessionFactory<T> factory) throws DBException, IOException {
+        SessionLock sessionLock;
+        synchronized (sessions) {
+            sessionLock = sessionLocks.computeIfAbsent(key, k -> new SessionLock());
+            sessionLock.users++;
+        }
+        try {
+            synchronized (sessionLock) {
+                return getOrOpenSession(key, factory);
+            }
+        } finally {
+            synchronized (sessions) {
+                if (--sessionLock.users == 0) {
+                    sessionLocks.remove(key);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SSHSharedSession> T getOrOpenSession(SSHSessionKey key, SessionFactory<T> factory) throws DBException, IOException {
+        synchronized (sessions) {
+            SSHSharedSession session = sessions.get(key);
+            if (session != null) {
+                if (session.isConnected()) {
+                    session.addReference();
+                    log.debug("Reuse SSH session " + key + " (" + session.getReferenceCount() + " tunnels)");
+                    return (T) session;
+                }
+                // Session is lost. Tunnels which still use it will release it on invalidate.
+                sessions.remove(key);
+            }
+        }
+        T session = factory.openSession();
+        session.setSessionKey(key);
+        synchronized (sessions) {
+            session.addReference();
+            sessions.put(key, session);
+        }
+        return session;
+    }
+
+    public void releaseSession(SSHSharedSession session) {
+        synchronized (sessions) {
+            if (session.removeReference() > 0) {
+                return;
+            }
+            SSHSessionKey key = session.getSessionKey();
+            if (sessions.get(key) == session) {
+                sessions.remove(key);
+            }
+        }
+        try {
+            session.disconnect();
+        } catch (Exception e) {
+            log.debug("Error closing SSH session " + session.getSessionKey(), e);
+        }
+    }
+
+    /**
+     * Marks session as broken. Tunnels will open new session on next acquire,
+     * tunnels which still use this session keep it until release.
+     */
+    public void invalidateSession(SSHSharedSession session) {
+        synchronized (sessions) {
+            SSHSessionKey key = session.getSessionKey();
+            if (sessions.get(key) == session) {
+                sessions.remove(key);
+            }
+        }
+    }
+
+    public int getSessionCount() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+/**
+ * Authenticated SSH session shared between tunnels.
+ * Implementations wrap native session of the particular SSH library.
+ */
+public abstract class SSHSharedSession {
+
+    private SSHSessionKey sessionKey;
+    private int referenceCount;
+
+    public SSHSessionKey getSessionKey() {
+        return sessionKey;
+    }
+
+    void setSessionKey(SSHSessionKey sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+
+    int getReferenceCount() {
+        return referenceCount;
+    }
+
+    int addReference() {
+        return ++referenceCount;
+    }
+
+    int removeReference() {
+        return --referenceCount;
+    }
+
+    public abstract boolean isConnected();
+
+    /**
+     * Closes session. Called when the last tunnel releases the session.
+     */
+    protected abstract void disconnect() throws Exception;
+
+}
@@ -27,10 +27,6 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
 import org.jfree.chart.title.LegendTitle;
-import org.jfree.data.time.FixedMillisecond;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.time.TimeSeriesDataItem;
 import org.jfree.ui.RectangleEdge;
 import org.jfree.ui.RectangleInsets;
 import org.jkiss.dbeaver.ui.AWTUtils;
@@ -40,6 +36,7 @@ import org.jkiss.dbeaver.ui.dashboard.control.DashboardRenderer;
 import org.jkiss.dbeaver.ui.dashboard.model.*;
 import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDataset;
 import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDatasetRow;
+import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardSeriesBuffer;
 
 import java.awt.*;
 import java.text.SimpleDateFormat;
@@ -57,8 +54,7 @@ public class DashboardRendererHistogram implements DashboardRenderer {
     @Override
     public DashboardChartComposite createDashboard(Composite composite, DashboardContainer container, DashboardViewContainer viewContainer, Point preferredSize) {
 
-        TimeSeriesCollection dataset = new TimeSeriesCollection();
-        //generateSampleSeries(container, dataset);
+        DashboardSeriesDataset dataset = new DashboardSeriesDataset();
 
         Color gridColor = AWTUtils.makeAWTColor(UIStyles.getDefaultTextForeground());
 
@@ -137,22 +133,6 @@ public class DashboardRendererHistogram implements DashboardRenderer {
         return chartComposite;
     }
 
-    private void generateSampleSeries(DashboardContainer container, TimeSeriesCollection dataset) {
-        TimeSeries seriesSin = new TimeSeries("Sin");
-        long startTime = System.currentTimeMillis() - 1000 * 60 * 60 * 2;
-        for (int i = 0; i < 100; i++) {
-            seriesSin.add(new TimeSeriesDataItem(new FixedMillisecond(startTime + i * 60 * 1000), Math.sin(0.1 * i) * 100));
-        }
-        dataset.addSeries(seriesSin);
-
-        TimeSeries seriesCos = new TimeSeries("Cos");
-        for (int i = 0; i < 100; i++) {
-            seriesCos.add(new TimeSeriesDataItem(new FixedMillisecond(startTime + i * 60 * 1000), Math.cos(0.1 * i) * 100));
-        }
-        dataset.addSeries(seriesCos);
-
-    }
-
     @Override
     public void updateDashboardData(DashboardContainer container, Date lastUpdateTime, DashboardDataset dataset) {
         DashboardChartComposite chartComposite = (DashboardChartComposite) container.getDashboardControl();
@@ -161,7 +141,7 @@ public class DashboardRendererHistogram implements DashboardRenderer {
         }
         JFreeChart chart = chartComposite.getChart();
         XYPlot plot = (XYPlot) chart.getPlot();
-        TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
+        DashboardSeriesDataset chartDataset = (DashboardSeriesDataset) plot.getDataset();
 
         DashboardDatasetRow lastRow = (DashboardDatasetRow) chartComposite.getData("last_row");
 
@@ -172,16 +152,14 @@ public class DashboardRendererHistogram implements DashboardRenderer {
             for (int i = 0; i < srcSeries.length; i++) {
                 String seriesName = srcSeries[i];
 
-                TimeSeries series = chartDataset.getSeries(seriesName);
+                DashboardSeriesBuffer series = chartDataset.getSeries(seriesName);
                 if (series == null) {
-                    series = new TimeSeries(seriesName);
-                    series.setMaximumItemCount(container.getDashboardMaxItems());
-                    series.setMaximumItemAge(container.getDashboardMaxAge());
+                    series = new DashboardSeriesBuffer(container.getDashboardMaxItems(), container.getDashboardMaxAge());
 
                     BasicStroke stroke = new BasicStroke(2.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 10.0f, null, 0.0f);
                     plot.getRenderer().setSeriesStroke(chartDataset.getSeriesCount(), stroke);
 
-                    chartDataset.addSeries(series);
+                    chartDataset.addSeries(seriesName, series);
                 }
 
                 switch (container.getDashboardCalcType()) {
@@ -189,7 +167,7 @@ public class DashboardRendererHistogram implements DashboardRenderer {
                         for (DashboardDatasetRow row : rows) {
                             Object value = row.getValues()[i];
                             if (value instanceof Number) {
-                                series.add(new FixedMillisecond(row.getTimestamp().getTime()), (Number) value, false);
+                                series.add(row.getTimestamp().getTime(), ((Number) value).doubleValue());
                             }
                         }
                         break;
@@ -214,19 +192,15 @@ public class DashboardRendererHistogram implements DashboardRenderer {
                                     if (container.getDashboardValueType() == DashboardValueType.integer) {
                                         deltaValue = Math.round(deltaValue);
                                     }
-                                    series.add(
-                                        new FixedMillisecond(
-                                            row.getTimestamp().getTime()),
-                                        deltaValue,
-                                        false);
+                                    series.add(row.getTimestamp().getTime(), deltaValue);
                                 }
                             }
                         }
                         break;
                     }
                 }
-                series.fireSeriesChanged();
             }
+            chartDataset.fireSeriesChanged();
         } else {
             // Not supported
 
@@ -245,7 +219,7 @@ public class DashboardRendererHistogram implements DashboardRenderer {
         }
         JFreeChart chart = chartComposite.getChart();
         XYPlot plot = (XYPlot) chart.getPlot();
-        TimeSeriesCollection chartDataset = (TimeSeriesCollection) plot.getDataset();
+        DashboardSeriesDataset chartDataset = (DashboardSeriesDataset) plot.getDataset();
         chartDataset.removeAllSeries();
     }
 
@@ -0,0 +1,96 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.histogram;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardSeriesBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chart dataset backed by series ring buffers.
+ * X values are timestamps in milliseconds.
+ */
+class DashboardSeriesDataset extends AbstractXYDataset {
+
+    private final List<String> seriesNames = new ArrayList<>();
+    private final List<DashboardSeriesBuffer> seriesBuffers = new ArrayList<>();
+
+    DashboardSeriesBuffer getSeries(String name) {
+        int index = seriesNames.indexOf(name);
+        return index < 0 ? null : seriesBuffers.get(index);
+    }
+
+    void addSeries(String name, DashboardSeriesBuffer buffer) {
+        seriesNames.add(name);
+        seriesBuffers.add(buffer);
+        fireDatasetChanged();
+    }
+
+    void removeAllSeries() {
+        seriesNames.clear();
+        seriesBuffers.clear();
+        fireDatasetChanged();
+    }
+
+    void fireSeriesChanged() {
+        fireDatasetChanged();
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return seriesNames.size();
+    }
+
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return seriesNames.get(series);
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        return seriesBuffers.get(series).getSize();
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        return seriesBuffers.get(series).getTimestamp(item);
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        return seriesBuffers.get(series).getValue(item);
+    }
+
+}
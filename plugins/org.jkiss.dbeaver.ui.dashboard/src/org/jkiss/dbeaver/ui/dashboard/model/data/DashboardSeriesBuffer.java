@@ -0,0 +1,121 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.dashboard.model.data;
+
+/**
+ * Fixed-size ring buffer of time series values.
+ * Values are kept in primitive arrays. When buffer is full and its oldest value still fits in the
+ * maximum age window then older half of values is downsampled (adjacent pairs are averaged).
+ * Otherwise the oldest value is dropped.
+ */
+public class DashboardSeriesBuffer {
+
+    private final long[] timestamps;
+    private final double[] values;
+    private final long maxAge;
+    private int start;
+    private int size;
+
+    public DashboardSeriesBuffer(int capacity, long maxAge) {
+        if (capacity < 4) {
+            capacity = 4;
+        }
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+        this.maxAge = maxAge;
+    }
+
+    public int getCapacity() {
+        return values.length;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTimestamp(int index) {
+        return timestamps[physicalIndex(index)];
+    }
+
+    public double getValue(int index) {
+        return values[physicalIndex(index)];
+    }
+
+    public void add(long timestamp, double value) {
+        removeExpired(timestamp);
+        if (size == values.length) {
+            if (maxAge > 0 && timestamp - timestamps[start] < maxAge) {
+                downsample();
+            } else {
+                start = (start + 1) % values.length;
+                size--;
+            }
+        }
+        int pos = physicalIndex(size);
+        timestamps[pos] = timestamp;
+        values[pos] = value;
+        size++;
+    }
+
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+
+    private void removeExpired(long currentTime) {
+        if (maxAge <= 0) {
+            return;
+        }
+        while (size > 0 && currentTime - timestamps[start] > maxAge) {
+            start = (start + 1) % values.length;
+            size--;
+        }
+    }
+
+    /**
+     * Merges adjacent pairs in the older half of the buffer
+     */
+    private void downsample() {
+        int half = size / 2;
+        int dst = 0;
+        int src = 0;
+        for (; src + 1 < half; src += 2, dst++) {
+            int p1 = physicalIndex(src), p2 = physicalIndex(src + 1);
+            long ts = timestamps[p1] + (timestamps[p2] - timestamps[p1]) / 2;
+            double value = (values[p1] + values[p2]) / 2;
+            int pd = physicalIndex(dst);
+            timestamps[pd] = ts;
+            values[pd] = value;
+        }
+        for (; src < size; src++, dst++) {
+            int ps = physicalIndex(src), pd = physicalIndex(dst);
+            timestamps[pd] = timestamps[ps];
+            values[pd] = values[ps];
+        }
+        size = dst;
+    }
+
+    private int physicalIndex(int index) {
+        int pos = start + index;
+        return pos >= values.length ? pos - values.length : pos;
+    }
+
+}
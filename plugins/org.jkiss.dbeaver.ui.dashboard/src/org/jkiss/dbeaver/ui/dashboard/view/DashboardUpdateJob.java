@@ -33,6 +33,8 @@ public class DashboardUpdateJob extends AbstractJob {
 
     private static final int JOB_DELAY = 1000;
 
+    private final DashboardUpdater updater = new DashboardUpdater();
+
     private DashboardUpdateJob() {
         super("Dashboard update");
     }
@@ -41,7 +43,7 @@ public class DashboardUpdateJob extends AbstractJob {
     protected IStatus run(DBRProgressMonitor monitor) {
 
         try {
-            new DashboardUpdater().updateDashboards(monitor);
+            updater.updateDashboards(monitor);
         } catch (Exception e) {
             log.error("Error running dashboard updater", e);
         }
@@ -16,12 +16,17 @@
  */
 package org.jkiss.dbeaver.ui.dashboard.view;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.*;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPErrorAssistant;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.dashboard.control.DashboardListViewer;
@@ -31,14 +36,20 @@ import org.jkiss.dbeaver.ui.dashboard.model.data.DashboardDatasetRow;
 import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
 
+/**
+ * Dashboards updater.
+ * Due dashboards are grouped by execution context and each group is read in a single session.
+ * Different data sources are updated in parallel, each one in its own job.
+ */
 public class DashboardUpdater {
 
     private static final Log log = Log.getLog(DashboardUpdater.class);
 
+    // Contexts which are being updated right now. Slow data source shouldn't block the others.
+    private final Set<DBCExecutionContext> updatingContexts = Collections.synchronizedSet(new HashSet<>());
+
     public void updateDashboards(DBRProgressMonitor monitor) {
         List<DashboardContainer> dashboards = getDashboardsToUpdate();
 
@@ -47,51 +58,101 @@ public class DashboardUpdater {
     }
 
     private void updateDashboards(DBRProgressMonitor monitor, List<DashboardContainer> dashboards) {
+        Map<DBCExecutionContext, List<DashboardContainer>> contextDashboards = new LinkedHashMap<>();
         for (DashboardContainer dashboard : dashboards) {
             DBPDataSource dataSource = dashboard.getDataSourceContainer().getDataSource();
             if (dataSource == null) {
                 continue;
             }
-            try {
-                DBUtils.tryExecuteRecover(dashboards, dataSource, param -> {
-                    try {
-                        updateDashboard(monitor, dashboard);
-                    } catch (Throwable e) {
-                        throw new InvocationTargetException(e);
-                    }
-                });
-            } catch (DBException e) {
-                log.error(e);
+            DBCExecutionContext executionContext = dashboard.getGroup().getView().getExecutionContext();
+            contextDashboards.computeIfAbsent(executionContext, k -> new ArrayList<>()).add(dashboard);
+        }
+        for (Map.Entry<DBCExecutionContext, List<DashboardContainer>> entry : contextDashboards.entrySet()) {
+            DBCExecutionContext executionContext = entry.getKey();
+            if (!updatingContexts.add(executionContext)) {
+                // Previous update is still in progress
+                continue;
+            }
+            if (contextDashboards.size() == 1) {
+                try {
+                    updateDataSourceDashboards(monitor, executionContext, entry.getValue());
+                } finally {
+                    updatingContexts.remove(executionContext);
+                }
+            } else {
+                new DataSourceUpdateJob(executionContext, entry.getValue()).schedule();
             }
         }
     }
 
-    private void updateDashboard(DBRProgressMonitor monitor, DashboardContainer dashboard) throws DBCException {
-        if (!dashboard.getDataSourceContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
+    private void updateDataSourceDashboards(DBRProgressMonitor monitor, DBCExecutionContext executionContext, List<DashboardContainer> dashboards) {
+        DBPDataSource dataSource = executionContext.getDataSource();
+        try {
+            DBUtils.tryExecuteRecover(dashboards, dataSource, param -> {
+                try {
+                    readDashboardsData(monitor, executionContext, dashboards);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        } catch (DBException e) {
+            log.error(e);
+        }
+    }
+
+    private void readDashboardsData(DBRProgressMonitor monitor, DBCExecutionContext executionContext, List<DashboardContainer> dashboards) throws DBCException {
+        if (!executionContext.getDataSource().getContainer().isConnected() || DBWorkbench.getPlatform().isShuttingDown()) {
             return;
         }
 
-        List<? extends DashboardQuery> queries = dashboard.getQueryList();
-        DashboardViewContainer view = dashboard.getGroup().getView();
-        try (DBCSession session = view.getExecutionContext().openSession(
-            monitor, DBCExecutionPurpose.UTIL, "Read dashboard '" + dashboard.getDashboardTitle() + "' data"))
+        try (DBCSession session = executionContext.openSession(
+            monitor, DBCExecutionPurpose.UTIL, "Read dashboards data"))
         {
             session.enableLogging(false);
-            for (DashboardQuery query : queries) {
-                try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.getQueryText(), false, false, false)) {
-                    if (dbStat.executeStatement()) {
-                        try (DBCResultSet dbResults = dbStat.openResultSet()) {
-                            fetchDashboardData(dashboard, dbResults);
+            // Dashboards may share the same query. Execute it only once.
+            Map<String, DashboardDataset> queryResults = new HashMap<>();
+            for (DashboardContainer dashboard : dashboards) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                try {
+                    for (DashboardQuery query : dashboard.getQueryList()) {
+                        String queryText = query.getQueryText();
+                        DashboardDataset dataset = queryResults.get(queryText);
+                        if (dataset == null) {
+                            dataset = readQueryData(session, queryText);
+                            if (dataset == null) {
+                                continue;
+                            }
+                            queryResults.put(queryText, dataset);
                         }
+                        dashboard.updateDashboardData(dataset);
+                    }
+                } catch (Exception e) {
+                    if (DBUtils.discoverErrorType(executionContext.getDataSource(), e) == DBPErrorAssistant.ErrorType.CONNECTION_LOST) {
+                        throw e;
                     }
+                    log.error("Error updating dashboard " + dashboard.getDashboardId(), e);
                 }
             }
         } catch (Exception e) {
-            throw new DBCException("Error updating dashboard " + dashboard.getDashboardId(), e);
+            throw new DBCException("Error updating dashboards", e);
         }
     }
 
-    private void fetchDashboardData(DashboardContainer dashboard, DBCResultSet dbResults) throws DBCException {
+    @Nullable
+    private DashboardDataset readQueryData(DBCSession session, String queryText) throws DBCException {
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, queryText, false, false, false)) {
+            if (dbStat.executeStatement()) {
+                try (DBCResultSet dbResults = dbStat.openResultSet()) {
+                    return fetchDashboardData(dbResults);
+                }
+            }
+        }
+        return null;
+    }
+
+    private DashboardDataset fetchDashboardData(DBCResultSet dbResults) throws DBCException {
         DBCResultSetMetaData meta = dbResults.getMeta();
         List<DBCAttributeMetaData> rsAttrs = meta.getAttributes();
         List<String> colNames = new ArrayList<>();
@@ -123,7 +184,7 @@ public class DashboardUpdater {
             dataset.addRow(new DashboardDatasetRow(timestamp, values));
         }
 
-        dashboard.updateDashboardData(dataset);
+        return dataset;
     }
 
     public List<DashboardContainer> getDashboardsToUpdate() {
@@ -143,6 +204,31 @@ public class DashboardUpdater {
         return dashboards;
     }
 
+    private class DataSourceUpdateJob extends AbstractJob {
+
+        private final DBCExecutionContext executionContext;
+        private final List<DashboardContainer> dashboards;
+
+        DataSourceUpdateJob(DBCExecutionContext executionContext, List<DashboardContainer> dashboards) {
+            super("Update dashboards of '" + executionContext.getDataSource().getContainer().getName() + "'");
+            this.executionContext = executionContext;
+            this.dashboards = dashboards;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                updateDataSourceDashboards(monitor, executionContext, dashboards);
+            } catch (Exception e) {
+                log.error("Error updating dashboards", e);
+            } finally {
+                updatingContexts.remove(executionContext);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
     private void getViewDashboards(DashboardView view, List<DashboardContainer> dashboards) {
         long currentTime = System.currentTimeMillis();
         DashboardListViewer viewManager = view.getDashboardListViewer();
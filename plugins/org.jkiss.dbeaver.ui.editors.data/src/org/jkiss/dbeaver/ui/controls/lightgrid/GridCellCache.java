@@ -0,0 +1,141 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.ui.TextUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of formatted cell texts and their measured extents.
+ * Capacity follows the number of cells painted in the viewport, so only recently visible cells are kept.
+ * Cache is dropped when cell values revision changes and must be invalidated when formatters or grid font change.
+ */
+class GridCellCache {
+
+    private static final int MIN_CAPACITY = 1000;
+    // Keep a few viewports to make scrolling back and forth cheap
+    private static final int VIEWPORTS_TO_KEEP = 4;
+
+    static class CellInfo {
+        @NotNull
+        final String text;
+        private Point textExtent;
+        private String displayText;
+        private int displayWidth = -1;
+        private int displayTextWidth = -1;
+
+        CellInfo(@NotNull String text) {
+            this.text = text;
+        }
+
+        /**
+         * Full cell text extent (may be multi-line)
+         */
+        @NotNull
+        Point getTextExtent(@NotNull GC gc) {
+            if (textExtent == null) {
+                textExtent = gc.textExtent(text);
+            }
+            return textExtent;
+        }
+
+        /**
+         * Shortened single-line text which fits specified width
+         */
+        @NotNull
+        String getDisplayText(@NotNull FontMetrics fontMetrics, int width) {
+            if (displayText == null || displayWidth != width) {
+                displayText = TextUtils.getSingleLineString(TextUtils.getShortString(fontMetrics, text, width));
+                displayWidth = width;
+                displayTextWidth = -1;
+            }
+            return displayText;
+        }
+
+        /**
+         * Width of the last text returned by {@link #getDisplayText(FontMetrics, int)}
+         */
+        int getDisplayTextWidth(@NotNull GC gc) {
+            if (displayTextWidth < 0) {
+                displayTextWidth = displayText == null ? 0 : gc.textExtent(displayText).x;
+            }
+            return displayTextWidth;
+        }
+    }
+
+    private static class CellKey {
+        private final Object col;
+        private final Object row;
+
+        CellKey(Object col, Object row) {
+            this.col = col;
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CellKey)) {
+                return false;
+            }
+            CellKey key = (CellKey) obj;
+            return col == key.col && row == key.row;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(col) * 31 + System.identityHashCode(row);
+        }
+    }
+
+    private int capacity = MIN_CAPACITY;
+    private final Map<CellKey, CellInfo> cells = new LinkedHashMap<CellKey, CellInfo>(MIN_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CellKey, CellInfo> eldest) {
+            return size() > capacity;
+        }
+    };
+
+    CellInfo get(Object col, Object row) {
+        return cells.get(new CellKey(col, row));
+    }
+
+    void put(Object col, Object row, CellInfo info) {
+        cells.put(new CellKey(col, row), info);
+    }
+
+    /**
+     * Adjusts cache capacity to the number of cells painted in one viewport
+     */
+    void setViewportSize(int cellCount) {
+        int newCapacity = Math.max(MIN_CAPACITY, cellCount * VIEWPORTS_TO_KEEP);
+        if (newCapacity < capacity) {
+            cells.clear();
+        }
+        capacity = newCapacity;
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+}
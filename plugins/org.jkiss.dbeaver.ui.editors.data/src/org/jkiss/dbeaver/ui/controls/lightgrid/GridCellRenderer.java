@@ -21,7 +21,6 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.*;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
-import org.jkiss.dbeaver.ui.TextUtils;
 import org.jkiss.dbeaver.ui.UIIcon;
 
 /**
@@ -69,7 +68,8 @@ class GridCellRenderer extends AbstractRenderer
             gc.fillRectangle(bounds.x, bounds.y, bounds.width, bounds.height);
         }
 
-        String text = grid.getCellText(col, row);
+        GridCellCache.CellInfo cellInfo = grid.getCellInfo(col, row);
+        String text = cellInfo.text;
         final int state = grid.getContentProvider().getCellState(col, row, text);
         int x = LEFT_MARGIN;
 
@@ -101,11 +101,9 @@ class GridCellRenderer extends AbstractRenderer
         int width = bounds.width - x - RIGHT_MARGIN;
 
         // Get cell text
-        if (text != null && !text.isEmpty()) {
-            // Get shortern version of string
-            text = TextUtils.getShortString(grid.fontMetrics, text, width);
-            // Replace linefeeds with space
-            text = TextUtils.getSingleLineString(text);
+        if (!text.isEmpty()) {
+            // Get shortened single-line version of string
+            text = cellInfo.getDisplayText(grid.fontMetrics, width);
 
             gc.setFont(grid.normalFont);
 
@@ -123,10 +121,10 @@ class GridCellRenderer extends AbstractRenderer
                     } else {
                         gc.setClipping(bounds);
                     }
-                    Point textSize = gc.textExtent(text);
+                    int textWidth = cellInfo.getDisplayTextWidth(gc);
                     gc.drawString(
                             text,
-                            bounds.x + bounds.width - (textSize.x + RIGHT_MARGIN + imageMargin),
+                            bounds.x + bounds.width - (textWidth + RIGHT_MARGIN + imageMargin),
                             bounds.y + TEXT_TOP_MARGIN + TOP_MARGIN,
                             true);
                     gc.setClipping((Rectangle) null);
@@ -40,6 +40,10 @@ class GridColumn {
 	 * Default width of the column.
 	 */
 	private static final int DEFAULT_WIDTH = 10;
+    /**
+     * Number of rows (besides visible ones) sampled to compute column preferred width.
+     */
+    private static final int PACK_SAMPLE_SIZE = 50;
 
     private static final int topMargin = 6;
     private static final int bottomMargin = 6;
@@ -254,13 +258,26 @@ class GridColumn {
 	void pack(boolean reflect) {
 		int newWidth = computeHeaderWidth();
         if (CommonUtils.isEmpty(children)) {
+            int itemCount = grid.getItemCount();
             // Calculate width of visible cells
             int topIndex = grid.getTopIndex();
             int bottomIndex = grid.getBottomIndex();
             if (topIndex >= 0 && bottomIndex >= topIndex) {
-                int itemCount = grid.getItemCount();
                 for (int i = topIndex; i <= bottomIndex && i < itemCount; i++) {
-                    newWidth = Math.max(newWidth, computeCellWidth(element, grid.getRowElement(i)));
+                    Object row = grid.getRowElement(i);
+                    newWidth = Math.max(newWidth, computeCellWidth(row, grid.getCellInfo(element, row)));
+                }
+            }
+            // Calculate width of sampled cells. Rows are picked evenly across all fetched rows
+            // so long values outside of the viewport are taken into account too.
+            // Sampled cells are not cached - they must not evict visible cells.
+            if (itemCount > bottomIndex - topIndex + 1) {
+                int step = (itemCount + PACK_SAMPLE_SIZE - 1) / PACK_SAMPLE_SIZE;
+                for (int i = step / 2; i < itemCount; i += step) {
+                    if (i < topIndex || i > bottomIndex) {
+                        Object row = grid.getRowElement(i);
+                        newWidth = Math.max(newWidth, computeCellWidth(row, grid.getTransientCellInfo(element, row)));
+                    }
                 }
             }
         } else {
@@ -284,13 +301,13 @@ class GridColumn {
         }
 	}
 
-    private int computeCellWidth(Object col, Object row) {
+    private int computeCellWidth(Object row, GridCellCache.CellInfo cellInfo) {
+        Object col = element;
         int x = 0;
 
         x += leftMargin;
 
-        String cellText = grid.getCellText(col, row);
-        int state = grid.getContentProvider().getCellState(col, row, cellText);
+        int state = grid.getContentProvider().getCellState(col, row, cellInfo.text);
         Rectangle imageBounds;
         if (GridCellRenderer.isLinkState(state)) {
             imageBounds = GridCellRenderer.LINK_IMAGE_BOUNDS;
@@ -302,7 +319,7 @@ class GridColumn {
             x += imageBounds.width + insideMargin;
         }
 
-        x += grid.sizingGC.textExtent(cellText).x + rightMargin;
+        x += cellInfo.getTextExtent(grid.sizingGC).x + rightMargin;
         return x;
     }
 
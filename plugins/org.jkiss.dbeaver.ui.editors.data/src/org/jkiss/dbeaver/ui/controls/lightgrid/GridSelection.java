@@ -0,0 +1,574 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.*;
+
+/**
+ * Grid cells selection.
+ * Selection is kept as a list of disjoint rectangular cell ranges, so selection of entire rows, columns
+ * or of the whole grid takes constant memory.
+ * Cells are iterated lazily in natural order (first ordered by rows then by columns).
+ */
+public class GridSelection extends AbstractCollection<GridPos> {
+
+    /**
+     * Rectangular range of cells. All bounds are inclusive.
+     */
+    public static class Range {
+        public final int col1;
+        public final int row1;
+        public final int col2;
+        public final int row2;
+
+        Range(int col1, int row1, int col2, int row2)
+        {
+            this.col1 = col1;
+            this.row1 = row1;
+            this.col2 = col2;
+            this.row2 = row2;
+        }
+
+        public long getCellCount()
+        {
+            return (long) (col2 - col1 + 1) * (row2 - row1 + 1);
+        }
+
+        public boolean contains(int col, int row)
+        {
+            return col >= col1 && col <= col2 && row >= row1 && row <= row2;
+        }
+
+        boolean intersects(Range range)
+        {
+            return range.col1 <= col2 && range.col2 >= col1 && range.row1 <= row2 && range.row2 >= row1;
+        }
+
+        long getIntersectionCount(Range range)
+        {
+            if (!intersects(range)) {
+                return 0;
+            }
+            return (long) (Math.min(col2, range.col2) - Math.max(col1, range.col1) + 1) *
+                (Math.min(row2, range.row2) - Math.max(row1, range.row1) + 1);
+        }
+
+        @Override
+        public String toString()
+        {
+            return col1 + ":" + row1 + "-" + col2 + ":" + row2;
+        }
+    }
+
+    private final List<Range> ranges = new ArrayList<>();
+    private long cellCount;
+
+    public GridSelection()
+    {
+    }
+
+    public GridSelection(@NotNull GridSelection source)
+    {
+        ranges.addAll(source.ranges);
+        cellCount = source.cellCount;
+    }
+
+    public GridSelection(int col1, int row1, int col2, int row2)
+    {
+        addRange(col1, row1, col2, row2);
+    }
+
+    @NotNull
+    public List<Range> getRanges()
+    {
+        return Collections.unmodifiableList(ranges);
+    }
+
+    public long getCellCount()
+    {
+        return cellCount;
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) Math.min(cellCount, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return ranges.isEmpty();
+    }
+
+    @Override
+    public void clear()
+    {
+        ranges.clear();
+        cellCount = 0;
+    }
+
+    public void set(@NotNull GridSelection source)
+    {
+        if (source != this) {
+            clear();
+            ranges.addAll(source.ranges);
+            cellCount = source.cellCount;
+        }
+    }
+
+    /**
+     * Adds range of cells to selection. Already selected cells are ignored.
+     * @return true if selection was changed
+     */
+    public boolean addRange(int col1, int row1, int col2, int row2)
+    {
+        if (col1 > col2 || row1 > row2) {
+            return false;
+        }
+        List<Range> pieces = new ArrayList<>();
+        pieces.add(new Range(col1, row1, col2, row2));
+        for (Range range : ranges) {
+            if (pieces.isEmpty()) {
+                break;
+            }
+            pieces = subtract(pieces, range);
+        }
+        for (Range piece : pieces) {
+            appendRange(piece);
+        }
+        return !pieces.isEmpty();
+    }
+
+    /**
+     * Removes range of cells from selection.
+     * @return true if selection was changed
+     */
+    public boolean removeRange(int col1, int row1, int col2, int row2)
+    {
+        if (col1 > col2 || row1 > row2) {
+            return false;
+        }
+        Range cut = new Range(col1, row1, col2, row2);
+        List<Range> result = new ArrayList<>(ranges.size());
+        boolean changed = false;
+        for (Range range : ranges) {
+            if (range.intersects(cut)) {
+                difference(range, cut, result);
+                changed = true;
+            } else {
+                result.add(range);
+            }
+        }
+        if (changed) {
+            ranges.clear();
+            ranges.addAll(result);
+            cellCount = 0;
+            for (Range range : ranges) {
+                cellCount += range.getCellCount();
+            }
+        }
+        return changed;
+    }
+
+    public boolean contains(int col, int row)
+    {
+        for (Range range : ranges) {
+            if (range.contains(col, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsRange(@NotNull Range range)
+    {
+        // Ranges are disjoint so sum of intersections equals to the covered part of the range
+        long covered = 0;
+        for (Range r : ranges) {
+            covered += r.getIntersectionCount(range);
+        }
+        return covered == range.getCellCount();
+    }
+
+    public boolean isRowSelected(int row)
+    {
+        for (Range range : ranges) {
+            if (row >= range.row1 && row <= range.row2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * First selected cell in natural order
+     */
+    @Nullable
+    public GridPos getFirst()
+    {
+        Range first = null;
+        for (Range range : ranges) {
+            if (first == null || range.row1 < first.row1 || (range.row1 == first.row1 && range.col1 < first.col1)) {
+                first = range;
+            }
+        }
+        return first == null ? null : new GridPos(first.col1, first.row1);
+    }
+
+    /**
+     * Sorted indexes of rows which contain selected cells
+     */
+    @NotNull
+    public IndexSet getRows()
+    {
+        List<int[]> intervals = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            intervals.add(new int[] { range.row1, range.row2 });
+        }
+        return new IndexSet(intervals);
+    }
+
+    /**
+     * Sorted indexes of columns which contain selected cells
+     */
+    @NotNull
+    public IndexSet getColumns()
+    {
+        List<int[]> intervals = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            intervals.add(new int[] { range.col1, range.col2 });
+        }
+        return new IndexSet(intervals);
+    }
+
+    @Override
+    public boolean add(GridPos pos)
+    {
+        return addRange(pos.col, pos.row, pos.col, pos.row);
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        if (o instanceof GridPos) {
+            GridPos pos = (GridPos) o;
+            return removeRange(pos.col, pos.row, pos.col, pos.row);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return o instanceof GridPos && contains(((GridPos) o).col, ((GridPos) o).row);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends GridPos> c)
+    {
+        if (c instanceof GridSelection) {
+            boolean changed = false;
+            for (Range range : ((GridSelection) c).ranges) {
+                changed |= addRange(range.col1, range.row1, range.col2, range.row2);
+            }
+            return changed;
+        }
+        return super.addAll(c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        boolean changed = false;
+        if (c instanceof GridSelection) {
+            for (Range range : ((GridSelection) c).ranges) {
+                changed |= removeRange(range.col1, range.row1, range.col2, range.row2);
+            }
+        } else {
+            for (Object o : c) {
+                changed |= remove(o);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c)
+    {
+        if (c instanceof GridSelection) {
+            for (Range range : ((GridSelection) c).ranges) {
+                if (!containsRange(range)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.containsAll(c);
+    }
+
+    /**
+     * Checks that both selections contain the same cells
+     */
+    public boolean isSameAs(@NotNull GridSelection selection)
+    {
+        return cellCount == selection.cellCount && containsAll(selection);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<GridPos> iterator()
+    {
+        return new CellIterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        return ranges.toString();
+    }
+
+    private void appendRange(Range range)
+    {
+        cellCount += range.getCellCount();
+        // Join with adjacent range if together they form a rectangle
+        for (int i = 0; i < ranges.size(); i++) {
+            Range r = ranges.get(i);
+            Range joined = null;
+            if (r.col1 == range.col1 && r.col2 == range.col2) {
+                if (r.row2 + 1 == range.row1) {
+                    joined = new Range(r.col1, r.row1, r.col2, range.row2);
+                } else if (range.row2 + 1 == r.row1) {
+                    joined = new Range(r.col1, range.row1, r.col2, r.row2);
+                }
+            } else if (r.row1 == range.row1 && r.row2 == range.row2) {
+                if (r.col2 + 1 == range.col1) {
+                    joined = new Range(r.col1, r.row1, range.col2, r.row2);
+                } else if (range.col2 + 1 == r.col1) {
+                    joined = new Range(range.col1, r.row1, r.col2, r.row2);
+                }
+            }
+            if (joined != null) {
+                ranges.remove(i);
+                cellCount -= r.getCellCount() + range.getCellCount();
+                appendRange(joined);
+                return;
+            }
+        }
+        ranges.add(range);
+    }
+
+    private static List<Range> subtract(List<Range> pieces, Range cut)
+    {
+        List<Range> result = new ArrayList<>(pieces.size());
+        for (Range piece : pieces) {
+            if (piece.intersects(cut)) {
+                difference(piece, cut, result);
+            } else {
+                result.add(piece);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds parts of range which are not covered by cut (at most 4 ranges)
+     */
+    private static void difference(Range range, Range cut, List<Range> result)
+    {
+        if (range.row1 < cut.row1) {
+            result.add(new Range(range.col1, range.row1, range.col2, cut.row1 - 1));
+        }
+        if (range.row2 > cut.row2) {
+            result.add(new Range(range.col1, cut.row2 + 1, range.col2, range.row2));
+        }
+        int midRow1 = Math.max(range.row1, cut.row1);
+        int midRow2 = Math.min(range.row2, cut.row2);
+        if (range.col1 < cut.col1) {
+            result.add(new Range(range.col1, midRow1, cut.col1 - 1, midRow2));
+        }
+        if (range.col2 > cut.col2) {
+            result.add(new Range(cut.col2 + 1, midRow1, range.col2, midRow2));
+        }
+    }
+
+    /**
+     * Lazy cells iterator. Keeps ranges which intersect the current row ordered by columns.
+     */
+    private class CellIterator implements Iterator<GridPos> {
+        private final Range[] sorted;
+        private final List<Range> rowRanges = new ArrayList<>();
+        private int nextRange;
+        private int row = -1;
+        private int rangeIndex;
+        private int col;
+        private GridPos next;
+
+        CellIterator()
+        {
+            sorted = ranges.toArray(new Range[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(r -> r.row1));
+            if (nextRow()) {
+                next = new GridPos(col, row);
+            }
+        }
+
+        private boolean nextRow()
+        {
+            int newRow = row + 1;
+            for (Iterator<Range> iter = rowRanges.iterator(); iter.hasNext(); ) {
+                if (iter.next().row2 < newRow) {
+                    iter.remove();
+                }
+            }
+            if (rowRanges.isEmpty()) {
+                if (nextRange >= sorted.length) {
+                    return false;
+                }
+                newRow = Math.max(newRow, sorted[nextRange].row1);
+            }
+            boolean added = false;
+            while (nextRange < sorted.length && sorted[nextRange].row1 <= newRow) {
+                rowRanges.add(sorted[nextRange++]);
+                added = true;
+            }
+            if (added) {
+                rowRanges.sort(Comparator.comparingInt(r -> r.col1));
+            }
+            row = newRow;
+            rangeIndex = 0;
+            col = rowRanges.get(0).col1;
+            return true;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public GridPos next()
+        {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            GridPos result = next;
+            col++;
+            if (col > rowRanges.get(rangeIndex).col2) {
+                rangeIndex++;
+                if (rangeIndex < rowRanges.size()) {
+                    col = rowRanges.get(rangeIndex).col1;
+                } else if (!nextRow()) {
+                    next = null;
+                    return result;
+                }
+            }
+            next = new GridPos(col, row);
+            return result;
+        }
+    }
+
+    /**
+     * Sorted set of indexes stored as disjoint intervals
+     */
+    public static class IndexSet extends AbstractCollection<Integer> {
+        private final int[] starts;
+        private final int[] ends;
+        private final int size;
+
+        IndexSet(List<int[]> intervals)
+        {
+            intervals.sort(Comparator.comparingInt(i -> i[0]));
+            List<int[]> merged = new ArrayList<>(intervals.size());
+            for (int[] interval : intervals) {
+                int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && interval[0] <= last[1] + 1) {
+                    last[1] = Math.max(last[1], interval[1]);
+                } else {
+                    merged.add(new int[] { interval[0], interval[1] });
+                }
+            }
+            starts = new int[merged.size()];
+            ends = new int[merged.size()];
+            long count = 0;
+            for (int i = 0; i < merged.size(); i++) {
+                starts[i] = merged.get(i)[0];
+                ends[i] = merged.get(i)[1];
+                count += ends[i] - starts[i] + 1;
+            }
+            size = (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        public boolean contains(int index)
+        {
+            int pos = Arrays.binarySearch(starts, index);
+            if (pos >= 0) {
+                return true;
+            }
+            pos = -pos - 2;
+            return pos >= 0 && index <= ends[pos];
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return o instanceof Integer && contains(((Integer) o).intValue());
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @NotNull
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            return new Iterator<Integer>() {
+                private int interval = 0;
+                private int next = starts.length == 0 ? 0 : starts[0];
+
+                @Override
+                public boolean hasNext()
+                {
+                    return interval < starts.length;
+                }
+
+                @Override
+                public Integer next()
+                {
+                    if (interval >= starts.length) {
+                        throw new NoSuchElementException();
+                    }
+                    int result = next;
+                    if (next < ends[interval]) {
+                        next++;
+                    } else if (++interval < starts.length) {
+                        next = starts[interval];
+                    }
+                    return result;
+                }
+            };
+        }
+    }
+}
@@ -62,6 +62,11 @@ public interface IGridContentProvider extends IContentProvider {
 
     Object getCellValue(Object colElement, Object rowElement, boolean formatString);
 
+    /**
+     * Revision of cell values. Grid drops cached cell texts when revision changes.
+     */
+    long getCellsRevision();
+
     @NotNull
     String getCellText(Object colElement, Object rowElement);
 
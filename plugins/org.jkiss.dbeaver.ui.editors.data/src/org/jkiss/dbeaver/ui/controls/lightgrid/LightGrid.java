@@ -36,7 +36,6 @@ import org.jkiss.dbeaver.ui.dnd.LocalObjectTransfer;
 import org.jkiss.dbeaver.ui.editors.data.internal.DataEditorsMessages;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IntKeyMap;
 
 import java.util.*;
 import java.util.List;
@@ -154,10 +153,10 @@ public abstract class LightGrid extends Canvas {
      */
     private int focusItem = -1;
 
-    private final Set<GridPos> selectedCells = new TreeSet<>(new GridPos.PosComparator());
-    private final List<GridPos> selectedCellsBeforeRangeSelect = new ArrayList<>();
+    private final GridSelection selectedCells = new GridSelection();
+    private final GridSelection selectedCellsBeforeRangeSelect = new GridSelection();
     private final List<GridColumn> selectedColumns = new ArrayList<>();
-    private final IntKeyMap<Boolean> selectedRows = new IntKeyMap<>();
+    private GridSelection.IndexSet selectedRows = new GridSelection().getRows();
 
     private boolean cellDragSelectionOccurring = false;
     private boolean cellRowDragSelectionOccurring = false;
@@ -283,6 +282,8 @@ public abstract class LightGrid extends Canvas {
     GC sizingGC;
     FontMetrics fontMetrics;
     Font normalFont;
+    private final GridCellCache cellCache = new GridCellCache();
+    private long cellCacheRevision;
 
     @NotNull
     private Color lineColor;
@@ -514,6 +515,7 @@ public abstract class LightGrid extends Canvas {
         }
         IGridContentProvider contentProvider = getContentProvider();
         refreshRowsData();
+        invalidateCellCache();
         this.displayedToolTipText = null;
 
         if (refreshColumns) {
@@ -636,6 +638,15 @@ public abstract class LightGrid extends Canvas {
         collectRows(realRows, parents, null, initialElements, 0);
         this.rowElements = realRows.toArray();
         this.parentNodes = parents.toArray(new GridNode[parents.size()]);
+        invalidateCellCache();
+    }
+
+    /**
+     * Drops cached cell texts and extents.
+     * Must be called when cell values or their formatting change.
+     */
+    public void invalidateCellCache() {
+        cellCache.clear();
     }
 
     /**
@@ -1116,10 +1127,8 @@ public abstract class LightGrid extends Canvas {
      */
     public int getSelectionIndex()
     {
-        if (selectedCells.isEmpty())
-            return -1;
-
-        return selectedCells.iterator().next().row;
+        GridPos first = selectedCells.getFirst();
+        return first == null ? -1 : first.row;
     }
 
     /**
@@ -1384,6 +1393,7 @@ public abstract class LightGrid extends Canvas {
         columns.clear();
         columnElements = new Object[0];
         rowElements = new Object[0];
+        cellCache.clear();
     }
 
     /**
@@ -1401,7 +1411,7 @@ public abstract class LightGrid extends Canvas {
 
         if (index < 0 || index >= getItemCount()) return;
 
-        selectCells(getCells(index));
+        selectCells(getCells(index, index));
 
         redraw();
     }
@@ -1429,15 +1439,8 @@ public abstract class LightGrid extends Canvas {
 
         if (selectionType == SWT.SINGLE && start != end) return;
 
-        for (int i = start; i <= end; i++) {
-            if (i < 0) {
-                continue;
-            }
-            if (i > getItemCount() - 1) {
-                break;
-            }
-
-            selectCells(getCells(i));
+        if (start <= end) {
+            selectCells(getCells(start, end));
         }
 
         redraw();
@@ -1470,11 +1473,13 @@ public abstract class LightGrid extends Canvas {
 
         if (selectionType == SWT.SINGLE && indices.length > 1) return;
 
+        GridSelection cells = new GridSelection();
         for (int j : indices) {
             if (j >= 0 && j < getItemCount()) {
-                selectCells(getCells(j));
+                cells.addAll(getCells(j, j));
             }
         }
+        selectCells(cells);
         redraw();
     }
 
@@ -1550,7 +1555,7 @@ public abstract class LightGrid extends Canvas {
 
         if (index >= 0 && index < getItemCount()) {
             selectedCells.clear();
-            selectCells(getCells(index));
+            selectCells(getCells(index, index));
         }
     }
 
@@ -1578,15 +1583,8 @@ public abstract class LightGrid extends Canvas {
 
         selectedCells.clear();
 
-        for (int i = start; i <= end; i++) {
-            if (i < 0) {
-                continue;
-            }
-            if (i > getItemCount() - 1) {
-                break;
-            }
-
-            selectCells(getCells(i));
+        if (start <= end) {
+            selectCells(getCells(start, end));
         }
         redraw();
     }
@@ -1613,6 +1611,7 @@ public abstract class LightGrid extends Canvas {
 
         selectedCells.clear();
 
+        GridSelection cells = new GridSelection();
         for (int j : indices) {
             if (j < 0) {
                 continue;
@@ -1621,8 +1620,9 @@ public abstract class LightGrid extends Canvas {
                 break;
             }
 
-            selectCells(getCells(j));
+            cells.addAll(getCells(j, j));
         }
+        selectCells(cells);
         redraw();
     }
 
@@ -1804,9 +1804,9 @@ public abstract class LightGrid extends Canvas {
         if (scrollValuesObsolete)
             updateScrollbars();
 
-        if (selectedCells.isEmpty()) return;
+        GridPos cell = selectedCells.getFirst();
+        if (cell == null) return;
 
-        GridPos cell = selectedCells.iterator().next();
         showItem(cell.row);
         showColumn(cell.col);
     }
@@ -2156,6 +2156,7 @@ public abstract class LightGrid extends Canvas {
         final int hScrollSelectionInPixels = getHScrollSelectionInPixels();
         final GridPos testPos = new GridPos(-1, -1);
         final Rectangle cellBounds = new Rectangle(0, 0, 0, 0);
+        int paintedCells = 0;
 
         for (int i = 0; i < visibleRows; i++) {
 
@@ -2166,7 +2167,7 @@ public abstract class LightGrid extends Canvas {
             // get the item to draw
             if (row >= 0 && row < getItemCount()) {
 
-                boolean cellInRowSelected = selectedRows.containsKey(row);
+                boolean cellInRowSelected = selectedRows.contains(row);
 
                 if (rowHeaderVisible) {
 
@@ -2192,10 +2193,11 @@ public abstract class LightGrid extends Canvas {
                         cellRenderer.paint(
                             gc,
                             cellBounds,
-                            selectedCells.contains(testPos),
+                            selectedCells.contains(testPos.col, testPos.row),
                             focusItem == row && focusColumn == column,
                             column.getElement(),
                             rowElements[row]);
+                        paintedCells++;
 
                         //gc.setClipping((Rectangle) null);
                     }
@@ -2264,6 +2266,7 @@ public abstract class LightGrid extends Canvas {
 
             row++;
         }
+        cellCache.setViewportSize(paintedCells);
     }
 
     /**
@@ -2450,7 +2453,7 @@ public abstract class LightGrid extends Canvas {
             boolean reverseDuplicateSelections,
             EventSource eventSource)
     {
-        return updateCellSelection(Collections.singletonList(newCell), stateMask, dragging, reverseDuplicateSelections, eventSource);
+        return updateCellSelection(new GridSelection(newCell.col, newCell.row, newCell.col, newCell.row), stateMask, dragging, reverseDuplicateSelections, eventSource);
     }
 
     /**
@@ -2464,7 +2467,7 @@ public abstract class LightGrid extends Canvas {
      */
     @Nullable
     private Event updateCellSelection(
-        @NotNull List<GridPos> newCells,
+        @NotNull GridSelection newCells,
         int stateMask,
         boolean dragging,
         boolean reverseDuplicateSelections,
@@ -2481,24 +2484,25 @@ public abstract class LightGrid extends Canvas {
             shiftSelectionAnchorItem = -1;
         }
 
-        List<GridPos> oldSelection = null;
+        GridSelection oldSelection = null;
         if (!shift && !ctrl) {
-            if (newCells.size() == 1 &&
-                newCells.size() == selectedCells.size() &&
-                newCells.get(0).equals(selectedCells.iterator().next()))
+            if (newCells.getCellCount() == 1 &&
+                selectedCells.getCellCount() == 1 &&
+                newCells.isSameAs(selectedCells))
             {
                 return null;
             }
 
             selectedCells.clear();
-            for (GridPos newCell : newCells) {
-                addToCellSelection(newCell);
-            }
+            addToCellSelection(newCells);
 
         } else if (shift) {
 
-            GridPos newCell = newCells.get(0); //shift selection should only occur with one cell, ignoring others
-            oldSelection = new ArrayList<>(selectedCells);
+            GridPos newCell = newCells.getFirst(); //shift selection should only occur with one cell, ignoring others
+            if (newCell == null) {
+                return null;
+            }
+            oldSelection = new GridSelection(selectedCells);
 
             if ((focusColumn == null) || (focusItem < 0)) {
                 return null;
@@ -2526,53 +2530,13 @@ public abstract class LightGrid extends Canvas {
             currentColumn = getColumn(newRange.x);
             endColumn = getColumn(newRange.y);
 
-            GridColumn startCol = currentColumn;
-
             if (currentItem > endItem) {
                 int temp = currentItem;
                 currentItem = endItem;
                 endItem = temp;
             }
 
-            boolean firstLoop = true;
-            do {
-                if (!firstLoop) {
-                    currentItem++;
-                }
-
-                firstLoop = false;
-
-                boolean firstLoop2 = true;
-
-                currentColumn = startCol;
-
-                do {
-                    if (!firstLoop2) {
-                        int index = indexOf(currentColumn) + 1;
-
-                        if (index < columns.size()) {
-                            currentColumn = columns.get(index);
-                        } else {
-                            currentColumn = null;
-                        }
-
-                        if (currentColumn != null)
-                            if (indexOf(currentColumn) > indexOf(endColumn))
-                                currentColumn = null;
-                    }
-
-                    firstLoop2 = false;
-
-                    if (currentColumn != null) {
-                        GridPos cell = new GridPos(indexOf(currentColumn), currentItem);
-                        addToCellSelection(cell);
-                    }
-                } while (currentColumn != endColumn && currentColumn != null);
-            } while (currentItem != endItem);
-
-            if (selectedCells.equals(newCells)) {
-                return null;
-            }
+            addToCellSelection(indexOf(currentColumn), currentItem, indexOf(endColumn), endItem);
 
         } else /*if (eventSource == EventSource.MOUSE)*/ {
             // Ctrl selection works only for mouse events
@@ -2588,12 +2552,10 @@ public abstract class LightGrid extends Canvas {
             if (reverse) {
                 selectedCells.removeAll(newCells);
             } else {
-                for (GridPos newCell : newCells) {
-                    addToCellSelection(newCell);
-                }
+                addToCellSelection(newCells);
             }
         }
-        if (oldSelection != null && oldSelection.size() == selectedCells.size() && selectedCells.containsAll(oldSelection)) {
+        if (oldSelection != null && oldSelection.isSameAs(selectedCells)) {
             return null;
         }
 
@@ -2613,30 +2575,39 @@ public abstract class LightGrid extends Canvas {
 
     private boolean addToCellSelection(GridPos newCell)
     {
-        if (newCell.col < 0 || newCell.col >= columns.size())
-            return false;
+        return addToCellSelection(newCell.col, newCell.row, newCell.col, newCell.row);
+    }
 
-        if (newCell.row < 0 || newCell.row >= getItemCount())
-            return false;
+    private boolean addToCellSelection(GridSelection newCells)
+    {
+        boolean changed = false;
+        for (GridSelection.Range range : newCells.getRanges()) {
+            changed |= addToCellSelection(range.col1, range.row1, range.col2, range.row2);
+        }
+        return changed;
+    }
 
-        return selectedCells.add(newCell);
+    /**
+     * Adds range of cells to selection. Range is clipped by grid bounds.
+     */
+    private boolean addToCellSelection(int col1, int row1, int col2, int row2)
+    {
+        return selectedCells.addRange(
+            Math.max(col1, 0),
+            Math.max(row1, 0),
+            Math.min(col2, columns.size() - 1),
+            Math.min(row2, getItemCount() - 1));
     }
 
     private void updateSelectionCache()
     {
         //Update the list of which columns have all their cells selected
         selectedColumns.clear();
-        selectedRows.clear();
-
-        IntKeyMap<Boolean> columnIndices = new IntKeyMap<>();
-        for (GridPos cell : selectedCells) {
-            columnIndices.put(cell.col, Boolean.TRUE);
-            selectedRows.put(cell.row, Boolean.TRUE);
-        }
-        for (Integer columnIndex : columnIndices.keySet()) {
+        for (Integer columnIndex : selectedCells.getColumns()) {
             selectedColumns.add(columns.get(columnIndex));
         }
         selectedColumns.sort(Comparator.comparingInt(GridColumn::getIndex));
+        selectedRows = selectedCells.getRows();
     }
 
     /**
@@ -2820,7 +2791,7 @@ public abstract class LightGrid extends Canvas {
                     }
                 }
             } else if (hoveringOnRowHeader && hoveringRow != null) {
-                if (e.button == 1 && selectedRows.containsKey(hoveringRow) && dragDetect(e)) {
+                if (e.button == 1 && selectedRows.contains(hoveringRow) && dragDetect(e)) {
                     rowHeaderDragStarted = true;
                     return;
                 }
@@ -2834,7 +2805,7 @@ public abstract class LightGrid extends Canvas {
             col = getColumn(point);
             boolean isSelectedCell = false;
             if (col != null) {
-                isSelectedCell = selectedCells.contains(new GridPos(col.getIndex(), row));
+                isSelectedCell = selectedCells.contains(col.getIndex(), row);
             }
 
             if (col == null && rowHeaderVisible && e.x <= rowHeaderWidth) {
@@ -2855,12 +2826,12 @@ public abstract class LightGrid extends Canvas {
                         }
                     }
                 }
-                List<GridPos> cells = new ArrayList<>();
+                GridSelection cells;
 
                 if (shift) {
-                    getCells(row, focusItem, cells);
+                    cells = getCells(row, focusItem);
                 } else {
-                    getCells(row, cells);
+                    cells = getCells(row, row);
                 }
 
                 int newStateMask = SWT.NONE;
@@ -2918,7 +2889,7 @@ public abstract class LightGrid extends Canvas {
             if (getItemCount() == 0)
                 return;
 
-            List<GridPos> cells = new ArrayList<>();
+            GridSelection cells = new GridSelection();
             getCells(col, cells);
 
             selectionEvent = updateCellSelection(cells, e.stateMask, false, true, EventSource.MOUSE);
@@ -2983,7 +2954,7 @@ public abstract class LightGrid extends Canvas {
         if (focusItem > row) {
             focusItem = row;
         }
-        selectedCells.removeIf(pos -> pos.row > row);
+        selectedCells.removeRange(0, row + 1, Integer.MAX_VALUE, Integer.MAX_VALUE);
         updateSelectionCache();
         computeHeaderSizes();
         this.scrollValuesObsolete = true;
@@ -3146,8 +3117,7 @@ public abstract class LightGrid extends Canvas {
                     setCursor(getDisplay().getSystemCursor(SWT.CURSOR_CROSS));
                     cellDragCTRL = ((e.stateMask & SWT.MOD1) != 0);
                     if (cellDragCTRL) {
-                        selectedCellsBeforeRangeSelect.clear();
-                        selectedCellsBeforeRangeSelect.addAll(selectedCells);
+                        selectedCellsBeforeRangeSelect.set(selectedCells);
                     }
                 }
                 if (!cellRowDragSelectionOccurring && cellRowSelectedOnLastMouseDown) {
@@ -3155,8 +3125,7 @@ public abstract class LightGrid extends Canvas {
                     setCursor(getDisplay().getSystemCursor(SWT.CURSOR_CROSS));
                     cellDragCTRL = ((e.stateMask & SWT.MOD1) != 0);
                     if (cellDragCTRL) {
-                        selectedCellsBeforeRangeSelect.clear();
-                        selectedCellsBeforeRangeSelect.addAll(selectedCells);
+                        selectedCellsBeforeRangeSelect.set(selectedCells);
                     }
                 }
 
@@ -3165,8 +3134,7 @@ public abstract class LightGrid extends Canvas {
                     setCursor(getDisplay().getSystemCursor(SWT.CURSOR_CROSS));
                     cellDragCTRL = ((e.stateMask & SWT.MOD1) != 0);
                     if (cellDragCTRL) {
-                        selectedCellsBeforeRangeSelect.clear();
-                        selectedCellsBeforeRangeSelect.addAll(selectedCells);
+                        selectedCellsBeforeRangeSelect.set(selectedCells);
                     }
                 }
 
@@ -3216,9 +3184,7 @@ public abstract class LightGrid extends Canvas {
                         }
                     }
 
-                    List<GridPos> cells = new ArrayList<>();
-
-                    getCells(intentItem, focusItem, cells);
+                    GridSelection cells = getCells(intentItem, focusItem);
 
                     showItem(intentItem);
                     selectionEvent = updateCellSelection(cells, ctrlFlag, true, false, EventSource.MOUSE);
@@ -3226,7 +3192,7 @@ public abstract class LightGrid extends Canvas {
                 final GridColumn prevHoveringColumn = hoveringColumn;
                 if (cellColumnDragSelectionOccurring && handleCellHover(e.x, e.y)) {
                     boolean dragging;
-                    List<GridPos> newSelected = new ArrayList<>();
+                    GridSelection newSelected = new GridSelection();
 
                     GridColumn iterCol = hoveringColumn;
                     if (iterCol != null) {
@@ -3934,8 +3900,12 @@ public abstract class LightGrid extends Canvas {
     {
         checkWidget();
 
-        for (GridPos cell : cells) {
-            addToCellSelection(cell);
+        if (cells instanceof GridSelection) {
+            addToCellSelection((GridSelection) cells);
+        } else {
+            for (GridPos cell : cells) {
+                addToCellSelection(cell);
+            }
         }
 
         updateSelectionCache();
@@ -3971,7 +3941,7 @@ public abstract class LightGrid extends Canvas {
         focusColumn = columns.get(0);
         focusItem = 0;
 
-        List<GridPos> cells = getAllCells();
+        GridSelection cells = new GridSelection(0, 0, columns.size() - 1, getItemCount() - 1);
         Event selectionEvent = updateCellSelection(cells, stateMask, false, true, EventSource.KEYBOARD);
 
         focusColumn = oldFocusColumn;
@@ -4004,15 +3974,15 @@ public abstract class LightGrid extends Canvas {
     }
 
     /**
-     * Returns an array of cells that are currently selected in the
-     * receiver. The order of the items is unspecified. An empty array indicates
+     * Returns cells that are currently selected in the receiver.
+     * Cells are ordered by rows then by columns. An empty collection indicates
      * that no items are selected.
      * <p>
-     * Note: This is not the actual structure used by the receiver to maintain
-     * its selection, so modifying the array will not affect the receiver.
+     * Cells are produced lazily from selected ranges, so the returned collection is cheap
+     * even if the whole grid is selected.
      * </p>
      *
-     * @return an array representing the cell selection
+     * @return read-only collection representing the cell selection
      */
     @NotNull
     public Collection<GridPos> getSelection()
@@ -4023,16 +3993,40 @@ public abstract class LightGrid extends Canvas {
         return Collections.unmodifiableCollection(selectedCells);
     }
 
-    public List<GridCell> getCellSelection()
+    /**
+     * Returns selected cells. Cells are created lazily during iteration.
+     */
+    public Collection<GridCell> getCellSelection()
     {
         if (isDisposed() || selectedCells.isEmpty()) {
             return Collections.emptyList();
         }
-        List<GridCell> cells = new ArrayList<>(selectedCells.size());
-        for (GridPos pos : selectedCells) {
-            cells.add(posToCell(pos));
-        }
-        return cells;
+        return new AbstractCollection<GridCell>() {
+            @Override
+            public Iterator<GridCell> iterator()
+            {
+                Iterator<GridPos> posIterator = selectedCells.iterator();
+                return new Iterator<GridCell>() {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return posIterator.hasNext();
+                    }
+
+                    @Override
+                    public GridCell next()
+                    {
+                        return posToCell(posIterator.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return selectedCells.size();
+            }
+        };
     }
 
     @NotNull
@@ -4054,75 +4048,31 @@ public abstract class LightGrid extends Canvas {
      */
     public Collection<Integer> getRowSelection()
     {
-        return Collections.unmodifiableCollection(selectedRows.keySet());
+        return selectedRows;
     }
 
-    private void getCells(GridColumn col, List<GridPos> cells)
+    private void getCells(GridColumn col, GridSelection cells)
     {
+        int lastRow = getItemCount() - 1;
         if (col.getChildren() != null) {
             // Get cells for all leafs
             for (int i = 0; i < columns.size(); i++) {
                 if (columns.get(i).isParent(col)) {
-                    for (int k = 0; k < getItemCount(); k++) {
-                        cells.add(new GridPos(i, k));
-                    }
+                    cells.addRange(i, 0, i, lastRow);
                 }
             }
         } else {
             int colIndex = col.getIndex();
-
-            for (int i = 0; i < getItemCount(); i++) {
-                cells.add(new GridPos(colIndex, i));
-            }
-        }
-    }
-
-    private void getCells(int row, List<GridPos> cells)
-    {
-        for (int i = 0; i < columns.size(); i++) {
-            cells.add(new GridPos(i, row));
+            cells.addRange(colIndex, 0, colIndex, lastRow);
         }
     }
 
-    private List<GridPos> getAllCells()
-    {
-        int itemCount = getItemCount();
-        int columnCount = columns.size();
-        List<GridPos> cells = new ArrayList<>(itemCount * columnCount);
-
-        for (int i = 0; i < itemCount; i++) {
-            for (int k = 0; k < columnCount; k++) {
-                cells.add(new GridPos(k, i));
-            }
-        }
-        return cells;
-    }
-
-    private List<GridPos> getCells(int row)
+    /**
+     * Cells of all columns in rows range. Bounds may go in any order.
+     */
+    private GridSelection getCells(int startRow, int endRow)
     {
-        List<GridPos> cells = new ArrayList<>();
-        getCells(row, cells);
-        return cells;
-    }
-
-
-    private void getCells(int startRow, int endRow, List<GridPos> cells)
-    {
-        boolean descending = (startRow < endRow);
-
-        int iterItem = endRow;
-
-        do {
-            getCells(iterItem, cells);
-
-            if (iterItem == startRow) break;
-
-            if (descending) {
-                iterItem--;
-            } else {
-                iterItem++;
-            }
-        } while (true);
+        return new GridSelection(0, Math.min(startRow, endRow), columns.size() - 1, Math.max(startRow, endRow));
     }
 
     /**
@@ -4209,28 +4159,64 @@ public abstract class LightGrid extends Canvas {
         sizingGC.setFont(font);
         fontMetrics = sizingGC.getFontMetrics();
         normalFont = font;
+        cellCache.clear();
     }
 
     public String getCellText(Object colElement, Object rowElement)
+    {
+        return getCellInfo(colElement, rowElement).text;
+    }
+
+    /**
+     * Returns cached cell text and extents. Formats cell value on cache miss.
+     */
+    @NotNull
+    GridCellCache.CellInfo getCellInfo(Object colElement, Object rowElement)
+    {
+        long revision = getContentProvider().getCellsRevision();
+        if (revision != cellCacheRevision) {
+            // Some cell values were changed
+            cellCache.clear();
+            cellCacheRevision = revision;
+        }
+        GridCellCache.CellInfo info = cellCache.get(colElement, rowElement);
+        if (info == null) {
+            info = makeCellInfo(colElement, rowElement);
+            cellCache.put(colElement, rowElement, info);
+        }
+        return info;
+    }
+
+    /**
+     * Returns cached cell info or formats cell value without caching it.
+     * Used for cells outside of the viewport so they do not evict visible cells from the cache.
+     */
+    @NotNull
+    GridCellCache.CellInfo getTransientCellInfo(Object colElement, Object rowElement)
+    {
+        GridCellCache.CellInfo info = cellCache.get(colElement, rowElement);
+        return info != null && getContentProvider().getCellsRevision() == cellCacheRevision ?
+            info : makeCellInfo(colElement, rowElement);
+    }
+
+    @NotNull
+    private GridCellCache.CellInfo makeCellInfo(Object colElement, Object rowElement)
     {
         String text = getContentProvider().getCellText(colElement, rowElement);
         // Truncate too long texts (they are really bad for performance)
         if (text.length() > MAX_TOOLTIP_LENGTH) {
             text = text.substring(0, MAX_TOOLTIP_LENGTH) + " ...";
         }
-
-        return text;
+        return new GridCellCache.CellInfo(text);
     }
 
     @Nullable
     private String getCellToolTip(GridColumn col, int row)
     {
-        String toolTip = getCellText(columnElements[col.getIndex()], rowElements[row]);
-        if (toolTip == null) {
-            return null;
-        }
+        GridCellCache.CellInfo cellInfo = getCellInfo(columnElements[col.getIndex()], rowElements[row]);
+        String toolTip = cellInfo.text;
         // Show tooltip only if it's larger than column width
-        Point ttSize = sizingGC.textExtent(toolTip);
+        Point ttSize = cellInfo.getTextExtent(sizingGC);
         if (ttSize.x > col.getWidth() || ttSize.y > getItemHeight()) {
             int gridHeight = getBounds().height;
             if (ttSize.y > gridHeight) {
@@ -4455,7 +4441,7 @@ public abstract class LightGrid extends Canvas {
                         if (isDragSingleRow()) {
                             elements.add(getRowElement(draggingRow));
                         } else {
-                            for (Integer row : selectedRows.keySet()) {
+                            for (Integer row : selectedRows) {
                                 elements.add(getRowElement(row));
                             }
                         }
@@ -4465,7 +4451,7 @@ public abstract class LightGrid extends Canvas {
                         if (columns.isEmpty()) {
                             columns = LightGrid.this.columns;
                         }
-                        Set<Integer> rows = selectedRows.keySet();
+                        Collection<Integer> rows = selectedRows;
                         if (rows.isEmpty()) {
                             rows = Collections.singleton(draggingRow);
                         }
@@ -4594,7 +4580,7 @@ public abstract class LightGrid extends Canvas {
     }
 
     private boolean isDragSingleRow() {
-        return draggingRow != null && !selectedRows.containsKey(draggingRow);
+        return draggingRow != null && !selectedRows.contains(draggingRow);
     }
 
     public final static class GridColumnTransfer extends LocalObjectTransfer<List<Object>> {
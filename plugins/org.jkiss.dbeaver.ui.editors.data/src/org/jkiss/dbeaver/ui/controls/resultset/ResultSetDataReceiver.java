@@ -16,10 +16,11 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
-import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDDataReceiverProfiled;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
@@ -34,7 +35,7 @@ import java.util.Map;
 /**
  * Data pump for SQL queries
  */
-class ResultSetDataReceiver implements DBDDataReceiver {
+class ResultSetDataReceiver implements DBDDataReceiverProfiled {
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
@@ -53,6 +54,7 @@ class ResultSetDataReceiver implements DBDDataReceiver {
     private List<Throwable> errorList = new ArrayList<>();
     private int focusRow;
     private DBSDataContainer targetDataContainer;
+    private DBCFetchSampler fetchSampler;
 
     ResultSetDataReceiver(ResultSetViewer resultSetViewer)
     {
@@ -83,6 +85,11 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         return errorList;
     }
 
+    @Override
+    public void setFetchSampler(@Nullable DBCFetchSampler sampler) {
+        this.fetchSampler = sampler;
+    }
+
     @Override
     public void fetchStart(DBCSession session, final DBCResultSet resultSet, long offset, long maxRows)
         throws DBCException
@@ -155,7 +162,9 @@ class ResultSetDataReceiver implements DBDDataReceiver {
     public void fetchEnd(DBCSession session, final DBCResultSet resultSet)
         throws DBCException
     {
+        final DBCFetchSampler sampler = fetchSampler;
         if (!nextSegmentRead) {
+            long bindStartTime = System.nanoTime();
             try {
                 // Read locators' metadata
                 DBSEntity entity = null;
@@ -167,12 +176,16 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             } catch (Throwable e) {
                 errorList.add(e);
             }
+            if (sampler != null) {
+                sampler.addPhaseTime(DBCFetchSampler.PHASE_ATTRIBUTE_BINDING, System.nanoTime() - bindStartTime);
+            }
         }
 
         final List<Object[]> tmpRows = rows;
 
         final boolean nextSegmentRead = this.nextSegmentRead;
         UIUtils.syncExec(() -> {
+            long refreshStartTime = System.nanoTime();
             // Push data into viewer
             if (!nextSegmentRead) {
                 boolean metadataChanged = resultSetViewer.getModel().isMetadataChanged();
@@ -191,6 +204,9 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             }
             // Check for more data
             hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
+            if (sampler != null) {
+                sampler.addPhaseTime(DBCFetchSampler.PHASE_UI_REFRESH, System.nanoTime() - refreshStartTime);
+            }
         });
     }
 
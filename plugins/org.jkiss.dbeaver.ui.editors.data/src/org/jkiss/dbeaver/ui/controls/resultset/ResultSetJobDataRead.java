@@ -83,7 +83,9 @@ class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoadService<
         new PumpVisualizer(visualizer).schedule(PROGRESS_VISUALIZE_PERIOD * 2);
 
         long flags = DBSDataContainer.FLAG_READ_PSEUDO |
-            (offset > 0 ? DBSDataContainer.FLAG_FETCH_SEGMENT : DBSDataContainer.FLAG_NONE);
+            (offset > 0 ? DBSDataContainer.FLAG_FETCH_SEGMENT : DBSDataContainer.FLAG_NONE) |
+            // Negative max rows means explicit fetch all
+            (maxRows < 0 ? DBSDataContainer.FLAG_STREAM_DATA : DBSDataContainer.FLAG_NONE);
 
         if (offset > 0 && dataContainer.getDataSource().getContainer().getPreferenceStore().getBoolean(ResultSetPreferences.RESULT_SET_REREAD_ON_SCROLLING)) {
             if (maxRows > 0) {
@@ -59,6 +59,8 @@ public class ResultSetModel {
     private List<ResultSetRow> curRows = new ArrayList<>();
     private Long totalRowCount = null;
     private int changesCount = 0;
+    // Incremented on each cell value update. Used by presentations to drop cached cell texts.
+    private volatile long cellsRevision = 0;
     private volatile boolean hasData = false;
     // Flag saying that edited values update is in progress
     private volatile boolean updateInProgress = false;
@@ -418,6 +420,7 @@ public class ResultSetModel {
             } else {
                 row.values[rootIndex] = value;
             }
+            cellsRevision++;
             return true;
         }
         return false;
@@ -652,6 +655,13 @@ public class ResultSetModel {
         return changesCount != 0;
     }
 
+    /**
+     * Revision of cell values. Changes each time some cell value is updated.
+     */
+    public long getCellsRevision() {
+        return cellsRevision;
+    }
+
     public boolean isAttributeReadOnly(@NotNull DBDAttributeBinding attribute) {
 //        if (!isSingleSource()) {
 //            return true;
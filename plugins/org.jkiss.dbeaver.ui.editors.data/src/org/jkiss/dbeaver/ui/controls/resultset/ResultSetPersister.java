@@ -24,6 +24,7 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPMessageType;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -32,10 +33,14 @@ import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDataSource;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.rdb.DBSManipulationType;
+import org.jkiss.dbeaver.model.virtual.DBVDictionaryCache;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.UIUtils;
@@ -43,6 +48,8 @@ import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.*;
 
 /**
@@ -52,6 +59,9 @@ class ResultSetPersister {
 
     private static final Log log = Log.getLog(ResultSetPersister.class);
 
+    // Maximum number of rows executed in a single batch
+    private static final int MAX_BATCH_SIZE = 1000;
+
     /**
      * Data update listener
      */
@@ -410,6 +420,31 @@ class ResultSetPersister {
         }
     }
 
+    /**
+     * Returns statements of the failed batch which were executed successfully.
+     * Relies on batch update counts reported by the driver (multi-key deletes report rows of the
+     * completed chunks the same way). If there are no counts then all statements are considered as failed.
+     */
+    private static boolean[] getExecutedBatchStatements(Throwable error, int batchSize) {
+        boolean[] executed = new boolean[batchSize];
+        for (Throwable ex = error; ex != null; ex = ex.getCause()) {
+            if (ex instanceof BatchUpdateException) {
+                int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+                if (updateCounts != null && updateCounts.length <= batchSize) {
+                    // Some drivers stop on the first error, others continue and report failed statements
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        executed[i] = updateCounts[i] != Statement.EXECUTE_FAILED;
+                    }
+                }
+                break;
+            }
+            if (ex.getCause() == ex) {
+                break;
+            }
+        }
+        return executed;
+    }
+
     private class DataUpdaterJob extends DataSourceJob {
         private final boolean generateScript;
         private final DataUpdateListener listener;
@@ -444,6 +479,8 @@ class ResultSetPersister {
             }
 
             if (!generateScript) {
+                // Saved rows may be dictionary values of other tables
+                invalidateDictionaryCache();
                 // Reflect changes
                 UIUtils.syncExec(() -> {
                     boolean rowsChanged = false;
@@ -479,6 +516,18 @@ class ResultSetPersister {
             return Status.OK_STATUS;
         }
 
+        private void invalidateDictionaryCache()
+        {
+            Set<DBSEntity> entities = new HashSet<>();
+            for (List<DataStatementInfo> statements : Arrays.asList(deleteStatements, insertStatements, updateStatements)) {
+                for (DataStatementInfo statement : statements) {
+                    if (statement.executed && entities.add(statement.entity)) {
+                        DBVDictionaryCache.invalidate(statement.entity);
+                    }
+                }
+            }
+        }
+
         private Throwable executeStatements(DBRProgressMonitor monitor)
         {
             try (DBCSession session = getExecutionContext().openSession(monitor, DBCExecutionPurpose.USER, ResultSetMessages.controls_resultset_viewer_job_update)) {
@@ -522,86 +571,16 @@ class ResultSetPersister {
                 }
             }
             try {
-                for (DataStatementInfo statement : ResultSetPersister.this.deleteStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.deleteData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            new ExecutionSource(dataContainer)))
-                        {
-                            batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script);
-                            } else {
-                                deleteStats.accumulate(batch.execute(session));
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
-                    }
-                    monitor.worked(1);
+                final boolean useBatches = session.getDataSource().getInfo().supportsBatchUpdates();
+                Throwable error = executeStatements(session, ResultSetPersister.this.deleteStatements, deleteStats, useBatches);
+                if (error == null) {
+                    error = executeStatements(session, ResultSetPersister.this.insertStatements, insertStats, useBatches);
                 }
-                for (DataStatementInfo statement : ResultSetPersister.this.insertStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.insertData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            statement.needKeys() ? new KeyDataReceiver(statement) : null,
-                            new ExecutionSource(dataContainer)))
-                        {
-                            batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script);
-                            } else {
-                                insertStats.accumulate(batch.execute(session));
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
-                    }
-                    monitor.worked(1);
+                if (error == null) {
+                    error = executeStatements(session, ResultSetPersister.this.updateStatements, updateStats, useBatches);
                 }
-                for (DataStatementInfo statement : ResultSetPersister.this.updateStatements) {
-                    if (monitor.isCanceled()) break;
-                    try {
-                        DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                        try (DBSDataManipulator.ExecuteBatch batch = dataContainer.updateData(
-                            session,
-                            DBDAttributeValue.getAttributes(statement.updateAttributes),
-                            DBDAttributeValue.getAttributes(statement.keyAttributes),
-                            null,
-                            new ExecutionSource(dataContainer)))
-                        {
-                            // Make single array of values
-                            Object[] attributes = new Object[statement.updateAttributes.size() + statement.keyAttributes.size()];
-                            for (int i = 0; i < statement.updateAttributes.size(); i++) {
-                                attributes[i] = statement.updateAttributes.get(i).getValue();
-                            }
-                            for (int i = 0; i < statement.keyAttributes.size(); i++) {
-                                attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getValue();
-                            }
-                            // Execute
-                            batch.add(attributes);
-                            if (generateScript) {
-                                batch.generatePersistActions(session, script);
-                            } else {
-                                updateStats.accumulate(batch.execute(session));
-                            }
-                        }
-                        processStatementChanges(statement);
-                    } catch (DBException e) {
-                        processStatementError(statement, session);
-                        return e;
-                    }
-                    monitor.worked(1);
+                if (error != null) {
+                    return error;
                 }
 
                 return null;
@@ -617,6 +596,105 @@ class ResultSetPersister {
             }
         }
 
+        /**
+         * Executes statements in their original order.
+         * Runs of consecutive statements with the same entity, changed attributes and null values
+         * are executed as a single batch.
+         */
+        private Throwable executeStatements(DBCSession session, List<DataStatementInfo> statements, DBCStatistics statistics, boolean useBatches) {
+            final DBRProgressMonitor monitor = session.getProgressMonitor();
+            int batchStart = 0;
+            StatementBatchKey batchKey = null;
+            for (int i = 0; i < statements.size(); i++) {
+                if (monitor.isCanceled()) {
+                    return null;
+                }
+                DataStatementInfo statement = statements.get(i);
+                // Inserts which read generated keys are executed separately - keys are reported per statement
+                StatementBatchKey statementKey = useBatches && !(statement.type == DBSManipulationType.INSERT && statement.needKeys()) ?
+                    new StatementBatchKey(statement) : null;
+                if (batchKey != null && statementKey != null && batchKey.equals(statementKey) && i - batchStart < MAX_BATCH_SIZE) {
+                    continue;
+                }
+                if (i > batchStart) {
+                    Throwable error = executeBatch(session, statements.subList(batchStart, i), statistics);
+                    if (error != null) {
+                        return error;
+                    }
+                    monitor.worked(i - batchStart);
+                }
+                batchStart = i;
+                batchKey = statementKey;
+            }
+            if (batchStart < statements.size() && !monitor.isCanceled()) {
+                Throwable error = executeBatch(session, statements.subList(batchStart, statements.size()), statistics);
+                if (error != null) {
+                    return error;
+                }
+                monitor.worked(statements.size() - batchStart);
+            }
+            return null;
+        }
+
+        private Throwable executeBatch(DBCSession session, List<DataStatementInfo> statements, DBCStatistics statistics) {
+            final DataStatementInfo firstStatement = statements.get(0);
+            try {
+                DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+                try (DBSDataManipulator.ExecuteBatch batch = createBatch(session, dataContainer, firstStatement)) {
+                    for (DataStatementInfo statement : statements) {
+                        batch.add(statement.getBatchValues());
+                    }
+                    if (generateScript) {
+                        batch.generatePersistActions(session, script);
+                    } else {
+                        statistics.accumulate(batch.execute(session));
+                    }
+                }
+                for (DataStatementInfo statement : statements) {
+                    processStatementChanges(statement);
+                }
+                return null;
+            } catch (DBException e) {
+                // Mark statements which were executed before the failure
+                boolean[] executed = getExecutedBatchStatements(e, statements.size());
+                DataStatementInfo failedStatement = null;
+                for (int i = 0; i < statements.size(); i++) {
+                    if (executed[i]) {
+                        processStatementChanges(statements.get(i));
+                    } else if (failedStatement == null) {
+                        failedStatement = statements.get(i);
+                    }
+                }
+                processStatementError(failedStatement == null ? firstStatement : failedStatement, session);
+                return e;
+            }
+        }
+
+        private DBSDataManipulator.ExecuteBatch createBatch(DBCSession session, DBSDataManipulator dataContainer, DataStatementInfo statement) throws DBCException {
+            switch (statement.type) {
+                case DELETE:
+                    return dataContainer.deleteData(
+                        session,
+                        DBDAttributeValue.getAttributes(statement.keyAttributes),
+                        new ExecutionSource(dataContainer));
+                case INSERT:
+                    return dataContainer.insertData(
+                        session,
+                        DBDAttributeValue.getAttributes(statement.keyAttributes),
+                        statement.needKeys() ? new KeyDataReceiver(statement) : null,
+                        new ExecutionSource(dataContainer));
+                case UPDATE:
+                    return dataContainer.updateData(
+                        session,
+                        DBDAttributeValue.getAttributes(statement.updateAttributes),
+                        DBDAttributeValue.getAttributes(statement.keyAttributes),
+                        null,
+                        new ExecutionSource(dataContainer));
+                default:
+                    throw new DBCException("Unsupported manipulation type: " + statement.type);
+            }
+        }
+
         private void processStatementChanges(DataStatementInfo statement)
         {
             statement.executed = true;
@@ -751,29 +829,84 @@ class ResultSetPersister {
             }
             return false;
         }
+
+        /**
+         * Values bound to the statement: updated attributes (for updates) followed by key attributes
+         */
+        Object[] getBatchValues()
+        {
+            Object[] values = new Object[updateAttributes.size() + keyAttributes.size()];
+            for (int i = 0; i < updateAttributes.size(); i++) {
+                values[i] = updateAttributes.get(i).getValue();
+            }
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                values[updateAttributes.size() + i] = keyAttributes.get(i).getValue();
+            }
+            return values;
+        }
     }
 
-    class RowDataReceiver implements DBDDataReceiver {
-        private final DBDAttributeBinding[] curAttributes;
-        private Object[] rowValues;
-        public RowDataReceiver(DBDAttributeBinding[] curAttributes) {
-            this.curAttributes = curAttributes;
+    /**
+     * Statements with the same key produce the same query text and may be executed in a single batch.
+     */
+    private static class StatementBatchKey {
+        private final DBSManipulationType type;
+        private final DBSEntity entity;
+        private final DBSAttributeBase[] attributes;
+        private final boolean[] nulls;
+
+        StatementBatchKey(DataStatementInfo statement)
+        {
+            this.type = statement.type;
+            this.entity = statement.entity;
+            Object[] values = statement.getBatchValues();
+            this.attributes = new DBSAttributeBase[values.length];
+            this.nulls = new boolean[values.length];
+            for (int i = 0; i < statement.updateAttributes.size(); i++) {
+                this.attributes[i] = statement.updateAttributes.get(i).getAttribute();
+            }
+            for (int i = 0; i < statement.keyAttributes.size(); i++) {
+                this.attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getAttribute();
+            }
+            for (int i = 0; i < values.length; i++) {
+                this.nulls[i] = DBUtils.isNullValue(values[i]);
+            }
         }
 
         @Override
-        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows)
-            throws DBCException
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof StatementBatchKey)) {
+                return false;
+            }
+            StatementBatchKey key = (StatementBatchKey) obj;
+            return type == key.type && entity == key.entity &&
+                Arrays.equals(attributes, key.attributes) && Arrays.equals(nulls, key.nulls);
+        }
+
+        @Override
+        public int hashCode()
         {
+            return (type.hashCode() * 31 + System.identityHashCode(entity)) * 31 + Arrays.hashCode(nulls);
+        }
+    }
 
+    class RowDataReceiver implements DBDDataReceiver {
+        private final DBDAttributeBinding[] curAttributes;
+        private final List<Object[]> rows = new ArrayList<>();
+        private boolean attributesMatch;
+        public RowDataReceiver(DBDAttributeBinding[] curAttributes) {
+            this.curAttributes = curAttributes;
         }
 
         @Override
-        public void fetchRow(DBCSession session, DBCResultSet resultSet)
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows)
             throws DBCException
         {
             DBCResultSetMetaData rsMeta = resultSet.getMeta();
             // Compare attributes with existing model attributes
             List<DBCAttributeMetaData> attributes = rsMeta.getAttributes();
+            attributesMatch = false;
             if (attributes.size() != curAttributes.length) {
                 log.debug("Wrong meta attributes count - can't refresh");
                 return;
@@ -784,15 +917,24 @@ class ResultSetPersister {
                     return;
                 }
             }
+            attributesMatch = true;
+        }
 
-            rowValues = new Object[curAttributes.length];
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet)
+            throws DBCException
+        {
+            if (!attributesMatch) {
+                return;
+            }
+            Object[] rowValues = new Object[curAttributes.length];
             for (int i = 0; i < curAttributes.length; i++) {
                 final DBDAttributeBinding attr = curAttributes[i];
                 DBDValueHandler valueHandler = attr.getValueHandler();
                 Object attrValue = valueHandler.fetchValueObject(session, resultSet, attr, i);
                 rowValues[i] = attrValue;
             }
-
+            rows.add(rowValues);
         }
 
         @Override
@@ -833,30 +975,56 @@ class ResultSetPersister {
                     return Status.OK_STATUS;
                 }
                 try (DBCSession session = getExecutionContext().openSession(monitor, DBCExecutionPurpose.UTIL, "Refresh row(s) after insert/update")) {
+                    // Index rows by key values
+                    final Map<RowKey, List<Integer>> rowIndex = new LinkedHashMap<>();
                     for (int i = 0; i < rows.size(); i++) {
-                        ResultSetRow row = rows.get(i);
-                        List<DBDAttributeConstraint> constraints = new ArrayList<>();
-                        boolean hasKey = true;
-                        for (DBDAttributeBinding keyAttr : idAttributes) {
-                            final Object keyValue = row.values[keyAttr.getOrdinalPosition()];
-                            if (DBUtils.isNullValue(keyValue)) {
-                                hasKey = false;
-                                break;
-                            }
-                            final DBDAttributeConstraint constraint = new DBDAttributeConstraint(keyAttr);
-                            constraint.setOperator(DBCLogicalOperator.EQUALS);
-                            constraint.setValue(keyValue);
-                            constraints.add(constraint);
-                        }
-                        if (!hasKey) {
+                        RowKey rowKey = RowKey.of(rows.get(i).values, idAttributes);
+                        if (rowKey == null) {
                             // No key value for this row
                             continue;
                         }
-                        DBDDataFilter filter = new DBDDataFilter(constraints);
+                        rowIndex.computeIfAbsent(rowKey, k -> new ArrayList<>(1)).add(i);
+                    }
+                    final List<RowKey> rowKeys = new ArrayList<>(rowIndex.keySet());
+                    final int chunkSize = getRefreshChunkSize(session, idAttributes);
+                    for (int offset = 0; offset < rowKeys.size(); offset += chunkSize) {
+                        if (monitor.isCanceled()) {
+                            break;
+                        }
+                        List<RowKey> chunk = rowKeys.subList(offset, Math.min(offset + chunkSize, rowKeys.size()));
+                        DBDDataFilter filter = makeKeysFilter(session, idAttributes, chunk);
 
                         RowDataReceiver dataReceiver = new RowDataReceiver(curAttributes);
-                        final DBCStatistics stats = dataContainer.readData(executionSource, session, dataReceiver, filter, 0, 0, DBSDataContainer.FLAG_NONE);
-                        refreshValues[i] = dataReceiver.rowValues;
+                        dataContainer.readData(executionSource, session, dataReceiver, filter, 0, 0, DBSDataContainer.FLAG_NONE);
+                        if (chunk.size() == 1) {
+                            // Single key - no need to match values (server may return keys of a different type)
+                            if (!dataReceiver.rows.isEmpty()) {
+                                for (Integer index : rowIndex.get(chunk.get(0))) {
+                                    refreshValues[index] = dataReceiver.rows.get(0);
+                                }
+                            }
+                            continue;
+                        }
+                        for (Object[] rowValues : dataReceiver.rows) {
+                            RowKey rowKey = RowKey.of(rowValues, idAttributes);
+                            List<Integer> rowIndexes = rowKey == null ? null : rowIndex.get(rowKey);
+                            if (rowIndexes != null) {
+                                for (Integer index : rowIndexes) {
+                                    refreshValues[index] = rowValues;
+                                }
+                            } else {
+                                log.debug("Refreshed row " + rowKey + " doesn't match any of the saved rows");
+                            }
+                        }
+                    }
+                    int notRefreshed = 0;
+                    for (List<Integer> rowIndexes : rowIndex.values()) {
+                        if (refreshValues[rowIndexes.get(0)] == null) {
+                            notRefreshed += rowIndexes.size();
+                        }
+                    }
+                    if (notRefreshed > 0 && !monitor.isCanceled()) {
+                        log.debug(notRefreshed + " saved row(s) were not found during refresh");
                     }
                 }
 
@@ -891,6 +1059,103 @@ class ResultSetPersister {
             }
             return Status.OK_STATUS;
         }
+
+        /**
+         * Number of rows refreshed by a single query. Depends on maximum IN list size supported by dialect.
+         */
+        private int getRefreshChunkSize(DBCSession session, List<DBDAttributeBinding> idAttributes) {
+            if (!(session.getDataSource() instanceof SQLDataSource)) {
+                return 1;
+            }
+            int maxValues = ((SQLDataSource) session.getDataSource()).getSQLDialect().getMaxInClauseValues();
+            return Math.max(1, maxValues / idAttributes.size());
+        }
+
+        private DBDDataFilter makeKeysFilter(DBCSession session, List<DBDAttributeBinding> idAttributes, List<RowKey> rowKeys) {
+            if (rowKeys.size() == 1 || idAttributes.size() == 1) {
+                List<DBDAttributeConstraint> constraints = new ArrayList<>();
+                for (int i = 0; i < idAttributes.size(); i++) {
+                    final DBDAttributeConstraint constraint = new DBDAttributeConstraint(idAttributes.get(i));
+                    if (rowKeys.size() == 1) {
+                        constraint.setOperator(DBCLogicalOperator.EQUALS);
+                        constraint.setValue(rowKeys.get(0).values[i]);
+                    } else {
+                        Object[] keyValues = new Object[rowKeys.size()];
+                        for (int k = 0; k < keyValues.length; k++) {
+                            keyValues[k] = rowKeys.get(k).values[i];
+                        }
+                        constraint.setOperator(DBCLogicalOperator.IN);
+                        constraint.setValue(keyValues);
+                    }
+                    constraints.add(constraint);
+                }
+                return new DBDDataFilter(constraints);
+            }
+            // Composite keys: (k1=v1 AND k2=v2) OR (...)
+            final DBPDataSource dataSource = session.getDataSource();
+            StringBuilder where = new StringBuilder();
+            for (int k = 0; k < rowKeys.size(); k++) {
+                if (k > 0) where.append(" OR "); //$NON-NLS-1$
+                where.append("("); //$NON-NLS-1$
+                for (int i = 0; i < idAttributes.size(); i++) {
+                    DBDAttributeBinding keyAttr = idAttributes.get(i);
+                    if (i > 0) where.append(" AND "); //$NON-NLS-1$
+                    where.append(DBUtils.getObjectFullName(dataSource, keyAttr, DBPEvaluationContext.DML))
+                        .append("=")
+                        .append(SQLUtils.convertValueToSQL(dataSource, keyAttr, rowKeys.get(k).values[i]));
+                }
+                where.append(")"); //$NON-NLS-1$
+            }
+            DBDDataFilter filter = new DBDDataFilter();
+            filter.setWhere(where.toString());
+            return filter;
+        }
+    }
+
+    /**
+     * Row identifier values. Used as hash key to map refreshed rows back to the model.
+     * Values are compared in normalized form, so keys of different Java types (e.g. Integer/Long/BigDecimal)
+     * read from the model and from the database match each other.
+     */
+    private static class RowKey {
+        private final Object[] values;
+        private final Object[] normalizedValues;
+
+        private RowKey(Object[] values) {
+            this.values = values;
+            this.normalizedValues = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                normalizedValues[i] = DBUtils.normalizeKeyValue(values[i]);
+            }
+        }
+
+        @Nullable
+        static RowKey of(Object[] rowValues, List<DBDAttributeBinding> idAttributes) {
+            Object[] keyValues = new Object[idAttributes.size()];
+            for (int i = 0; i < keyValues.length; i++) {
+                int position = idAttributes.get(i).getOrdinalPosition();
+                if (position >= rowValues.length || DBUtils.isNullValue(rowValues[position])) {
+                    return null;
+                }
+                keyValues[i] = rowValues[position];
+            }
+            return new RowKey(keyValues);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RowKey && Arrays.deepEquals(normalizedValues, ((RowKey) obj).normalizedValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(normalizedValues);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
     }
 
 }
@@ -212,7 +212,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         ResultSetModel model = presentation.getController().getModel();
         if (groupByColumns) {
             Map<DBDAttributeBinding, List<Object>> attrValues = new LinkedHashMap<>();
-            for (Object element : selection.toList()) {
+            for (Object element : selection) {
                 DBDAttributeBinding attr = selection.getElementAttribute(element);
                 ResultSetRow row = selection.getElementRow(element);
                 Object cellValue = model.getCellValue(attr, row);
@@ -229,7 +229,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             }
         } else {
             List<Object> allValues = new ArrayList<>(selection.size());
-            for (Object element : selection.toList()) {
+            for (Object element : selection) {
                 DBDAttributeBinding attr = selection.getElementAttribute(element);
                 ResultSetRow row = selection.getElementRow(element);
                 Object cellValue = model.getCellValue(attr, row);
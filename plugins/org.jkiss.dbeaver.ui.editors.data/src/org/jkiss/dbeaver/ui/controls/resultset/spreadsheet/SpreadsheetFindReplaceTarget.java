@@ -279,6 +279,8 @@ class SpreadsheetFindReplaceTarget implements IFindReplaceTarget, IFindReplaceTa
         final DBDAttributeBinding attr = (DBDAttributeBinding)(recordMode ? cell.row : cell.col);
         final ResultSetRow row = (ResultSetRow)(recordMode ? cell.col : cell.row);
         owner.getController().getModel().updateCellValue(attr, row, newValue);
+        owner.getSpreadsheet().invalidateCellCache();
+        owner.getSpreadsheet().redrawGrid();
         owner.getController().updatePanelsContent(false);
     }
 
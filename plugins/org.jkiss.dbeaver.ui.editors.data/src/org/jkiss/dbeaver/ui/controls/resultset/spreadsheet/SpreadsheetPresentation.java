@@ -433,7 +433,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
             tdt.append(rowDelimiter);
         }
 
-        List<GridCell> selectedCells = spreadsheet.getCellSelection();
+        Collection<GridCell> selectedCells = spreadsheet.getCellSelection();
         boolean quoteCells = settings.isQuoteCells() && selectedCells.size() > 1;
         boolean forceQuotes = settings.isForceQuotes();
 
@@ -720,6 +720,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
 
     @Override
     public void updateValueView() {
+        spreadsheet.invalidateCellCache();
         spreadsheet.redrawGrid();
         spreadsheet.updateScrollbars();
 
@@ -1321,9 +1322,8 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
             if (controller.isRecordMode()) {
                 Object[] elements = spreadsheet.getContentProvider().getElements(false);
                 List<DBDAttributeBinding> attrs = new ArrayList<>();
-                List<Integer> rowSelection = new ArrayList<>(spreadsheet.getRowSelection());
-                Collections.sort(rowSelection);
-                for (Integer row : rowSelection) {
+                // Row selection is already sorted
+                for (Integer row : spreadsheet.getRowSelection()) {
                     if (row < elements.length) {
                         // Index may be out of bounds in case of complex attributes
                         attrs.add((DBDAttributeBinding) elements[row]);
@@ -1350,8 +1350,9 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
                 }
                 return Collections.singletonList(currentRow);
             } else {
-                List<ResultSetRow> rows = new ArrayList<>();
-                for (Integer row : spreadsheet.getRowSelection()) {
+                Collection<Integer> rowSelection = spreadsheet.getRowSelection();
+                List<ResultSetRow> rows = new ArrayList<>(rowSelection.size());
+                for (Integer row : rowSelection) {
                     rows.add(controller.getModel().getRow(row));
                 }
                 rows.sort(Comparator.comparingInt(ResultSetRow::getVisualNumber));
@@ -1544,6 +1545,12 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         {
         }
 
+        @Override
+        public long getCellsRevision()
+        {
+            return controller.getModel().getCellsRevision();
+        }
+
         @Nullable
         @Override
         public Object getCellValue(Object colElement, Object rowElement, boolean formatString)
@@ -1928,6 +1935,7 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         @Override
         public void updateValue(@Nullable Object value, boolean updatePresentation) {
             super.updateValue(value, updatePresentation);
+            spreadsheet.invalidateCellCache();
             if (updatePresentation) {
                 spreadsheet.redrawGrid();
             }
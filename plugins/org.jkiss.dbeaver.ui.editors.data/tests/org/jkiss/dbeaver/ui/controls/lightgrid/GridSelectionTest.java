@@ -0,0 +1,146 @@
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GridSelectionTest {
+
+    @Test
+    public void addRange_overlappingRanges_shouldCountEachCellOnce() {
+        GridSelection selection = new GridSelection(0, 0, 2, 2);
+        assertTrue(selection.addRange(1, 1, 3, 3));
+
+        assertEquals(9 + 9 - 4, selection.getCellCount());
+        assertFalse(selection.addRange(1, 1, 2, 2));
+        assertEquals(14, selection.getCellCount());
+    }
+
+    @Test
+    public void addRange_adjacentRanges_shouldBeJoined() {
+        GridSelection selection = new GridSelection(0, 0, 3, 0);
+        selection.addRange(0, 1, 3, 1);
+        selection.addRange(4, 0, 4, 1);
+
+        assertEquals(1, selection.getRanges().size());
+        assertEquals(10, selection.getCellCount());
+    }
+
+    @Test
+    public void removeRange_fromTheMiddle_shouldLeaveFrame() {
+        GridSelection selection = new GridSelection(0, 0, 4, 4);
+        assertTrue(selection.removeRange(1, 1, 3, 3));
+
+        assertEquals(25 - 9, selection.getCellCount());
+        assertFalse(selection.contains(2, 2));
+        assertTrue(selection.contains(0, 2));
+        assertTrue(selection.contains(4, 2));
+        assertTrue(selection.contains(2, 0));
+        assertTrue(selection.contains(2, 4));
+        assertFalse(selection.removeRange(1, 1, 3, 3));
+    }
+
+    @Test
+    public void removeRange_coveringEverything_shouldMakeSelectionEmpty() {
+        GridSelection selection = new GridSelection(2, 2, 3, 3);
+        selection.addRange(10, 10, 10, 10);
+        assertTrue(selection.removeRange(0, 0, 100, 100));
+
+        assertTrue(selection.isEmpty());
+        assertEquals(0, selection.getCellCount());
+    }
+
+    @Test
+    public void addRange_invertedBounds_shouldBeIgnored() {
+        GridSelection selection = new GridSelection();
+        assertFalse(selection.addRange(2, 0, 1, 0));
+        assertFalse(selection.removeRange(0, 2, 0, 1));
+        assertTrue(selection.isEmpty());
+    }
+
+    @Test
+    public void iterator_shouldReturnCellsOrderedByRowsThenColumns() {
+        GridSelection selection = new GridSelection(3, 1, 4, 2);
+        selection.addRange(0, 0, 1, 1);
+
+        List<GridPos> cells = new ArrayList<>(selection);
+        assertEquals(Arrays.asList(
+            new GridPos(0, 0), new GridPos(1, 0),
+            new GridPos(0, 1), new GridPos(1, 1), new GridPos(3, 1), new GridPos(4, 1),
+            new GridPos(3, 2), new GridPos(4, 2)), cells);
+        assertEquals(new GridPos(0, 0), selection.getFirst());
+    }
+
+    @Test
+    public void hugeSelection_shouldNotMaterializeCells() {
+        GridSelection selection = new GridSelection(0, 0, 999, 9_999_999);
+
+        assertEquals(10_000_000_000L, selection.getCellCount());
+        assertEquals(Integer.MAX_VALUE, selection.size());
+        assertTrue(selection.contains(999, 9_999_999));
+        assertTrue(selection.isRowSelected(5_000_000));
+        assertEquals(10_000_000, selection.getRows().size());
+        assertEquals(1000, selection.getColumns().size());
+    }
+
+    @Test
+    public void getRows_shouldMergeOverlappingIntervals() {
+        GridSelection selection = new GridSelection(0, 1, 0, 3);
+        selection.addRange(2, 2, 2, 5);
+        selection.addRange(4, 8, 4, 8);
+
+        List<Integer> rows = new ArrayList<>(selection.getRows());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 8), rows);
+        assertTrue(selection.getRows().contains(4));
+        assertFalse(selection.getRows().contains(6));
+        assertFalse(selection.getRows().contains(0));
+    }
+
+    @Test
+    public void isSameAs_differentRangeLayouts_shouldBeEqual() {
+        GridSelection byRows = new GridSelection(0, 0, 2, 0);
+        byRows.addRange(0, 1, 2, 1);
+        GridSelection byColumns = new GridSelection(0, 0, 0, 1);
+        byColumns.addRange(1, 0, 2, 1);
+
+        assertTrue(byRows.isSameAs(byColumns));
+        byColumns.remove(new GridPos(1, 1));
+        assertFalse(byRows.isSameAs(byColumns));
+    }
+
+    @Test
+    public void randomOperations_shouldMatchCellSet() {
+        Random random = new Random(12345);
+        for (int round = 0; round < 50; round++) {
+            GridSelection selection = new GridSelection();
+            Set<GridPos> expected = new HashSet<>();
+            for (int i = 0; i < 40; i++) {
+                int col1 = random.nextInt(12), row1 = random.nextInt(12);
+                int col2 = col1 + random.nextInt(5), row2 = row1 + random.nextInt(5);
+                boolean changed = false;
+                if (random.nextInt(3) == 0) {
+                    for (int row = row1; row <= row2; row++) {
+                        for (int col = col1; col <= col2; col++) {
+                            changed |= expected.remove(new GridPos(col, row));
+                        }
+                    }
+                    assertEquals(changed, selection.removeRange(col1, row1, col2, row2));
+                } else {
+                    for (int row = row1; row <= row2; row++) {
+                        for (int col = col1; col <= col2; col++) {
+                            changed |= expected.add(new GridPos(col, row));
+                        }
+                    }
+                    assertEquals(changed, selection.addRange(col1, row1, col2, row2));
+                }
+                assertEquals(expected.size(), selection.getCellCount());
+            }
+            List<GridPos> sorted = new ArrayList<>(expected);
+            sorted.sort(Comparator.comparingInt((GridPos pos) -> pos.row).thenComparingInt(pos -> pos.col));
+            assertEquals(sorted, new ArrayList<>(selection));
+        }
+    }
+
+}
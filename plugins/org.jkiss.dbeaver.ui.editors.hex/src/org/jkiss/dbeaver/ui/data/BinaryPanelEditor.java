@@ -25,6 +25,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDContentStorageRandomAccess;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.impl.BytesContentStorage;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceListener;
@@ -78,6 +79,15 @@ public class BinaryPanelEditor implements IStreamValueEditor<HexEditControl> {
         monitor.beginTask("Prime content value", 1);
         try {
             DBDContentStorage data = value.getContents(monitor);
+            if (data instanceof DBDContentStorageRandomAccess) {
+                // Large content. Read only visible pages.
+                DBDContentStorageRandomAccess randomStorage = (DBDContentStorageRandomAccess) data;
+                String storageCharset = data.getCharset();
+                UIUtils.syncExec(() -> {
+                    control.setContent(randomStorage, storageCharset, false);
+                });
+                return;
+            }
             String charset = null;
             monitor.subTask("Read binary value");
             ByteArrayOutputStream buffer = new ByteArrayOutputStream();
@@ -113,6 +123,10 @@ public class BinaryPanelEditor implements IStreamValueEditor<HexEditControl> {
     public void extractEditorValue(@NotNull DBRProgressMonitor monitor, @NotNull HexEditControl control, @NotNull DBDContent value) throws DBException
     {
         BinaryContent binaryContent = control.getContent();
+        if (binaryContent == null || (!binaryContent.isDirty() && value.getContents(monitor) instanceof DBDContentStorageRandomAccess)) {
+            // Content wasn't changed - keep original storage
+            return;
+        }
         ByteBuffer buffer = ByteBuffer.allocate((int) binaryContent.length());
         try {
             binaryContent.get(buffer, 0);
@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.ui.editors.binary;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.DBDContentStorageRandomAccess;
 import org.jkiss.dbeaver.utils.ContentUtils;
 
 import java.io.Closeable;
@@ -53,7 +54,21 @@ public class BinaryContent {
 
 
     /**
-     * A subset of data contained in a ByteBuffer or a File
+     * Reads data of random access storages. Lets the owner control load missing data in background.
+     */
+    interface StorageReader {
+        /**
+         * Reads storage data.
+         *
+         * @return number of bytes read, or -1 if data isn't loaded yet and will be loaded later
+         */
+        int readContent(DBDContentStorageRandomAccess storage, long position, byte[] buffer, int offset, int length)
+            throws IOException;
+    }
+
+
+    /**
+     * A subset of data contained in a ByteBuffer, a File or a random access content storage
      */
     final static class Range implements Comparable<Range>, Cloneable {
         long position = -1L;
@@ -86,6 +101,13 @@ public class BinaryContent {
             dirty = isDirty;
         }
 
+        Range(long aPosition, DBDContentStorageRandomAccess aStorage)
+        {
+            this(aPosition, aStorage.getContentLength());
+            data = aStorage;
+            dirty = false;
+        }
+
         @Override
         public Object clone()
         {
@@ -137,6 +159,7 @@ public class BinaryContent {
     private long changesPosition = -1L;
     private TreeSet<Range> ranges = new TreeSet<>();
     private Iterator<Range> tailTree = null;
+    private StorageReader storageReader = null;
 
     /**
      * Create new empty content.
@@ -161,6 +184,40 @@ public class BinaryContent {
         ranges.add(new Range(0L, aFile, false));
     }
 
+    /**
+     * Create new content from a random access storage. Data is read on demand.
+     * Storage is not released when content is disposed.
+     *
+     * @param storage the backing content storage
+     */
+    BinaryContent(DBDContentStorageRandomAccess storage)
+    {
+        this();
+        if (storage == null || storage.getContentLength() < 1L)
+            return;
+
+        ranges.add(new Range(0L, storage));
+    }
+
+
+    /**
+     * Sets reader of random access storages. By default storages are read directly.
+     */
+    void setStorageReader(StorageReader reader)
+    {
+        storageReader = reader;
+    }
+
+
+    private int readStorage(DBDContentStorageRandomAccess storage, long position, byte[] buffer, int offset, int length)
+        throws IOException
+    {
+        if (storageReader == null)
+            return storage.readContent(position, buffer, offset, length);
+
+        return storageReader.readContent(storage, position, buffer, offset, length);
+    }
+
 
     void actionsOn(boolean on)
     {
@@ -411,6 +468,18 @@ public class BinaryContent {
             src.getChannel().read(dst, start);
             if (limit > 0)
                 dst.limit(limit);
+        } else if (sourceRange.data instanceof DBDContentStorageRandomAccess) {
+            DBDContentStorageRandomAccess src = (DBDContentStorageRandomAccess) sourceRange.data;
+            long start = sourceRange.dataOffset + overlapBytes;
+            int length = (int) Math.min(Math.min(sourceRange.length - overlapBytes, maxCopyLength), dst.remaining());
+            if (length > 0) {
+                byte[] buffer = new byte[length];
+                int count = readStorage(src, start, buffer, 0, length);
+                if (count < 0)
+                    count = length; // Not loaded yet, show zeros until it is loaded
+                if (count > 0)
+                    dst.put(buffer, 0, count);
+            }
         }
 
         return dst.position() - dstInitialPosition;
@@ -616,6 +685,12 @@ public class BinaryContent {
                 RandomAccessFile randomFile = (RandomAccessFile) value;
                 randomFile.seek(position);
                 result = randomFile.read();
+            } else if (value instanceof DBDContentStorageRandomAccess) {
+                byte[] buffer = new byte[1];
+                if (readStorage((DBDContentStorageRandomAccess) value,
+                    position - range.position + range.dataOffset, buffer, 0, 1) == 1) {
+                    result = buffer[0] & 0x0ff;
+                }
             }
         }
 
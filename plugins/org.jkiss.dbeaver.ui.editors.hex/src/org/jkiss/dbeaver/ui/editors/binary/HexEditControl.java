@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.ui.editors.binary;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.custom.StyledText;
@@ -25,13 +27,18 @@ import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDContentStorageRandomAccess;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.editors.binary.pref.HexPreferencesPage;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
@@ -126,6 +133,9 @@ public class HexEditControl extends Composite {
     private boolean stopSearching = false;
     private byte[] tmpRawBuffer = new byte[maxScreenResolution / minCharSize / 3 * maxScreenResolution / minCharSize];
     private int verticalBarFactor = 0;
+    // Visible data of random access storage is loaded in background
+    private boolean readingVisibleContent = false;
+    private AbstractJob storageLoadJob = null;
 
     // visual components
     private Color colorCaretLine = null;
@@ -1181,10 +1191,13 @@ public class HexEditControl extends Composite {
 
     public byte getValue(long pos)
     {
+        readingVisibleContent = true;
         try {
             content.get(ByteBuffer.wrap(tmpRawBuffer, 0, 1), null, pos);
         } catch (IOException e) {
             log.warn(e);
+        } finally {
+            readingVisibleContent = false;
         }
         return tmpRawBuffer[0];
     }
@@ -1542,11 +1555,14 @@ public class HexEditControl extends Composite {
 
         List<Long> changeRanges = new ArrayList<>();
         int actuallyRead;
+        readingVisibleContent = true;
         try {
             actuallyRead = content.get(ByteBuffer.wrap(tmpRawBuffer, 0, linesShifted * bytesPerLine),
                 changeRanges, newLinesStart);
         } catch (IOException e) {
             actuallyRead = 0;
+        } finally {
+            readingVisibleContent = false;
         }
         StringBuilder resultHex = cookTexts(true, actuallyRead);
         StringBuilder resultChar = cookTexts(false, actuallyRead);
@@ -1840,6 +1856,81 @@ public class HexEditControl extends Composite {
         setContentProvider(binaryContent, notify);
     }
 
+    /**
+     * Sets content backed by random access storage. Only visible data is read from the storage.
+     */
+    public void setContent(DBDContentStorageRandomAccess storage, String charset, boolean notify)
+    {
+        if (charset != null) {
+            setCharset(charset);
+        }
+        BinaryContent binaryContent = new BinaryContent(storage);
+        binaryContent.setStorageReader(this::readStorageContent);
+        setContentProvider(binaryContent, notify);
+    }
+
+    /**
+     * Storage may read the database, so it is never read in UI thread. Missing visible data is loaded
+     * by background job and text areas are redrawn after that. Other reads (e.g. copy to clipboard) run
+     * in progress service.
+     */
+    private int readStorageContent(DBDContentStorageRandomAccess storage, long position, byte[] buffer, int offset, int length)
+        throws IOException
+    {
+        if (getDisplay().getThread() != Thread.currentThread() || storage.isContentLoaded(position, length)) {
+            return storage.readContent(position, buffer, offset, length);
+        }
+        if (readingVisibleContent) {
+            scheduleStorageLoad(storage, position, length);
+            return -1;
+        }
+        final int[] result = new int[1];
+        try {
+            UIUtils.runInProgressService(monitor -> {
+                try {
+                    result[0] = storage.readContent(position, buffer, offset, length);
+                } catch (IOException e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        } catch (InvocationTargetException e) {
+            throw new IOException("Error reading binary content", e.getTargetException());
+        } catch (InterruptedException e) {
+            throw new IOException("Binary content read canceled");
+        }
+        return result[0];
+    }
+
+    private void scheduleStorageLoad(DBDContentStorageRandomAccess storage, long position, int length)
+    {
+        if (storageLoadJob != null) {
+            // Redraw after current load will request the rest
+            return;
+        }
+        storageLoadJob = new AbstractJob("Load binary content") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                boolean loaded = false;
+                try {
+                    storage.loadContent(monitor, position, length);
+                    loaded = true;
+                } catch (DBException e) {
+                    log.error("Error loading binary content", e);
+                } finally {
+                    final boolean redraw = loaded;
+                    UIUtils.asyncExec(() -> {
+                        storageLoadJob = null;
+                        if (redraw && !isDisposed()) {
+                            redrawTextAreas(true);
+                        }
+                    });
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        storageLoadJob.schedule();
+    }
+
 
     /**
      * Causes the receiver to have the keyboard focus. Within Eclipse, never call setFocus() before
@@ -71,6 +71,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SQLQueryJob
@@ -571,14 +572,20 @@ public class SQLQueryJob extends DataSourceJob
             fakeResultSet.addColumn("Execute time", DBPDataKind.NUMERIC);
             fakeResultSet.addColumn("Fetch time", DBPDataKind.NUMERIC);
             fakeResultSet.addColumn("Total time", DBPDataKind.NUMERIC);
+            List<Object> row = new ArrayList<>();
+            row.add(statistics.getStatementsCount());
+            row.add(statistics.getRowsUpdated());
+            row.add(statistics.getExecuteTime());
+            row.add(statistics.getFetchTime());
+            row.add(statistics.getTotalTime());
+            // Fetch phases breakdown (driver, conversion, binding, UI)
+            for (Map.Entry<String, Long> phase : statistics.getPhaseTimes().entrySet()) {
+                fakeResultSet.addColumn(phase.getKey() + " time", DBPDataKind.NUMERIC);
+                row.add(phase.getValue() / 1000000);
+            }
             fakeResultSet.addColumn("Finish time", DBPDataKind.DATETIME);
-            fakeResultSet.addRow(
-                statistics.getStatementsCount(),
-                statistics.getRowsUpdated(),
-                statistics.getExecuteTime(),
-                statistics.getFetchTime(),
-                statistics.getTotalTime(),
-                new Date());
+            row.add(new Date());
+            fakeResultSet.addRow(row.toArray());
             executeResult.setResultSetName("Statistics");
         } else {
             // Single statement
@@ -689,6 +696,8 @@ public class SQLQueryJob extends DataSourceJob
         monitor.subTask("Fetch result set");
         long rowCount = 0;
 
+        DBCFetchSampler sampler = DBCFetchSampler.create(session.getDataSource());
+        DBCFetchSampler.attach(dataReceiver, sampler);
         dataReceiver.fetchStart(session, resultSet, rsOffset, rsMaxRows);
 
         try {
@@ -728,7 +737,7 @@ public class SQLQueryJob extends DataSourceJob
             long fetchStartTime = System.currentTimeMillis();
 
             // Fetch all rows
-            while ((!hasLimits() || rowCount < rsMaxRows) && resultSet.nextRow()) {
+            while ((!hasLimits() || rowCount < rsMaxRows) && sampler.nextRow(resultSet)) {
                 if (monitor.isCanceled()) {
                     break;
                 }
@@ -739,7 +748,9 @@ public class SQLQueryJob extends DataSourceJob
                     monitor.worked(100);
                 }
 
+                long convertStartTime = sampler.beginRowPhase();
                 dataReceiver.fetchRow(session, resultSet);
+                sampler.endRowPhase(DBCFetchSampler.PHASE_VALUE_CONVERSION, convertStartTime);
             }
             if (updateStatistics) {
                 statistics.addFetchTime(System.currentTimeMillis() - fetchStartTime);
@@ -758,6 +769,7 @@ public class SQLQueryJob extends DataSourceJob
             } catch (Throwable e) {
                 log.error("Error while handling end of result set fetch", e);
             }
+            DBCFetchSampler.attach(dataReceiver, null);
             dataReceiver.close();
         }
 
@@ -766,6 +778,7 @@ public class SQLQueryJob extends DataSourceJob
         }
         if (updateStatistics) {
             statistics.setRowsFetched(rowCount);
+            sampler.flush(statistics);
         }
         monitor.subTask(rowCount + " rows fetched");
 
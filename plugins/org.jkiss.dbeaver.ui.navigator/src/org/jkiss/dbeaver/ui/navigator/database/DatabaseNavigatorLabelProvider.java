@@ -22,11 +22,16 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Display;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPConnectionHealth;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContextPool;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCRemoteInstance;
 import org.jkiss.dbeaver.model.navigator.DBNDataSource;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNNode;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSWrapper;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -191,6 +196,32 @@ public class DatabaseNavigatorLabelProvider extends ColumnLabelProvider implemen
                 if (ds.isProvided()) {
                     info.append("Provided connection\n");
                 }
+                if (ds.isConnected()) {
+                    final DBPConnectionHealth health = ds.getConnectionHealth();
+                    if (health.getLastLatency() >= 0) {
+                        info.append("Ping: ").append(health.getLastLatency()).append("ms\n");
+                    }
+                    if (health.getTotalFailures() > 0) {
+                        info.append("Failed pings: ").append(health.getTotalFailures()).append(" of ").append(health.getTotalPings());
+                        if (!CommonUtils.isEmpty(health.getLastError())) {
+                            info.append(" (").append(health.getLastError()).append(")");
+                        }
+                        info.append("\n");
+                    }
+                    final DBPDataSource dataSource = ds.getDataSource();
+                    if (dataSource != null) {
+                        for (DBSInstance instance : dataSource.getAvailableInstances()) {
+                            final JDBCExecutionContextPool pool = instance instanceof JDBCRemoteInstance ?
+                                ((JDBCRemoteInstance) instance).getActiveContextPool() : null;
+                            if (pool != null) {
+                                info.append("Pooled contexts: ").append(pool.getLeasedCount()).append(" leased, ")
+                                    .append(pool.getIdleCount()).append(" idle, ")
+                                    .append(pool.getReusedCount()).append(" reused of ")
+                                    .append(pool.getCreatedCount() + pool.getReusedCount()).append(" borrowed\n");
+                            }
+                        }
+                    }
+                }
 
                 return info.toString().trim();
 
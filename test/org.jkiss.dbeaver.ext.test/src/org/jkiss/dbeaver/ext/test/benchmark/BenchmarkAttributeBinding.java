@@ -0,0 +1,151 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDRowIdentifier;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSEntityReferrer;
+
+import java.util.List;
+
+/**
+ * Detached attribute binding (no datasource or result set metadata)
+ */
+class BenchmarkAttributeBinding extends DBDAttributeBinding {
+
+    private final String name;
+    private final int position;
+    private final int typeID;
+    private final String typeName;
+    private final DBPDataKind dataKind;
+
+    BenchmarkAttributeBinding(@NotNull DBDValueHandler valueHandler, String name, int position, int typeID, String typeName, DBPDataKind dataKind) {
+        super(valueHandler);
+        this.name = name;
+        this.position = position;
+        this.typeID = typeID;
+        this.typeName = typeName;
+        this.dataKind = dataKind;
+    }
+
+    void setValueHandler(@NotNull DBDValueHandler valueHandler) {
+        this.valueHandler = valueHandler;
+    }
+
+    @Override
+    public DBDAttributeBinding getParentObject() {
+        return null;
+    }
+
+    @Override
+    public DBPDataSource getDataSource() {
+        return null;
+    }
+
+    @Override
+    public int getOrdinalPosition() {
+        return position;
+    }
+
+    @Override
+    public String getLabel() {
+        return name;
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DBCAttributeMetaData getMetaAttribute() {
+        return null;
+    }
+
+    @Override
+    public DBSEntityAttribute getEntityAttribute() {
+        return null;
+    }
+
+    @Override
+    public DBDRowIdentifier getRowIdentifier() {
+        return null;
+    }
+
+    @Override
+    public List<DBSEntityReferrer> getReferrers() {
+        return null;
+    }
+
+    @Override
+    public Object extractNestedValue(@NotNull Object ownerValue) {
+        return null;
+    }
+
+    @Override
+    public boolean isRequired() {
+        return false;
+    }
+
+    @Override
+    public boolean isAutoGenerated() {
+        return false;
+    }
+
+    @Override
+    public String getTypeName() {
+        return typeName;
+    }
+
+    @Override
+    public String getFullTypeName() {
+        return typeName;
+    }
+
+    @Override
+    public int getTypeID() {
+        return typeID;
+    }
+
+    @Override
+    public DBPDataKind getDataKind() {
+        return dataKind;
+    }
+
+    @Override
+    public Integer getScale() {
+        return null;
+    }
+
+    @Override
+    public Integer getPrecision() {
+        return null;
+    }
+
+    @Override
+    public long getMaxLength() {
+        return 0;
+    }
+
+}
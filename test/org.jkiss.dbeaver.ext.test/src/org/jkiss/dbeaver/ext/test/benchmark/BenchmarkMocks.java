@@ -0,0 +1,104 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.benchmark;
+
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+
+/**
+ * Mock JDBC objects for benchmarks which do not need a real connection
+ */
+class BenchmarkMocks {
+
+    /**
+     * Result set which returns values derived from the current row number.
+     * Row number is incremented by next().
+     */
+    static JDBCResultSet createResultSet() {
+        final long[] row = new long[1];
+        final Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+        return (JDBCResultSet) Proxy.newProxyInstance(
+            BenchmarkMocks.class.getClassLoader(),
+            new Class[] { JDBCResultSet.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next":
+                        row[0]++;
+                        return true;
+                    case "getString":
+                        return "Row " + row[0];
+                    case "getLong":
+                        return row[0];
+                    case "getInt":
+                        return (int) row[0];
+                    case "getShort":
+                        return (short) row[0];
+                    case "getDouble":
+                        return row[0] * 1.5;
+                    case "getTimestamp":
+                        return timestamp;
+                    case "getObject":
+                        return row[0];
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+    }
+
+    /**
+     * Session without datasource. Provides progress monitor only.
+     */
+    static DBCSession createSession() {
+        final VoidProgressMonitor monitor = new VoidProgressMonitor();
+        return (DBCSession) Proxy.newProxyInstance(
+            BenchmarkMocks.class.getClassLoader(),
+            new Class[] { DBCSession.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("getProgressMonitor")) {
+                    return monitor;
+                }
+                return defaultValue(method.getReturnType());
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == Void.TYPE) {
+            return null;
+        } else if (type == Boolean.TYPE) {
+            return false;
+        } else if (type == Long.TYPE) {
+            return 0L;
+        } else if (type == Double.TYPE) {
+            return 0.0;
+        } else if (type == Float.TYPE) {
+            return 0.0f;
+        } else if (type == Short.TYPE) {
+            return (short) 0;
+        } else if (type == Byte.TYPE) {
+            return (byte) 0;
+        } else if (type == Character.TYPE) {
+            return (char) 0;
+        } else {
+            return 0;
+        }
+    }
+
+}
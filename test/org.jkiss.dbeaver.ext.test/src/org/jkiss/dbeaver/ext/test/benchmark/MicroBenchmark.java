@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.benchmark;
+
+/**
+ * Single micro-benchmark.
+ * Runner calls {@link #run()} repeatedly during warmup and measurement iterations.
+ */
+public abstract class MicroBenchmark {
+
+    private final String name;
+    private long checksum;
+
+    protected MicroBenchmark(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setUp() throws Exception {
+    }
+
+    /**
+     * Performs benchmark operations.
+     * @return number of performed operations
+     */
+    public abstract long run() throws Exception;
+
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Consumes operation result, so JIT can't eliminate the operation as dead code.
+     */
+    protected final void consume(Object value) {
+        checksum = checksum * 31 + (value == null ? 0 : value.hashCode());
+    }
+
+    protected final void consume(boolean value) {
+        checksum = checksum * 31 + (value ? 1 : 0);
+    }
+
+    /**
+     * Checksum of all consumed results
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+}
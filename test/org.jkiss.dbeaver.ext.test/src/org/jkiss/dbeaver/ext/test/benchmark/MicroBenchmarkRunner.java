@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.benchmark;
+
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Runs micro-benchmarks (warmup + measurement iterations) and writes results report.
+ * Report format is similar to JMH JSON output (throughput mode).
+ */
+public class MicroBenchmarkRunner {
+
+    public static class Result {
+        private final String name;
+        private final double[] iterationScores;
+
+        Result(String name, double[] iterationScores) {
+            this.name = name;
+            this.iterationScores = iterationScores;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getScore() {
+            double sum = 0;
+            for (double score : iterationScores) {
+                sum += score;
+            }
+            return iterationScores.length == 0 ? 0 : sum / iterationScores.length;
+        }
+
+        public double getStdDev() {
+            if (iterationScores.length < 2) {
+                return 0;
+            }
+            double mean = getScore(), sum = 0;
+            for (double score : iterationScores) {
+                sum += (score - mean) * (score - mean);
+            }
+            return Math.sqrt(sum / (iterationScores.length - 1));
+        }
+    }
+
+    // Keeps benchmark checksums reachable
+    private static volatile long resultSink;
+
+    private int warmupIterations = 3;
+    private int measurementIterations = 5;
+    private long iterationTime = 1000;
+
+    public void setWarmupIterations(int warmupIterations) {
+        this.warmupIterations = warmupIterations;
+    }
+
+    public void setMeasurementIterations(int measurementIterations) {
+        this.measurementIterations = measurementIterations;
+    }
+
+    public void setIterationTime(long iterationTime) {
+        this.iterationTime = iterationTime;
+    }
+
+    public List<Result> run(DBRProgressMonitor monitor, List<MicroBenchmark> benchmarks) throws Exception {
+        List<Result> results = new ArrayList<>();
+        monitor.beginTask("Run benchmarks", benchmarks.size());
+        try {
+            for (MicroBenchmark benchmark : benchmarks) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                monitor.subTask(benchmark.getName());
+                benchmark.setUp();
+                try {
+                    for (int i = 0; i < warmupIterations; i++) {
+                        runIteration(benchmark);
+                    }
+                    double[] scores = new double[measurementIterations];
+                    for (int i = 0; i < measurementIterations; i++) {
+                        scores[i] = runIteration(benchmark);
+                    }
+                    results.add(new Result(benchmark.getName(), scores));
+                } finally {
+                    benchmark.tearDown();
+                }
+                monitor.worked(1);
+            }
+        } finally {
+            monitor.done();
+        }
+        return results;
+    }
+
+    /**
+     * @return throughput in operations per millisecond
+     */
+    private double runIteration(MicroBenchmark benchmark) throws Exception {
+        long ops = 0;
+        long startTime = System.nanoTime();
+        long endTime = startTime + iterationTime * 1000000L;
+        long time;
+        do {
+            ops += benchmark.run();
+            time = System.nanoTime();
+        } while (time < endTime);
+        resultSink += benchmark.getChecksum();
+        return ops * 1000000.0 / (time - startTime);
+    }
+
+    public void writeReport(File file, List<Result> results) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write("[\n");
+            for (int i = 0; i < results.size(); i++) {
+                Result result = results.get(i);
+                out.write("\t{\n");
+                out.write("\t\t\"benchmark\" : \"" + JSONUtils.escapeJsonString(result.getName()) + "\",\n");
+                out.write("\t\t\"mode\" : \"thrpt\",\n");
+                out.write("\t\t\"date\" : \"" + JSONUtils.formatDate(new Date()) + "\",\n");
+                out.write("\t\t\"jvm\" : \"" + JSONUtils.escapeJsonString(System.getProperty("java.vm.name") + " " + System.getProperty("java.version")) + "\",\n");
+                out.write("\t\t\"warmupIterations\" : " + warmupIterations + ",\n");
+                out.write("\t\t\"measurementIterations\" : " + measurementIterations + ",\n");
+                out.write("\t\t\"measurementTime\" : \"" + iterationTime + " ms\",\n");
+                out.write("\t\t\"primaryMetric\" : {\n");
+                out.write("\t\t\t\"score\" : " + result.getScore() + ",\n");
+                out.write("\t\t\t\"scoreStdDev\" : " + result.getStdDev() + ",\n");
+                out.write("\t\t\t\"scoreUnit\" : \"ops/ms\",\n");
+                out.write("\t\t\t\"rawData\" : [");
+                for (int k = 0; k < result.iterationScores.length; k++) {
+                    if (k > 0) out.write(", ");
+                    out.write(String.valueOf(result.iterationScores[k]));
+                }
+                out.write("]\n");
+                out.write("\t\t}\n");
+                out.write(i < results.size() - 1 ? "\t},\n" : "\t}\n");
+            }
+            out.write("]\n");
+        }
+    }
+
+}
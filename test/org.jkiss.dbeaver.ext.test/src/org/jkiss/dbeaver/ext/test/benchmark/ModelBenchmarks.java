@@ -0,0 +1,410 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.benchmark;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.app.DBPDataFormatterRegistry;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCDateTimeValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCNumberValueHandler;
+import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStringValueHandler;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.format.SQLFormatterConfiguration;
+import org.jkiss.dbeaver.model.sql.format.tokenized.SQLFormatterTokenized;
+import org.jkiss.dbeaver.model.sql.format.tokenized.SQLTokensParser;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporter;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterCSV;
+import org.jkiss.dbeaver.tools.transfer.stream.exporter.DataExporterJSON;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Model and data hot path benchmarks.
+ * None of them needs a database connection: JDBC objects are mocked, caches are filled in memory.
+ */
+public class ModelBenchmarks {
+
+    private static final int ROW_COUNT = 1000;
+    private static final int OBJECT_COUNT = 10000;
+
+    public static List<MicroBenchmark> createBenchmarks() {
+        List<MicroBenchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new ValueHandlerFetchBenchmark());
+        benchmarks.add(new SQLTokensParserBenchmark());
+        benchmarks.add(new SQLFormatterBenchmark());
+        benchmarks.add(new ObjectCacheLookupBenchmark());
+        benchmarks.add(new ObjectFilterBenchmark());
+        benchmarks.add(new ExporterBenchmark("DataExporterCSV.exportRow", DataExporterCSV::new));
+        benchmarks.add(new ExporterBenchmark("DataExporterJSON.exportRow", DataExporterJSON::new));
+        return benchmarks;
+    }
+
+    private static String makeSampleScript() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sql.append("select o.order_id, o.create_time, c.name as customer_name, sum(l.amount * l.price) total\n")
+                .append("from orders o join customers c on c.customer_id = o.customer_id\n")
+                .append("left outer join order_lines l on l.order_id = o.order_id -- order lines\n")
+                .append("where o.create_time > '2019-01-01' and (c.status = 'active' or c.vip = 1)\n")
+                .append("group by o.order_id, o.create_time, c.name having count(*) > ").append(i).append("\n")
+                .append("order by total desc;\n");
+        }
+        return sql.toString();
+    }
+
+    private static SQLFormatterConfiguration makeFormatterConfiguration() {
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(BasicSQLDialect.INSTANCE, DBWorkbench.getPlatform().getPreferenceStore());
+        return new SQLFormatterConfiguration(null, syntaxManager, SQLFormatterTokenized.FORMATTER_ID);
+    }
+
+    private static List<DBDAttributeBinding> makeBindings() {
+        DBPDataFormatterRegistry formatterRegistry = DBWorkbench.getPlatform().getDataFormatterRegistry();
+        List<DBDAttributeBinding> bindings = new ArrayList<>();
+        // Number handler needs the attribute type, so set it after binding creation
+        BenchmarkAttributeBinding idBinding = new BenchmarkAttributeBinding(
+            JDBCStringValueHandler.INSTANCE, "ID", 0, Types.BIGINT, "BIGINT", DBPDataKind.NUMERIC);
+        idBinding.setValueHandler(new JDBCNumberValueHandler(idBinding, formatterRegistry.getGlobalProfile()));
+        bindings.add(idBinding);
+        bindings.add(new BenchmarkAttributeBinding(
+            JDBCStringValueHandler.INSTANCE, "NAME", 1, Types.VARCHAR, "VARCHAR", DBPDataKind.STRING));
+        bindings.add(new BenchmarkAttributeBinding(
+            new JDBCDateTimeValueHandler(formatterRegistry.getGlobalProfile()), "CREATE_TIME", 2, Types.TIMESTAMP, "TIMESTAMP", DBPDataKind.DATETIME));
+        return bindings;
+    }
+
+    /**
+     * DBDValueHandler.fetchValueObject for numeric and string columns
+     */
+    private static class ValueHandlerFetchBenchmark extends MicroBenchmark {
+        private DBCSession session;
+        private JDBCResultSet resultSet;
+        private List<DBDAttributeBinding> bindings;
+
+        ValueHandlerFetchBenchmark() {
+            super("DBDValueHandler.fetchValueObject");
+        }
+
+        @Override
+        public void setUp() {
+            session = BenchmarkMocks.createSession();
+            resultSet = BenchmarkMocks.createResultSet();
+            // Date/time handlers need datasource preferences, so only id and name are fetched
+            bindings = makeBindings().subList(0, 2);
+        }
+
+        @Override
+        public long run() throws Exception {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                resultSet.next();
+                for (int k = 0; k < bindings.size(); k++) {
+                    DBDAttributeBinding binding = bindings.get(k);
+                    consume(binding.getValueHandler().fetchValueObject(session, resultSet, binding, k));
+                }
+            }
+            return ROW_COUNT;
+        }
+    }
+
+    /**
+     * SQLTokensParser.parse on a script of 20 queries
+     */
+    private static class SQLTokensParserBenchmark extends MicroBenchmark {
+        private SQLTokensParser parser;
+        private String script;
+
+        SQLTokensParserBenchmark() {
+            super("SQLTokensParser.parse");
+        }
+
+        @Override
+        public void setUp() {
+            parser = new SQLTokensParser(makeFormatterConfiguration());
+            script = makeSampleScript();
+        }
+
+        @Override
+        public long run() {
+            return parser.parse(script).isEmpty() ? 0 : 1;
+        }
+    }
+
+    /**
+     * SQLFormatterTokenized.format on a script of 20 queries
+     */
+    private static class SQLFormatterBenchmark extends MicroBenchmark {
+        private SQLFormatterTokenized formatter;
+        private SQLFormatterConfiguration configuration;
+        private String script;
+
+        SQLFormatterBenchmark() {
+            super("SQLFormatterTokenized.format");
+        }
+
+        @Override
+        public void setUp() {
+            formatter = new SQLFormatterTokenized();
+            configuration = makeFormatterConfiguration();
+            script = makeSampleScript();
+        }
+
+        @Override
+        public long run() {
+            return formatter.format(script, configuration).isEmpty() ? 0 : 1;
+        }
+    }
+
+    private static class BenchmarkObject implements DBSObject {
+        private final String name;
+
+        BenchmarkObject(String name) {
+            this.name = name;
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public DBSObject getParentObject() {
+            return null;
+        }
+
+        @Override
+        public DBPDataSource getDataSource() {
+            return null;
+        }
+
+        @Override
+        public boolean isPersisted() {
+            return true;
+        }
+    }
+
+    /**
+     * JDBCObjectCache.getCachedObject on a fully cached list
+     */
+    private static class ObjectCacheLookupBenchmark extends MicroBenchmark {
+        private JDBCObjectCache<DBSObject, BenchmarkObject> cache;
+        private String[] names;
+
+        ObjectCacheLookupBenchmark() {
+            super("JDBCObjectCache.getCachedObject");
+        }
+
+        @Override
+        public void setUp() {
+            // Objects are set with setCache, so the cache never reads database
+            cache = new JDBCObjectCache<DBSObject, BenchmarkObject>() {
+                @Override
+                protected JDBCStatement prepareObjectsStatement(@NotNull JDBCSession session, @NotNull DBSObject owner) {
+                    return null;
+                }
+
+                @Override
+                protected BenchmarkObject fetchObject(@NotNull JDBCSession session, @NotNull DBSObject owner, @NotNull JDBCResultSet resultSet) {
+                    return null;
+                }
+            };
+            List<BenchmarkObject> objects = new ArrayList<>(OBJECT_COUNT);
+            for (int i = 0; i < OBJECT_COUNT; i++) {
+                objects.add(new BenchmarkObject("TABLE_" + i));
+            }
+            cache.setCache(objects);
+            Random random = new Random(1);
+            names = new String[ROW_COUNT];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = "TABLE_" + random.nextInt(OBJECT_COUNT);
+            }
+        }
+
+        @Override
+        public long run() {
+            for (String name : names) {
+                consume(cache.getCachedObject(name));
+            }
+            return names.length;
+        }
+    }
+
+    /**
+     * DBSObjectFilter.matches with include and exclude masks
+     */
+    private static class ObjectFilterBenchmark extends MicroBenchmark {
+        private DBSObjectFilter filter;
+        private String[] names;
+
+        ObjectFilterBenchmark() {
+            super("DBSObjectFilter.matches");
+        }
+
+        @Override
+        public void setUp() {
+            filter = new DBSObjectFilter();
+            filter.addInclude("TABLE_1%");
+            filter.addInclude("ORDER%");
+            filter.addExclude("%_TMP");
+            names = new String[ROW_COUNT];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = (i % 3 == 0 ? "ORDER_" : "TABLE_") + i + (i % 7 == 0 ? "_TMP" : "");
+            }
+        }
+
+        @Override
+        public long run() {
+            for (String name : names) {
+                consume(filter.matches(name));
+            }
+            return names.length;
+        }
+    }
+
+    /**
+     * Stream exporter row throughput (output is discarded)
+     */
+    private static class ExporterBenchmark extends MicroBenchmark {
+        private final Supplier<IStreamDataExporter> exporterFactory;
+        private DBCSession session;
+        private List<DBDAttributeBinding> bindings;
+        private Object[][] rows;
+
+        ExporterBenchmark(String name, Supplier<IStreamDataExporter> exporterFactory) {
+            super(name);
+            this.exporterFactory = exporterFactory;
+        }
+
+        @Override
+        public void setUp() {
+            session = BenchmarkMocks.createSession();
+            bindings = makeBindings();
+            rows = new Object[ROW_COUNT][];
+            Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+            for (int i = 0; i < ROW_COUNT; i++) {
+                rows[i] = new Object[] { (long) i, "Row \"" + i + "\", with delimiters", timestamp };
+            }
+        }
+
+        @Override
+        public long run() throws Exception {
+            IStreamDataExporter exporter = exporterFactory.get();
+            exporter.init(new ExporterSite(bindings));
+            exporter.exportHeader(session);
+            for (Object[] row : rows) {
+                exporter.exportRow(session, null, row);
+            }
+            exporter.exportFooter(session.getProgressMonitor());
+            exporter.dispose();
+            return rows.length;
+        }
+    }
+
+    private static class ExporterSite implements IStreamDataExporterSite {
+        private final List<DBDAttributeBinding> attributes;
+        private final Map<Object, Object> properties = new HashMap<>();
+        private final PrintWriter writer = new PrintWriter(new NullWriter());
+
+        ExporterSite(List<DBDAttributeBinding> attributes) {
+            this.attributes = attributes;
+        }
+
+        @Override
+        public BenchmarkObject getSource() {
+            return new BenchmarkObject("BENCHMARK");
+        }
+
+        @Override
+        public DBDDisplayFormat getExportFormat() {
+            return DBDDisplayFormat.UI;
+        }
+
+        @Override
+        public Map<Object, Object> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public List<DBDAttributeBinding> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return null;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            return writer;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void writeBinaryData(@NotNull DBDContentStorage cs) {
+        }
+
+        @Override
+        public String getOutputEncoding() {
+            return GeneralUtils.DEFAULT_ENCODING;
+        }
+    }
+
+    private static class NullWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
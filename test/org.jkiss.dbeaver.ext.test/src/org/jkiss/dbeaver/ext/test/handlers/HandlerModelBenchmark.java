@@ -0,0 +1,71 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.handlers;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.dbeaver.ext.test.benchmark.MicroBenchmarkRunner;
+import org.jkiss.dbeaver.ext.test.benchmark.ModelBenchmarks;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Runs model and data micro-benchmarks and writes JSON report into the temp folder.
+ * Benchmarks which need a real connection (result set fetch) are in {@link HandlerReadDataBenchmark}.
+ */
+public class HandlerModelBenchmark extends AbstractHandler {
+
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        new AbstractJob("Model micro-benchmarks") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try {
+                    runBenchmarks(monitor);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+        return null;
+    }
+
+    private void runBenchmarks(DBRProgressMonitor monitor) throws Exception {
+        MicroBenchmarkRunner runner = new MicroBenchmarkRunner();
+        List<MicroBenchmarkRunner.Result> results = runner.run(monitor, ModelBenchmarks.createBenchmarks());
+
+        System.out.println("Model micro-benchmarks (ops/ms):");
+        for (MicroBenchmarkRunner.Result result : results) {
+            System.out.println(String.format("\t%-40s %12.3f +- %.3f", result.getName(), result.getScore(), result.getStdDev()));
+        }
+        File reportFile = new File(
+            System.getProperty("java.io.tmpdir"),
+            "dbeaver-benchmark-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+        runner.writeReport(reportFile, results);
+        System.out.println("Report saved to " + reportFile.getAbsolutePath());
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.handlers;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+/**
+ * Reads all rows of the selected table and reports client heap usage.
+ * With streaming reads heap usage must not depend on the table size.
+ */
+public class HandlerReadDataBenchmark extends AbstractHandler {
+
+    private static final int HEAP_SAMPLE_ROWS = 10000;
+
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        final ISelection selection = HandlerUtil.getCurrentSelection(event);
+        if (selection instanceof IStructuredSelection) {
+            final Object element = ((IStructuredSelection) selection).getFirstElement();
+            if (element instanceof DBNDatabaseNode) {
+                DBSObject object = ((DBNDatabaseNode) element).getObject();
+                if (object instanceof DBSDataContainer) {
+                    runBenchmark((DBSDataContainer) object);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void runBenchmark(DBSDataContainer dataContainer) {
+        new AbstractJob("Read data benchmark") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                DBCExecutionContext context = DBUtils.getDefaultContext(dataContainer, false);
+                HeapSamplingReceiver receiver = new HeapSamplingReceiver();
+                System.gc();
+                long heapBefore = getUsedHeap();
+                long startTime = System.currentTimeMillis();
+                try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Read data benchmark")) {
+                    dataContainer.readData(
+                        new AbstractExecutionSource(dataContainer, context, this),
+                        session, receiver, null, -1, -1, DBSDataContainer.FLAG_STREAM_DATA);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                long readTime = System.currentTimeMillis() - startTime;
+
+                System.out.println("Read data benchmark (" + DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.UI) + "):");
+                System.out.println("\tRows: " + receiver.rowCount);
+                System.out.println("\tTime: " + readTime + "ms");
+                System.out.println("\tHeap before: " + (heapBefore / 1024 / 1024) + "Mb");
+                System.out.println("\tHeap peak: " + (receiver.peakHeap / 1024 / 1024) + "Mb");
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class HeapSamplingReceiver implements DBDDataReceiver {
+        private long rowCount;
+        private long peakHeap;
+        private int columnCount;
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            columnCount = resultSet.getMeta().getAttributes().size();
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            for (int i = 0; i < columnCount; i++) {
+                resultSet.getAttributeValue(i);
+            }
+            rowCount++;
+            if (rowCount % HEAP_SAMPLE_ROWS == 0) {
+                peakHeap = Math.max(peakHeap, getUsedHeap());
+            }
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) {
+            peakHeap = Math.max(peakHeap, getUsedHeap());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
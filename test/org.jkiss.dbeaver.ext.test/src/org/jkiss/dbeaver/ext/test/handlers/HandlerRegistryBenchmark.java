@@ -0,0 +1,176 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.test.handlers;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.registry.DataSourceDescriptor;
+import org.jkiss.dbeaver.registry.DataSourceProviderDescriptor;
+import org.jkiss.dbeaver.registry.DataSourceProviderRegistry;
+import org.jkiss.dbeaver.registry.DataSourceRegistry;
+import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures datasource registry load, lookup and save times on a large scratch project.
+ * Datasources are spread over several config files (origins).
+ */
+public class HandlerRegistryBenchmark extends AbstractHandler {
+
+    private static final String PROJECT_NAME = "registry-benchmark";
+    private static final int DATA_SOURCE_COUNT = 10000;
+    private static final int ORIGIN_COUNT = 4;
+    private static final int LOOKUP_COUNT = 100000;
+
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        new AbstractJob("Datasource registry benchmark") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try {
+                    runBenchmark();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+        return null;
+    }
+
+    private void runBenchmark() throws CoreException {
+        DriverDescriptor driver = null;
+        for (DataSourceProviderDescriptor provider : DataSourceProviderRegistry.getInstance().getDataSourceProviders()) {
+            if (!provider.getEnabledDrivers().isEmpty()) {
+                driver = provider.getEnabledDrivers().get(0);
+                break;
+            }
+        }
+        if (driver == null) {
+            System.out.println("No drivers found");
+            return;
+        }
+
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+        if (project.exists()) {
+            project.delete(true, true, new NullProgressMonitor());
+        }
+        project.create(new NullProgressMonitor());
+        project.open(new NullProgressMonitor());
+        try {
+            List<String> ids = new ArrayList<>(DATA_SOURCE_COUNT);
+            List<String> originIds = new ArrayList<>(ORIGIN_COUNT);
+            // Populate. Each origin is saved in default config and then moved to extra config file.
+            DataSourceRegistry registry;
+            long addTime = 0;
+            int originSize = DATA_SOURCE_COUNT / ORIGIN_COUNT;
+            for (int originIndex = 0; originIndex < ORIGIN_COUNT; originIndex++) {
+                registry = new DataSourceRegistry(DBWorkbench.getPlatform(), project);
+                long startTime = System.currentTimeMillis();
+                for (int i = originIndex * originSize; i < (originIndex + 1) * originSize; i++) {
+                    DBPConnectionConfiguration connectionInfo = new DBPConnectionConfiguration();
+                    connectionInfo.setHostName("host" + i);
+                    connectionInfo.setDatabaseName("db" + i);
+                    DataSourceDescriptor dataSource = (DataSourceDescriptor) registry.createDataSource(driver, connectionInfo);
+                    dataSource.setName("Connection " + i);
+                    registry.addDataSource(dataSource);
+                    ids.add(dataSource.getId());
+                    if (i == originIndex * originSize) {
+                        originIds.add(dataSource.getId());
+                    }
+                }
+                addTime += System.currentTimeMillis() - startTime;
+                registry.flushConfig();
+                registry.dispose();
+                if (originIndex < ORIGIN_COUNT - 1) {
+                    project.getFile(DBPDataSourceRegistry.CONFIG_FILE_NAME).move(
+                        new Path(DBPDataSourceRegistry.CONFIG_FILE_PREFIX + "-" + (originIndex + 1) + DBPDataSourceRegistry.CONFIG_FILE_EXT),
+                        true,
+                        new NullProgressMonitor());
+                }
+            }
+
+            // Load
+            long startTime = System.currentTimeMillis();
+            registry = new DataSourceRegistry(DBWorkbench.getPlatform(), project);
+            long loadTime = System.currentTimeMillis() - startTime;
+
+            startTime = System.currentTimeMillis();
+            registry.flushConfig();
+            long fullSaveTime = System.currentTimeMillis() - startTime;
+
+            // Lookup
+            Random random = new Random(1);
+            int found = 0;
+            startTime = System.currentTimeMillis();
+            for (int i = 0; i < LOOKUP_COUNT; i++) {
+                if (registry.getDataSource(ids.get(random.nextInt(ids.size()))) != null) {
+                    found++;
+                }
+            }
+            long lookupTime = System.currentTimeMillis() - startTime;
+
+            // Change one datasource in each origin and wait until background save is finished
+            startTime = System.currentTimeMillis();
+            for (String id : originIds) {
+                DataSourceDescriptor dataSource = registry.getDataSource(id);
+                if (dataSource != null) {
+                    dataSource.setDescription("Changed");
+                    registry.updateDataSource(dataSource);
+                }
+            }
+            // Save job may reschedule itself while changes are coming, so join it until it is gone
+            while (!ArrayUtils.isEmpty(Job.getJobManager().find(registry))) {
+                try {
+                    Job.getJobManager().join(registry, new NullProgressMonitor());
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            long updateTime = System.currentTimeMillis() - startTime;
+            registry.dispose();
+
+            System.out.println("Datasource registry benchmark (" + DATA_SOURCE_COUNT + " datasources in " + ORIGIN_COUNT + " origins):");
+            System.out.println("\tAdd: " + addTime + "ms");
+            System.out.println("\tLoad: " + loadTime + "ms");
+            System.out.println("\tFull save: " + fullSaveTime + "ms");
+            System.out.println("\tLookup (" + found + " of " + LOOKUP_COUNT + "): " + lookupTime + "ms");
+            System.out.println("\tUpdate " + originIds.size() + " origins (until background save is finished): " + updateTime + "ms");
+        } finally {
+            project.delete(true, true, new NullProgressMonitor());
+        }
+    }
+
+}